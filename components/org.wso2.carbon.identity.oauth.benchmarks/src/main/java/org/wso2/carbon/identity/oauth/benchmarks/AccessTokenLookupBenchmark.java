@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.mgt.ApplicationManagementService;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAOImpl;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+
+/**
+ * Benchmarks of the database lookup of an access token, which is what token validation and introspection fall back
+ * to when the token is not cached. The lookup runs against an in-memory H2 database created from the identity.sql
+ * script of the unit tests and populated with active tokens.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AccessTokenLookupBenchmark {
+
+    private static final String CONSUMER_KEY = "some-client-id";
+    private static final String INSERT_ACCESS_TOKEN = "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN (TOKEN_ID, " +
+            "ACCESS_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, " +
+            "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, " +
+            "TOKEN_STATE, TOKEN_STATE_ID, SUBJECT_IDENTIFIER, ACCESS_TOKEN_HASH, IDP_ID, AUTHORIZED_ORGANIZATION) " +
+            "VALUES (?, ?, (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = ?), ?, -1234, 'PRIMARY', " +
+            "'APPLICATION_USER', 'client_credentials', ?, ?, 3600000, 86400000, ?, 'ACTIVE', 'NONE', ?, ?, " +
+            "(SELECT ID FROM IDP WHERE NAME = 'LOCAL' AND TENANT_ID = -1234), 'NONE')";
+    private static final String INSERT_TOKEN_SCOPE = "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_SCOPE (TOKEN_ID, " +
+            "TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, -1234)";
+
+    @Param({"10000"})
+    private int tokenCount;
+
+    private JdbcConnectionPool connectionPool;
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<OAuth2Util> oAuth2Util;
+    private AccessTokenDAO accessTokenDAO;
+    private String[] accessTokens;
+    private int index;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.setCarbonHome();
+        oAuthServerConfiguration = BenchmarkEnvironment.mockServerConfiguration();
+        connectionPool = BenchmarkEnvironment.createDatabase(UUID.randomUUID().toString(), "identity.sql",
+                "insert_local_idp.sql", "insert_consumer_app.sql");
+
+        identityDatabaseUtil = Mockito.mockStatic(IdentityDatabaseUtil.class, Mockito.CALLS_REAL_METHODS);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(Mockito.anyBoolean()))
+                .thenAnswer(invocation -> connectionPool.getConnection());
+        oAuth2Util = Mockito.mockStatic(OAuth2Util.class, Mockito.CALLS_REAL_METHODS);
+        oAuth2Util.when(() -> OAuth2Util.getTenantDomain(anyInt()))
+                .thenReturn(BenchmarkEnvironment.SUPER_TENANT_DOMAIN);
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(true);
+        OAuth2ServiceComponentHolder.setApplicationMgtService(Mockito.mock(ApplicationManagementService.class));
+
+        accessTokens = populateAccessTokens();
+        accessTokenDAO = new AccessTokenDAOImpl();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        oAuth2Util.close();
+        identityDatabaseUtil.close();
+        oAuthServerConfiguration.close();
+        connectionPool.dispose();
+    }
+
+    @Benchmark
+    public AccessTokenDO getActiveAccessToken() throws Exception {
+
+        index = index + 1 == tokenCount ? 0 : index + 1;
+        return accessTokenDAO.getAccessToken(accessTokens[index], false);
+    }
+
+    private String[] populateAccessTokens() throws Exception {
+
+        HashingPersistenceProcessor hashingPersistenceProcessor = new HashingPersistenceProcessor();
+        String[] tokens = new String[tokenCount];
+        Timestamp issuedTime = new Timestamp(System.currentTimeMillis());
+        try (Connection connection = connectionPool.getConnection();
+             PreparedStatement insertToken = connection.prepareStatement(INSERT_ACCESS_TOKEN);
+             PreparedStatement insertScope = connection.prepareStatement(INSERT_TOKEN_SCOPE)) {
+            for (int i = 0; i < tokenCount; i++) {
+                String tokenId = UUID.randomUUID().toString();
+                tokens[i] = UUID.randomUUID().toString();
+                insertToken.setString(1, tokenId);
+                insertToken.setString(2, tokens[i]);
+                insertToken.setString(3, CONSUMER_KEY);
+                insertToken.setString(4, "user" + i);
+                insertToken.setTimestamp(5, issuedTime);
+                insertToken.setTimestamp(6, issuedTime);
+                insertToken.setString(7, OAuth2Util.hashScopes(new String[]{"default"}));
+                insertToken.setString(8, "user" + i);
+                insertToken.setString(9, hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(tokens[i]));
+                insertToken.addBatch();
+
+                insertScope.setString(1, tokenId);
+                insertScope.setString(2, "default");
+                insertScope.addBatch();
+            }
+            insertToken.executeBatch();
+            insertScope.executeBatch();
+        }
+        return tokens;
+    }
+}
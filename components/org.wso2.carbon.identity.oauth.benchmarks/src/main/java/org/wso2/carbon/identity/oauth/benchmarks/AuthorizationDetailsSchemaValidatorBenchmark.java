@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidator;
+import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidatorImpl;
+import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
+import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the schema validation of the authorization details of a token request, with the validator compiled
+ * from the schema of the type cached and compiled for every request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class AuthorizationDetailsSchemaValidatorBenchmark {
+
+    private static final String TYPE = "payment_initiation";
+
+    @Param({"1", "5"})
+    private int authorizationDetailCount;
+
+    private AuthorizationDetailsSchemaValidator validator;
+    private Map<String, Object> schema;
+    private List<AuthorizationDetail> authorizationDetails;
+
+    @Setup
+    public void setUp() {
+
+        // The compiled schemas are keyed by the tenant of the carbon context.
+        BenchmarkEnvironment.setCarbonHome();
+        validator = AuthorizationDetailsSchemaValidatorImpl.getInstance();
+        schema = buildSchema();
+        authorizationDetails = new ArrayList<>();
+        for (int i = 0; i < authorizationDetailCount; i++) {
+            AuthorizationDetail authorizationDetail = new AuthorizationDetail();
+            authorizationDetail.setType(TYPE);
+            authorizationDetail.setActions(Collections.singletonList("initiate"));
+            authorizationDetails.add(authorizationDetail);
+        }
+    }
+
+    @Benchmark
+    public boolean validateWithCompiledSchema() throws AuthorizationDetailsProcessingException {
+
+        return validator.areSchemaCompliant(schema, authorizationDetails);
+    }
+
+    @Benchmark
+    public boolean validateWithoutCompiledSchema() throws AuthorizationDetailsProcessingException {
+
+        validator.clearCompiledSchema(TYPE);
+        return validator.areSchemaCompliant(schema, authorizationDetails);
+    }
+
+    private static Map<String, Object> buildSchema() {
+
+        Map<String, Object> items = new HashMap<>();
+        items.put("type", "string");
+        items.put("enum", Collections.singletonList("initiate"));
+
+        Map<String, Object> actions = new HashMap<>();
+        actions.put("type", "array");
+        actions.put("items", items);
+
+        Map<String, Object> type = new HashMap<>();
+        type.put("type", "string");
+        type.put("enum", Collections.singletonList(TYPE));
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("type", type);
+        properties.put("actions", actions);
+
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("type", "object");
+        schema.put("required", Collections.singletonList("type"));
+        schema.put("properties", properties);
+        return schema;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.apache.oltu.oauth2.as.issuer.OAuthIssuerImpl;
+import org.apache.oltu.oauth2.as.issuer.UUIDValueGenerator;
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.mockito.MockedStatic;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared set up of the benchmarks.
+ * <p>
+ * The benchmarks reuse the H2 scripts and the key stores of the unit tests of the OAuth component. Their location
+ * can be overridden with the {@value #RESOURCES_DIR_PROPERTY} system property, which defaults to the test resources
+ * of the sibling module.
+ * <p>
+ * Static mocks are bound to the thread which created them. Hence, benchmark states which rely on them must use
+ * {@code Scope.Thread} so that the trial level set up runs on the same thread as the benchmark method.
+ */
+public final class BenchmarkEnvironment {
+
+    public static final String RESOURCES_DIR_PROPERTY = "benchmark.resources.dir";
+    public static final String SUPER_TENANT_DOMAIN = "carbon.super";
+    public static final int SUPER_TENANT_ID = -1234;
+    public static final String KEY_STORE_NAME = "wso2carbon.jks";
+    public static final String KEY_STORE_PASSWORD = "wso2carbon";
+    public static final String KEY_ALIAS = "wso2carbon";
+
+    private static final String DEFAULT_RESOURCES_DIR = Paths.get("..", "org.wso2.carbon.identity.oauth", "src",
+            "test", "resources").toString();
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Get the directory holding the H2 scripts and the key stores.
+     *
+     * @return Absolute path of the resources directory.
+     */
+    public static Path getResourcesDir() {
+
+        return Paths.get(System.getProperty(RESOURCES_DIR_PROPERTY, DEFAULT_RESOURCES_DIR)).toAbsolutePath();
+    }
+
+    /**
+     * Point the carbon home to the resources directory, as done by the unit tests.
+     */
+    public static void setCarbonHome() {
+
+        System.setProperty(CarbonBaseConstants.CARBON_HOME, getResourcesDir().toString());
+    }
+
+    /**
+     * Create an in-memory H2 database and run the given scripts of the dbScripts directory against it.
+     *
+     * @param databaseName Name of the database.
+     * @param scripts      Script file names, e.g. identity.sql.
+     * @return Connection pool of the database.
+     * @throws Exception If the database could not be created.
+     */
+    public static JdbcConnectionPool createDatabase(String databaseName, String... scripts) throws Exception {
+
+        JdbcConnectionPool connectionPool = JdbcConnectionPool.create("jdbc:h2:mem:benchmark" + databaseName +
+                ";DB_CLOSE_DELAY=-1", "username", "password");
+        try (Connection connection = connectionPool.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String script : scripts) {
+                Path scriptPath = getResourcesDir().resolve("dbScripts").resolve(script);
+                statement.executeUpdate("RUNSCRIPT FROM '" + scriptPath + "'");
+            }
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Load the key store used to sign tokens in the unit tests.
+     *
+     * @return Key store.
+     * @throws Exception If the key store could not be loaded.
+     */
+    public static KeyStore loadKeyStore() throws Exception {
+
+        Path keyStorePath = getResourcesDir().resolve(Paths.get("repository", "resources", "security",
+                KEY_STORE_NAME));
+        KeyStore keyStore = KeyStore.getInstance(KeyStore.getDefaultType());
+        try (InputStream inputStream = Files.newInputStream(keyStorePath)) {
+            keyStore.load(inputStream, KEY_STORE_PASSWORD.toCharArray());
+        }
+        return keyStore;
+    }
+
+    /**
+     * Mock the server configuration with the defaults the benchmarks rely on. The caller must close the returned
+     * static mock on tear down.
+     *
+     * @param serverConfiguration Mocked server configuration, which can be further stubbed by the caller.
+     * @return Static mock of the server configuration.
+     * @throws Exception If the mock could not be configured.
+     */
+    public static MockedStatic<OAuthServerConfiguration> mockServerConfiguration(
+            OAuthServerConfiguration serverConfiguration) throws Exception {
+
+        MockedStatic<OAuthServerConfiguration> mockedStatic = mockStatic(OAuthServerConfiguration.class);
+        mockedStatic.when(OAuthServerConfiguration::getInstance).thenReturn(serverConfiguration);
+        when(serverConfiguration.getOAuthTokenGenerator()).thenReturn(new OAuthIssuerImpl(new UUIDValueGenerator()));
+        when(serverConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        when(serverConfiguration.getHashAlgorithm()).thenReturn("SHA-256");
+        when(serverConfiguration.getSignatureAlgorithm()).thenReturn("SHA256withRSA");
+        return mockedStatic;
+    }
+
+    /**
+     * Create a mocked server configuration with the defaults the benchmarks rely on.
+     *
+     * @return Static mock of the server configuration.
+     * @throws Exception If the mock could not be configured.
+     */
+    public static MockedStatic<OAuthServerConfiguration> mockServerConfiguration() throws Exception {
+
+        return mockServerConfiguration(mock(OAuthServerConfiguration.class));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheEntry;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Benchmarks of the serialization of the authorization grant cache entries persisted to the session data store, in
+ * the default and in the compact serialized form.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheEntrySerializationBenchmark {
+
+    @Param({"false", "true"})
+    private String compactFormEnabled;
+
+    @Param({"5", "20"})
+    private int userAttributeCount;
+
+    private MockedStatic<IdentityUtil> identityUtil;
+    private AuthorizationGrantCacheEntry entry;
+    private byte[] serializedEntry;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        // The serialized form is read through IdentityUtil once, on the first serialization of the fork.
+        identityUtil = mockStatic(IdentityUtil.class);
+        identityUtil.when(() -> IdentityUtil.getProperty(
+                OAuth2Constants.CacheEntrySerialization.COMPACT_FORMAT_ENABLE)).thenReturn(compactFormEnabled);
+        entry = buildEntry();
+        serializedEntry = serialize(entry);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        identityUtil.close();
+    }
+
+    @Benchmark
+    public byte[] serializeEntry() throws IOException {
+
+        return serialize(entry);
+    }
+
+    @Benchmark
+    public Object deserializeEntry() throws Exception {
+
+        return deserialize(serializedEntry);
+    }
+
+    private AuthorizationGrantCacheEntry buildEntry() {
+
+        Map<ClaimMapping, String> userAttributes = new HashMap<>();
+        for (int i = 0; i < userAttributeCount; i++) {
+            String claimUri = "http://wso2.org/claims/attribute" + i;
+            userAttributes.put(ClaimMapping.build(claimUri, claimUri, null, false), "value" + i);
+        }
+        AuthorizationGrantCacheEntry grantCacheEntry = new AuthorizationGrantCacheEntry(userAttributes);
+        grantCacheEntry.setCodeId("0b1f5f4c-3b4b-4a43-9a9a-5a9f1c0f3c11");
+        grantCacheEntry.setAuthorizationCode("2d3c2f0e-3f0b-3a7a-8a9e-8a1f0b4c2e9d");
+        grantCacheEntry.setNonceValue("n-0S6_WzA2Mj");
+        grantCacheEntry.setPkceCodeChallenge("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM");
+        grantCacheEntry.setPkceCodeChallengeMethod("S256");
+        grantCacheEntry.setAcrValue(new LinkedHashSet<>(Arrays.asList("acr1", "acr2")));
+        grantCacheEntry.setSelectedAcrValue("acr1");
+        grantCacheEntry.addAmr("BasicAuthenticator");
+        grantCacheEntry.setValidityPeriod(600000000000L);
+        grantCacheEntry.setAuthTime(System.currentTimeMillis());
+        grantCacheEntry.setMaxAge(-1);
+        grantCacheEntry.setSubjectClaim("3f1b5f2e-7a3c-4c1e-9d2b-6e4a8f0c1d2b");
+        grantCacheEntry.setSessionContextIdentifier("6b8f0a2c-1d3e-4f5a-8b7c-9d0e1f2a3b4c");
+        grantCacheEntry.setOidcSessionId("a1b2c3d4-e5f6-4a7b-8c9d-0e1f2a3b4c5d");
+        grantCacheEntry.setAudiences(Arrays.asList("client1", "client2"));
+        return grantCacheEntry;
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.token.bindings.impl.ClientCertificateCache;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Benchmarks of the validation of a certificate bound token, which resolves the binding reference of the client
+ * certificate sent in the mutual TLS certificate header on every request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientCertificateBenchmark {
+
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private MockedStatic<IdentityUtil> identityUtil;
+    private String certificateInHeader;
+    private String bindingReference;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        // OAuth2Util reads the server configuration when it is initialized.
+        oAuthServerConfiguration = BenchmarkEnvironment.mockServerConfiguration();
+        // The cache size is read through IdentityUtil, which falls back to the default when not configured.
+        identityUtil = mockStatic(IdentityUtil.class);
+        X509Certificate certificate = (X509Certificate) BenchmarkEnvironment.loadKeyStore()
+                .getCertificate(BenchmarkEnvironment.KEY_ALIAS);
+        certificateInHeader = Base64.getEncoder().encodeToString(certificate.getEncoded());
+        bindingReference = new ClientCertificateCache.ClientCertificate(certificate).getBindingReference();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        identityUtil.close();
+        oAuthServerConfiguration.close();
+    }
+
+    @Benchmark
+    public boolean validateBindingWithParsing() throws Exception {
+
+        // Decodes, parses and hashes the certificate for every request.
+        X509Certificate certificate = (X509Certificate) CertificateFactory.getInstance("X.509")
+                .generateCertificate(new ByteArrayInputStream(Base64.getDecoder().decode(certificateInHeader)));
+        return bindingReference.equals(new ClientCertificateCache.ClientCertificate(certificate)
+                .getBindingReference());
+    }
+
+    @Benchmark
+    public boolean validateBindingWithCache() throws Exception {
+
+        return bindingReference.equals(ClientCertificateCache.getInstance().getCertificate(certificateInHeader)
+                .getBindingReference());
+    }
+}
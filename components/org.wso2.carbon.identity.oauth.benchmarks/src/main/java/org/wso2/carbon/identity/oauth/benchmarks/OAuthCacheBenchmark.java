@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.oauth.cache.CacheEntry;
+import org.wso2.carbon.identity.oauth.cache.OAuthCache;
+import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link OAuthCache} reads and writes of access tokens, which back the validation of cached tokens.
+ * Run with multiple threads, e.g. "-t 8", to measure the cache under contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class OAuthCacheBenchmark {
+
+    @Param({"1000"})
+    private int entryCount;
+
+    private OAuthCache oAuthCache;
+    private OAuthCacheKey[] cacheKeys;
+    private AccessTokenDO[] accessTokens;
+    private int index;
+
+    @Setup
+    public void setUp() {
+
+        BenchmarkEnvironment.setCarbonHome();
+        PrivilegedCarbonContext.startTenantFlow();
+        PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                .setTenantDomain(BenchmarkEnvironment.SUPER_TENANT_DOMAIN, true);
+
+        oAuthCache = OAuthCache.getInstance();
+        cacheKeys = new OAuthCacheKey[entryCount];
+        accessTokens = new AccessTokenDO[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            String accessToken = UUID.randomUUID().toString();
+            cacheKeys[i] = new OAuthCacheKey(accessToken);
+            accessTokens[i] = newAccessToken(accessToken);
+            oAuthCache.addToCache(cacheKeys[i], accessTokens[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        for (OAuthCacheKey cacheKey : cacheKeys) {
+            oAuthCache.clearCacheEntry(cacheKey, BenchmarkEnvironment.SUPER_TENANT_DOMAIN);
+        }
+        PrivilegedCarbonContext.endTenantFlow();
+    }
+
+    @Benchmark
+    public CacheEntry get() {
+
+        return oAuthCache.getValueFromCache(cacheKeys[nextIndex()], BenchmarkEnvironment.SUPER_TENANT_DOMAIN);
+    }
+
+    @Benchmark
+    public void put() {
+
+        int i = nextIndex();
+        oAuthCache.addToCache(cacheKeys[i], accessTokens[i]);
+    }
+
+    private int nextIndex() {
+
+        index = index + 1 == entryCount ? 0 : index + 1;
+        return index;
+    }
+
+    private static AccessTokenDO newAccessToken(String accessToken) {
+
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName("benchmark-user");
+        authenticatedUser.setTenantDomain(BenchmarkEnvironment.SUPER_TENANT_DOMAIN);
+        authenticatedUser.setUserStoreDomain("PRIMARY");
+        Timestamp issuedTime = new Timestamp(System.currentTimeMillis());
+        AccessTokenDO accessTokenDO = new AccessTokenDO("benchmark-client", authenticatedUser,
+                new String[]{"openid"}, issuedTime, issuedTime, 3600000L, 86400000L, "Bearer");
+        accessTokenDO.setAccessToken(accessToken);
+        accessTokenDO.setTokenId(UUID.randomUUID().toString());
+        return accessTokenDO;
+    }
+}
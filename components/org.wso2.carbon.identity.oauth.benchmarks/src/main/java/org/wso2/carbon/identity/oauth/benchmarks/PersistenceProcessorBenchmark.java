@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.tokenprocessor.HashingPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks of the processing applied to access tokens before they are persisted or looked up, comparing token
+ * hashing with the plain text processor.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceProcessorBenchmark {
+
+    @Param({"SHA-256", "SHA-512"})
+    private String hashAlgorithm;
+
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private TokenPersistenceProcessor hashingPersistenceProcessor;
+    private TokenPersistenceProcessor plainTextPersistenceProcessor;
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        OAuthServerConfiguration serverConfiguration = mock(OAuthServerConfiguration.class);
+        oAuthServerConfiguration = BenchmarkEnvironment.mockServerConfiguration(serverConfiguration);
+        when(serverConfiguration.getHashAlgorithm()).thenReturn(hashAlgorithm);
+
+        hashingPersistenceProcessor = new HashingPersistenceProcessor();
+        plainTextPersistenceProcessor = new PlainTextPersistenceProcessor();
+        accessToken = UUID.randomUUID().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        oAuthServerConfiguration.close();
+    }
+
+    @Benchmark
+    public String hashAccessToken() throws Exception {
+
+        return hashingPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken);
+    }
+
+    @Benchmark
+    public String plainTextAccessToken() throws Exception {
+
+        return plainTextPersistenceProcessor.getProcessedAccessTokenIdentifier(accessToken);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import org.mockito.MockedStatic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the scope string handling done for every token request, which builds the sorted scope string and
+ * its hash to look up and persist tokens.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ScopeUtilBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int scopeCount;
+
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private String[] scopes;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        // OAuth2Util reads the server configuration when it is initialized.
+        oAuthServerConfiguration = BenchmarkEnvironment.mockServerConfiguration();
+        scopes = new String[scopeCount];
+        for (int i = 0; i < scopeCount; i++) {
+            // Reverse order, so that every invocation sorts the scopes.
+            scopes[i] = "scope_" + (scopeCount - i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        oAuthServerConfiguration.close();
+    }
+
+    @Benchmark
+    public String buildScopeString() {
+
+        // The scopes are sorted in place, hence a copy is passed.
+        return OAuth2Util.buildScopeString(scopes.clone());
+    }
+
+    @Benchmark
+    public String hashScopes() {
+
+        return OAuth2Util.hashScopes(scopes.clone());
+    }
+}
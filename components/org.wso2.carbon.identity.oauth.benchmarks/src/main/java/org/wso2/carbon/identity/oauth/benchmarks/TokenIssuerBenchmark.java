@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.benchmarks;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
+import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuerImpl;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Benchmarks of access token generation: the default UUID based opaque token issuer and the RSA signing of JWT
+ * access tokens through {@link OAuth2Util#signJWTWithRSA(JWTClaimsSet, JWSAlgorithm, String)}.
+ * <p>
+ * Key store lookups are stubbed to return the key of the test key store, so the signing benchmark measures the
+ * signer creation, the header construction and the signature.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class TokenIssuerBenchmark {
+
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private MockedStatic<OAuth2Util> oAuth2Util;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+
+    private OauthTokenIssuer opaqueTokenIssuer;
+    private OAuthTokenReqMessageContext tokenReqMessageContext;
+    private JWTClaimsSet jwtClaimsSet;
+
+    @Setup
+    public void setUp() throws Exception {
+
+        BenchmarkEnvironment.setCarbonHome();
+        oAuthServerConfiguration = BenchmarkEnvironment.mockServerConfiguration();
+
+        KeyStore keyStore = BenchmarkEnvironment.loadKeyStore();
+        Key privateKey = keyStore.getKey(BenchmarkEnvironment.KEY_ALIAS,
+                BenchmarkEnvironment.KEY_STORE_PASSWORD.toCharArray());
+        Certificate certificate = keyStore.getCertificate(BenchmarkEnvironment.KEY_ALIAS);
+
+        oAuth2Util = Mockito.mockStatic(OAuth2Util.class, Mockito.CALLS_REAL_METHODS);
+        oAuth2Util.when(() -> OAuth2Util.getPrivateKey(anyString(), anyInt())).thenReturn(privateKey);
+        oAuth2Util.when(() -> OAuth2Util.getCertificate(anyString(), anyInt())).thenReturn(certificate);
+        oAuth2Util.when(() -> OAuth2Util.getKID(any(Certificate.class), any(JWSAlgorithm.class), anyString()))
+                .thenReturn("benchmark-kid");
+        identityTenantUtil = Mockito.mockStatic(IdentityTenantUtil.class);
+        identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString()))
+                .thenReturn(BenchmarkEnvironment.SUPER_TENANT_ID);
+
+        opaqueTokenIssuer = new OauthTokenIssuerImpl();
+        OAuth2AccessTokenReqDTO tokenReqDTO = new OAuth2AccessTokenReqDTO();
+        tokenReqDTO.setClientId("benchmark-client");
+        tokenReqDTO.setGrantType("client_credentials");
+        tokenReqMessageContext = new OAuthTokenReqMessageContext(tokenReqDTO);
+
+        long now = System.currentTimeMillis();
+        jwtClaimsSet = new JWTClaimsSet.Builder()
+                .issuer("https://localhost:9443/oauth2/token")
+                .subject("benchmark-user")
+                .audience("benchmark-client")
+                .claim("azp", "benchmark-client")
+                .claim("scope", "openid profile email")
+                .issueTime(new Date(now))
+                .notBeforeTime(new Date(now))
+                .expirationTime(new Date(now + 3600000L))
+                .jwtID(UUID.randomUUID().toString())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        identityTenantUtil.close();
+        oAuth2Util.close();
+        oAuthServerConfiguration.close();
+    }
+
+    @Benchmark
+    public String opaqueAccessToken() throws Exception {
+
+        return opaqueTokenIssuer.accessToken(tokenReqMessageContext);
+    }
+
+    @Benchmark
+    public String jwtAccessTokenSignedWithRSA() throws Exception {
+
+        return OAuth2Util.signJWTWithRSA(jwtClaimsSet, JWSAlgorithm.RS256, BenchmarkEnvironment.SUPER_TENANT_DOMAIN)
+                .serialize();
+    }
+}
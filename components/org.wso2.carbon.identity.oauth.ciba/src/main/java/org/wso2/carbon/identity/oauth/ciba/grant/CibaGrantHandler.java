@@ -32,6 +32,7 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.model.RequestParameter;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AbstractAuthorizationGrantHandler;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.PollingStateTracker;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.sql.Timestamp;
@@ -95,6 +96,10 @@ public class CibaGrantHandler extends AbstractAuthorizationGrantHandler {
         // Obtain authentication request identifier from request.
         String authReqId = getAuthReqId(tokReqMsgCtx);
 
+        // Polls of a request which is pending authorization are served from memory when the state is tracked.
+        handleTrackedPoll(PollingStateTracker.getInstance().poll(AUTH_REQ_ID, authReqId,
+                tokReqMsgCtx.getOauth2AccessTokenReqDTO().getClientId()));
+
         try {
             // Check whether provided authReqId is a valid and retrieve AuthCode if exists.
             CibaAuthCodeDO cibaAuthCodeDO = retrieveCibaAuthCode(authReqId);
@@ -121,7 +126,7 @@ public class CibaGrantHandler extends AbstractAuthorizationGrantHandler {
 
             // Validate whether user is authenticated.
             if (isAuthorizationPending(cibaAuthCodeDO)) {
-                updateLastPolledTime(cibaAuthCodeDO);
+                trackPendingPoll(cibaAuthCodeDO);
                 throw new IdentityOAuth2Exception(AUTHORIZATION_PENDING, "Authorization pending");
             }
 
@@ -232,6 +237,43 @@ public class CibaGrantHandler extends AbstractAuthorizationGrantHandler {
         }
     }
 
+    /**
+     * Serves a poll from the polling state tracked in memory, if any.
+     *
+     * @param pollOutcome Outcome of the poll served by the polling state tracker.
+     * @throws IdentityOAuth2Exception If the request is pending authorization or the client polls too frequently.
+     */
+    private void handleTrackedPoll(PollingStateTracker.PollOutcome pollOutcome) throws IdentityOAuth2Exception {
+
+        if (PollingStateTracker.PollOutcome.SLOW_DOWN.equals(pollOutcome)) {
+            throw new IdentityOAuth2Exception(SLOW_DOWN, "Slow down");
+        } else if (PollingStateTracker.PollOutcome.AUTHORIZATION_PENDING.equals(pollOutcome)) {
+            throw new IdentityOAuth2Exception(AUTHORIZATION_PENDING, "Authorization pending");
+        }
+    }
+
+    /**
+     * Records the poll of a request which is pending authorization. The polling state is tracked in memory if the
+     * polling state tracker is enabled, or else the last polled time is persisted.
+     *
+     * @param cibaAuthCodeDO DO that accumulates information regarding authentication and token requests.
+     * @throws CibaCoreException CIBA core component exception.
+     */
+    private void trackPendingPoll(CibaAuthCodeDO cibaAuthCodeDO) throws CibaCoreException {
+
+        PollingStateTracker pollingStateTracker = PollingStateTracker.getInstance();
+        if (!pollingStateTracker.isEnabled()) {
+            updateLastPolledTime(cibaAuthCodeDO);
+            return;
+        }
+        long currentTimeInMillis = Calendar.getInstance(TimeZone.getTimeZone(CibaConstants.UTC)).getTimeInMillis();
+        pollingStateTracker.trackPending(AUTH_REQ_ID, cibaAuthCodeDO.getAuthReqId(),
+                cibaAuthCodeDO.getConsumerKey(), currentTimeInMillis,
+                cibaAuthCodeDO.getInterval() * SEC_TO_MILLISEC_FACTOR,
+                CibaConstants.INTERVAL_INCREMENT_VALUE_IN_SEC * SEC_TO_MILLISEC_FACTOR,
+                cibaAuthCodeDO.getIssuedTime().getTime() + cibaAuthCodeDO.getExpiresIn() * SEC_TO_MILLISEC_FACTOR);
+    }
+
     /**
      * Updates the last polled time..
      *
@@ -34,6 +34,7 @@ import org.wso2.carbon.identity.oauth2.authz.handlers.AbstractResponseTypeHandle
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AuthorizeRespDTO;
 import org.wso2.carbon.identity.oauth2.model.OAuth2Parameters;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.PollingStateTracker;
 
 /**
  * Handles authorize requests with CibaAuthCode as response type.
@@ -60,6 +61,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
             // Update successful authentication.
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO()
                     .persistAuthenticationSuccess(authCodeKey, cibaAuthenticatedUser);
+            PollingStateTracker.getInstance().clear(CibaConstants.AUTH_REQ_ID, authorizationReqDTO.getNonce());
 
             // Building custom CallBack URL.
             String callbackURL = authorizationReqDTO.getCallbackUrl() + "?authenticationStatus=" + authenticationStatus;
@@ -82,6 +84,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
 
             // Update authenticationStatus when user denied the consent.
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO().updateStatus(authCodeKey, AuthReqStatus.CONSENT_DENIED);
+            PollingStateTracker.getInstance().clear(CibaConstants.AUTH_REQ_ID, authReqID);
 
             oAuthErrorDTO.setErrorDescription("User denied the consent.");
             return oAuthErrorDTO;
@@ -103,6 +106,7 @@ public class CibaResponseTypeHandler extends AbstractResponseTypeHandler {
         try {
             authCodeKey = CibaDAOFactory.getInstance().getCibaAuthMgtDAO().getCibaAuthCodeKey(authReqID);
             CibaDAOFactory.getInstance().getCibaAuthMgtDAO().updateStatus(authCodeKey, AuthReqStatus.FAILED);
+            PollingStateTracker.getInstance().clear(CibaConstants.AUTH_REQ_ID, authReqID);
             oAuthErrorDTO.setErrorDescription("Authentication failed.");
             return oAuthErrorDTO;
         } catch (CibaCoreException e) {
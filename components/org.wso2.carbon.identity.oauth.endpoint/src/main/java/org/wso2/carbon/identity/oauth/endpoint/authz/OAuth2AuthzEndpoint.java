@@ -2035,14 +2035,9 @@ public class OAuth2AuthzEndpoint {
                     new TypeToken<Map<String, Object>>() {
                     }.getType());
             accessTokenJSObject.add(ACCESS_TOKEN_JS_OBJECT);
-            Map<String, Object> result = jsEngine
-                    .createEngine()
-                    .addBindings(bindings)
-                    .evalScript(
-                            serviceProvider.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig()
-                                    .getContent())
-                    .invokeFunction(DYNAMIC_TOKEN_DATA_FUNCTION, parameterMap)
-                    .getJSObjects(accessTokenJSObject);
+            Map<String, Object> result = jsEngine.execute(
+                    serviceProvider.getLocalAndOutBoundAuthenticationConfig().getAuthenticationScriptConfig()
+                            .getContent(), bindings, DYNAMIC_TOKEN_DATA_FUNCTION, accessTokenJSObject, parameterMap);
             AccessTokenExtendedAttributes accessTokenExtendedAttributes =
                     gson.fromJson(gson.toJson(result.get(ACCESS_TOKEN_JS_OBJECT)), AccessTokenExtendedAttributes.class);
             if (accessTokenExtendedAttributes != null) {
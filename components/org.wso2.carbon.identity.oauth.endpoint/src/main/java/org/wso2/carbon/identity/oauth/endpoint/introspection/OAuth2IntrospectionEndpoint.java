@@ -20,7 +20,9 @@ package org.wso2.carbon.identity.oauth.endpoint.introspection;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.json.JSONArray;
 import org.json.JSONException;
+import org.json.JSONObject;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.central.log.mgt.utils.LogConstants;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
@@ -32,8 +34,10 @@ import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuth2TokenValidationService;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2IntrospectionResponseDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.utils.DiagnosticLog;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.ws.rs.Consumes;
@@ -61,6 +65,9 @@ public class OAuth2IntrospectionEndpoint {
     private static final String INVALID_INPUT = "Invalid input";
 
     private static final String ACCESS_TOKEN_HINT = "access_token";
+    private static final String BULK_RESULTS = "results";
+    private static final String BULK_INTROSPECTION_MAX_TOKENS = "OAuth.Introspection.Bulk.MaxTokens";
+    private static final int DEFAULT_BULK_INTROSPECTION_MAX_TOKENS = 100;
 
     /**
      * Token introspection endpoint.
@@ -100,6 +107,89 @@ public class OAuth2IntrospectionEndpoint {
                     entity("{\"error\": \"" + INVALID_INPUT + "\"}").build();
         }
 
+        introspectionRequest = buildIntrospectionRequest(token, tokenTypeHint, requiredClaims);
+
+        OAuth2TokenValidationService tokenService = (OAuth2TokenValidationService) PrivilegedCarbonContext
+                .getThreadLocalCarbonContext().getOSGiService(OAuth2TokenValidationService.class);
+
+        introspectionResponse = tokenService.buildIntrospectionResponse(introspectionRequest);
+
+        try {
+            return Response.ok(buildIntrospectionResponseBody(introspectionRequest, introspectionResponse,
+                    requiredClaims), MediaType.APPLICATION_JSON).status(Response.Status.OK).build();
+        } catch (IdentityOAuth2Exception e) {
+            return handleIntrospectionDataError(e);
+        } catch (JSONException e) {
+            return handleJsonResponseError(e);
+        }
+    }
+
+    /**
+     * Bulk token introspection endpoint. The tokens are introspected with the same checks as the single token
+     * introspection, while the active access tokens not found in the cache are retrieved in a single lookup. The
+     * introspection results are returned in the order of the tokens, as the results array of the response.
+     *
+     * @param tokens         access tokens or refresh tokens
+     * @param tokenTypeHint  hint for the type of the tokens submitted for introspection
+     * @param requiredClaims comma separated list of claims to be returned in JWT
+     * @return
+     */
+    @POST
+    @Path("/bulk")
+    public Response introspectBulk(@FormParam("token") List<String> tokens,
+                                   @FormParam("token_type_hint") String tokenTypeHint,
+                                   @FormParam("required_claims") String requiredClaims) {
+
+        int maxTokens = OAuth2Util.getIntProperty(BULK_INTROSPECTION_MAX_TOKENS,
+                DEFAULT_BULK_INTROSPECTION_MAX_TOKENS, 1);
+        if (tokens == null || tokens.isEmpty() || tokens.size() > maxTokens ||
+                tokens.stream().anyMatch(StringUtils::isBlank)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Bulk introspection request should contain between 1 and " + maxTokens +
+                        " non empty tokens.");
+            }
+            OAuth2IntrospectionResponseDTO introspectionResponse = new OAuth2IntrospectionResponseDTO();
+            introspectionResponse.setError(INVALID_INPUT);
+            triggerOnIntrospectionExceptionListeners(null, introspectionResponse);
+            return Response.status(Response.Status.BAD_REQUEST).
+                    entity("{\"error\": \"" + INVALID_INPUT + "\"}").build();
+        }
+
+        List<OAuth2TokenValidationRequestDTO> introspectionRequests = new ArrayList<>();
+        for (String token : tokens) {
+            introspectionRequests.add(buildIntrospectionRequest(token, tokenTypeHint, requiredClaims));
+        }
+
+        OAuth2TokenValidationService tokenService = (OAuth2TokenValidationService) PrivilegedCarbonContext
+                .getThreadLocalCarbonContext().getOSGiService(OAuth2TokenValidationService.class);
+
+        List<OAuth2IntrospectionResponseDTO> introspectionResponses =
+                tokenService.buildIntrospectionResponses(introspectionRequests);
+
+        try {
+            JSONArray results = new JSONArray();
+            for (int i = 0; i < introspectionRequests.size(); i++) {
+                String responseBody;
+                try {
+                    responseBody = buildIntrospectionResponseBody(introspectionRequests.get(i),
+                            introspectionResponses.get(i), requiredClaims);
+                } catch (IdentityOAuth2Exception e) {
+                    // A failing data provider only affects its own token, the rest of the batch is still returned.
+                    logIntrospectionDataError(e);
+                    responseBody = "{\"active\":false}";
+                }
+                results.put(new JSONObject(responseBody));
+            }
+            return Response.ok(new JSONObject().put(BULK_RESULTS, results).toString(), MediaType.APPLICATION_JSON)
+                    .status(Response.Status.OK).build();
+        } catch (JSONException e) {
+            return handleJsonResponseError(e);
+        }
+    }
+
+    private OAuth2TokenValidationRequestDTO buildIntrospectionRequest(String token, String tokenTypeHint,
+                                                                      String requiredClaims) {
+
         String[] claimsUris = null;
         if (StringUtils.isNotEmpty(requiredClaims)) {
             claimsUris = requiredClaims.split(",");
@@ -108,7 +198,7 @@ public class OAuth2IntrospectionEndpoint {
         }
 
         // validate the access token against the OAuth2TokenValidationService OSGi service.
-        introspectionRequest = new OAuth2TokenValidationRequestDTO();
+        OAuth2TokenValidationRequestDTO introspectionRequest = new OAuth2TokenValidationRequestDTO();
         OAuth2TokenValidationRequestDTO.OAuth2AccessToken oAuth2Token = introspectionRequest.new OAuth2AccessToken();
 
         if (tokenTypeHint == null || StringUtils.equals(tokenTypeHint, ACCESS_TOKEN_HINT)) {
@@ -120,17 +210,19 @@ public class OAuth2IntrospectionEndpoint {
         oAuth2Token.setIdentifier(token);
         introspectionRequest.setAccessToken(oAuth2Token);
         introspectionRequest.setRequiredClaimURIs(claimsUris);
+        return introspectionRequest;
+    }
 
-        OAuth2TokenValidationService tokenService = (OAuth2TokenValidationService) PrivilegedCarbonContext
-                .getThreadLocalCarbonContext().getOSGiService(OAuth2TokenValidationService.class);
-
-        introspectionResponse = tokenService.buildIntrospectionResponse(introspectionRequest);
+    private String buildIntrospectionResponseBody(OAuth2TokenValidationRequestDTO introspectionRequest,
+                                                  OAuth2IntrospectionResponseDTO introspectionResponse,
+                                                  String requiredClaims)
+            throws IdentityOAuth2Exception, JSONException {
 
         if (introspectionResponse.getError() != null) {
             if (log.isDebugEnabled()) {
                 log.debug("The error why token is made inactive: " + introspectionResponse.getError());
             }
-            return Response.status(Response.Status.OK).entity("{\"active\":false}").build();
+            return "{\"active\":false}";
         }
 
         IntrospectionResponseBuilder respBuilder = new IntrospectionResponseBuilder()
@@ -191,45 +283,51 @@ public class OAuth2IntrospectionEndpoint {
                 if (log.isDebugEnabled()) {
                     log.debug("Executing introspection data provider: " + dataProvider.getClass().getName());
                 }
-                try {
-                    respBuilder.setAdditionalData(
-                            (((IntrospectionDataProvider) dataProvider).getIntrospectionData(
-                                    introspectionRequest, introspectionResponse)));
-                } catch (IdentityOAuth2Exception e) {
-                    if (LoggerUtils.isDiagnosticLogsEnabled()) {
-                        LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
-                                OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
-                                OAuthConstants.LogConstants.ActionIDs.GENERATE_INTROSPECTION_RESPONSE)
-                                .inputParam(LogConstants.InputKeys.ERROR_MESSAGE, e.getMessage())
-                                .resultMessage("System error occurred.")
-                                .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
-                                .resultStatus(DiagnosticLog.ResultStatus.FAILED));
-                    }
-                    log.error("Error occurred while processing additional token introspection data.", e);
-
-                    return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                            .entity("{\"error\": \"Error occurred while building the introspection " +
-                                    "response.\"}")
-                            .build();
-                }
+                respBuilder.setAdditionalData(
+                        (((IntrospectionDataProvider) dataProvider).getIntrospectionData(
+                                introspectionRequest, introspectionResponse)));
             }
         }
 
-        try {
-            return Response.ok(respBuilder.build(), MediaType.APPLICATION_JSON).status(Response.Status.OK).build();
-        } catch (JSONException e) {
-            if (LoggerUtils.isDiagnosticLogsEnabled()) {
-                LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
-                        OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
-                        OAuthConstants.LogConstants.ActionIDs.GENERATE_INTROSPECTION_RESPONSE)
-                        .inputParam(LogConstants.InputKeys.ERROR_MESSAGE, e.getMessage())
-                        .resultMessage("System error occurred.")
-                        .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
-                        .resultStatus(DiagnosticLog.ResultStatus.FAILED));
-            }
-            log.error("Error occurred while building the json response.", e);
-            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                    .entity("{\"error\": \"Error occurred while building the json response.\"}").build();
+        return respBuilder.build();
+    }
+
+    private Response handleIntrospectionDataError(IdentityOAuth2Exception e) {
+
+        logIntrospectionDataError(e);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("{\"error\": \"Error occurred while building the introspection " +
+                        "response.\"}")
+                .build();
+    }
+
+    private void logIntrospectionDataError(IdentityOAuth2Exception e) {
+
+        if (LoggerUtils.isDiagnosticLogsEnabled()) {
+            LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
+                    OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
+                    OAuthConstants.LogConstants.ActionIDs.GENERATE_INTROSPECTION_RESPONSE)
+                    .inputParam(LogConstants.InputKeys.ERROR_MESSAGE, e.getMessage())
+                    .resultMessage("System error occurred.")
+                    .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
+                    .resultStatus(DiagnosticLog.ResultStatus.FAILED));
+        }
+        log.error("Error occurred while processing additional token introspection data.", e);
+    }
+
+    private Response handleJsonResponseError(JSONException e) {
+
+        if (LoggerUtils.isDiagnosticLogsEnabled()) {
+            LoggerUtils.triggerDiagnosticLogEvent(new DiagnosticLog.DiagnosticLogBuilder(
+                    OAuthConstants.LogConstants.OAUTH_INBOUND_SERVICE,
+                    OAuthConstants.LogConstants.ActionIDs.GENERATE_INTROSPECTION_RESPONSE)
+                    .inputParam(LogConstants.InputKeys.ERROR_MESSAGE, e.getMessage())
+                    .resultMessage("System error occurred.")
+                    .logDetailLevel(DiagnosticLog.LogDetailLevel.APPLICATION)
+                    .resultStatus(DiagnosticLog.ResultStatus.FAILED));
         }
+        log.error("Error occurred while building the json response.", e);
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("{\"error\": \"Error occurred while building the json response.\"}").build();
     }
 }
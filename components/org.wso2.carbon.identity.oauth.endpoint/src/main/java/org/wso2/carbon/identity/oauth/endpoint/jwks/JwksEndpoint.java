@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015-2024, WSO2 LLC. (http://www.wso2.com).
+ * Copyright (c) 2015-2026, WSO2 LLC. (http://www.wso2.com).
  *
  * WSO2 LLC. licenses this file to you under the Apache License,
  * Version 2.0 (the "License"); you may not use this file except
@@ -36,10 +36,14 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.endpoint.util.EndpointUtil;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.cache.JWKSResponseCache;
+import org.wso2.carbon.identity.oauth2.cache.JWKSResponseCacheEntry;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.utils.security.KeystoreUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
@@ -49,12 +53,18 @@ import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.jws.WebService;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 /**
  * Rest implementation for JWKS endpoint.
@@ -69,47 +79,102 @@ public class JwksEndpoint {
     private static final String ENABLE_X5C_IN_RESPONSE = "JWTValidatorConfigs.JWKSEndpoint.EnableX5CInResponse";
     public static final String JWKS_IS_THUMBPRINT_HEXIFY_REQUIRED = "JWTValidatorConfigs.JWKSEndpoint" +
             ".IsThumbprintHexifyRequired";
+    private static final String ENABLE_RESPONSE_CACHE = "JWTValidatorConfigs.JWKSEndpoint.ResponseCache.Enable";
+    private static final String RESPONSE_MAX_AGE = "JWTValidatorConfigs.JWKSEndpoint.ResponseCache.MaxAge";
+    private static final int DEFAULT_RESPONSE_MAX_AGE = 300;
+    private static final String RESPONSE_CACHE_TIME_TO_LIVE =
+            "JWTValidatorConfigs.JWKSEndpoint.ResponseCache.TimeToLive";
+    private static final int DEFAULT_RESPONSE_CACHE_TIME_TO_LIVE = 60;
 
     @GET
     @Path(value = "/jwks")
     @Produces(MediaType.APPLICATION_JSON)
-    public String jwks() {
+    public Response jwks(@Context HttpServletRequest request) {
 
         String tenantDomain = getTenantDomain();
+        boolean responseCacheEnabled = isResponseCacheEnabled();
 
-        try {
-            final KeyStore keystore;
-            List<CertificateInfo> certificateInfoList = new ArrayList<>();
-            if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(tenantDomain)) {
-                KeyStoreManager keyStoreManager = KeyStoreManager.getInstance(MultitenantConstants.SUPER_TENANT_ID);
-                keystore = keyStoreManager.getPrimaryKeyStore();
-            } else {
-                try {
-                    int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-                    IdentityTenantUtil.initializeRegistry(tenantId);
-                    FrameworkUtils.startTenantFlow(tenantDomain);
-                    KeyStoreManager keyStoreManager = KeyStoreManager.getInstance(tenantId);
-                    keystore = keyStoreManager.getKeyStore(generateKSNameFromDomainName(tenantDomain));
-                } finally {
-                    FrameworkUtils.endTenantFlow();
+        JWKSResponseCacheEntry jwksResponse = null;
+        if (responseCacheEnabled) {
+            jwksResponse = JWKSResponseCache.getInstance().getValueFromCache(tenantDomain, tenantDomain);
+            // The key store is not read on a cache hit. A changed key store is picked up once the entry expires.
+            if (jwksResponse != null &&
+                    System.currentTimeMillis() - jwksResponse.getCreatedTime() >= getResponseCacheTimeToLive()) {
+                if (log.isDebugEnabled()) {
+                    log.debug("The cached keyset of tenant domain: " + tenantDomain + " is expired.");
                 }
+                JWKSResponseCache.getInstance().clearCacheEntry(tenantDomain, tenantDomain);
+                jwksResponse = null;
             }
-            Enumeration enumeration = keystore.aliases();
-            while (enumeration.hasMoreElements()) {
-                String alias = (String) enumeration.nextElement();
-                if (keystore.isKeyEntry(alias)) {
-                    CertificateInfo certificateInfo = new CertificateInfo(keystore.getCertificate(alias), alias);
-                    certificateInfo.setCertificateChain(keystore.getCertificateChain(alias));
-                    certificateInfoList.add(certificateInfo);
-                }
+        }
+        if (jwksResponse == null) {
+            KeyStore keystore;
+            try {
+                keystore = getKeyStore(tenantDomain);
+            } catch (Exception e) {
+                String errorMessage = "Error while loading the keystore for tenant domain: " + tenantDomain;
+                return Response.ok(logAndReturnError(errorMessage, e), MediaType.APPLICATION_JSON).build();
             }
-            return buildResponse(certificateInfoList);
-        } catch (Exception e) {
-            String errorMessage = "Error while generating the keyset for tenant domain: " + tenantDomain;
-            return logAndReturnError(errorMessage, e);
+            String jwks;
+            try {
+                jwks = buildJwks(keystore);
+            } catch (Exception e) {
+                String errorMessage = "Error while generating the keyset for tenant domain: " + tenantDomain;
+                return Response.ok(logAndReturnError(errorMessage, e), MediaType.APPLICATION_JSON).build();
+            }
+            byte[] jwksBytes = jwks.getBytes(StandardCharsets.UTF_8);
+            jwksResponse = new JWKSResponseCacheEntry(jwksBytes, EndpointUtil.generateETag(jwksBytes));
+            if (responseCacheEnabled) {
+                JWKSResponseCache.getInstance().addToCache(tenantDomain, jwksResponse, tenantDomain);
+            }
+        }
+
+        String eTag = jwksResponse.getETag();
+        String cacheControl = "public, max-age=" + getResponseMaxAge();
+        if (request != null && EndpointUtil.isETagMatched(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return Response.status(HttpServletResponse.SC_NOT_MODIFIED)
+                    .header(HttpHeaders.ETAG, eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+        return Response.ok(jwksResponse.getJwks(), MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ETAG, eTag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
+    private KeyStore getKeyStore(String tenantDomain) throws Exception {
+
+        if (MultitenantConstants.SUPER_TENANT_DOMAIN_NAME.equalsIgnoreCase(tenantDomain)) {
+            KeyStoreManager keyStoreManager = KeyStoreManager.getInstance(MultitenantConstants.SUPER_TENANT_ID);
+            return keyStoreManager.getPrimaryKeyStore();
+        }
+        try {
+            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+            IdentityTenantUtil.initializeRegistry(tenantId);
+            FrameworkUtils.startTenantFlow(tenantDomain);
+            KeyStoreManager keyStoreManager = KeyStoreManager.getInstance(tenantId);
+            return keyStoreManager.getKeyStore(generateKSNameFromDomainName(tenantDomain));
+        } finally {
+            FrameworkUtils.endTenantFlow();
         }
     }
 
+    private String buildJwks(KeyStore keystore) throws Exception {
+
+        List<CertificateInfo> certificateInfoList = new ArrayList<>();
+        Enumeration enumeration = keystore.aliases();
+        while (enumeration.hasMoreElements()) {
+            String alias = (String) enumeration.nextElement();
+            if (keystore.isKeyEntry(alias)) {
+                CertificateInfo certificateInfo = new CertificateInfo(keystore.getCertificate(alias), alias);
+                certificateInfo.setCertificateChain(keystore.getCertificateChain(alias));
+                certificateInfoList.add(certificateInfo);
+            }
+        }
+        return buildResponse(certificateInfoList);
+    }
+
     private String buildResponse(List<CertificateInfo> certInfoList)
             throws IdentityOAuth2Exception, ParseException, CertificateEncodingException, JOSEException {
 
@@ -240,6 +305,26 @@ public class JwksEndpoint {
         return MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
     }
 
+    private boolean isResponseCacheEnabled() {
+
+        String responseCacheEnabled = IdentityUtil.getProperty(ENABLE_RESPONSE_CACHE);
+        return StringUtils.isBlank(responseCacheEnabled) || Boolean.parseBoolean(responseCacheEnabled);
+    }
+
+    private int getResponseMaxAge() {
+
+        return OAuth2Util.getIntProperty(RESPONSE_MAX_AGE, DEFAULT_RESPONSE_MAX_AGE);
+    }
+
+    /**
+     * Returns the time in milliseconds for which a cached keyset is served, before it is rebuilt from the key store.
+     */
+    private long getResponseCacheTimeToLive() {
+
+        return TimeUnit.SECONDS.toMillis(
+                OAuth2Util.getIntProperty(RESPONSE_CACHE_TIME_TO_LIVE, DEFAULT_RESPONSE_CACHE_TIME_TO_LIVE));
+    }
+
     private String logAndReturnError(String errorMesage, Exception e) {
 
         if (e != null) {
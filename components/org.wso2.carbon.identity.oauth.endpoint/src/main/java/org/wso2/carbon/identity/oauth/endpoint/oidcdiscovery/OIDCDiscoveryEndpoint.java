@@ -23,12 +23,19 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.base.ServerConfigurationException;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.discovery.OIDCDiscoveryEndPointException;
 import org.wso2.carbon.identity.discovery.OIDCProcessor;
 import org.wso2.carbon.identity.discovery.builders.OIDProviderResponseBuilder;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.endpoint.util.EndpointUtil;
 import org.wso2.carbon.identity.oauth.endpoint.util.factory.OIDCProviderServiceFactory;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCDiscoveryCache;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCDiscoveryCacheEntry;
+
+import java.nio.charset.StandardCharsets;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -37,6 +44,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 /**
@@ -48,6 +56,11 @@ public class OIDCDiscoveryEndpoint {
     private static final Log log = LogFactory.getLog(OIDCDiscoveryEndpoint.class);
     private static final String DISCOVERY_ENDPOINT_PATH_COMPONENT_VALUE_TOKEN = "token";
     private static final String DISCOVERY_ENDPOINT_PATH_COMPONENT_VALUE_OIDCDISCOVERY = "oidcdiscovery";
+    private static final String ENABLE_RESPONSE_CACHE = "OAuth.OIDCDiscovery.ResponseCache.Enable";
+    private static final String RESPONSE_MAX_AGE = "OAuth.OIDCDiscovery.ResponseCache.MaxAge";
+    private static final String CACHE_CONTROL_NO_CACHE = "no-cache";
+    private static final String CACHE_KEY_SEPARATOR = "#";
+    private static final String MTLS_CACHE_KEY_SUFFIX = "#mtls";
     private OIDProviderResponseBuilder oidProviderResponseBuilder;
 
     @GET
@@ -95,20 +108,85 @@ public class OIDCDiscoveryEndpoint {
 
     private Response getResponse(HttpServletRequest request, String tenant) {
 
-        String response;
-        OIDCProcessor processor = OIDCProviderServiceFactory.getOIDCService();
-        try {
-            OIDProviderResponseBuilder responseBuilder = OIDCDiscoveryServiceFactory.getOIDProviderResponseBuilder();
-            response = responseBuilder.getOIDProviderConfigString(processor.getResponse(request, tenant));
-        } catch (OIDCDiscoveryEndPointException e) {
-            Response.ResponseBuilder errorResponse = Response.status(processor.handleError(e));
-            return errorResponse.entity(e.getMessage()).build();
-        } catch (ServerConfigurationException e) {
-            log.error("Server Configuration error occurred.", e);
-            Response.ResponseBuilder errorResponse = Response.status(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            return errorResponse.entity("Error in reading configuration.").build();
+        boolean responseCacheEnabled = isResponseCacheEnabled();
+        String cacheKey = null;
+        OIDCDiscoveryCacheEntry discoveryDocument = null;
+        if (responseCacheEnabled) {
+            cacheKey = buildCacheKey(request, tenant);
+            discoveryDocument = OIDCDiscoveryCache.getInstance().getValueFromCache(cacheKey, tenant);
+        }
+        if (discoveryDocument == null) {
+            String response;
+            OIDCProcessor processor = OIDCProviderServiceFactory.getOIDCService();
+            try {
+                OIDProviderResponseBuilder responseBuilder =
+                        OIDCDiscoveryServiceFactory.getOIDProviderResponseBuilder();
+                response = responseBuilder.getOIDProviderConfigString(processor.getResponse(request, tenant));
+            } catch (OIDCDiscoveryEndPointException e) {
+                Response.ResponseBuilder errorResponse = Response.status(processor.handleError(e));
+                return errorResponse.entity(e.getMessage()).build();
+            } catch (ServerConfigurationException e) {
+                log.error("Server Configuration error occurred.", e);
+                Response.ResponseBuilder errorResponse = Response.status(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return errorResponse.entity("Error in reading configuration.").build();
+            }
+            byte[] document = response.getBytes(StandardCharsets.UTF_8);
+            discoveryDocument = new OIDCDiscoveryCacheEntry(document, EndpointUtil.generateETag(document));
+            if (responseCacheEnabled) {
+                OIDCDiscoveryCache.getInstance().addToCache(cacheKey, discoveryDocument, tenant);
+            }
+        }
+
+        String eTag = discoveryDocument.getETag();
+        String cacheControl = getCacheControl();
+        if (EndpointUtil.isETagMatched(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return Response.status(HttpServletResponse.SC_NOT_MODIFIED)
+                    .header(HttpHeaders.ETAG, eTag)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
         }
         Response.ResponseBuilder responseBuilder = Response.status(HttpServletResponse.SC_OK);
-        return responseBuilder.entity(response).build();
+        return responseBuilder.entity(discoveryDocument.getDiscoveryDocument())
+                .header(HttpHeaders.ETAG, eTag)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .build();
+    }
+
+    /**
+     * The discovery document depends on the tenant and organization the request is resolved to, and a document served
+     * through the MTLS hostname is kept apart from the default one. The request path is not part of the key, so that
+     * the number of cached documents is bounded by the number of tenants and organizations.
+     */
+    private String buildCacheKey(HttpServletRequest request, String tenantDomain) {
+
+        String cacheKey = tenantDomain;
+        String organizationId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getOrganizationId();
+        if (StringUtils.isNotBlank(organizationId)) {
+            cacheKey = cacheKey + CACHE_KEY_SEPARATOR + organizationId;
+        }
+        String mtlsHostname = IdentityUtil.getProperty(OAuthConstants.MTLS_HOSTNAME);
+        StringBuffer requestUrl = request.getRequestURL();
+        if (StringUtils.isNotBlank(mtlsHostname) && requestUrl != null && requestUrl.indexOf(mtlsHostname) != -1) {
+            return cacheKey + MTLS_CACHE_KEY_SUFFIX;
+        }
+        return cacheKey;
+    }
+
+    private boolean isResponseCacheEnabled() {
+
+        String responseCacheEnabled = IdentityUtil.getProperty(ENABLE_RESPONSE_CACHE);
+        return StringUtils.isBlank(responseCacheEnabled) || Boolean.parseBoolean(responseCacheEnabled);
+    }
+
+    /**
+     * Clients are asked to revalidate the document with its entity tag on every use, unless a max age is configured.
+     */
+    private String getCacheControl() {
+
+        int maxAgeInSeconds = OAuth2Util.getIntProperty(RESPONSE_MAX_AGE, 0);
+        if (maxAgeInSeconds > 0) {
+            return "public, max-age=" + maxAgeInSeconds;
+        }
+        return CACHE_CONTROL_NO_CACHE;
     }
 }
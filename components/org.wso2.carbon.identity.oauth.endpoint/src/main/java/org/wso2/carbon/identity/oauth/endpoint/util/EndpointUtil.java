@@ -119,6 +119,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
@@ -180,6 +182,9 @@ public class EndpointUtil {
     private static final String ALLOW_ADDITIONAL_PARAMS_FROM_ERROR_URL = "OAuth.AllowAdditionalParamsFromErrorUrl";
     private static final String KEEP_OIDC_SCOPES_IN_CONSENT_URL = "OAuth.KeepOIDCScopesInConsentURL";
     private static final String IDP_ENTITY_ID = "IdPEntityId";
+    private static final String ETAG_HASHING_ALGORITHM = "SHA-256";
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_ETAG_PREFIX = "W/";
     private static Class<? extends OAuthAuthzRequest> oAuthAuthzRequestClass;
 
     private EndpointUtil() {
@@ -2003,6 +2008,52 @@ public class EndpointUtil {
         return stringBuilder.toString();
     }
 
+    /**
+     * Generates a strong entity tag for a response body from the SHA-256 digest of its content, so that every node of
+     * a cluster derives the same tag for the same content.
+     *
+     * @param content Response body.
+     * @return Quoted entity tag of the response body.
+     */
+    public static String generateETag(byte[] content) {
+
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ETAG_HASHING_ALGORITHM);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(messageDigest.digest(content)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is a mandatory algorithm of every Java platform.
+            throw new IllegalStateException("Error while generating the entity tag of the response.", e);
+        }
+    }
+
+    /**
+     * Checks whether the If-None-Match header of a request matches the entity tag of the current response body. As
+     * mandated for If-None-Match, weak comparison is used.
+     *
+     * @param ifNoneMatch Value of the If-None-Match header.
+     * @param eTag        Quoted entity tag of the current response body.
+     * @return True if the client already holds the current response body.
+     */
+    public static boolean isETagMatched(String ifNoneMatch, String eTag) {
+
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String requestedETag : ifNoneMatch.split(",")) {
+            requestedETag = requestedETag.trim();
+            if (ANY_ETAG.equals(requestedETag)) {
+                return true;
+            }
+            if (requestedETag.startsWith(WEAK_ETAG_PREFIX)) {
+                requestedETag = requestedETag.substring(WEAK_ETAG_PREFIX.length());
+            }
+            if (requestedETag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static AuthorizationDetails filterConsentRequiredAuthorizationDetails(
             final AuthenticatedUser authenticatedUser, final OAuth2Parameters oAuth2Parameters)
             throws IdentityOAuth2Exception {
@@ -20,6 +20,7 @@ package org.wso2.carbon.identity.oauth.endpoint.introspection;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.testng.MockitoTestNGListener;
@@ -32,26 +33,35 @@ import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.IntrospectionDataProvider;
 import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuth2TokenValidationService;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2IntrospectionResponseDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
 
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import javax.ws.rs.core.Response;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 
@@ -75,6 +85,7 @@ public class OAuth2IntrospectionEndpointTest {
     private static final String EMAIL_CLAIM_URI = "http://wso2.org/claims/emailaddress";
     private static final String ROLE_CLAIM_URI = "http://wso2.org/claims/role";
     private static final String BEARER_TOKEN_TYPE_HINT = "bearer";
+    private static final String BULK_INTROSPECTION_MAX_TOKENS = "OAuth.Introspection.Bulk.MaxTokens";
 
     private OAuth2IntrospectionEndpoint oAuth2IntrospectionEndpoint;
 
@@ -145,6 +156,124 @@ public class OAuth2IntrospectionEndpointTest {
 
     }
 
+    @Test
+    public void testIntrospectBulk() throws Exception {
+
+        OAuth2TokenValidationService mockedTokenService = mock(OAuth2TokenValidationService.class);
+        OAuth2IntrospectionResponseDTO activeResponse = new OAuth2IntrospectionResponseDTO();
+        activeResponse.setActive(true);
+        activeResponse.setTokenType("Bearer");
+        activeResponse.setClientId("client_id");
+        OAuth2IntrospectionResponseDTO inactiveResponse = new OAuth2IntrospectionResponseDTO();
+        inactiveResponse.setError("Token is not active");
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<PrivilegedCarbonContext> privilegedCarbonContext =
+                     mockStatic(PrivilegedCarbonContext.class);
+             MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration =
+                     mockStatic(OAuthServerConfiguration.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(BULK_INTROSPECTION_MAX_TOKENS)).thenReturn("2");
+            mockOAuthServerConfiguration(oAuthServerConfiguration);
+            privilegedCarbonContext.when(
+                    PrivilegedCarbonContext::getThreadLocalCarbonContext).thenReturn(mockedPrivilegedCarbonContext);
+            when(mockedPrivilegedCarbonContext.getOSGiService(any())).thenReturn(mockedTokenService);
+            when(mockedTokenService.buildIntrospectionResponses(anyList()))
+                    .thenReturn(Arrays.asList(activeResponse, inactiveResponse));
+
+            Response response = oAuth2IntrospectionEndpoint.introspectBulk(Arrays.asList("TOKEN1", "TOKEN2"),
+                    null, null);
+
+            ArgumentCaptor<List<OAuth2TokenValidationRequestDTO>> requestsCaptor =
+                    ArgumentCaptor.forClass(List.class);
+            verify(mockedTokenService).buildIntrospectionResponses(requestsCaptor.capture());
+            assertEquals(requestsCaptor.getValue().get(0).getAccessToken().getIdentifier(), "TOKEN1");
+            assertEquals(requestsCaptor.getValue().get(1).getAccessToken().getIdentifier(), "TOKEN2");
+            assertEquals(requestsCaptor.getValue().get(0).getAccessToken().getTokenType(), BEARER_TOKEN_TYPE_HINT);
+
+            assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+            Map<String, List<Map<String, Object>>> map =
+                    new Gson().fromJson((String) response.getEntity(),
+                            new TypeToken<Map<String, List<Map<String, Object>>>>() {
+                            }.getType());
+            List<Map<String, Object>> results = map.get("results");
+            assertEquals(results.size(), 2);
+            assertEquals(results.get(0).get("active"), true);
+            assertEquals(results.get(0).get("client_id"), "client_id");
+            assertEquals(results.get(1).get("active"), false);
+        }
+    }
+
+    @Test
+    public void testIntrospectBulkWithFailingDataProvider() throws Exception {
+
+        OAuth2TokenValidationService mockedTokenService = mock(OAuth2TokenValidationService.class);
+        IntrospectionDataProvider mockedDataProvider = mock(IntrospectionDataProvider.class);
+        OAuth2IntrospectionResponseDTO firstResponse = new OAuth2IntrospectionResponseDTO();
+        firstResponse.setActive(true);
+        firstResponse.setClientId("client_id");
+        OAuth2IntrospectionResponseDTO secondResponse = new OAuth2IntrospectionResponseDTO();
+        secondResponse.setActive(true);
+        secondResponse.setClientId("client_id");
+
+        try (MockedStatic<LoggerUtils> loggerUtils = mockStatic(LoggerUtils.class);
+             MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<PrivilegedCarbonContext> privilegedCarbonContext =
+                     mockStatic(PrivilegedCarbonContext.class);
+             MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration =
+                     mockStatic(OAuthServerConfiguration.class)) {
+            loggerUtils.when(LoggerUtils::isDiagnosticLogsEnabled).thenReturn(false);
+            identityUtil.when(() -> IdentityUtil.getProperty(BULK_INTROSPECTION_MAX_TOKENS)).thenReturn("2");
+            mockOAuthServerConfiguration(oAuthServerConfiguration);
+            privilegedCarbonContext.when(
+                    PrivilegedCarbonContext::getThreadLocalCarbonContext).thenReturn(mockedPrivilegedCarbonContext);
+            when(mockedPrivilegedCarbonContext.getOSGiService(any())).thenReturn(mockedTokenService);
+            when(mockedPrivilegedCarbonContext.getOSGiServices(IntrospectionDataProvider.class, null))
+                    .thenReturn(Collections.<Object>singletonList(mockedDataProvider));
+            when(mockedTokenService.buildIntrospectionResponses(anyList()))
+                    .thenReturn(Arrays.asList(firstResponse, secondResponse));
+            when(mockedDataProvider.getIntrospectionData(any(OAuth2TokenValidationRequestDTO.class),
+                    eq(firstResponse))).thenThrow(new IdentityOAuth2Exception("Data provider failure."));
+            when(mockedDataProvider.getIntrospectionData(any(OAuth2TokenValidationRequestDTO.class),
+                    eq(secondResponse))).thenReturn(Collections.singletonMap("custom", "value"));
+
+            Response response = oAuth2IntrospectionEndpoint.introspectBulk(Arrays.asList("TOKEN1", "TOKEN2"),
+                    null, null);
+
+            assertEquals(response.getStatus(), Response.Status.OK.getStatusCode());
+            Map<String, List<Map<String, Object>>> map =
+                    new Gson().fromJson((String) response.getEntity(),
+                            new TypeToken<Map<String, List<Map<String, Object>>>>() {
+                            }.getType());
+            List<Map<String, Object>> results = map.get("results");
+            assertEquals(results.size(), 2);
+            assertEquals(results.get(0).get("active"), false);
+            assertEquals(results.get(1).get("active"), true);
+            assertEquals(results.get(1).get("custom"), "value");
+        }
+    }
+
+    @DataProvider(name = "provideInvalidBulkTokens")
+    public Object[][] provideInvalidBulkTokens() {
+
+        return new Object[][]{
+                {null},
+                {Collections.emptyList()},
+                {Arrays.asList("TOKEN1", "")},
+                {Arrays.asList("TOKEN1", "TOKEN2", "TOKEN3")}
+        };
+    }
+
+    @Test(dataProvider = "provideInvalidBulkTokens")
+    public void testIntrospectBulkWithInvalidTokens(List<String> tokens) {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty(BULK_INTROSPECTION_MAX_TOKENS)).thenReturn("2");
+
+            Response response = oAuth2IntrospectionEndpoint.introspectBulk(tokens, null, null);
+            assertEquals(response.getStatus(), Response.Status.BAD_REQUEST.getStatusCode());
+        }
+    }
+
     private void mockOAuthServerConfiguration(MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration)
             throws Exception {
 
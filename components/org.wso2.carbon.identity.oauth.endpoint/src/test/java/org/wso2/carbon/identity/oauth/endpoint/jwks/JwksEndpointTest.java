@@ -40,6 +40,8 @@ import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.tokenprocessor.TokenPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.cache.JWKSResponseCache;
+import org.wso2.carbon.identity.oauth2.cache.JWKSResponseCacheEntry;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.keyidprovider.DefaultKeyIDProviderImpl;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
@@ -50,6 +52,7 @@ import java.io.FileInputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.KeyStore;
@@ -57,12 +60,24 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
@@ -81,12 +96,18 @@ public class JwksEndpointTest {
     @Mock
     KeyStoreManager mockKeyStoreManager;
 
+    @Mock
+    HttpServletRequest httpServletRequest;
+
     private static final String CERT_THUMB_PRINT = "generatedCertThrumbPrint";
     private static final String ALG = "RS256";
     private static final String USE = "sig";
     private static final JSONArray X5C_ARRAY = new JSONArray();
     private static final JSONArray X5T_ARRAY = new JSONArray();
     private static final String ENABLE_X5C_IN_RESPONSE = "JWTValidatorConfigs.JWKSEndpoint.EnableX5CInResponse";
+    private static final String RESPONSE_MAX_AGE = "JWTValidatorConfigs.JWKSEndpoint.ResponseCache.MaxAge";
+    private static final String RESPONSE_CACHE_TIME_TO_LIVE =
+            "JWTValidatorConfigs.JWKSEndpoint.ResponseCache.TimeToLive";
     private JwksEndpoint jwksEndpoint;
     private Object identityUtilObj;
 
@@ -150,13 +171,15 @@ public class JwksEndpointTest {
              MockedStatic<CarbonUtils> carbonUtils = mockStatic(CarbonUtils.class);
              MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
              MockedStatic<FrameworkUtils> frameworkUtils = mockStatic(FrameworkUtils.class);
-             MockedStatic<KeystoreUtils> keystoreUtils = mockStatic(KeystoreUtils.class);) {
+             MockedStatic<KeystoreUtils> keystoreUtils = mockStatic(KeystoreUtils.class);
+             MockedStatic<JWKSResponseCache> jwksResponseCache = mockStatic(JWKSResponseCache.class)) {
 
             Path keystorePath =
                     Paths.get(System.getProperty(CarbonBaseConstants.CARBON_HOME), "repository", "resources",
                             "security", "wso2carbon.jks");
             keystoreUtils.when(() -> KeystoreUtils.getKeyStoreFileLocation("foo.com")).thenReturn("foo-com.jks");
             mockOAuthServerConfiguration(oAuthServerConfiguration);
+            mockJWKSResponseCache(jwksResponseCache);
 
             // When the OAuth2Util is mocked, OAuthServerConfiguration instance should be available.
             try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class);
@@ -225,7 +248,7 @@ public class JwksEndpointTest {
                         getKeyStoreFromFile("wso2carbon.jks", "wso2carbon"));
                 identityUtil.when(() -> IdentityUtil.getProperty(ENABLE_X5C_IN_RESPONSE)).thenReturn("true");
 
-                String result = jwksEndpoint.jwks();
+                String result = getResponseBody(jwksEndpoint.jwks(httpServletRequest));
 
                 try {
                     JSONObject jwksJson = new JSONObject(result);
@@ -266,6 +289,100 @@ public class JwksEndpointTest {
         }
     }
 
+    @Test
+    public void testJwksResponseCaching() throws Exception {
+
+        try (MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration = mockStatic(
+                OAuthServerConfiguration.class);
+             MockedStatic<JWKSResponseCache> jwksResponseCache = mockStatic(JWKSResponseCache.class)) {
+
+            mockOAuthServerConfiguration(oAuthServerConfiguration);
+            Map<String, JWKSResponseCacheEntry> cachedResponses = mockJWKSResponseCache(jwksResponseCache);
+
+            try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class);
+                 MockedStatic<KeyStoreManager> keyStoreManager = mockStatic(KeyStoreManager.class);
+                 MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+
+                IdentityUtil.threadLocalProperties.get().put(OAuthConstants.TENANT_NAME_FROM_CONTEXT,
+                        MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+                oAuth2Util.when(() -> OAuth2Util.getKID(any(), any(), anyString())).thenReturn(CERT_THUMB_PRINT);
+                oAuth2Util.when(() -> OAuth2Util.mapSignatureAlgorithmForJWSAlgorithm(anyString()))
+                        .thenReturn(JWSAlgorithm.RS256);
+                oAuth2Util.when(() -> OAuth2Util.getIntProperty(anyString(), anyInt())).thenCallRealMethod();
+                oAuth2Util.when(() -> OAuth2Util.getIntProperty(anyString(), anyInt(), anyInt()))
+                        .thenCallRealMethod();
+                keyStoreManager.when(() -> KeyStoreManager.getInstance(anyInt())).thenReturn(mockKeyStoreManager);
+                when(mockKeyStoreManager.getPrimaryKeyStore()).thenReturn(
+                        getKeyStoreFromFile("wso2carbon.jks", "wso2carbon"));
+                identityUtil.when(() -> IdentityUtil.getProperty(RESPONSE_MAX_AGE)).thenReturn("600");
+
+                Response response = jwksEndpoint.jwks(httpServletRequest);
+                assertEquals(response.getStatus(), HttpServletResponse.SC_OK);
+                String eTag = (String) response.getMetadata().getFirst(HttpHeaders.ETAG);
+                assertNotNull(eTag, "ETag header is not set.");
+                assertEquals(response.getMetadata().getFirst(HttpHeaders.CACHE_CONTROL), "public, max-age=600");
+                assertTrue(cachedResponses.containsKey(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME),
+                        "JWKS response is not cached.");
+
+                Response cachedResponse = jwksEndpoint.jwks(httpServletRequest);
+                assertEquals(getResponseBody(cachedResponse), getResponseBody(response));
+                assertEquals(cachedResponse.getMetadata().getFirst(HttpHeaders.ETAG), eTag);
+                // A cache hit neither reads the key store nor builds the keyset.
+                keyStoreManager.verify(() -> KeyStoreManager.getInstance(anyInt()), times(1));
+                oAuth2Util.verify(() -> OAuth2Util.mapSignatureAlgorithmForJWSAlgorithm(anyString()), times(3));
+
+                when(httpServletRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"other\", W/" + eTag);
+                Response notModifiedResponse = jwksEndpoint.jwks(httpServletRequest);
+                assertEquals(notModifiedResponse.getStatus(), HttpServletResponse.SC_NOT_MODIFIED);
+                assertNull(notModifiedResponse.getEntity(), "Not modified response should not have a body.");
+                assertEquals(notModifiedResponse.getMetadata().getFirst(HttpHeaders.ETAG), eTag);
+
+                when(httpServletRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn("\"other\"");
+                assertEquals(jwksEndpoint.jwks(httpServletRequest).getStatus(), HttpServletResponse.SC_OK);
+
+                // A rotated key store is served from the cache until the cached keyset expires.
+                when(mockKeyStoreManager.getPrimaryKeyStore()).thenReturn(getKeyStoreFromFile("foo-com.jks",
+                        "foo.com"));
+                when(httpServletRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn(eTag);
+                assertEquals(jwksEndpoint.jwks(httpServletRequest).getStatus(), HttpServletResponse.SC_NOT_MODIFIED);
+
+                identityUtil.when(() -> IdentityUtil.getProperty(RESPONSE_CACHE_TIME_TO_LIVE)).thenReturn("0");
+                Response rotatedResponse = jwksEndpoint.jwks(httpServletRequest);
+                assertEquals(rotatedResponse.getStatus(), HttpServletResponse.SC_OK);
+                assertNotEquals(getResponseBody(rotatedResponse), getResponseBody(response));
+                assertNotEquals(rotatedResponse.getMetadata().getFirst(HttpHeaders.ETAG), eTag);
+                assertEquals(cachedResponses.get(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME).getETag(),
+                        rotatedResponse.getMetadata().getFirst(HttpHeaders.ETAG));
+            } finally {
+                IdentityUtil.threadLocalProperties.get().remove(OAuthConstants.TENANT_NAME_FROM_CONTEXT);
+            }
+        }
+    }
+
+    private Map<String, JWKSResponseCacheEntry> mockJWKSResponseCache(
+            MockedStatic<JWKSResponseCache> jwksResponseCache) {
+
+        Map<String, JWKSResponseCacheEntry> cachedResponses = new HashMap<>();
+        JWKSResponseCache mockJWKSResponseCache = mock(JWKSResponseCache.class);
+        jwksResponseCache.when(JWKSResponseCache::getInstance).thenReturn(mockJWKSResponseCache);
+        lenient().when(mockJWKSResponseCache.getValueFromCache(anyString(), anyString()))
+                .thenAnswer(invocation -> cachedResponses.get(invocation.getArgument(0)));
+        lenient().doAnswer(invocation -> cachedResponses.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(mockJWKSResponseCache).addToCache(anyString(), any(JWKSResponseCacheEntry.class), anyString());
+        lenient().doAnswer(invocation -> cachedResponses.remove(invocation.<String>getArgument(0)))
+                .when(mockJWKSResponseCache).clearCacheEntry(anyString(), anyString());
+        return cachedResponses;
+    }
+
+    private String getResponseBody(Response response) {
+
+        Object entity = response.getEntity();
+        if (entity instanceof byte[]) {
+            return new String((byte[]) entity, StandardCharsets.UTF_8);
+        }
+        return (String) entity;
+    }
+
     private void mockOAuthServerConfiguration(MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration)
             throws Exception {
 
@@ -44,22 +44,29 @@ import org.wso2.carbon.identity.discovery.OIDProviderConfigResponse;
 import org.wso2.carbon.identity.discovery.builders.OIDProviderResponseBuilder;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.endpoint.util.factory.OIDCProviderServiceFactory;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCDiscoveryCache;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCDiscoveryCacheEntry;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -87,6 +94,8 @@ public class OIDCDiscoveryEndpointTest {
 
     MockedConstruction<ServiceTracker> mockedConstruction;
 
+    private static final String DISCOVERY_DOCUMENT = "{\"issuer\":\"https://localhost:9443/oauth2/token\"}";
+
     private OIDCDiscoveryEndpoint oidcDiscoveryEndpoint;
     private Object identityUtilObj;
 
@@ -173,8 +182,12 @@ public class OIDCDiscoveryEndpointTest {
         try (MockedStatic<OIDCProviderServiceFactory> oidcProviderServiceFactory =
                      mockStatic(OIDCProviderServiceFactory.class);
              MockedStatic<OIDCDiscoveryServiceFactory> oidcDiscoveryServiceFactory =
-                     mockStatic(OIDCDiscoveryServiceFactory.class)) {
+                     mockStatic(OIDCDiscoveryServiceFactory.class);
+             MockedStatic<OIDCDiscoveryCache> oidcDiscoveryCache = mockStatic(OIDCDiscoveryCache.class)) {
 
+            mockOIDCDiscoveryCache(oidcDiscoveryCache);
+            lenient().when(oidProviderResponseBuilder.getOIDProviderConfigString(oidProviderConfigResponse))
+                    .thenReturn(DISCOVERY_DOCUMENT);
             oidcDiscoveryServiceFactory.when(OIDCDiscoveryServiceFactory::getOIDProviderResponseBuilder)
                     .thenReturn(oidProviderResponseBuilder);
             oidcProviderServiceFactory.when(OIDCProviderServiceFactory::getOIDCService)
@@ -190,6 +203,64 @@ public class OIDCDiscoveryEndpointTest {
 
     }
 
+    @Test
+    public void testGetOIDProviderConfigurationFromCache() throws Exception {
+
+        IdentityUtil.threadLocalProperties.get().put(
+                OAuthConstants.TENANT_NAME_FROM_CONTEXT, MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+        try (MockedStatic<OIDCProviderServiceFactory> oidcProviderServiceFactory =
+                     mockStatic(OIDCProviderServiceFactory.class);
+             MockedStatic<OIDCDiscoveryServiceFactory> oidcDiscoveryServiceFactory =
+                     mockStatic(OIDCDiscoveryServiceFactory.class);
+             MockedStatic<OIDCDiscoveryCache> oidcDiscoveryCache = mockStatic(OIDCDiscoveryCache.class)) {
+
+            Map<String, OIDCDiscoveryCacheEntry> cachedDocuments = mockOIDCDiscoveryCache(oidcDiscoveryCache);
+            oidcDiscoveryServiceFactory.when(OIDCDiscoveryServiceFactory::getOIDProviderResponseBuilder)
+                    .thenReturn(oidProviderResponseBuilder);
+            oidcProviderServiceFactory.when(OIDCProviderServiceFactory::getOIDCService)
+                    .thenReturn(defaultOIDCProcessor);
+            when(defaultOIDCProcessor.getResponse(any(), any())).thenReturn(oidProviderConfigResponse);
+            when(oidProviderResponseBuilder.getOIDProviderConfigString(oidProviderConfigResponse))
+                    .thenReturn(DISCOVERY_DOCUMENT);
+            Response response = oidcDiscoveryEndpoint.getOIDProviderConfiguration("token", httpServletRequest);
+            Assert.assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+            Assert.assertEquals(DISCOVERY_DOCUMENT,
+                    new String((byte[]) response.getEntity(), StandardCharsets.UTF_8));
+            String eTag = (String) response.getMetadata().getFirst(HttpHeaders.ETAG);
+            Assert.assertNotNull(eTag);
+            Assert.assertEquals("no-cache", response.getMetadata().getFirst(HttpHeaders.CACHE_CONTROL));
+            Assert.assertTrue(cachedDocuments.containsKey(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME));
+
+            // The second request is served from the cache, without building the document again, whatever its path.
+            Response cachedResponse =
+                    oidcDiscoveryEndpoint.getOIDProviderConfiguration("oidcdiscovery", httpServletRequest);
+            Assert.assertEquals(HttpServletResponse.SC_OK, cachedResponse.getStatus());
+            Assert.assertEquals(eTag, cachedResponse.getMetadata().getFirst(HttpHeaders.ETAG));
+            verify(defaultOIDCProcessor, times(1)).getResponse(any(), any());
+
+            when(httpServletRequest.getHeader(HttpHeaders.IF_NONE_MATCH)).thenReturn(eTag);
+            Response notModifiedResponse =
+                    oidcDiscoveryEndpoint.getOIDProviderConfiguration("token", httpServletRequest);
+            Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED, notModifiedResponse.getStatus());
+            Assert.assertNull(notModifiedResponse.getEntity());
+        } finally {
+            IdentityUtil.threadLocalProperties.get().remove(OAuthConstants.TENANT_NAME_FROM_CONTEXT);
+        }
+    }
+
+    private Map<String, OIDCDiscoveryCacheEntry> mockOIDCDiscoveryCache(
+            MockedStatic<OIDCDiscoveryCache> oidcDiscoveryCache) {
+
+        Map<String, OIDCDiscoveryCacheEntry> cachedDocuments = new HashMap<>();
+        OIDCDiscoveryCache mockOIDCDiscoveryCache = mock(OIDCDiscoveryCache.class);
+        oidcDiscoveryCache.when(OIDCDiscoveryCache::getInstance).thenReturn(mockOIDCDiscoveryCache);
+        lenient().when(mockOIDCDiscoveryCache.getValueFromCache(any(), anyString()))
+                .thenAnswer(invocation -> cachedDocuments.get(invocation.getArgument(0)));
+        lenient().doAnswer(invocation -> cachedDocuments.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(mockOIDCDiscoveryCache).addToCache(any(), any(OIDCDiscoveryCacheEntry.class), anyString());
+        return cachedDocuments;
+    }
+
     private Map<String, Object> getSampleConfigMap() {
 
         Map<String, Object> configMap = new HashMap<>();
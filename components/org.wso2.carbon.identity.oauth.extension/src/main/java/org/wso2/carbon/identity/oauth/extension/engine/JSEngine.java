@@ -71,4 +71,28 @@ public interface JSEngine {
      * @return A map of key-value pairs representing the JavaScript objects from the specified bindings.
      */
     Map<String, Object> getJSObjects(List<String> bindings);
+
+    /**
+     * Evaluates the specified JavaScript code with the specified bindings, invokes the specified function and returns
+     * the specified JavaScript objects, in isolation from other executions.
+     * <p>
+     * Unlike chaining the methods of a shared engine instance, implementations may run concurrent executions on
+     * separate engines and reuse the compiled form of the code across executions.
+     *
+     * @param script       The JavaScript code to evaluate.
+     * @param bindings     A map of key-value pairs representing the bindings to add.
+     * @param functionName The name of the function to invoke.
+     * @param objectNames  A list of names of the JavaScript objects to retrieve.
+     * @param args         The arguments to pass to the function.
+     * @return A map of key-value pairs representing the specified JavaScript objects.
+     * @throws NoSuchMethodException If the specified function does not exist.
+     * @throws ScriptException       If an error occurs while evaluating the code or invoking the function.
+     */
+    default Map<String, Object> execute(String script, Map<String, Object> bindings, String functionName,
+                                        List<String> objectNames, Object... args)
+            throws NoSuchMethodException, ScriptException {
+
+        return createEngine().addBindings(bindings).evalScript(script).invokeFunction(functionName, args)
+                .getJSObjects(objectNames);
+    }
 }
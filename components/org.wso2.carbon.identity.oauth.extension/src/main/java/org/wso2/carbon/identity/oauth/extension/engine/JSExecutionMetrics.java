@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.extension.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and the execution latency histogram of the scripts executed by a {@link JSEngine}.
+ */
+public class JSExecutionMetrics {
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets. The last bucket of the histogram holds the
+     * latencies above the largest bound.
+     */
+    public static final long[] LATENCY_BUCKET_BOUNDS = {1, 5, 10, 25, 50, 100, 250, 1000};
+
+    private final AtomicLong executionCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong compilationCount = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+
+    public void recordExecution(long latencyMillis) {
+
+        executionCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    public void recordFailure(long latencyMillis) {
+
+        failureCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    public void recordTimeout(long latencyMillis) {
+
+        timeoutCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    public void recordCompilation() {
+
+        compilationCount.incrementAndGet();
+    }
+
+    private void recordLatency(long latencyMillis) {
+
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the number of successful script executions.
+     *
+     * @return Number of successful executions.
+     */
+    public long getExecutionCount() {
+
+        return executionCount.get();
+    }
+
+    /**
+     * Returns the number of script executions failed with an error.
+     *
+     * @return Number of failed executions.
+     */
+    public long getFailureCount() {
+
+        return failureCount.get();
+    }
+
+    /**
+     * Returns the number of script executions aborted as they exceeded the execution time limit.
+     *
+     * @return Number of timed out executions.
+     */
+    public long getTimeoutCount() {
+
+        return timeoutCount.get();
+    }
+
+    /**
+     * Returns the number of scripts compiled, which is the number of executions not served from a compiled script.
+     *
+     * @return Number of compilations.
+     */
+    public long getCompilationCount() {
+
+        return compilationCount.get();
+    }
+
+    /**
+     * Returns a snapshot of the execution latency histogram. The value at index i is the number of executions
+     * completed within {@link #LATENCY_BUCKET_BOUNDS}[i] milliseconds and above the previous bound.
+     *
+     * @return Latency histogram bucket counts.
+     */
+    public long[] getLatencyHistogram() {
+
+        long[] snapshot = new long[latencyHistogram.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = latencyHistogram.get(i);
+        }
+        return snapshot;
+    }
+}
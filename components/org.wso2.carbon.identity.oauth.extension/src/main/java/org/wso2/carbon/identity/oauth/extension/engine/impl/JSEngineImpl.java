@@ -24,6 +24,7 @@ import jdk.nashorn.api.scripting.ScriptObjectMirror;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
+import org.wso2.carbon.identity.oauth.extension.engine.JSExecutionMetrics;
 
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +43,9 @@ public class JSEngineImpl implements JSEngine {
 
     private ClassFilter classFilter;
     private final ScriptEngine engine;
+    private final NashornScriptEngineFactory factory;
+    private final ClassLoader classLoader;
+    private volatile PooledScriptExecutor scriptExecutor;
     private static final String[] NASHORN_ARGS = {"--no-java", "--no-deprecation-warning"};
     private static final String REMOVE_FUNCTIONS = "var quit=function(){Log.error('quit function is restricted.')};" +
             "var exit=function(){Log.error('exit function is restricted.')};" +
@@ -59,9 +63,10 @@ public class JSEngineImpl implements JSEngine {
 
     public JSEngineImpl() {
 
-        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        factory = new NashornScriptEngineFactory();
+        classLoader = getClassLoader();
         classFilter = new RestrictedClassFilter();
-        this.engine = factory.getScriptEngine(NASHORN_ARGS, getClassLoader(), classFilter);
+        this.engine = factory.getScriptEngine(NASHORN_ARGS, classLoader, classFilter);
     }
 
     /**
@@ -123,6 +128,40 @@ public class JSEngineImpl implements JSEngine {
         return jsObjects;
     }
 
+    /**
+     * Executes the script on an engine of a pool, against bindings of its own. Concurrent executions do not share an
+     * engine, and the compiled script is reused by the later executions on the same engine.
+     */
+    @Override
+    public Map<String, Object> execute(String script, Map<String, Object> bindings, String functionName,
+                                       List<String> objectNames, Object... args) throws ScriptException {
+
+        return getScriptExecutor().execute(script, bindings, functionName, objectNames, args);
+    }
+
+    /**
+     * Returns the metrics of the script executions made through {@link #execute}.
+     *
+     * @return Script execution metrics.
+     */
+    public JSExecutionMetrics getExecutionMetrics() {
+
+        return getScriptExecutor().getMetrics();
+    }
+
+    private PooledScriptExecutor getScriptExecutor() {
+
+        if (scriptExecutor == null) {
+            synchronized (this) {
+                if (scriptExecutor == null) {
+                    scriptExecutor = PooledScriptExecutor.fromConfig(
+                            () -> factory.getScriptEngine(NASHORN_ARGS, classLoader, classFilter), REMOVE_FUNCTIONS);
+                }
+            }
+        }
+        return scriptExecutor;
+    }
+
     /**
      * This method returns the current thread's class loader.
      * @return Returns NashornScriptEngineFactory class to evaluate the javascript if classLoader is null.
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.extension.engine.impl;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.extension.engine.JSExecutionMetrics;
+import org.wso2.carbon.identity.oauth.extension.utils.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+
+/**
+ * Executes scripts on a pool of script engines, so that concurrent executions do not share an engine.
+ * <p>
+ * Each execution runs on an engine borrowed from the pool, against fresh bindings of its own, hence nothing defined by
+ * one execution is visible to another. The scripts are compiled once per engine and kept by the hash of their
+ * content, so repeated executions of the same script skip parsing and compilation. When an execution time limit is
+ * configured, the scripts run on a separate thread and an execution exceeding the limit is abandoned along with its
+ * engine. An abandoned execution keeps its permit until its thread actually ends, so the script threads never outnumber
+ * the pool size, even when the abandoned scripts ignore the interruption.
+ */
+class PooledScriptExecutor {
+
+    private static final Log log = LogFactory.getLog(PooledScriptExecutor.class);
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_MAX_COMPILED_SCRIPTS = 100;
+    private static final int DEFAULT_EXECUTION_TIMEOUT_IN_MILLIS = 0;
+
+    private final Supplier<ScriptEngine> engineFactory;
+    private final String initScript;
+    private final int maxCompiledScripts;
+    private final long executionTimeout;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<PooledEngine> idleEngines = new ConcurrentLinkedQueue<>();
+    private final ExecutorService executor;
+    private final JSExecutionMetrics metrics = new JSExecutionMetrics();
+
+    /**
+     * Creates an executor.
+     *
+     * @param engineFactory      Factory of the pooled script engines.
+     * @param initScript         Script evaluated on the fresh bindings of every execution, before the script.
+     * @param poolSize           Maximum number of engines, and of concurrent executions.
+     * @param maxCompiledScripts Maximum number of compiled scripts kept per engine.
+     * @param executionTimeout   Execution time limit in milliseconds. Zero or less for no limit.
+     */
+    PooledScriptExecutor(Supplier<ScriptEngine> engineFactory, String initScript, int poolSize,
+                         int maxCompiledScripts, long executionTimeout) {
+
+        this.engineFactory = engineFactory;
+        this.initScript = initScript;
+        this.maxCompiledScripts = maxCompiledScripts;
+        this.executionTimeout = executionTimeout;
+        this.permits = new Semaphore(Math.max(poolSize, 1), true);
+        this.executor = executionTimeout > 0 ? Executors.newCachedThreadPool(new ScriptExecutionThreadFactory()) : null;
+    }
+
+    /**
+     * Creates an executor configured from the OAuth.ScriptExecution section of identity.xml.
+     *
+     * @param engineFactory Factory of the pooled script engines.
+     * @param initScript    Script evaluated on the fresh bindings of every execution, before the script.
+     * @return Script executor.
+     */
+    static PooledScriptExecutor fromConfig(Supplier<ScriptEngine> engineFactory, String initScript) {
+
+        return new PooledScriptExecutor(engineFactory, initScript,
+                readInt(Constants.ScriptExecution.POOL_SIZE, DEFAULT_POOL_SIZE),
+                readInt(Constants.ScriptExecution.MAX_COMPILED_SCRIPTS, DEFAULT_MAX_COMPILED_SCRIPTS),
+                readInt(Constants.ScriptExecution.EXECUTION_TIMEOUT, DEFAULT_EXECUTION_TIMEOUT_IN_MILLIS));
+    }
+
+    JSExecutionMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Evaluates the script with the given bindings, invokes the given function, and returns the requested objects.
+     *
+     * @param script       The JavaScript code to evaluate.
+     * @param bindings     Bindings added before evaluating the script.
+     * @param functionName Name of the function to invoke after evaluating the script.
+     * @param objectNames  Names of the JavaScript objects to return.
+     * @param args         Arguments of the function.
+     * @return Map of the requested JavaScript objects which are defined.
+     * @throws ScriptException If the script fails, or exceeds the execution time limit.
+     */
+    Map<String, Object> execute(String script, Map<String, Object> bindings, String functionName,
+                                List<String> objectNames, Object... args) throws ScriptException {
+
+        long startTime = System.nanoTime();
+        PooledEngine pooledEngine = borrow();
+        boolean reusable = true;
+        boolean permitHandedOver = false;
+        try {
+            Map<String, Object> jsObjects;
+            if (executor == null) {
+                jsObjects = pooledEngine.execute(script, bindings, functionName, objectNames, args);
+            } else {
+                ScriptExecution execution = new ScriptExecution(pooledEngine, script, bindings, functionName,
+                        objectNames, args);
+                try {
+                    jsObjects = executeWithTimeout(execution);
+                } catch (TimeoutException | ScriptException | RuntimeException e) {
+                    permitHandedOver = execution.abandon();
+                    throw e;
+                }
+            }
+            metrics.recordExecution(elapsedMillis(startTime));
+            return jsObjects;
+        } catch (TimeoutException e) {
+            // The abandoned execution may still be running on the engine, hence it is not returned to the pool.
+            reusable = false;
+            metrics.recordTimeout(elapsedMillis(startTime));
+            throw new ScriptException("Script execution exceeded the time limit of " + executionTimeout + " ms.");
+        } catch (ScriptException | RuntimeException e) {
+            if (permitHandedOver) {
+                reusable = false;
+            }
+            metrics.recordFailure(elapsedMillis(startTime));
+            throw e;
+        } finally {
+            if (!permitHandedOver) {
+                release(pooledEngine, reusable);
+            }
+        }
+    }
+
+    private Map<String, Object> executeWithTimeout(ScriptExecution execution) throws ScriptException,
+            TimeoutException {
+
+        Future<Map<String, Object>> future = executor.submit(execution);
+        try {
+            return future.get(executionTimeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for the script execution.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ScriptException) {
+                throw (ScriptException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            ScriptException scriptException = new ScriptException("Error while executing the script.");
+            scriptException.initCause(e.getCause());
+            throw scriptException;
+        }
+    }
+
+    private PooledEngine borrow() throws ScriptException {
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScriptException("Interrupted while waiting for a script engine.");
+        }
+        PooledEngine pooledEngine = idleEngines.poll();
+        if (pooledEngine == null) {
+            try {
+                pooledEngine = new PooledEngine(engineFactory.get());
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        return pooledEngine;
+    }
+
+    private void release(PooledEngine pooledEngine, boolean reusable) {
+
+        if (reusable) {
+            pooledEngine.clearBindings();
+            idleEngines.offer(pooledEngine);
+        }
+        permits.release();
+    }
+
+    private static long elapsedMillis(long startTime) {
+
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    private static int readInt(String property, int defaultValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                    defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static String hash(String script) {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is supported by every Java platform, fall back to the script itself if it is not.
+            return script;
+        }
+    }
+
+    /**
+     * A pooled script engine along with the scripts compiled on it. Used by one execution at a time.
+     */
+    private class PooledEngine {
+
+        private final ScriptEngine engine;
+        private final Map<String, CompiledScript> compiledScripts;
+
+        PooledEngine(ScriptEngine engine) {
+
+            this.engine = engine;
+            this.engine.setBindings(engine.createBindings(), ScriptContext.GLOBAL_SCOPE);
+            this.compiledScripts = new LinkedHashMap<String, CompiledScript>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 2370937004651457201L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledScript> eldest) {
+
+                    return size() > maxCompiledScripts;
+                }
+            };
+        }
+
+        Map<String, Object> execute(String script, Map<String, Object> bindings, String functionName,
+                                    List<String> objectNames, Object... args) throws ScriptException {
+
+            Bindings engineBindings = engine.createBindings();
+            engine.setBindings(engineBindings, ScriptContext.ENGINE_SCOPE);
+            getCompiledScript(initScript).eval();
+            if (bindings != null) {
+                engineBindings.putAll(bindings);
+            }
+            getCompiledScript(script).eval();
+
+            if (StringUtils.isNotEmpty(functionName)) {
+                try {
+                    ((Invocable) engine).invokeFunction(functionName, args);
+                } catch (NoSuchMethodException e) {
+                    log.warn(String.format("Function %s is not defined in the script.", functionName));
+                }
+            }
+
+            Map<String, Object> jsObjects = new HashMap<>();
+            for (String objectName : objectNames) {
+                Object jsObject = engineBindings.get(objectName);
+                if (jsObject != null) {
+                    jsObjects.put(objectName, jsObject);
+                }
+            }
+            return jsObjects;
+        }
+
+        void clearBindings() {
+
+            // Releases the objects of the last execution while the engine is idle.
+            engine.setBindings(new SimpleBindings(), ScriptContext.ENGINE_SCOPE);
+        }
+
+        private CompiledScript getCompiledScript(String script) throws ScriptException {
+
+            String key = hash(script);
+            CompiledScript compiledScript = compiledScripts.get(key);
+            if (compiledScript == null) {
+                compiledScript = ((Compilable) engine).compile(script);
+                compiledScripts.put(key, compiledScript);
+                metrics.recordCompilation();
+            }
+            return compiledScript;
+        }
+    }
+
+    /**
+     * An execution run on a script thread. The permit of the execution is released by the caller, unless the caller
+     * abandons the execution while it is running, in which case the script thread releases it once the script ends.
+     */
+    private class ScriptExecution implements Callable<Map<String, Object>> {
+
+        private static final int PENDING = 0;
+        private static final int RUNNING = 1;
+        private static final int FINISHED = 2;
+        private static final int ABANDONED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final PooledEngine pooledEngine;
+        private final String script;
+        private final Map<String, Object> bindings;
+        private final String functionName;
+        private final List<String> objectNames;
+        private final Object[] args;
+
+        ScriptExecution(PooledEngine pooledEngine, String script, Map<String, Object> bindings, String functionName,
+                        List<String> objectNames, Object[] args) {
+
+            this.pooledEngine = pooledEngine;
+            this.script = script;
+            this.bindings = bindings;
+            this.functionName = functionName;
+            this.objectNames = objectNames;
+            this.args = args;
+        }
+
+        @Override
+        public Map<String, Object> call() throws ScriptException {
+
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                // Abandoned before it started.
+                return null;
+            }
+            try {
+                return pooledEngine.execute(script, bindings, functionName, objectNames, args);
+            } finally {
+                if (!state.compareAndSet(RUNNING, FINISHED)) {
+                    release(pooledEngine, false);
+                }
+            }
+        }
+
+        /**
+         * Abandons the execution.
+         *
+         * @return True if the execution is still running, and the script thread releases the permit when it ends.
+         */
+        boolean abandon() {
+
+            if (state.compareAndSet(PENDING, ABANDONED)) {
+                // The script never runs, hence the permit stays with the caller.
+                return false;
+            }
+            return state.compareAndSet(RUNNING, ABANDONED);
+        }
+    }
+
+    /**
+     * Creates the daemon threads running the scripts when an execution time limit is configured.
+     */
+    private static class ScriptExecutionThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "oauth-script-executor-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
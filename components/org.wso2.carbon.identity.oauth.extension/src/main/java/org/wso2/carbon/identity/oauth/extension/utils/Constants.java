@@ -25,4 +25,14 @@ public class Constants {
 
     public static final String OPENJDK_SCRIPT_CLASS_NAME = "org.openjdk.nashorn.api.scripting.ScriptObjectMirror";
     public static final String JDK_SCRIPT_CLASS_NAME = "jdk.nashorn.api.scripting.ScriptObjectMirror";
+
+    /**
+     * Configurations of the pooled script execution.
+     */
+    public static class ScriptExecution {
+
+        public static final String POOL_SIZE = "OAuth.ScriptExecution.PoolSize";
+        public static final String MAX_COMPILED_SCRIPTS = "OAuth.ScriptExecution.MaxCompiledScripts";
+        public static final String EXECUTION_TIMEOUT = "OAuth.ScriptExecution.ExecutionTimeout";
+    }
 }
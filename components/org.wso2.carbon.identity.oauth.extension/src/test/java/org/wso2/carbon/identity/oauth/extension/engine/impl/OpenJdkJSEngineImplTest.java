@@ -18,6 +18,7 @@
 
 package org.wso2.carbon.identity.oauth.extension.engine.impl;
 
+import org.openjdk.nashorn.api.scripting.NashornScriptEngineFactory;
 import org.testng.annotations.Test;
 import org.wso2.carbon.identity.oauth.extension.engine.JSEngine;
 
@@ -29,8 +30,10 @@ import java.util.Map;
 import javax.script.ScriptException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class OpenJdkJSEngineImplTest {
 
@@ -84,4 +87,83 @@ public class OpenJdkJSEngineImplTest {
         assertEquals("John", ((Map<?, ?>) jsObjects.get("person")).get("name"));
         assertEquals(30, ((Map<?, ?>) jsObjects.get("person")).get("age"));
     }
+
+    @Test
+    public void testExecute() throws ScriptException {
+
+        PooledScriptExecutor executor = createScriptExecutor(2, 0);
+        Map<String, Object> bindings = new HashMap<>();
+        bindings.put("name", "John");
+        String script = "function greet(greeting) { message = greeting + ' ' + name; }";
+
+        Map<String, Object> jsObjects = executor.execute(script, bindings, "greet",
+                Collections.singletonList("message"), "Hello");
+        assertEquals("Hello John", jsObjects.get("message"));
+        assertEquals(1, executor.getMetrics().getExecutionCount());
+    }
+
+    @Test
+    public void testExecutionsAreIsolated() throws ScriptException {
+
+        PooledScriptExecutor executor = createScriptExecutor(1, 0);
+        executor.execute("function define() { leaked = 'value'; }", new HashMap<>(), "define",
+                Collections.singletonList("leaked"));
+
+        Map<String, Object> jsObjects = executor.execute("function read() { }", new HashMap<>(), "read",
+                Collections.singletonList("leaked"));
+        assertFalse("Objects defined by an execution should not be visible to the next execution.",
+                jsObjects.containsKey("leaked"));
+    }
+
+    @Test
+    public void testCompiledScriptIsReused() throws ScriptException {
+
+        PooledScriptExecutor executor = createScriptExecutor(1, 0);
+        String script = "function add(a, b) { result = a + b; }";
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> jsObjects = executor.execute(script, new HashMap<>(), "add",
+                    Collections.singletonList("result"), i, 1);
+            assertEquals(String.valueOf((double) i + 1), jsObjects.get("result").toString());
+        }
+        // The init script and the script are compiled once on the single pooled engine.
+        assertEquals(2, executor.getMetrics().getCompilationCount());
+        assertEquals(5, executor.getMetrics().getExecutionCount());
+    }
+
+    @Test
+    public void testExecuteUndefinedFunction() throws ScriptException {
+
+        PooledScriptExecutor executor = createScriptExecutor(1, 0);
+        Map<String, Object> jsObjects = executor.execute("var value = 1;", new HashMap<>(), "undefinedFunction",
+                Collections.singletonList("value"));
+        assertTrue(jsObjects.containsKey("value"));
+    }
+
+    @Test
+    public void testExecutionTimeout() throws ScriptException {
+
+        PooledScriptExecutor executor = createScriptExecutor(1, 100);
+        long startTime = System.currentTimeMillis();
+        try {
+            executor.execute("function loop() { var end = Date.now() + 1000; while (Date.now() < end) { } }",
+                    new HashMap<>(), "loop", Collections.singletonList("value"));
+            fail("An execution exceeding the time limit should fail.");
+        } catch (ScriptException e) {
+            assertEquals(1, executor.getMetrics().getTimeoutCount());
+        }
+
+        // The abandoned execution keeps the only permit until its script ends, and its engine is replaced.
+        Map<String, Object> jsObjects = executor.execute("function define() { value = 'done'; }", new HashMap<>(),
+                "define", Collections.singletonList("value"));
+        assertEquals("done", jsObjects.get("value"));
+        assertTrue("The next execution should wait for the abandoned script to end.",
+                System.currentTimeMillis() - startTime >= 1000);
+    }
+
+    private PooledScriptExecutor createScriptExecutor(int poolSize, long executionTimeout) {
+
+        NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
+        return new PooledScriptExecutor(() -> factory.getScriptEngine(new String[]{"--no-java"}, getClass()
+                .getClassLoader(), s -> false), "var print = function() {};", poolSize, 10, executionTimeout);
+    }
 }
@@ -23,6 +23,7 @@ import io.vertx.json.schema.JsonSchema;
 import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
 
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -87,4 +88,38 @@ public interface AuthorizationDetailsSchemaValidator {
      */
     boolean isSchemaCompliant(final JsonObject schema, final AuthorizationDetail authorizationDetail)
             throws AuthorizationDetailsProcessingException;
+
+    /**
+     * Validates whether the given authorization details comply with the provided JSON schema.
+     *
+     * @param schema               the JSON schema as a {@code Map<String, Object>}.
+     * @param authorizationDetails the authorization details of the same type to be validated.
+     * @return true if all the authorization details are schema compliant, false if schema or authorizationDetails
+     * are invalid.
+     * @throws AuthorizationDetailsProcessingException if the validation fails or an error occurs during validation.
+     */
+    default boolean areSchemaCompliant(final Map<String, Object> schema,
+                                       final Collection<AuthorizationDetail> authorizationDetails)
+            throws AuthorizationDetailsProcessingException {
+
+        if (authorizationDetails == null || authorizationDetails.isEmpty()) {
+            return false;
+        }
+        for (final AuthorizationDetail authorizationDetail : authorizationDetails) {
+            if (!this.isSchemaCompliant(schema, authorizationDetail)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evicts the validator compiled for the given authorization details type, if any. Must be called when the schema
+     * of an authorization details type is updated or the type is deleted.
+     *
+     * @param type the authorization details type.
+     */
+    default void clearCompiledSchema(final String type) {
+
+    }
 }
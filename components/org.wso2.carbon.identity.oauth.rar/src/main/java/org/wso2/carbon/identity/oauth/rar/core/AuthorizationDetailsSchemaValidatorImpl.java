@@ -34,10 +34,15 @@ import org.apache.commons.collections.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConstants.SCHEMA_VALIDATION_FAILED_ERR_MSG_FORMAT;
 import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConstants.TYPE_VALIDATION_FAILED_ERR_MSG_FORMAT;
@@ -59,6 +64,11 @@ import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsConsta
  * <p> Refer to <a href="https://json-schema.org/draft/2020-12/draft-bhutton-json-schema-01">
  * json-schema </a> for detailed information on the JSON documents structure. </p>
  *
+ * <p>
+ * The validators compiled from the schemas are cached by tenant and authorization details type, along with the
+ * canonical form of the schema they were compiled from. A validator is replaced when a different schema is received
+ * for its type, hence an update to an authorization details type takes effect on the next validation.
+ *
  * @see AuthorizationDetail
  * @see JsonSchema
  */
@@ -68,10 +78,13 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
 
     private static final String ADDITIONAL_PROPERTIES = "additionalProperties";
     private static final String BASE_URI = "https://wso2.com/identity-server/schemas";
+    private static final int MAX_COMPILED_SCHEMAS = 1000;
 
     private static volatile AuthorizationDetailsSchemaValidator instance;
     private final JsonSchemaOptions jsonSchemaOptions;
     private final SchemaRepository schemaRepository;
+    private final Validator metaSchemaValidator;
+    private final Map<String, CompiledSchema> compiledSchemas;
 
     private AuthorizationDetailsSchemaValidatorImpl() {
 
@@ -82,6 +95,19 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
 
         this.schemaRepository = SchemaRepository.create(this.jsonSchemaOptions)
                 .preloadMetaSchema(Vertx.vertx().fileSystem());
+
+        // Validates the schemas themselves against json-schema DRAFT202012
+        this.metaSchemaValidator = this.schemaRepository.validator(this.jsonSchemaOptions.getDraft().getIdentifier());
+        this.compiledSchemas = Collections.synchronizedMap(new LinkedHashMap<String, CompiledSchema>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = -2470837466367263473L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CompiledSchema> eldest) {
+
+                return this.size() > MAX_COMPILED_SCHEMAS;
+            }
+        });
     }
 
     public static AuthorizationDetailsSchemaValidator getInstance() {
@@ -110,7 +136,7 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        final OutputUnit outputUnit = this.buildOutputUnit(null, this.parseJsonObject(schema));
+        final OutputUnit outputUnit = this.metaSchemaValidator.validate(this.parseJsonObject(schema));
         try {
             // Validates the schema itself against the DRAFT202012 schema standard
             outputUnit.checkValidity();
@@ -125,14 +151,68 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
         return true;
     }
 
-    private OutputUnit buildOutputUnit(final JsonObject jsonSchema, final JsonObject jsonInput) {
+    /**
+     * Builds the key of the validator compiled for the given authorization details type in the current tenant.
+     *
+     * @param type the authorization details type.
+     * @return the key of the compiled validator.
+     */
+    private String buildCompiledSchemaKey(final String type) {
+
+        return PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId() + ":" +
+                StringUtils.defaultString(type);
+    }
 
-        // Validate the jsonSchema if present, otherwise validate the schema itself against json-schema DRAFT202012
-        final Validator validator = (jsonSchema != null)
-                ? this.schemaRepository.validator(JsonSchema.of(jsonSchema), this.jsonSchemaOptions)
-                : this.schemaRepository.validator(this.jsonSchemaOptions.getDraft().getIdentifier());
+    /**
+     * Returns the validator compiled for the given authorization details type, if it was compiled from the same schema.
+     *
+     * @param key         the key of the compiled validator.
+     * @param type        the authorization details type.
+     * @param fingerprint the canonical string form of the schema.
+     * @return the cached validator, or null if the schema of the type has not been compiled yet or has changed.
+     */
+    private Validator getCompiledValidator(final String key, final String type, final String fingerprint) {
+
+        final CompiledSchema compiledSchema = this.compiledSchemas.get(key);
+        if (compiledSchema == null) {
+            return null;
+        }
+        if (!compiledSchema.fingerprint.equals(fingerprint)) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Schema of authorization details type: %s has changed. Evicting the " +
+                        "compiled validator.", type));
+            }
+            return null;
+        }
+        return compiledSchema.validator;
+    }
+
+    private Validator getValidator(final String type, final JsonObject jsonSchema) {
+
+        // The encoded schema is the canonical form, regardless of whether it was received as a string, map or object
+        final String fingerprint = jsonSchema.encode();
+        final String key = this.buildCompiledSchemaKey(type);
+        final Validator compiledValidator = this.getCompiledValidator(key, type, fingerprint);
+        if (compiledValidator != null) {
+            return compiledValidator;
+        }
+
+        // Compiles a copy of the schema, so that later changes to the given object do not alter the cached validator
+        final Validator validator = this.schemaRepository
+                .validator(JsonSchema.of(new JsonObject(fingerprint)), this.jsonSchemaOptions);
+        this.compiledSchemas.put(key, new CompiledSchema(fingerprint, validator));
+        return validator;
+    }
+
+    /**
+     * Evicts the validator compiled for the given authorization details type in the current tenant.
+     *
+     * @param type the authorization details type.
+     */
+    @Override
+    public void clearCompiledSchema(final String type) {
 
-        return validator.validate(jsonInput);
+        this.compiledSchemas.remove(this.buildCompiledSchemaKey(type));
     }
 
     /**
@@ -182,7 +262,8 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        return this.isSchemaCompliant(this.parseJsonObject(schema), authorizationDetail);
+        return this.validate(this.getValidator(authorizationDetail.getType(), this.parseJsonObject(schema)),
+                authorizationDetail);
     }
 
     public boolean isSchemaCompliant(final JsonObject schema, final AuthorizationDetail authorizationDetail)
@@ -193,9 +274,13 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
-        final OutputUnit outputUnit =
-                this.buildOutputUnit(schema, this.parseJsonObject(authorizationDetail.toJsonString()));
+        return this.validate(this.getValidator(authorizationDetail.getType(), schema), authorizationDetail);
+    }
+
+    private boolean validate(final Validator validator, final AuthorizationDetail authorizationDetail)
+            throws AuthorizationDetailsProcessingException {
 
+        final OutputUnit outputUnit = validator.validate(this.parseJsonObject(authorizationDetail.toJsonString()));
         try {
             // Validates the authorization detail against the schema
             outputUnit.checkValidity();
@@ -218,9 +303,62 @@ public class AuthorizationDetailsSchemaValidatorImpl implements AuthorizationDet
             return false;
         }
 
+        return this.isSchemaCompliant(this.buildStrictSchema(schema), authorizationDetail);
+    }
+
+    /**
+     * Validates whether the given authorization details comply with the provided JSON schema. The schema is compiled
+     * at most once for all the authorization details.
+     *
+     * @param schema               the JSON schema as a {@code Map<String, Object>}.
+     * @param authorizationDetails the authorization details of the same type to be validated.
+     * @return true if all the authorization details are schema compliant, false if schema or authorizationDetails
+     * are invalid.
+     * @throws AuthorizationDetailsProcessingException if the validation fails or an error occurs during validation.
+     */
+    @Override
+    public boolean areSchemaCompliant(final Map<String, Object> schema,
+                                      final Collection<AuthorizationDetail> authorizationDetails)
+            throws AuthorizationDetailsProcessingException {
+
+        if (MapUtils.isEmpty(schema) || CollectionUtils.isEmpty(authorizationDetails)
+                || authorizationDetails.stream().anyMatch(Objects::isNull)) {
+            log.debug("Schema validation failed. Inputs cannot be null");
+            return false;
+        }
+
+        final JsonObject jsonSchema = this.buildStrictSchema(schema);
+        Validator validator = null;
+        String type = null;
+        for (final AuthorizationDetail authorizationDetail : authorizationDetails) {
+            if (validator == null || !StringUtils.equals(type, authorizationDetail.getType())) {
+                type = authorizationDetail.getType();
+                validator = this.getValidator(type, jsonSchema);
+            }
+            this.validate(validator, authorizationDetail);
+        }
+        return true;
+    }
+
+    private JsonObject buildStrictSchema(final Map<String, Object> schema) {
+
         final JsonObject jsonSchema = new JsonObject(schema);
         jsonSchema.put(ADDITIONAL_PROPERTIES, false); // Ensure no unknown fields are allowed
+        return jsonSchema;
+    }
+
+    /**
+     * A validator compiled from a schema, along with the schema it was compiled from.
+     */
+    private static final class CompiledSchema {
 
-        return this.isSchemaCompliant(jsonSchema, authorizationDetail);
+        private final String fingerprint;
+        private final Validator validator;
+
+        private CompiledSchema(final String fingerprint, final Validator validator) {
+
+            this.fingerprint = fingerprint;
+            this.validator = validator;
+        }
     }
 }
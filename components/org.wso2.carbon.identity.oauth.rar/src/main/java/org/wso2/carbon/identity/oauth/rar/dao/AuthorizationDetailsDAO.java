@@ -23,6 +23,8 @@ import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsConsentDTO;
 import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsTokenDTO;
 
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -101,6 +103,26 @@ public interface AuthorizationDetailsDAO {
     Set<AuthorizationDetailsTokenDTO> getAccessTokenAuthorizationDetails(String accessTokenId, int tenantId)
             throws SQLException;
 
+    /**
+     * Retrieves the authorization details of multiple access tokens from the database.
+     *
+     * @param accessTokenIds The IDs of the access tokens.
+     * @param tenantId       The tenant ID.
+     * @return A map of access token IDs to their authorization details DTOs. Access tokens without authorization
+     * details are mapped to empty sets.
+     * @throws SQLException If a database access error occurs.
+     */
+    default Map<String, Set<AuthorizationDetailsTokenDTO>> getAccessTokenAuthorizationDetails(
+            Set<String> accessTokenIds, int tenantId) throws SQLException {
+
+        final Map<String, Set<AuthorizationDetailsTokenDTO>> authorizationDetailsTokenDTOs = new HashMap<>();
+        for (String accessTokenId : accessTokenIds) {
+            authorizationDetailsTokenDTOs.put(accessTokenId,
+                    this.getAccessTokenAuthorizationDetails(accessTokenId, tenantId));
+        }
+        return authorizationDetailsTokenDTOs;
+    }
+
     /**
      * Deletes access token authorization details from the database.
      *
@@ -27,7 +27,12 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,6 +43,9 @@ import java.util.Set;
  */
 public class AuthorizationDetailsDAOImpl implements AuthorizationDetailsDAO {
 
+    // Keeps the IN clause of the multi-token query within the limits of all the supported databases.
+    private static final int MAX_TOKEN_IDS_PER_QUERY = 100;
+
     /**
      * {@inheritDoc}
      */
@@ -187,6 +195,53 @@ public class AuthorizationDetailsDAOImpl implements AuthorizationDetailsDAO {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Set<AuthorizationDetailsTokenDTO>> getAccessTokenAuthorizationDetails(
+            final Set<String> accessTokenIds, final int tenantId) throws SQLException {
+
+        final Map<String, Set<AuthorizationDetailsTokenDTO>> authorizationDetailsTokenDTOs = new HashMap<>();
+        if (accessTokenIds == null || accessTokenIds.isEmpty()) {
+            return authorizationDetailsTokenDTOs;
+        }
+        for (String accessTokenId : accessTokenIds) {
+            authorizationDetailsTokenDTOs.put(accessTokenId, new HashSet<>());
+        }
+
+        final List<String> accessTokenIdList = new ArrayList<>(accessTokenIds);
+        try (final Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (int from = 0; from < accessTokenIdList.size(); from += MAX_TOKEN_IDS_PER_QUERY) {
+                final List<String> chunk = accessTokenIdList
+                        .subList(from, Math.min(from + MAX_TOKEN_IDS_PER_QUERY, accessTokenIdList.size()));
+                final String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+                final String sql = SQLQueries.GET_OAUTH2_ACCESS_TOKEN_AUTHORIZATION_DETAILS_BY_TOKEN_IDS
+                        .replace(SQLQueries.TOKEN_IDS_PLACEHOLDER, placeholders);
+
+                try (final PreparedStatement ps = connection.prepareStatement(sql)) {
+                    ps.setInt(1, tenantId);
+                    for (int i = 0; i < chunk.size(); i++) {
+                        ps.setString(i + 2, chunk.get(i));
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            final String id = rs.getString(1);
+                            final String typeId = rs.getString(2);
+                            final String authorizationDetail = rs.getString(3);
+                            final String accessTokenId = rs.getString(4);
+
+                            authorizationDetailsTokenDTOs.computeIfAbsent(accessTokenId, key -> new HashSet<>())
+                                    .add(new AuthorizationDetailsTokenDTO(id, accessTokenId, typeId,
+                                            authorizationDetail, tenantId));
+                        }
+                    }
+                }
+            }
+        }
+        return authorizationDetailsTokenDTOs;
+    }
+
     /**
      * {@inheritDoc}
      */
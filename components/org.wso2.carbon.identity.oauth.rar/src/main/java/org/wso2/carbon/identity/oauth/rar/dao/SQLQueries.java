@@ -60,6 +60,12 @@ public class SQLQueries {
             "SELECT ID, TYPE_ID, AUTHORIZATION_DETAILS FROM IDN_OAUTH2_ACCESS_TOKEN_AUTHORIZATION_DETAILS " +
                     "WHERE TOKEN_ID=? AND TENANT_ID=?";
 
+    public static final String TOKEN_IDS_PLACEHOLDER = "$TOKEN_IDS";
+
+    public static final String GET_OAUTH2_ACCESS_TOKEN_AUTHORIZATION_DETAILS_BY_TOKEN_IDS =
+            "SELECT ID, TYPE_ID, AUTHORIZATION_DETAILS, TOKEN_ID FROM IDN_OAUTH2_ACCESS_TOKEN_AUTHORIZATION_DETAILS " +
+                    "WHERE TENANT_ID=? AND TOKEN_ID IN (" + TOKEN_IDS_PLACEHOLDER + ")";
+
     public static final String ADD_OAUTH2_CODE_AUTHORIZATION_DETAILS =
             "INSERT INTO IDN_OAUTH2_AUTHZ_CODE_AUTHORIZATION_DETAILS" +
                     "(CODE_ID, AUTHORIZATION_DETAILS, TYPE_ID, TENANT_ID) " +
@@ -26,6 +26,8 @@ import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
  */
 public class AuthorizationDetailsCodeDTO extends AuthorizationDetailsDTO {
 
+    private static final long serialVersionUID = 3318052460958362717L;
+
     final String codeId;
 
     /**
@@ -26,6 +26,8 @@ import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
  */
 public class AuthorizationDetailsConsentDTO extends AuthorizationDetailsDTO {
 
+    private static final long serialVersionUID = -1754203960213318495L;
+
     final String consentId;
     final boolean isConsentActive;
 
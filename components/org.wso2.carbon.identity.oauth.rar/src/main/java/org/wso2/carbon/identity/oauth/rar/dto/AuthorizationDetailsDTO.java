@@ -20,6 +20,8 @@ package org.wso2.carbon.identity.oauth.rar.dto;
 
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
 
+import java.io.Serializable;
+
 import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsCommonUtils.fromJSON;
 
 /**
@@ -27,7 +29,9 @@ import static org.wso2.carbon.identity.oauth.rar.util.AuthorizationDetailsCommon
  * <p> This class encapsulates the details of authorization, including the ID, type ID,
  * authorization detail object, and tenant ID.
  */
-public class AuthorizationDetailsDTO {
+public class AuthorizationDetailsDTO implements Serializable {
+
+    private static final long serialVersionUID = -6337184916423093512L;
 
     final String id;
     final String typeId;
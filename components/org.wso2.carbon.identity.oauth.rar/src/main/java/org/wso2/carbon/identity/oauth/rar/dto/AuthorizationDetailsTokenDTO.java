@@ -26,6 +26,8 @@ import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
  */
 public class AuthorizationDetailsTokenDTO extends AuthorizationDetailsDTO {
 
+    private static final long serialVersionUID = 8034177261920451306L;
+
     final String accessTokenId;
 
     /**
@@ -23,15 +23,19 @@ import io.vertx.core.json.JsonObject;
 import org.apache.commons.lang3.StringUtils;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
 import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidator;
 import org.wso2.carbon.identity.oauth.rar.core.AuthorizationDetailsSchemaValidatorImpl;
 import org.wso2.carbon.identity.oauth.rar.exception.AuthorizationDetailsProcessingException;
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
 import org.wso2.carbon.identity.oauth.rar.util.TestDAOUtils;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertFalse;
@@ -49,6 +53,9 @@ public class AuthorizationDetailsSchemaValidatorTest {
     @BeforeClass
     public void setUp() throws JsonProcessingException {
 
+        // The compiled schemas are keyed by the tenant of the carbon context
+        System.setProperty(CarbonBaseConstants.CARBON_HOME,
+                Paths.get(System.getProperty("user.dir"), "src", "test", "resources").toString());
         this.uut = AuthorizationDetailsSchemaValidatorImpl.getInstance();
     }
 
@@ -114,6 +121,63 @@ public class AuthorizationDetailsSchemaValidatorTest {
         assertFalse(this.uut.isValidSchema(invalidSchema));
     }
 
+    @Test
+    public void shouldReturnTrue_whenAllAuthorizationDetailsAreSchemaCompliant()
+            throws AuthorizationDetailsProcessingException {
+
+        assertTrue(this.uut.areSchemaCompliant(this.getTestSchema(), this.getTestAuthorizationDetails(5)));
+        assertFalse(this.uut.areSchemaCompliant(this.getTestSchema(), Collections.emptyList()));
+        assertFalse(this.uut.areSchemaCompliant(null, this.getTestAuthorizationDetails(1)));
+    }
+
+    @Test(expectedExceptions = {AuthorizationDetailsProcessingException.class})
+    public void shouldThrowAuthorizationDetailsProcessingException_whenAnyAuthorizationDetailIsNotSchemaCompliant()
+            throws AuthorizationDetailsProcessingException {
+
+        final List<AuthorizationDetail> authorizationDetails = this.getTestAuthorizationDetails(2);
+        authorizationDetails.get(1).setActions(Arrays.asList("initiate", "cancel"));
+
+        this.uut.areSchemaCompliant(this.getTestSchema(), authorizationDetails);
+    }
+
+    @Test
+    public void shouldValidateAgainstUpdatedSchema_whenSchemaOfTypeIsChanged()
+            throws AuthorizationDetailsProcessingException {
+
+        final AuthorizationDetail testAuthorizationDetail = new TestDAOUtils.TestAuthorizationDetail();
+        testAuthorizationDetail.setType(TEST_TYPE);
+        testAuthorizationDetail.setActions(Collections.singletonList("cancel"));
+
+        final Map<String, Object> updatedSchema = this.getTestSchema();
+        assertTrue(this.uut.areSchemaCompliant(updatedSchema, this.getTestAuthorizationDetails(1)));
+
+        this.getItemsOfActions(updatedSchema).put("enum", Arrays.asList("initiate", "cancel"));
+        assertTrue(this.uut.isSchemaCompliant(updatedSchema, testAuthorizationDetail));
+
+        this.uut.clearCompiledSchema(TEST_TYPE);
+        assertTrue(this.uut.isSchemaCompliant(updatedSchema, testAuthorizationDetail));
+    }
+
+    private List<AuthorizationDetail> getTestAuthorizationDetails(final int count) {
+
+        final List<AuthorizationDetail> authorizationDetails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final AuthorizationDetail authorizationDetail = new TestDAOUtils.TestAuthorizationDetail();
+            authorizationDetail.setType(TEST_TYPE);
+            authorizationDetail.setActions(Collections.singletonList("initiate"));
+            authorizationDetails.add(authorizationDetail);
+        }
+        return authorizationDetails;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getItemsOfActions(final Map<String, Object> schema) {
+
+        final Map<String, Object> properties = (Map<String, Object>) schema.get("properties");
+        final Map<String, Object> actions = (Map<String, Object>) properties.get("actions");
+        return (Map<String, Object>) actions.get("items");
+    }
+
     private Map<String, Object> getTestSchema() {
         final Map<String, Object> items = new HashMap<>();
         items.put("type", "string");
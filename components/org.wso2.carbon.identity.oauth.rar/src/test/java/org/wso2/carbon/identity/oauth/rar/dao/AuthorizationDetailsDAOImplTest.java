@@ -36,7 +36,10 @@ import org.wso2.carbon.identity.oauth.rar.util.TestDAOUtils;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -188,6 +191,23 @@ public class AuthorizationDetailsDAOImplTest {
         });
     }
 
+    @Test(priority = 1)
+    public void testGetAuthorizationDetailsOfMultipleAccessTokens() throws SQLException {
+
+        this.mockIdentityDatabaseUtil();
+
+        final String unknownTokenId = UUID.randomUUID().toString();
+        Map<String, Set<AuthorizationDetailsTokenDTO>> tokenDTOs = this.uut.getAccessTokenAuthorizationDetails(
+                new HashSet<>(Arrays.asList(TEST_TOKEN_ID, unknownTokenId)), TEST_TENANT_ID);
+
+        assertEquals(2, tokenDTOs.size());
+        assertEquals(1, tokenDTOs.get(TEST_TOKEN_ID).size());
+        assertEquals(TEST_TOKEN_ID, tokenDTOs.get(TEST_TOKEN_ID).iterator().next().getAccessTokenId());
+        assertEquals(0, tokenDTOs.get(unknownTokenId).size());
+
+        this.mockIdentityDatabaseUtil();
+    }
+
     @Test(priority = 2)
     public void testDeleteAccessTokenAuthorizationDetails() throws SQLException {
         assertEquals(1, uut.deleteAccessTokenAuthorizationDetails(TEST_TOKEN_ID, TEST_TENANT_ID));
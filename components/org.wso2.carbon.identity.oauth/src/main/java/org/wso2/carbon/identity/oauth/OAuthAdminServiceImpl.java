@@ -76,6 +76,8 @@ import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuth2Service;
 import org.wso2.carbon.identity.oauth2.Oauth2ScopeConstants;
 import org.wso2.carbon.identity.oauth2.authz.handlers.ResponseTypeHandler;
+import org.wso2.carbon.identity.oauth2.cache.AuthorizedAppsCache;
+import org.wso2.carbon.identity.oauth2.cache.AuthorizedAppsCacheEntry;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
@@ -92,6 +94,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -1462,18 +1465,20 @@ public class OAuthAdminServiceImpl {
     void updateAppAndRevokeTokensAndAuthzCodes(String consumerKey,
                                                Properties properties) throws IdentityOAuthAdminException {
 
-        int countToken = 0;
         try {
-            Set<AccessTokenDO> activeDetailedTokens = OAuthTokenPersistenceFactory
-                    .getInstance().getAccessTokenDAO().getActiveAcessTokenDataByConsumerKey(consumerKey);
-            String[] accessTokens = new String[activeDetailedTokens.size()];
-
-            for (AccessTokenDO detailToken : activeDetailedTokens) {
-                String token = detailToken.getAccessToken();
-                accessTokens[countToken] = token;
-                countToken++;
-            }
-            clearTokenCacheEntry(consumerKey, activeDetailedTokens);
+            // The tokens are streamed in chunks, so that only the token identifiers are held in memory.
+            List<String> accessTokens = new ArrayList<>();
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().streamActiveAccessTokenDataByConsumerKey(
+                    consumerKey, OAuth2Util.getTokenListingChunkSize(), chunk -> {
+                        for (AccessTokenDO detailToken : chunk) {
+                            accessTokens.add(detailToken.getAccessToken());
+                        }
+                        try {
+                            clearTokenCacheEntry(consumerKey, chunk);
+                        } catch (IdentityOAuthAdminException e) {
+                            throw new IdentityOAuth2Exception(e.getMessage(), e);
+                        }
+                    });
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Access tokens and token of users are removed from the cache for OAuth App with " +
@@ -1493,9 +1498,15 @@ public class OAuthAdminServiceImpl {
             OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
                     .updateAppAndRevokeTokensAndAuthzCodes(
                             consumerKey, properties, authorizationCodes.toArray(
-                                    new String[0]), accessTokens);
+                                    new String[0]), accessTokens.toArray(new String[0]));
 
-        } catch (IdentityOAuth2Exception | IdentityApplicationManagementException e) {
+        } catch (IdentityOAuth2Exception e) {
+            if (e.getCause() instanceof IdentityOAuthAdminException) {
+                throw (IdentityOAuthAdminException) e.getCause();
+            }
+            throw handleError("Error in updating oauth app & revoking access tokens and authz " +
+                    "codes for OAuth App with consumerKey: " + consumerKey, e);
+        } catch (IdentityApplicationManagementException e) {
             throw handleError("Error in updating oauth app & revoking access tokens and authz " +
                     "codes for OAuth App with consumerKey: " + consumerKey, e);
         }
@@ -1614,6 +1625,22 @@ public class OAuthAdminServiceImpl {
      */
     public OAuthConsumerAppDTO[] getAppsAuthorizedByUser() throws IdentityOAuthAdminException {
 
+        return getAppsAuthorizedByUser(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get a page of the apps that are authorized by the given user, ordered by their client ids.
+     *
+     * @param offset Index of the first app of the page.
+     * @param limit  Maximum number of apps in the page.
+     * @return OAuth applications authorized by the user that have tokens in ACTIVE or EXPIRED state
+     */
+    public OAuthConsumerAppDTO[] getAppsAuthorizedByUser(int offset, int limit) throws IdentityOAuthAdminException {
+
+        if (offset < 0 || limit <= 0) {
+            throw handleClientError(INVALID_REQUEST, "Invalid pagination parameters. offset: " + offset +
+                    ", limit: " + limit);
+        }
         String tenantDomain = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain();
         String tenantAwareLoggedInUserName = PrivilegedCarbonContext.getThreadLocalCarbonContext().getUsername();
         AuthenticatedUser loggedInUser = null;
@@ -1641,65 +1668,103 @@ public class OAuthAdminServiceImpl {
             }
         }
 
-        Set<String> clientIds;
+        List<String> clientIds;
         try {
-            clientIds = OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
-                    .getAllTimeAuthorizedClientIds(loggedInUser);
+            clientIds = getAuthorizedClientIds(loggedInUser, userStoreDomain);
         } catch (IdentityOAuth2Exception e) {
             String errorMsg = "Error occurred while retrieving apps authorized by User ID : " + username;
             throw handleError(errorMsg, e);
         }
-        Set<OAuthConsumerAppDTO> appDTOs = new HashSet<OAuthConsumerAppDTO>();
-        for (String clientId : clientIds) {
-            Set<AccessTokenDO> accessTokenDOs;
-            try {
-                accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                        .getAccessTokenDAO().getAccessTokens(
-                                clientId, loggedInUser, userStoreDomain, true);
-            } catch (IdentityOAuth2Exception e) {
-                String errorMsg = "Error occurred while retrieving access tokens issued for " +
-                        "Client ID : " + clientId + ", User ID : " + username;
-                throw handleError(errorMsg, e);
+        if (offset >= clientIds.size()) {
+            return new OAuthConsumerAppDTO[0];
+        }
+        List<String> page = clientIds.subList(offset, (int) Math.min((long) offset + limit, clientIds.size()));
+        Map<String, OAuthAppDO> appDOs = getOAuthAppDOs(page, tenantDomain);
+        List<OAuthConsumerAppDTO> appDTOs = new ArrayList<>(page.size());
+        for (String clientId : page) {
+            OAuthAppDO appDO = appDOs.get(clientId);
+            if (appDO == null) {
+                continue;
             }
-            if (!accessTokenDOs.isEmpty()) {
-                Set<String> distinctClientUserScopeCombo = new HashSet<String>();
-                for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                    AccessTokenDO scopedToken;
-                    String scopeString = buildScopeString(accessTokenDO.getScope());
-                    try {
-                        scopedToken = OAuthTokenPersistenceFactory.getInstance().
-                                getAccessTokenDAO().getLatestAccessToken(clientId, loggedInUser, userStoreDomain,
-                                scopeString, true);
-                        if (scopedToken != null && !distinctClientUserScopeCombo.contains(clientId + ":" + username)) {
-                            OAuthAppDO appDO = getOAuthAppDO(scopedToken.getConsumerKey(), tenantDomain);
-                            if (LOG.isDebugEnabled()) {
-                                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
-                            }
-                            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
-                            distinctClientUserScopeCombo.add(clientId + ":" + username);
-                        }
-                    } catch (IdentityOAuth2Exception e) {
-                        String errorMsg = "Error occurred while retrieving latest access token issued for Client ID :" +
-                                " " + clientId + ", User ID : " + username + " and Scope : " + scopeString;
-                        throw handleError(errorMsg, e);
-                    }
-                }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Found App: " + appDO.getApplicationName() + " for user: " + username);
             }
+            appDTOs.add(OAuthUtil.buildConsumerAppDTO(appDO));
         }
         return appDTOs.toArray(new OAuthConsumerAppDTO[0]);
     }
 
-    private OAuthAppDO getOAuthAppDO(String consumerKey, String tenantDomain) throws IdentityOAuthAdminException {
+    /**
+     * Get the client ids of the apps authorized by the user, from the authorized apps cache if it is enabled and
+     * holds a fresh entry of the user.
+     */
+    private List<String> getAuthorizedClientIds(AuthenticatedUser user, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        boolean cacheEnabled = OAuthUtil.isAuthorizedAppsCacheEnabled();
+        String cacheKey = null;
+        if (cacheEnabled) {
+            cacheKey = AuthorizedAppsCache.getKey(user, AuthorizedAppsCache.getAppTenantId(user));
+            AuthorizedAppsCacheEntry cacheEntry = AuthorizedAppsCache.getInstance().getValueFromCache(cacheKey,
+                    user.getTenantDomain());
+            if (cacheEntry != null && System.currentTimeMillis() - cacheEntry.getCreatedTime() <=
+                    OAuthUtil.getAuthorizedAppsCacheMaxAge()) {
+                return cacheEntry.getClientIds();
+            }
+        }
+        List<String> clientIds = new ArrayList<>(OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
+                .getAuthorizedClientIds(user, userStoreDomain));
+        if (cacheEnabled) {
+            AuthorizedAppsCache.getInstance().addToCache(cacheKey, new AuthorizedAppsCacheEntry(clientIds),
+                    user.getTenantDomain());
+        }
+        return clientIds;
+    }
+
+    /**
+     * Get the apps of the given client ids, reading the apps missing from the app info cache in one batch. An app
+     * which is invalidated while the batch is read is not written back to the cache.
+     */
+    private Map<String, OAuthAppDO> getOAuthAppDOs(List<String> clientIds, String tenantDomain)
+            throws IdentityOAuthAdminException {
 
-        OAuthAppDO appDO;
+        AppInfoCache appInfoCache = AppInfoCache.getInstance();
+        Map<String, OAuthAppDO> appDOs = new HashMap<>();
+        List<String> uncachedClientIds = new ArrayList<>();
+        Map<String, Long> cacheVersions = new HashMap<>();
+        for (String clientId : clientIds) {
+            OAuthAppDO appDO = appInfoCache.getValueFromCache(clientId, tenantDomain);
+            if (appDO != null) {
+                appDOs.put(clientId, appDO);
+            } else {
+                uncachedClientIds.add(clientId);
+                // Read before the batch query, so that a clear during the query is detected on the write.
+                cacheVersions.put(clientId, appInfoCache.getVersion(clientId));
+            }
+        }
+        if (uncachedClientIds.isEmpty()) {
+            return appDOs;
+        }
+        Map<String, OAuthAppDO> uncachedAppDOs;
         try {
-            appDO = getOAuthApp(consumerKey, tenantDomain);
-        } catch (InvalidOAuthClientException e) {
-            throw handleClientError(INVALID_OAUTH_CLIENT, "Invalid ConsumerKey: " + consumerKey, e);
+            uncachedAppDOs = new OAuthAppDAO().getAppInformation(uncachedClientIds,
+                    IdentityTenantUtil.getTenantId(tenantDomain));
         } catch (IdentityOAuth2Exception e) {
-            throw handleError("Error occurred while retrieving app information for Client ID : " + consumerKey, e);
+            throw handleError("Error occurred while retrieving app information for Client IDs : " +
+                    uncachedClientIds, e);
+        }
+        for (Map.Entry<String, OAuthAppDO> uncachedAppDO : uncachedAppDOs.entrySet()) {
+            String clientId = uncachedAppDO.getKey();
+            OAuthAppDO appDO = uncachedAppDO.getValue();
+            Long cacheVersion = cacheVersions.get(clientId);
+            if (cacheVersion != null && !appInfoCache.addToCacheIfNotCleared(clientId, cacheVersion,
+                    () -> appInfoCache.addToCache(clientId, appDO, tenantDomain)) && LOG.isDebugEnabled()) {
+                LOG.debug("The application: " + clientId + " was invalidated while being read. Hence it is not " +
+                        "cached.");
+            }
+            appDOs.put(clientId, appDO);
         }
-        return appDO;
+        return appDOs;
     }
 
     /**
@@ -2824,7 +2889,7 @@ public class OAuthAdminServiceImpl {
                 OAuth2Util.buildScopeString(detailToken.getScope()), tokenBindingRef);
     }
 
-    private static void clearTokenCacheEntry(String consumerKey, Set<AccessTokenDO> activeDetailedTokens)
+    private static void clearTokenCacheEntry(String consumerKey, Collection<AccessTokenDO> activeDetailedTokens)
             throws IdentityOAuthAdminException {
 
         for (AccessTokenDO detailToken : activeDetailedTokens) {
@@ -27,6 +27,7 @@ import org.apache.xml.security.utils.Base64;
 import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.CarbonContext;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.api.resource.mgt.util.AuthorizationDetailsTypesUtil;
 import org.wso2.carbon.identity.application.authentication.framework.exception.UserIdNotFoundException;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
 import org.wso2.carbon.identity.application.common.IdentityApplicationManagementException;
@@ -45,6 +46,8 @@ import org.wso2.carbon.identity.core.handler.AbstractIdentityHandler;
 import org.wso2.carbon.identity.core.model.IdentityEventListenerConfig;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCache;
+import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheKey;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
@@ -57,8 +60,11 @@ import org.wso2.carbon.identity.oauth.util.ClaimCacheKey;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ServerException;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.cache.AuthorizedAppsCache;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dao.SharedAppResolveDAO;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCache;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
@@ -81,6 +87,7 @@ import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -88,6 +95,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
@@ -115,6 +123,8 @@ public final class OAuthUtil {
     private static final String ALGORITHM_SHA1 = "HmacSHA1";
     private static final String ALGORITHM_SHA256 = "HmacSHA256";
     private static final String managedOrgClaim = "http://wso2.org/claims/identity/managedOrg";
+    private static final int DEFAULT_BULK_REVOCATION_BATCH_SIZE = 100;
+    private static final int DEFAULT_AUTHORIZED_APPS_CACHE_MAX_AGE_IN_SECONDS = 30;
 
     private OAuthUtil() {
 
@@ -443,6 +453,59 @@ public final class OAuthUtil {
         OAuthCacheKey cacheKey = new OAuthCacheKey(accessTokenDO.getAccessToken());
         String tenantDomain = accessTokenDO.getAuthzUser().getTenantDomain();
         OAuthCache.getInstance().clearCacheEntry(cacheKey,  tenantDomain);
+        if (StringUtils.isNotBlank(accessTokenDO.getTokenId())
+                && AuthorizationDetailsTypesUtil.isRichAuthorizationRequestsEnabled()) {
+            AuthorizationDetailsCache.getInstance().clearCacheEntry(
+                    AuthorizationDetailsCache.getAccessTokenKey(accessTokenDO.getTokenId()), tenantDomain);
+        }
+        clearAuthorizedAppsCache(accessTokenDO.getAuthzUser(), accessTokenDO.getAppResidentTenantId());
+    }
+
+    /**
+     * Clear the cached list of the applications authorized by a user.
+     *
+     * @param authorizedUser Authorized user.
+     * @param appTenantId    Tenant id of the application of the token, or the invalid tenant id if it is not known,
+     *                       in which case it is resolved the same way the applications are listed.
+     */
+    public static void clearAuthorizedAppsCache(AuthenticatedUser authorizedUser, int appTenantId) {
+
+        if (!isAuthorizedAppsCacheEnabled() || authorizedUser == null
+                || StringUtils.isBlank(authorizedUser.getUserName())) {
+            return;
+        }
+        if (appTenantId == MultitenantConstants.INVALID_TENANT_ID) {
+            try {
+                appTenantId = AuthorizedAppsCache.getAppTenantId(authorizedUser);
+            } catch (IdentityOAuth2Exception e) {
+                LOG.error("Error while resolving the application tenant to clear the authorized apps cache of user: "
+                        + authorizedUser.getLoggableUserId(), e);
+                return;
+            }
+        }
+        AuthorizedAppsCache.getInstance().clearCacheEntry(AuthorizedAppsCache.getKey(authorizedUser, appTenantId),
+                authorizedUser.getTenantDomain());
+    }
+
+    /**
+     * Check whether the applications authorized by a user are cached. Disabled by default.
+     *
+     * @return True if the authorized applications are cached.
+     */
+    public static boolean isAuthorizedAppsCacheEnabled() {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.AuthorizedAppsCache.ENABLE));
+    }
+
+    /**
+     * Get the maximum age of the cached list of the applications authorized by a user.
+     *
+     * @return Maximum age in milliseconds.
+     */
+    public static long getAuthorizedAppsCacheMaxAge() {
+
+        return TimeUnit.SECONDS.toMillis(Math.max(0, OAuth2Util.getIntProperty(
+                OAuth2Constants.AuthorizedAppsCache.MAX_AGE, DEFAULT_AUTHORIZED_APPS_CACHE_MAX_AGE_IN_SECONDS)));
     }
 
     public static AuthenticatedUser getAuthenticatedUser(String fullyQualifiedUserName) {
@@ -603,6 +666,46 @@ public final class OAuthUtil {
         }
     }
 
+    /**
+     * This will be called after a batch of tokens is revoked through Listeners directly.
+     *
+     * @param accessTokenDOs Revoked {@link AccessTokenDO}s.
+     * @param params         Additional parameters.
+     */
+    public static void invokePostRevocationBySystemListeners(List<AccessTokenDO> accessTokenDOs,
+                                                             Map<String, Object> params) {
+
+        OAuthEventInterceptor oAuthEventInterceptorProxy = OAuthComponentServiceHolder.getInstance()
+                .getOAuthEventInterceptorProxy();
+        if (oAuthEventInterceptorProxy != null && oAuthEventInterceptorProxy.isEnabled()) {
+            try {
+                oAuthEventInterceptorProxy.onPostTokenRevocationBySystem(accessTokenDOs, params);
+            } catch (IdentityOAuth2Exception e) {
+                LOG.error("Error while triggering listener for post token revocation by system.", e);
+            }
+        }
+    }
+
+    /**
+     * This will be called before a batch of tokens is revoked through Listeners directly.
+     *
+     * @param accessTokenDOs {@link AccessTokenDO}s which are about to be revoked.
+     * @param params         Additional parameters.
+     */
+    public static void invokePreRevocationBySystemListeners(List<AccessTokenDO> accessTokenDOs,
+                                                            Map<String, Object> params) {
+
+        OAuthEventInterceptor oAuthEventInterceptorProxy = OAuthComponentServiceHolder.getInstance()
+                .getOAuthEventInterceptorProxy();
+        if (oAuthEventInterceptorProxy != null && oAuthEventInterceptorProxy.isEnabled()) {
+            try {
+                oAuthEventInterceptorProxy.onPreTokenRevocationBySystem(accessTokenDOs, params);
+            } catch (IdentityOAuth2Exception e) {
+                LOG.error("Error while triggering listener for pre token revocation by system.", e);
+            }
+        }
+    }
+
     /**
      * This will be called before when tokens are revoked through Listeners implicitly.
      * The {@link OAuthEventInterceptor} implementations can be invoked pre user events
@@ -933,7 +1036,6 @@ public final class OAuthUtil {
                     }
                 }
 
-                Set<String> scopes = new HashSet<>();
                 List<AccessTokenDO> accessTokens = new ArrayList<>();
                 boolean tokenBindingEnabled = false;
                 boolean isOrganizationUserTokenRevocation = StringUtils.isNotEmpty(
@@ -960,16 +1062,12 @@ public final class OAuthUtil {
                             currentTokenReference)) {
                         continue;
                     }
+                    String scope = OAuth2Util.buildScopeString(accessTokenDO.getScope());
                     OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                            OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference);
-                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                            OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference);
-                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                            OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+                            scope, tokenBindingReference);
+                    OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(), scope);
                     OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
                     OAuthUtil.clearOAuthCache(accessTokenDO);
-                    // Get unique scopes list
-                    scopes.add(OAuth2Util.buildScopeString(accessTokenDO.getScope()));
                     accessTokens.add(accessTokenDO);
                 }
 
@@ -980,7 +1078,7 @@ public final class OAuthUtil {
                     if (LOG.isDebugEnabled()) {
                         LOG.debug("Revoke latest tokens with scopes for the clientId: " + clientId);
                     }
-                    revokeLatestTokensWithScopes(scopes, clientId, authenticatedUser);
+                    revokeLatestTokensWithScopes(accessTokens, clientId, authenticatedUser);
                 } else {
                     // If the hashed token is enabled, there can be multiple active tokens with a user with same scope.
                     // Also, if token binding is enabled, there can be multiple active tokens for the same user, scope
@@ -1168,56 +1266,244 @@ public final class OAuthUtil {
         return revokeTokens(username, userStoreManager, null);
     }
 
+    /**
+     * Revoke the active access tokens of the given users of a tenant ahead of the bulk revocation of their tokens, so
+     * that the tokens stop validating as soon as the event affecting the users is handled. The tokens of the users
+     * are read with a single query per user store and batch of users, limited to the applications affected by the
+     * role, revoked, and evicted from the caches. The revocation listeners are left to
+     * {@link #completeRevocation(List)}. The tokens of the users of organizations are not revoked here, but along with
+     * the rest of the bulk revocation.
+     *
+     * @param usernames    Domain qualified usernames of the users, by user id.
+     * @param roleId       Id of the role which triggered the revocation, if any.
+     * @param tenantDomain Tenant domain of the users.
+     * @return The revoked access tokens, by user id.
+     * @throws UserStoreException If an error occurred while revoking the tokens.
+     */
+    public static Map<String, List<AccessTokenDO>> revokeActiveTokensOfUsers(Map<String, String> usernames,
+                                                                            String roleId, String tenantDomain)
+            throws UserStoreException {
 
-    private static void revokeTokens(List<AccessTokenDO> accessTokens) throws IdentityOAuth2Exception {
+        Map<String, List<AccessTokenDO>> revokedTokens = new HashMap<>();
+        try {
+            if (usernames.isEmpty() || OrganizationManagementUtil.isOrganization(tenantDomain)) {
+                return revokedTokens;
+            }
+        } catch (OrganizationManagementException e) {
+            throw new UserStoreException("Error occurred while check whether organization for the tenant : " +
+                    tenantDomain, e);
+        }
+        RoleBasicInfo role = roleId != null ? getRoleBasicInfo(roleId, tenantDomain) : null;
+        Set<String> clientIds = null;
+        if (role != null && RoleConstants.APPLICATION.equals(role.getAudience())) {
+            AuthenticatedUser tenantUser = new AuthenticatedUser();
+            tenantUser.setTenantDomain(tenantDomain);
+            clientIds = new HashSet<>();
+            getClientIdOfAssociatedApplication(role, tenantUser).ifPresent(clientIds::add);
+        }
+
+        Map<String, List<String>> usernamesByUserStore = new HashMap<>();
+        Map<String, AuthenticatedUser> users = new HashMap<>();
+        for (Map.Entry<String, String> entry : usernames.entrySet()) {
+            AuthenticatedUser user = new AuthenticatedUser();
+            user.setUserStoreDomain(OAuth2Util.getSanitizedUserStoreDomain(
+                    IdentityUtil.extractDomainFromName(entry.getValue())));
+            user.setUserName(UserCoreUtil.removeDomainFromName(entry.getValue()));
+            user.setTenantDomain(tenantDomain);
+            user.setUserId(entry.getKey());
+            usernamesByUserStore.computeIfAbsent(user.getUserStoreDomain(), domain -> new ArrayList<>())
+                    .add(user.getUserName());
+            users.put(getBulkRevocationUserKey(user), user);
+        }
+
+        try {
+            int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
+            int batchSize = getBulkRevocationBatchSize();
+            List<AccessTokenDO> accessTokens = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : usernamesByUserStore.entrySet()) {
+                List<String> usernamesOfUserStore = entry.getValue();
+                for (int fromIndex = 0; fromIndex < usernamesOfUserStore.size(); fromIndex += batchSize) {
+                    accessTokens.addAll(OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
+                            .getActiveAccessTokensOfUsers(usernamesOfUserStore.subList(fromIndex,
+                                    Math.min(fromIndex + batchSize, usernamesOfUserStore.size())), entry.getKey(),
+                                    tenantId));
+                }
+            }
+            if (role != null && RoleConstants.ORGANIZATION.equals(role.getAudience())) {
+                Set<String> consumerKeys = new HashSet<>();
+                accessTokens.forEach(accessTokenDO -> consumerKeys.add(accessTokenDO.getConsumerKey()));
+                clientIds = filterClientIdsWithOrganizationAudience(new ArrayList<>(consumerKeys), tenantDomain);
+            }
 
-        if (!accessTokens.isEmpty()) {
-            // Revoking token from database.
-            for (AccessTokenDO accessToken : accessTokens) {
-                OAuthUtil.invokePreRevocationBySystemListeners(accessToken, Collections.emptyMap());
+            List<AccessTokenDO> tokensToRevoke = new ArrayList<>();
+            for (AccessTokenDO accessTokenDO : accessTokens) {
+                AuthenticatedUser user = users.get(getBulkRevocationUserKey(accessTokenDO.getAuthzUser()));
+                if (user == null || (clientIds != null && !clientIds.contains(accessTokenDO.getConsumerKey()))) {
+                    continue;
+                }
+                // The user resolved from the user store carries the user id and the username as it is cached with.
+                accessTokenDO.setAuthzUser(user);
+                tokensToRevoke.add(accessTokenDO);
+            }
+            for (int fromIndex = 0; fromIndex < tokensToRevoke.size(); fromIndex += batchSize) {
+                List<AccessTokenDO> batch = tokensToRevoke.subList(fromIndex,
+                        Math.min(fromIndex + batchSize, tokensToRevoke.size()));
+                String[] tokens = new String[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    tokens[i] = batch.get(i).getAccessToken();
+                }
                 OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .revokeAccessTokens(new String[]{accessToken.getAccessToken()}, OAuth2Util.isHashEnabled());
-                OAuthUtil.invokePostRevocationBySystemListeners(accessToken, Collections.emptyMap());
+                        .revokeAccessTokens(tokens, OAuth2Util.isHashEnabled());
+                for (AccessTokenDO accessTokenDO : batch) {
+                    clearOAuthCaches(accessTokenDO);
+                    revokedTokens.computeIfAbsent(accessTokenDO.getAuthzUser().getUserId(),
+                            userId -> new ArrayList<>()).add(accessTokenDO);
+                }
+                clearAuthorizationGrantCache(batch);
             }
+        } catch (IdentityOAuth2Exception | UserIdNotFoundException e) {
+            throw new UserStoreException("Error occurred while revoking the active access tokens of " +
+                    usernames.size() + " users of tenant: " + tenantDomain, e);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Revoked the active access tokens of " + revokedTokens.size() + " of " + usernames.size() +
+                    " users of tenant: " + tenantDomain + " ahead of their bulk token revocation.");
         }
+        return revokedTokens;
     }
 
-    private static void revokeLatestTokensWithScopes(Set<String> scopes, String clientId,
-                                                        AuthenticatedUser authenticatedUser) throws
-            UserStoreException {
+    /**
+     * Invoke the revocation listeners of access tokens revoked by
+     * {@link #revokeActiveTokensOfUsers(Map, String, String)}.
+     *
+     * @param revokedTokens Revoked access tokens.
+     */
+    public static void completeRevocation(List<AccessTokenDO> revokedTokens) {
+
+        if (CollectionUtils.isEmpty(revokedTokens)) {
+            return;
+        }
+        OAuthUtil.invokePreRevocationBySystemListeners(revokedTokens, Collections.emptyMap());
+        OAuthUtil.invokePostRevocationBySystemListeners(revokedTokens, Collections.emptyMap());
+    }
 
-        for (String scope : scopes) {
+    private static String getBulkRevocationUserKey(AuthenticatedUser user) {
+
+        return UserCoreUtil.addDomainToName(user.getUserName(), user.getUserStoreDomain()).toLowerCase();
+    }
+
+    /**
+     * Clear the OAuth cache entries of an access token, under the token itself and under the keys it is cached
+     * against for its client, user, scope and binding.
+     *
+     * @param accessTokenDO Access token.
+     */
+    public static void clearOAuthCaches(AccessTokenDO accessTokenDO) {
+
+        String tokenBindingReference = NONE;
+        if (accessTokenDO.getTokenBinding() != null
+                && StringUtils.isNotBlank(accessTokenDO.getTokenBinding().getBindingReference())) {
+            tokenBindingReference = accessTokenDO.getTokenBinding().getBindingReference();
+        }
+        String scope = OAuth2Util.buildScopeString(accessTokenDO.getScope());
+        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(), scope,
+                tokenBindingReference);
+        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(), scope);
+        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+        OAuthUtil.clearOAuthCache(accessTokenDO);
+    }
+
+    /**
+     * Revoke the given access tokens in batches. Each batch is revoked with a single call to the DAO, and the
+     * revocation listeners and the cache cleanup are invoked once per batch.
+     *
+     * @param accessTokens Access tokens to be revoked.
+     * @throws IdentityOAuth2Exception If an error occurred while revoking a batch of tokens.
+     */
+    private static void revokeTokens(List<AccessTokenDO> accessTokens) throws IdentityOAuth2Exception {
+
+        if (accessTokens.isEmpty()) {
+            return;
+        }
+        int batchSize = getBulkRevocationBatchSize();
+        for (int fromIndex = 0; fromIndex < accessTokens.size(); fromIndex += batchSize) {
+            List<AccessTokenDO> batch = accessTokens.subList(fromIndex,
+                    Math.min(fromIndex + batchSize, accessTokens.size()));
+            String[] tokens = new String[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                tokens[i] = batch.get(i).getAccessToken();
+            }
+            OAuthUtil.invokePreRevocationBySystemListeners(batch, Collections.emptyMap());
+            // Revoking tokens from database.
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .revokeAccessTokens(tokens, OAuth2Util.isHashEnabled());
+            clearAuthorizationGrantCache(batch);
+            OAuthUtil.invokePostRevocationBySystemListeners(batch, Collections.emptyMap());
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Revoking tokens for the scope: " + scope);
+                LOG.debug("Revoked a batch of " + batch.size() + " access tokens.");
             }
-            AccessTokenDO scopedToken = null;
-            try {
-                // Retrieve latest access token for particular client, user and scope combination
-                // if its ACTIVE or EXPIRED.
-                scopedToken = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .getLatestAccessToken(clientId, authenticatedUser, authenticatedUser.getUserStoreDomain(),
-                                scope, true);
-            } catch (IdentityOAuth2Exception e) {
-                String errorMsg = "Error occurred while retrieving latest access token issued for Client ID : " +
-                        clientId + ", User ID : " + authenticatedUser + " and Scope : " + scope;
-                LOG.error(errorMsg, e);
-                throw new UserStoreException(e);
+        }
+    }
+
+    private static void clearAuthorizationGrantCache(List<AccessTokenDO> accessTokens) {
+
+        for (AccessTokenDO accessToken : accessTokens) {
+            if (StringUtils.isNotEmpty(accessToken.getAccessToken())
+                    && StringUtils.isNotEmpty(accessToken.getTokenId())) {
+                AuthorizationGrantCache.getInstance().clearCacheEntryByTokenId(
+                        new AuthorizationGrantCacheKey(accessToken.getAccessToken()), accessToken.getTokenId());
             }
-            if (scopedToken != null) {
-                try {
-                    // Revoking token from database
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug("Revoking latest scoped token from database");
-                    }
-                    revokeTokens(Collections.singletonList(scopedToken));
-                } catch (IdentityOAuth2Exception e) {
-                    String errorMsg = "Error occurred while revoking " + "Access Token : "
-                            + scopedToken.getAccessToken() + " for user " + authenticatedUser;
-                    LOG.error(errorMsg, e);
-                    throw new UserStoreException(e);
-                }
+        }
+    }
+
+    private static int getBulkRevocationBatchSize() {
+
+        return Math.max(1, OAuth2Util.getIntProperty(OAuth2Constants.BulkTokenRevocation.BATCH_SIZE,
+                DEFAULT_BULK_REVOCATION_BATCH_SIZE));
+    }
+
+    /**
+     * Revoke the latest ACTIVE or EXPIRED access token of each scope. The latest tokens are picked from the tokens
+     * which are already retrieved for the client and the user, instead of querying the latest token of each scope.
+     *
+     * @param accessTokens      ACTIVE or EXPIRED access tokens of the client and the user.
+     * @param clientId          Client id.
+     * @param authenticatedUser Authenticated user.
+     * @throws UserStoreException If an error occurred while revoking the tokens.
+     */
+    private static void revokeLatestTokensWithScopes(List<AccessTokenDO> accessTokens, String clientId,
+                                                     AuthenticatedUser authenticatedUser) throws
+            UserStoreException {
+
+        Map<String, AccessTokenDO> latestTokens = new HashMap<>();
+        for (AccessTokenDO accessToken : accessTokens) {
+            latestTokens.merge(OAuth2Util.buildScopeString(accessToken.getScope()), accessToken,
+                    (current, candidate) -> isIssuedAfter(candidate, current) ? candidate : current);
+        }
+        if (latestTokens.isEmpty()) {
+            return;
+        }
+        try {
+            // Revoking tokens from database
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Revoking the latest tokens of " + latestTokens.size() + " scopes of the client: " +
+                        clientId);
             }
+            revokeTokens(new ArrayList<>(latestTokens.values()));
+        } catch (IdentityOAuth2Exception e) {
+            String errorMsg = "Error occurred while revoking the latest access tokens of Client ID : " + clientId +
+                    " for user " + authenticatedUser;
+            LOG.error(errorMsg, e);
+            throw new UserStoreException(e);
+        }
+    }
+
+    private static boolean isIssuedAfter(AccessTokenDO candidate, AccessTokenDO current) {
+
+        if (candidate.getIssuedTime() == null) {
+            return false;
         }
+        return current.getIssuedTime() == null || candidate.getIssuedTime().after(current.getIssuedTime());
     }
 
     /**
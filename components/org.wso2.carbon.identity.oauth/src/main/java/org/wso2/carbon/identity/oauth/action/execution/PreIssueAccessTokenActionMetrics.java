@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.action.execution;
+
+import org.wso2.carbon.identity.action.execution.api.model.ActionExecutionStatus;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and the latency histogram of the pre issue access token action executions made by the grant handlers.
+ */
+public class PreIssueAccessTokenActionMetrics {
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets. The last bucket of the histogram holds the
+     * latencies above the largest bound.
+     */
+    public static final long[] LATENCY_BUCKET_BOUNDS = {10, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private static final PreIssueAccessTokenActionMetrics INSTANCE = new PreIssueAccessTokenActionMetrics();
+
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicLong exceptionCount = new AtomicLong();
+    private final AtomicLong lockedExecutionCount = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+
+    PreIssueAccessTokenActionMetrics() {
+
+    }
+
+    public static PreIssueAccessTokenActionMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Record a completed action execution.
+     *
+     * @param executionStatus     Status of the execution. Null if the action was not executed.
+     * @param latencyMillis       Time taken by the execution, in milliseconds.
+     * @param holdingIssuanceLock Whether the execution was made while holding the token issuance lock.
+     */
+    public void recordExecution(ActionExecutionStatus<?> executionStatus, long latencyMillis,
+                                boolean holdingIssuanceLock) {
+
+        if (executionStatus == null || executionStatus.getStatus() == ActionExecutionStatus.Status.SUCCESS) {
+            successCount.incrementAndGet();
+        } else if (executionStatus.getStatus() == ActionExecutionStatus.Status.FAILED) {
+            failedCount.incrementAndGet();
+        } else {
+            errorCount.incrementAndGet();
+        }
+        recordLatency(latencyMillis, holdingIssuanceLock);
+    }
+
+    /**
+     * Record an action execution which ended with an exception.
+     *
+     * @param latencyMillis       Time taken by the execution, in milliseconds.
+     * @param holdingIssuanceLock Whether the execution was made while holding the token issuance lock.
+     */
+    public void recordException(long latencyMillis, boolean holdingIssuanceLock) {
+
+        exceptionCount.incrementAndGet();
+        recordLatency(latencyMillis, holdingIssuanceLock);
+    }
+
+    private void recordLatency(long latencyMillis, boolean holdingIssuanceLock) {
+
+        if (holdingIssuanceLock) {
+            lockedExecutionCount.incrementAndGet();
+        }
+        totalLatencyMillis.addAndGet(latencyMillis);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the number of executions which allowed the token to be issued.
+     *
+     * @return Number of successful executions.
+     */
+    public long getSuccessCount() {
+
+        return successCount.get();
+    }
+
+    /**
+     * Returns the number of executions in which the action rejected the token request.
+     *
+     * @return Number of failed executions.
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the number of executions in which the action responded with an error.
+     *
+     * @return Number of erroneous executions.
+     */
+    public long getErrorCount() {
+
+        return errorCount.get();
+    }
+
+    /**
+     * Returns the number of executions which could not be completed due to an exception.
+     *
+     * @return Number of executions ended with an exception.
+     */
+    public long getExceptionCount() {
+
+        return exceptionCount.get();
+    }
+
+    /**
+     * Returns the number of executions made while holding the token issuance lock. Such executions block the other
+     * token requests of the same client, user and scope for the duration of the action call.
+     *
+     * @return Number of executions made while holding the issuance lock.
+     */
+    public long getLockedExecutionCount() {
+
+        return lockedExecutionCount.get();
+    }
+
+    /**
+     * Returns the total time taken by the executions.
+     *
+     * @return Total latency in milliseconds.
+     */
+    public long getTotalLatencyMillis() {
+
+        return totalLatencyMillis.get();
+    }
+
+    /**
+     * Returns a snapshot of the execution latency histogram. The value at index i is the number of executions
+     * completed within {@link #LATENCY_BUCKET_BOUNDS}[i] milliseconds and above the previous bound.
+     *
+     * @return Latency histogram bucket counts.
+     */
+    public long[] getLatencyHistogram() {
+
+        long[] snapshot = new long[latencyHistogram.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = latencyHistogram.get(i);
+        }
+        return snapshot;
+    }
+}
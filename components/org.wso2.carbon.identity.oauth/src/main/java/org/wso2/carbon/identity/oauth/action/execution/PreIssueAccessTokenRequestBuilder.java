@@ -57,6 +57,7 @@ import org.wso2.carbon.identity.openidconnect.util.ClaimHandlerUtil;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,6 +71,8 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
 
     public static final String CLAIMS_PATH_PREFIX = "/accessToken/claims/";
     public static final String SCOPES_PATH_PREFIX = "/accessToken/scopes/";
+    private static final List<String> ADD_PATHS = Collections.unmodifiableList(Arrays.asList(CLAIMS_PATH_PREFIX,
+            SCOPES_PATH_PREFIX, CLAIMS_PATH_PREFIX + AccessToken.ClaimNames.AUD.getName() + "/"));
     private static final Log LOG = LogFactory.getLog(PreIssueAccessTokenRequestBuilder.class);
 
     @Override
@@ -86,18 +89,30 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
         OAuthTokenReqMessageContext tokenMessageContext =
                 flowContext.getValue("tokenMessageContext", OAuthTokenReqMessageContext.class);
 
-        Map<String, Object> additionalClaimsToAddToToken = getAdditionalClaimsToAddToToken(tokenMessageContext);
+        // The application is resolved once and shared by the parts of the request which depend on it.
+        OAuthAppDO oAuthAppDO;
+        try {
+            oAuthAppDO = getAppInformation(tokenMessageContext);
+        } catch (IdentityOAuth2Exception | InvalidOAuthClientException e) {
+            throw new ActionExecutionRequestBuilderException(
+                    "Failed to retrieve the application information for the pre issue access token action " +
+                            "request of application: " +
+                            tokenMessageContext.getOauth2AccessTokenReqDTO().getClientId(), e);
+        }
+
+        Map<String, Object> additionalClaimsToAddToToken =
+                getAdditionalClaimsToAddToToken(tokenMessageContext, oAuthAppDO);
 
         ActionExecutionRequest.Builder actionRequestBuilder = new ActionExecutionRequest.Builder();
         actionRequestBuilder.actionType(getSupportedActionType());
-        actionRequestBuilder.event(getEvent(tokenMessageContext, additionalClaimsToAddToToken));
+        actionRequestBuilder.event(getEvent(tokenMessageContext, oAuthAppDO, additionalClaimsToAddToToken));
         actionRequestBuilder.allowedOperations(getAllowedOperations(additionalClaimsToAddToToken));
 
         return actionRequestBuilder.build();
     }
 
-    private Event getEvent(OAuthTokenReqMessageContext tokenMessageContext, Map<String, Object> claimsToAdd)
-            throws ActionExecutionRequestBuilderException {
+    private Event getEvent(OAuthTokenReqMessageContext tokenMessageContext, OAuthAppDO oAuthAppDO,
+                           Map<String, Object> claimsToAdd) throws ActionExecutionRequestBuilderException {
 
         OAuth2AccessTokenReqDTO tokenReqDTO = tokenMessageContext.getOauth2AccessTokenReqDTO();
         AuthenticatedUser authorizedUser = tokenMessageContext.getAuthorizedUser();
@@ -112,7 +127,7 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
             eventBuilder.userStore(new UserStore(authorizedUser.getUserStoreDomain()));
         }
 
-        eventBuilder.accessToken(getAccessToken(tokenMessageContext, claimsToAdd));
+        eventBuilder.accessToken(getAccessToken(tokenMessageContext, oAuthAppDO, claimsToAdd));
         eventBuilder.request(getRequest(tokenReqDTO));
 
         return eventBuilder.build();
@@ -173,12 +188,11 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
         }
     }
 
-    private AccessToken getAccessToken(OAuthTokenReqMessageContext
-                                               tokenMessageContext, Map<String, Object> claimsToAdd)
+    private AccessToken getAccessToken(OAuthTokenReqMessageContext tokenMessageContext, OAuthAppDO oAuthAppDO,
+                                       Map<String, Object> claimsToAdd)
             throws ActionExecutionRequestBuilderException {
 
         try {
-            OAuthAppDO oAuthAppDO = getAppInformation(tokenMessageContext);
             String issuer = getIssuer(tokenMessageContext);
             List<String> audience = getAudience(tokenMessageContext, oAuthAppDO);
             String tokenType = oAuthAppDO.getTokenType();
@@ -190,7 +204,7 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
             handleTokenBindingClaims(tokenMessageContext, accessTokenBuilder);
             claimsToAdd.forEach(accessTokenBuilder::addClaim);
             return accessTokenBuilder.build();
-        } catch (IdentityOAuth2Exception | InvalidOAuthClientException e) {
+        } catch (IdentityOAuth2Exception e) {
             throw new ActionExecutionRequestBuilderException(
                     "Failed to generate pre issue access token action request for application: " +
                             tokenMessageContext.getOauth2AccessTokenReqDTO().getClientId() + " grant type: " +
@@ -247,7 +261,8 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
         accessTokenBuilder.addClaim(AccessToken.ClaimNames.SUB.getName(), sub);
     }
 
-    private Map<String, Object> getAdditionalClaimsToAddToToken(OAuthTokenReqMessageContext tokenMessageContext)
+    private Map<String, Object> getAdditionalClaimsToAddToToken(OAuthTokenReqMessageContext tokenMessageContext,
+                                                                OAuthAppDO oAuthAppDO)
             throws ActionExecutionRequestBuilderException {
          /*
          Directly return custom claims if pre-issue access token actions have been executed.
@@ -260,12 +275,11 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
         }
 
         try {
-            CustomClaimsCallbackHandler claimsCallBackHandler =
-                    ClaimHandlerUtil.getClaimsCallbackHandler(getAppInformation(tokenMessageContext));
+            CustomClaimsCallbackHandler claimsCallBackHandler = ClaimHandlerUtil.getClaimsCallbackHandler(oAuthAppDO);
             JWTClaimsSet claimsSet =
                     claimsCallBackHandler.handleCustomClaims(new JWTClaimsSet.Builder(), tokenMessageContext);
             return Optional.ofNullable(claimsSet).map(JWTClaimsSet::getClaims).orElseGet(HashMap::new);
-        } catch (IdentityOAuth2Exception | InvalidOAuthClientException e) {
+        } catch (IdentityOAuth2Exception e) {
             throw new ActionExecutionRequestBuilderException(
                     "Failed to retrieve OIDC claim set for the access token for grant type: " +
                             tokenMessageContext.getOauth2AccessTokenReqDTO().getGrantType(), e);
@@ -290,9 +304,7 @@ public class PreIssueAccessTokenRequestBuilder implements ActionExecutionRequest
         List<String> replacePaths = new ArrayList<>(removeOrReplacePaths);
         replacePaths.add(CLAIMS_PATH_PREFIX + AccessToken.ClaimNames.EXPIRES_IN.getName());
 
-        AllowedOperation addOperation =
-                createAllowedOperation(Operation.ADD, Arrays.asList(CLAIMS_PATH_PREFIX, SCOPES_PATH_PREFIX,
-                        CLAIMS_PATH_PREFIX + AccessToken.ClaimNames.AUD.getName() + "/"));
+        AllowedOperation addOperation = createAllowedOperation(Operation.ADD, ADD_PATHS);
         AllowedOperation removeOperation = createAllowedOperation(Operation.REMOVE, removeOrReplacePaths);
         AllowedOperation replaceOperation = createAllowedOperation(Operation.REPLACE, replacePaths);
 
@@ -73,6 +73,10 @@ public class PreIssueAccessTokenResponseProcessor implements ActionExecutionResp
             Pattern.compile("^([a-zA-Z][a-zA-Z0-9+.-]*://[^\\s/$.?#].\\S*)|(^[a-zA-Z0-9.-]+$)");
     private static final String LAST_ELEMENT_CHARACTER = "-";
     private static final char PATH_SEPARATOR = '/';
+    // Object mappers are thread safe once configured, hence shared instead of being created per operation.
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper SUMMARY_OBJECT_MAPPER =
+            new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
 
     @Override
     public ActionType getSupportedActionType() {
@@ -152,11 +156,8 @@ public class PreIssueAccessTokenResponseProcessor implements ActionExecutionResp
             LoggerUtils.triggerDiagnosticLogEvent(diagLogBuilder);
         }
         if (LOG.isDebugEnabled()) {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
-            objectMapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
             try {
-                String executionSummary = objectMapper.writeValueAsString(operationExecutionResultList);
+                String executionSummary = SUMMARY_OBJECT_MAPPER.writeValueAsString(operationExecutionResultList);
                 LOG.debug(String.format("Processed response for action type: %s. Results of operations performed: %s",
                         actionType, executionSummary));
             } catch (JsonProcessingException e) {
@@ -366,9 +367,8 @@ public class PreIssueAccessTokenResponseProcessor implements ActionExecutionResp
         }
 
         Object claimToAdd = operation.getValue();
-        ObjectMapper objectMapper = new ObjectMapper();
         try {
-            AccessToken.Claim claim = objectMapper.convertValue(claimToAdd, AccessToken.Claim.class);
+            AccessToken.Claim claim = OBJECT_MAPPER.convertValue(claimToAdd, AccessToken.Claim.class);
             if (requestAccessToken.getClaim(claim.getName()) != null) {
                 return new OperationExecutionResult(operation, OperationExecutionResult.Status.FAILURE,
                         "An access token claim already exists.");
@@ -22,17 +22,29 @@ import org.wso2.carbon.identity.application.authentication.framework.cache.Authe
 import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.utils.CarbonUtils;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
- * AppInfoCache is used to cache oauth application information.
+ * AppInfoCache is used to cache oauth application information. The cache keeps a version per stripe of keys which
+ * is incremented whenever an entry of the stripe is cleared on this node, so that an application read from the
+ * database while its entry was being invalidated is not written back to the cache.
  */
 public class AppInfoCache extends AuthenticationBaseCache<String, OAuthAppDO> {
 
     private static final String OAUTH_APP_INFO_CACHE_NAME = "AppInfoCache";
 
+    private static final int VERSION_STRIPES = 64;
+
     private static volatile AppInfoCache instance;
 
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final Object[] versionLocks = new Object[VERSION_STRIPES];
+
     private AppInfoCache() {
         super(OAUTH_APP_INFO_CACHE_NAME);
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versionLocks[i] = new Object();
+        }
     }
 
     /**
@@ -51,4 +63,73 @@ public class AppInfoCache extends AuthenticationBaseCache<String, OAuthAppDO> {
         }
         return instance;
     }
+
+    @Override
+    public void clearCacheEntry(String key) {
+
+        incrementVersion(key);
+        super.clearCacheEntry(key);
+    }
+
+    @Override
+    public void clearCacheEntry(String key, String tenantDomain) {
+
+        incrementVersion(key);
+        super.clearCacheEntry(key, tenantDomain);
+    }
+
+    @Override
+    public void clearCacheEntry(String key, int tenantId) {
+
+        incrementVersion(key);
+        super.clearCacheEntry(key, tenantId);
+    }
+
+    /**
+     * Returns the current version of the given key, which changes whenever the entry of the key, or of another key of
+     * the same stripe, is cleared on this node.
+     *
+     * @param key Cache key.
+     * @return Version of the key.
+     */
+    public long getVersion(String key) {
+
+        return versions.get(getStripe(key));
+    }
+
+    /**
+     * Adds an entry to the cache through the given writer, unless the entry of the key was cleared on this node since
+     * the given version was read. The version check and the write are atomic with respect to the clearing of the
+     * entry, hence an entry cleared after the write is removed by the clearing.
+     *
+     * @param key         Cache key.
+     * @param version     Version of the key read before the value of the entry was read.
+     * @param cacheWriter Adds the entry to the cache.
+     * @return True if the entry was added.
+     */
+    public boolean addToCacheIfNotCleared(String key, long version, Runnable cacheWriter) {
+
+        int stripe = getStripe(key);
+        synchronized (versionLocks[stripe]) {
+            if (versions.get(stripe) != version) {
+                return false;
+            }
+            cacheWriter.run();
+            return true;
+        }
+    }
+
+    private void incrementVersion(String key) {
+
+        int stripe = getStripe(key);
+        synchronized (versionLocks[stripe]) {
+            versions.incrementAndGet(stripe);
+        }
+    }
+
+    private static int getStripe(String key) {
+
+        int hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Loads the OAuth applications missing from {@link AppInfoCache} so that concurrent misses of the same application
+ * are served by a single database read. The first thread to miss an application reads it and adds it to the cache,
+ * while the other threads missing the same application wait for and share its result.
+ * <p>
+ * An application is added to the cache only if its entry was not cleared on this node while it was being read, so that
+ * a read racing with an update of the application does not cache the outdated application.
+ */
+public class AppInfoCacheLoader {
+
+    private static final Log log = LogFactory.getLog(AppInfoCacheLoader.class);
+
+    private static final AppInfoCacheLoader instance = new AppInfoCacheLoader();
+
+    private final ConcurrentMap<String, CompletableFuture<OAuthAppDO>> inFlightLoads = new ConcurrentHashMap<>();
+
+    /**
+     * Reads an OAuth application from the database.
+     */
+    @FunctionalInterface
+    public interface AppInfoReader {
+
+        OAuthAppDO read() throws IdentityOAuth2Exception, InvalidOAuthClientException;
+    }
+
+    AppInfoCacheLoader() {
+
+    }
+
+    public static AppInfoCacheLoader getInstance() {
+
+        return instance;
+    }
+
+    /**
+     * Load an OAuth application which is missing from the cache.
+     *
+     * @param loadKey     Key identifying the application being loaded, such as its tenant and client id.
+     * @param cacheKey    Key of the entry of the application in the cache.
+     * @param reader      Reads the application from the database.
+     * @param cacheWriter Adds the application read from the database to the cache.
+     * @return OAuth application, or null if the reader did not return an application.
+     * @throws IdentityOAuth2Exception     Error while reading the application.
+     * @throws InvalidOAuthClientException If an application is not found.
+     */
+    public OAuthAppDO load(String loadKey, String cacheKey, AppInfoReader reader, Consumer<OAuthAppDO> cacheWriter)
+            throws IdentityOAuth2Exception, InvalidOAuthClientException {
+
+        CompletableFuture<OAuthAppDO> load = new CompletableFuture<>();
+        CompletableFuture<OAuthAppDO> inFlightLoad = inFlightLoads.putIfAbsent(loadKey, load);
+        if (inFlightLoad != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Waiting for the in flight load of the application: " + loadKey);
+            }
+            return await(loadKey, inFlightLoad);
+        }
+        try {
+            AppInfoCache appInfoCache = AppInfoCache.getInstance();
+            long version = appInfoCache.getVersion(cacheKey);
+            OAuthAppDO oAuthAppDO = reader.read();
+            if (oAuthAppDO != null && !appInfoCache.addToCacheIfNotCleared(cacheKey, version,
+                    () -> cacheWriter.accept(oAuthAppDO)) && log.isDebugEnabled()) {
+                log.debug("The application: " + loadKey + " was invalidated while being read. Hence it is not " +
+                        "cached.");
+            }
+            load.complete(oAuthAppDO);
+            return oAuthAppDO;
+        } catch (IdentityOAuth2Exception | InvalidOAuthClientException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(loadKey, load);
+        }
+    }
+
+    private OAuthAppDO await(String loadKey, CompletableFuture<OAuthAppDO> inFlightLoad)
+            throws IdentityOAuth2Exception, InvalidOAuthClientException {
+
+        try {
+            return inFlightLoad.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityOAuth2Exception("Interrupted while waiting for the application: " + loadKey, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IdentityOAuth2Exception) {
+                throw (IdentityOAuth2Exception) cause;
+            }
+            if (cause instanceof InvalidOAuthClientException) {
+                throw (InvalidOAuthClientException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IdentityOAuth2Exception("Error while loading the application: " + loadKey, cause);
+        }
+    }
+}
@@ -23,6 +23,11 @@ import org.wso2.carbon.identity.oauth2.model.AccessTokenExtendedAttributes;
 import org.wso2.carbon.identity.oauth2.model.FederatedTokenDO;
 import org.wso2.carbon.identity.openidconnect.model.RequestObject;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
@@ -403,4 +408,105 @@ public class AuthorizationGrantCacheEntry extends CacheEntry {
 
         this.mappedRemoteClaims = mappedRemoteClaims;
     }
+
+    private Object writeReplace() throws ObjectStreamException {
+
+        return CompactCacheEntryCodec.isEnabled() ? new CompactForm(this) : this;
+    }
+
+    /**
+     * Compact serialized form of {@link AuthorizationGrantCacheEntry}. Entries which were serialized before the
+     * compact form was enabled keep using the default serialized form of the entry.
+     */
+    static final class CompactForm implements Externalizable {
+
+        private static final long serialVersionUID = 4316478239155610422L;
+
+        private AuthorizationGrantCacheEntry entry;
+
+        public CompactForm() {
+
+        }
+
+        CompactForm(AuthorizationGrantCacheEntry entry) {
+
+            this.entry = entry;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+
+            CompactCacheEntryCodec.Writer writer = new CompactCacheEntryCodec.Writer(out);
+            writer.writeVersion();
+            writer.writeLong(entry.getValidityPeriod());
+            writer.writeString(entry.codeId);
+            writer.writeString(entry.authorizationCode);
+            writer.writeString(entry.tokenId);
+            writer.writeClaimMappings(entry.userAttributes);
+            writer.writeString(entry.nonceValue);
+            writer.writeString(entry.pkceCodeChallenge);
+            writer.writeString(entry.pkceCodeChallengeMethod);
+            writer.writeObject(entry.acrValue);
+            writer.writeString(entry.selectedAcrValue);
+            writer.writeStringList(entry.amrList);
+            writer.writeString(entry.essentialClaims);
+            writer.writeLong(entry.authTime);
+            writer.writeLong(entry.maxAge);
+            writer.writeObject(entry.requestObject);
+            writer.writeBoolean(entry.hasNonOIDCClaims);
+            writer.writeClaimMappings(entry.mappedRemoteClaims);
+            writer.writeString(entry.subjectClaim);
+            writer.writeString(entry.tokenBindingValue);
+            writer.writeString(entry.sessionContextIdentifier);
+            writer.writeString(entry.oidcSessionId);
+            writer.writeBoolean(entry.isRequestObjectFlow);
+            writer.writeObject(entry.accessTokenExtendedAttributes);
+            writer.writeBoolean(entry.isApiBasedAuthRequest);
+            writer.writeObject(entry.federatedTokens);
+            writer.writeStringList(entry.audiences);
+            writer.writeObject(entry.customClaims);
+            writer.writeBoolean(entry.isPreIssueAccessTokenActionsExecuted);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+
+            CompactCacheEntryCodec.Reader reader = new CompactCacheEntryCodec.Reader(in);
+            reader.readVersion();
+            entry = new AuthorizationGrantCacheEntry();
+            entry.setValidityPeriod(reader.readLong());
+            entry.codeId = reader.readString();
+            entry.authorizationCode = reader.readString();
+            entry.tokenId = reader.readString();
+            entry.userAttributes = reader.readClaimMappings();
+            entry.nonceValue = reader.readString();
+            entry.pkceCodeChallenge = reader.readString();
+            entry.pkceCodeChallengeMethod = reader.readString();
+            entry.acrValue = reader.readObject();
+            entry.selectedAcrValue = reader.readString();
+            entry.amrList = reader.readStringList();
+            entry.essentialClaims = reader.readString();
+            entry.authTime = reader.readLong();
+            entry.maxAge = reader.readLong();
+            entry.requestObject = reader.readObject();
+            entry.hasNonOIDCClaims = reader.readBoolean();
+            entry.mappedRemoteClaims = reader.readClaimMappings();
+            entry.subjectClaim = reader.readString();
+            entry.tokenBindingValue = reader.readString();
+            entry.sessionContextIdentifier = reader.readString();
+            entry.oidcSessionId = reader.readString();
+            entry.isRequestObjectFlow = reader.readBoolean();
+            entry.accessTokenExtendedAttributes = reader.readObject();
+            entry.isApiBasedAuthRequest = reader.readBoolean();
+            entry.federatedTokens = reader.readObject();
+            entry.audiences = reader.readStringList();
+            entry.customClaims = reader.readObject();
+            entry.isPreIssueAccessTokenActionsExecuted = reader.readBoolean();
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+
+            return entry;
+        }
+    }
 }
@@ -0,0 +1,403 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.wso2.carbon.identity.application.common.model.Claim;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact binary codec for the serialized form of the cache entries which are persisted to the session data store.
+ * <p>
+ * Scalars are written as variable length integers, and strings are written once as length prefixed UTF-8 and
+ * referred to by their index afterwards. Claim mappings, which repeat the same claim URIs as the local and the
+ * remote claim, are written field by field instead of as serialized objects. Values of types which the codec does
+ * not know about are written with the default Java serialization.
+ * <p>
+ * The compact form is written only when enabled with OAuth.CacheEntrySerialization.CompactFormat.Enable, so that
+ * the entries stay readable by nodes which are not upgraded yet. Entries written in either form can always be read.
+ */
+final class CompactCacheEntryCodec {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final int NULL = 0;
+    private static final int NEW_STRING = 1;
+    private static final int STRING_REFERENCE_OFFSET = 2;
+
+    private static final int HASH_MAP = 1;
+    private static final int LINKED_HASH_MAP = 2;
+    private static final int SERIALIZED_MAP = 3;
+
+    private static final int LOCAL_CLAIM = 1;
+    private static final int REMOTE_CLAIM = 1 << 1;
+    private static final int REQUESTED = 1 << 2;
+    private static final int MANDATORY = 1 << 3;
+
+    private static volatile Boolean enabled;
+
+    private CompactCacheEntryCodec() {
+
+    }
+
+    /**
+     * Check whether the cache entries should be written in the compact form.
+     *
+     * @return True if the compact form is enabled.
+     */
+    static boolean isEnabled() {
+
+        if (enabled == null) {
+            enabled = Boolean.parseBoolean(IdentityUtil.getProperty(
+                    OAuth2Constants.CacheEntrySerialization.COMPACT_FORMAT_ENABLE));
+        }
+        return enabled;
+    }
+
+    static void setEnabled(Boolean isEnabled) {
+
+        enabled = isEnabled;
+    }
+
+    /**
+     * Writes the fields of a cache entry in the compact form.
+     */
+    static final class Writer {
+
+        private final ObjectOutput out;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(ObjectOutput out) {
+
+            this.out = out;
+        }
+
+        void writeVersion() throws IOException {
+
+            out.writeByte(FORMAT_VERSION);
+        }
+
+        void writeBoolean(boolean value) throws IOException {
+
+            out.writeBoolean(value);
+        }
+
+        void writeLong(long value) throws IOException {
+
+            // Zigzag encode, so that small negative values are also written in a few bytes.
+            writeUnsignedVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String value) throws IOException {
+
+            if (value == null) {
+                writeSize(NULL);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeSize(index + STRING_REFERENCE_OFFSET);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeSize(NEW_STRING);
+            writeSize(bytes.length);
+            out.write(bytes);
+        }
+
+        void writeStringList(List<String> values) throws IOException {
+
+            if (values == null) {
+                writeSize(NULL);
+                return;
+            }
+            writeSize(values.size() + 1);
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeStringArrayMap(Map<String, String[]> values) throws IOException {
+
+            if (values == null) {
+                writeSize(NULL);
+                return;
+            }
+            writeSize(values.size() + 1);
+            for (Map.Entry<String, String[]> entry : values.entrySet()) {
+                writeString(entry.getKey());
+                String[] array = entry.getValue();
+                if (array == null) {
+                    writeSize(NULL);
+                    continue;
+                }
+                writeSize(array.length + 1);
+                for (String value : array) {
+                    writeString(value);
+                }
+            }
+        }
+
+        void writeClaimMappings(Map<ClaimMapping, String> claimMappings) throws IOException {
+
+            if (claimMappings == null) {
+                writeSize(NULL);
+                return;
+            }
+            if (claimMappings.getClass() == HashMap.class) {
+                writeSize(HASH_MAP);
+            } else if (claimMappings.getClass() == LinkedHashMap.class) {
+                writeSize(LINKED_HASH_MAP);
+            } else {
+                writeSize(SERIALIZED_MAP);
+                out.writeObject(claimMappings);
+                return;
+            }
+            writeSize(claimMappings.size());
+            for (Map.Entry<ClaimMapping, String> entry : claimMappings.entrySet()) {
+                writeClaimMapping(entry.getKey());
+                writeString(entry.getValue());
+            }
+        }
+
+        void writeObject(Object value) throws IOException {
+
+            out.writeObject(value);
+        }
+
+        private void writeClaimMapping(ClaimMapping claimMapping) throws IOException {
+
+            if (claimMapping == null) {
+                writeSize(NULL);
+                return;
+            }
+            Claim localClaim = claimMapping.getLocalClaim();
+            Claim remoteClaim = claimMapping.getRemoteClaim();
+            int flags = (localClaim != null ? LOCAL_CLAIM : 0) | (remoteClaim != null ? REMOTE_CLAIM : 0) |
+                    (claimMapping.isRequested() ? REQUESTED : 0) | (claimMapping.isMandatory() ? MANDATORY : 0);
+            // Flags are offset by one, so that a null claim mapping can be told apart.
+            writeSize(flags + 1);
+            writeClaim(localClaim);
+            writeClaim(remoteClaim);
+            writeString(claimMapping.getDefaultValue());
+        }
+
+        private void writeClaim(Claim claim) throws IOException {
+
+            if (claim != null) {
+                writeString(claim.getClaimUri());
+                writeLong(claim.getClaimId());
+            }
+        }
+
+        private void writeSize(int value) throws IOException {
+
+            writeUnsignedVarLong(value);
+        }
+
+        private void writeUnsignedVarLong(long value) throws IOException {
+
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    /**
+     * Reads the fields of a cache entry written by a {@link Writer}.
+     */
+    static final class Reader {
+
+        private final ObjectInput in;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(ObjectInput in) {
+
+            this.in = in;
+        }
+
+        void readVersion() throws IOException {
+
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION) {
+                throw new InvalidObjectException("Unsupported compact cache entry format version: " + version);
+            }
+        }
+
+        boolean readBoolean() throws IOException {
+
+            return in.readBoolean();
+        }
+
+        long readLong() throws IOException {
+
+            long value = readUnsignedVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString() throws IOException {
+
+            int marker = readSize();
+            if (marker == NULL) {
+                return null;
+            }
+            if (marker == NEW_STRING) {
+                byte[] bytes = new byte[readSize()];
+                in.readFully(bytes);
+                String value = new String(bytes, StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            }
+            int index = marker - STRING_REFERENCE_OFFSET;
+            if (index >= strings.size()) {
+                throw new InvalidObjectException("Invalid string reference: " + index);
+            }
+            return strings.get(index);
+        }
+
+        List<String> readStringList() throws IOException {
+
+            int size = readSize();
+            if (size == NULL) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(size - 1);
+            for (int i = 1; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        ConcurrentHashMap<String, String[]> readStringArrayMap() throws IOException {
+
+            int size = readSize();
+            if (size == NULL) {
+                return null;
+            }
+            ConcurrentHashMap<String, String[]> values = new ConcurrentHashMap<>();
+            for (int i = 1; i < size; i++) {
+                String key = readString();
+                int length = readSize();
+                if (length == NULL) {
+                    continue;
+                }
+                String[] array = new String[length - 1];
+                for (int j = 0; j < array.length; j++) {
+                    array[j] = readString();
+                }
+                values.put(key, array);
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<ClaimMapping, String> readClaimMappings() throws IOException, ClassNotFoundException {
+
+            int type = readSize();
+            if (type == NULL) {
+                return null;
+            }
+            if (type == SERIALIZED_MAP) {
+                return (Map<ClaimMapping, String>) in.readObject();
+            }
+            if (type != HASH_MAP && type != LINKED_HASH_MAP) {
+                throw new InvalidObjectException("Invalid claim mapping map type: " + type);
+            }
+            int size = readSize();
+            Map<ClaimMapping, String> claimMappings = type == HASH_MAP ? new HashMap<>() : new LinkedHashMap<>();
+            for (int i = 0; i < size; i++) {
+                ClaimMapping claimMapping = readClaimMapping();
+                claimMappings.put(claimMapping, readString());
+            }
+            return claimMappings;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T readObject() throws IOException, ClassNotFoundException {
+
+            return (T) in.readObject();
+        }
+
+        private ClaimMapping readClaimMapping() throws IOException {
+
+            int marker = readSize();
+            if (marker == NULL) {
+                return null;
+            }
+            int flags = marker - 1;
+            ClaimMapping claimMapping = new ClaimMapping();
+            if ((flags & LOCAL_CLAIM) != 0) {
+                claimMapping.setLocalClaim(readClaim());
+            }
+            if ((flags & REMOTE_CLAIM) != 0) {
+                claimMapping.setRemoteClaim(readClaim());
+            }
+            claimMapping.setRequested((flags & REQUESTED) != 0);
+            claimMapping.setMandatory((flags & MANDATORY) != 0);
+            claimMapping.setDefaultValue(readString());
+            return claimMapping;
+        }
+
+        private Claim readClaim() throws IOException {
+
+            Claim claim = new Claim();
+            claim.setClaimUri(readString());
+            claim.setClaimId((int) readLong());
+            return claim;
+        }
+
+        private int readSize() throws IOException {
+
+            long value = readUnsignedVarLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new InvalidObjectException("Invalid size: " + value);
+            }
+            return (int) value;
+        }
+
+        private long readUnsignedVarLong() throws IOException {
+
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new InvalidObjectException("Malformed variable length integer.");
+        }
+    }
+}
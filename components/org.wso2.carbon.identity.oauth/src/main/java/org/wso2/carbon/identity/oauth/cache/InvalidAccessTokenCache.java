@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * In-process negative cache of the access token identifiers that were recently not found in the database.
+ * <p>
+ * Repeated lookups of garbage, expired or revoked access tokens are answered from this cache for a short time to
+ * live instead of querying the database. The identifiers are held as SHA-256 hashes. An entry records whether the
+ * token was not found at all, or only not found in the active state, so that lookups including the inactive tokens
+ * are not answered from an entry recorded by a lookup of active tokens. The entries of an access token are removed
+ * once it is persisted, under both the token and the identifier persisted for it, e.g. the JTI of a JWT.
+ * <p>
+ * A lookup takes the {@link #getGeneration(String) generation} of the identifier before querying the database, and
+ * the token is not recorded if it was persisted in the meantime. When the access tokens are persisted asynchronously,
+ * a token issued on one node may be looked up on another node before it is persisted, hence the entries are also
+ * tracked in the {@link InvalidAccessTokenClusterCache}, through which their removal reaches the other nodes.
+ */
+public class InvalidAccessTokenCache {
+
+    private static final Log LOG = LogFactory.getLog(InvalidAccessTokenCache.class);
+
+    private static final String ENABLED = "OAuth.InvalidAccessTokenCache.Enable";
+    private static final String MAX_ENTRIES = "OAuth.InvalidAccessTokenCache.MaxEntries";
+    private static final String TIME_TO_LIVE = "OAuth.InvalidAccessTokenCache.TimeToLive";
+    private static final int DEFAULT_MAX_ENTRIES = 100000;
+    private static final int DEFAULT_TIME_TO_LIVE = 10;
+    private static final int GENERATION_STRIPES = 256;
+    private static final long ANY_GENERATION = -1;
+
+    private static volatile InvalidAccessTokenCache instance;
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long timeToLiveMillis;
+    private final Map<String, InvalidTokenEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final InvalidAccessTokenClusterCache clusterCache;
+
+    InvalidAccessTokenCache(boolean enabled, int maxEntries, long timeToLiveMillis) {
+
+        this(enabled, maxEntries, timeToLiveMillis, null);
+    }
+
+    InvalidAccessTokenCache(boolean enabled, int maxEntries, long timeToLiveMillis,
+                            InvalidAccessTokenClusterCache clusterCache) {
+
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.clusterCache = clusterCache;
+    }
+
+    public static InvalidAccessTokenCache getInstance() {
+
+        if (instance == null) {
+            synchronized (InvalidAccessTokenCache.class) {
+                if (instance == null) {
+                    boolean enabled = Boolean.parseBoolean(IdentityUtil.getProperty(ENABLED));
+                    // Only asynchronously persisted tokens can be looked up on another node before they are persisted.
+                    boolean asyncPersistenceEnabled = Boolean.parseBoolean(
+                            IdentityUtil.getProperty(OAuth2Constants.AsyncTokenPersistence.ENABLE));
+                    instance = new InvalidAccessTokenCache(enabled, getIntProperty(MAX_ENTRIES, DEFAULT_MAX_ENTRIES, 1),
+                            getIntProperty(TIME_TO_LIVE, DEFAULT_TIME_TO_LIVE, 1) * 1000L,
+                            enabled && asyncPersistenceEnabled ? InvalidAccessTokenClusterCache.getInstance() : null);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns whether the negative cache is enabled.
+     *
+     * @return True if the negative cache is enabled.
+     */
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Returns whether the access token was recently not found by a lookup equivalent to the given one.
+     *
+     * @param accessTokenIdentifier Access token identifier.
+     * @param includeExpired        Whether the lookup includes the inactive access tokens.
+     * @return True if the access token is known to be invalid for the lookup.
+     */
+    public boolean isInvalid(String accessTokenIdentifier, boolean includeExpired) {
+
+        if (!enabled || StringUtils.isEmpty(accessTokenIdentifier)) {
+            return false;
+        }
+        String key = DigestUtils.sha256Hex(accessTokenIdentifier);
+        InvalidTokenEntry entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.expiryTime <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return false;
+        }
+        if (includeExpired && !entry.notFoundIncludingExpired) {
+            return false;
+        }
+        hitCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the generation of the access token identifier, which changes whenever an access token with the
+     * identifier is persisted. It must be taken before looking up the access token in the database.
+     *
+     * @param accessTokenIdentifier Access token identifier.
+     * @return Generation of the identifier.
+     */
+    public long getGeneration(String accessTokenIdentifier) {
+
+        if (!enabled || StringUtils.isEmpty(accessTokenIdentifier)) {
+            return ANY_GENERATION;
+        }
+        return generations.get(getStripe(DigestUtils.sha256Hex(accessTokenIdentifier)));
+    }
+
+    /**
+     * Records that the access token was not found by a lookup.
+     *
+     * @param accessTokenIdentifier Access token identifier.
+     * @param includeExpired        Whether the lookup included the inactive access tokens.
+     */
+    public void addInvalidToken(String accessTokenIdentifier, boolean includeExpired) {
+
+        addInvalidToken(accessTokenIdentifier, includeExpired, ANY_GENERATION);
+    }
+
+    /**
+     * Records that the access token was not found by a lookup, unless an access token with the identifier was
+     * persisted after the given generation was taken.
+     *
+     * @param accessTokenIdentifier Access token identifier.
+     * @param includeExpired        Whether the lookup included the inactive access tokens.
+     * @param generation            Generation of the identifier taken before the lookup.
+     */
+    public void addInvalidToken(String accessTokenIdentifier, boolean includeExpired, long generation) {
+
+        if (!enabled || StringUtils.isEmpty(accessTokenIdentifier)) {
+            return;
+        }
+        String key = DigestUtils.sha256Hex(accessTokenIdentifier);
+        if (isPersistedSince(key, generation)) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            removeExpiredEntries();
+            if (entries.size() >= maxEntries) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Invalid access token cache is full. The token is not cached.");
+                }
+                return;
+            }
+        }
+        long expiryTime = System.currentTimeMillis() + timeToLiveMillis;
+        // A lookup excluding inactive tokens does not override the stronger record of a lookup including them.
+        entries.merge(key, new InvalidTokenEntry(expiryTime, includeExpired),
+                (existing, recorded) -> new InvalidTokenEntry(expiryTime,
+                        recorded.notFoundIncludingExpired || (existing.notFoundIncludingExpired &&
+                                existing.expiryTime > System.currentTimeMillis())));
+        // The token may have been persisted while the entry was recorded.
+        if (isPersistedSince(key, generation)) {
+            entries.remove(key);
+            return;
+        }
+        if (clusterCache != null) {
+            clusterCache.addToCache(key, new InvalidAccessTokenCacheEntry());
+        }
+    }
+
+    /**
+     * Removes the entries of an access token on this and the other nodes, as the access token has been persisted.
+     *
+     * @param accessTokenIdentifiers Access token and the identifier persisted for it.
+     */
+    public void removeInvalidToken(String... accessTokenIdentifiers) {
+
+        if (!enabled) {
+            return;
+        }
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            if (StringUtils.isEmpty(accessTokenIdentifier)) {
+                continue;
+            }
+            String key = DigestUtils.sha256Hex(accessTokenIdentifier);
+            generations.incrementAndGet(getStripe(key));
+            entries.remove(key);
+            if (clusterCache != null) {
+                clusterCache.clearCacheEntry(key);
+            }
+        }
+    }
+
+    /**
+     * Removes the entry of the given key from this node only. This is invoked when the entry is removed from the
+     * {@link InvalidAccessTokenClusterCache}, including the removals propagated from the other nodes.
+     *
+     * @param key Hash of the access token identifier.
+     */
+    public void removeLocalEntry(String key) {
+
+        if (!enabled || StringUtils.isEmpty(key)) {
+            return;
+        }
+        generations.incrementAndGet(getStripe(key));
+        entries.remove(key);
+    }
+
+    /**
+     * Returns the number of lookups answered from the negative cache.
+     *
+     * @return Hit count.
+     */
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    private boolean isPersistedSince(String key, long generation) {
+
+        return generation != ANY_GENERATION && generations.get(getStripe(key)) != generation;
+    }
+
+    private static int getStripe(String key) {
+
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    private void removeExpiredEntries() {
+
+        long now = System.currentTimeMillis();
+        Iterator<InvalidTokenEntry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().expiryTime <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Expiry time of a negative entry, and whether the token was not found even including the inactive tokens.
+     */
+    private static class InvalidTokenEntry {
+
+        private final long expiryTime;
+        private final boolean notFoundIncludingExpired;
+
+        InvalidTokenEntry(long expiryTime, boolean notFoundIncludingExpired) {
+
+            this.expiryTime = expiryTime;
+            this.notFoundIncludingExpired = notFoundIncludingExpired;
+        }
+    }
+}
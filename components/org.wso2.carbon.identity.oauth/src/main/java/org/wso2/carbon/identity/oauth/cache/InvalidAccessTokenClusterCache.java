@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+import org.wso2.carbon.identity.oauth.listener.InvalidAccessTokenCacheRemoveListener;
+import org.wso2.carbon.utils.CarbonUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache of the hashed access token identifiers held in the {@link InvalidAccessTokenCache} of this node. It is only
+ * used to propagate the removal of the entries to the other nodes, as an access token issued on one node may be
+ * recorded as invalid on another node while it waits to be persisted asynchronously.
+ */
+public class InvalidAccessTokenClusterCache extends BaseCache<String, InvalidAccessTokenCacheEntry> {
+
+    private static final String INVALID_ACCESS_TOKEN_CACHE_NAME = "InvalidAccessTokenCache";
+    private static final List<AbstractCacheListener<String, InvalidAccessTokenCacheEntry>> cacheListeners =
+            new ArrayList<>();
+    private static volatile InvalidAccessTokenClusterCache instance;
+
+    static {
+        cacheListeners.add(new InvalidAccessTokenCacheRemoveListener());
+    }
+
+    private InvalidAccessTokenClusterCache() {
+
+        super(INVALID_ACCESS_TOKEN_CACHE_NAME, cacheListeners);
+    }
+
+    public static InvalidAccessTokenClusterCache getInstance() {
+
+        CarbonUtils.checkSecurity();
+        if (instance == null) {
+            synchronized (InvalidAccessTokenClusterCache.class) {
+                if (instance == null) {
+                    instance = new InvalidAccessTokenClusterCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
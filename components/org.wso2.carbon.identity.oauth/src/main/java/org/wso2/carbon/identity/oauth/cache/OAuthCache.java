@@ -23,6 +23,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationBaseCache;
 import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.listener.OAuthCacheRemoveListener;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.utils.CarbonUtils;
@@ -30,6 +31,8 @@ import org.wso2.carbon.utils.CarbonUtils;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
 /**
  * OAuth cache.
  */
@@ -40,12 +43,21 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
     private static volatile OAuthCache instance;
     private static final Log LOG = LogFactory.getLog(OAuthCache.class);
 
+    private static final String NEAR_CACHE_ENABLED = "OAuth.OAuthCache.NearCache.Enable";
+    private static final String NEAR_CACHE_MAX_ENTRIES = "OAuth.OAuthCache.NearCache.MaxEntries";
+    private static final String NEAR_CACHE_TIME_TO_LIVE = "OAuth.OAuthCache.NearCache.TimeToLive";
+    private static final int DEFAULT_NEAR_CACHE_MAX_ENTRIES = 10000;
+    private static final int DEFAULT_NEAR_CACHE_TIME_TO_LIVE = 60;
+
+    private final OAuthNearCache nearCache;
+
     static {
         cacheListeners.add(new OAuthCacheRemoveListener());
     }
 
     private OAuthCache() {
         super(OAUTH_CACHE_NAME, cacheListeners);
+        nearCache = buildNearCache();
     }
 
     public static OAuthCache getInstance() {
@@ -71,18 +83,28 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
                         ((AccessTokenDO) entry).getTokenId(), tenantDomain));
             }
             super.addToCache(key, entry, tenantDomain);
+            if (nearCache != null && isEnabled()) {
+                nearCache.put(key, tokenDO, tenantDomain);
+            }
         } else {
             super.addToCache(key, entry);
         }
     }
 
+    @Override
+    public void clearCacheEntry(OAuthCacheKey key) {
+
+        super.clearCacheEntry(key);
+        invalidateNearCacheEntry(key);
+    }
+
     @Override
     public void clearCacheEntry(OAuthCacheKey key, String tenantDomain) {
 
         if (LOG.isDebugEnabled()) {
             LOG.debug("Hit OAuthCache for clearing in tenant domain: " + tenantDomain);
         }
-        if (LOG.isDebugEnabled() && getValueFromCache(key, tenantDomain) == null) {
+        if (LOG.isDebugEnabled() && super.getValueFromCache(key, tenantDomain) == null) {
             LOG.debug(String.format("No cache entry found for the given cache key in the tenant: %s.", tenantDomain));
         }
         if (StringUtils.isNotBlank(tenantDomain)) {
@@ -90,6 +112,7 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
         } else {
             super.clearCacheEntry(key);
         }
+        invalidateNearCacheEntry(key);
         // Added below logs to make sure the cache is cleared properly.
         if (LOG.isDebugEnabled() && super.getValueFromCache(key, tenantDomain) == null) {
             LOG.debug("Successfully cleared OAuthCache for the provided key in tenant domain: " + tenantDomain);
@@ -97,12 +120,40 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
     }
 
 
+    @Override
+    public void clear(int tenantId) {
+
+        // The near cache entries are not indexed by tenant, hence all of them are dropped.
+        if (nearCache != null) {
+            nearCache.invalidateAll();
+        }
+        super.clear(tenantId);
+    }
+
+    @Override
+    public CacheEntry getValueFromCache(OAuthCacheKey key) {
+
+        AccessTokenDO nearCacheEntry = getFromNearCache(key, null);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
+        long nearCacheGeneration = getNearCacheGeneration(key);
+        CacheEntry cacheEntry = super.getValueFromCache(key);
+        addToNearCache(key, cacheEntry, nearCacheGeneration);
+        return cacheEntry;
+    }
+
     @Override
     public CacheEntry getValueFromCache(OAuthCacheKey key, String tenantDomain) {
 
+        AccessTokenDO nearCacheEntry = getFromNearCache(key, tenantDomain);
+        if (nearCacheEntry != null) {
+            return nearCacheEntry;
+        }
         if (LOG.isDebugEnabled()) {
             LOG.debug("Hit OAuthCache for getting the cache entry in tenant domain: " + tenantDomain);
         }
+        long nearCacheGeneration = getNearCacheGeneration(key);
         CacheEntry cacheEntry;
         if (StringUtils.isNotBlank(tenantDomain)) {
             cacheEntry = super.getValueFromCache(key, tenantDomain);
@@ -112,6 +163,72 @@ public class OAuthCache extends AuthenticationBaseCache<OAuthCacheKey, CacheEntr
         if (LOG.isDebugEnabled() && cacheEntry != null) {
             LOG.debug("Successfully retrieved cache entry from OauthCache for tenant domain: " + tenantDomain);
         }
+        addToNearCache(key, cacheEntry, nearCacheGeneration);
         return cacheEntry;
     }
+
+    /**
+     * Removes the access token cached against the given key from the in-process near cache only. This is invoked
+     * when the entry is removed from the OAuth cache, including the removals propagated from the other nodes.
+     *
+     * @param key Cache key.
+     */
+    public void invalidateNearCacheEntry(OAuthCacheKey key) {
+
+        if (nearCache != null && key != null) {
+            nearCache.invalidate(key);
+        }
+    }
+
+    /**
+     * Returns the in-process near cache of access tokens.
+     *
+     * @return Near cache, or null if the near cache is disabled.
+     */
+    public OAuthNearCache getNearCache() {
+
+        return nearCache;
+    }
+
+    private AccessTokenDO getFromNearCache(OAuthCacheKey key, String tenantDomain) {
+
+        if (nearCache == null || !isEnabled()) {
+            return null;
+        }
+        return nearCache.get(key, tenantDomain);
+    }
+
+    private long getNearCacheGeneration(OAuthCacheKey key) {
+
+        return nearCache != null ? nearCache.getGeneration(key) : 0;
+    }
+
+    /**
+     * Adds an access token read from the OAuth cache to the near cache. The entry is dropped if the key was cleared
+     * after the given generation was taken, as the value read may predate the clear.
+     */
+    private void addToNearCache(OAuthCacheKey key, CacheEntry cacheEntry, long generation) {
+
+        if (nearCache != null && cacheEntry instanceof AccessTokenDO) {
+            AccessTokenDO accessTokenDO = (AccessTokenDO) cacheEntry;
+            if (accessTokenDO.getAuthzUser() != null) {
+                nearCache.putIfNotInvalidated(key, accessTokenDO, accessTokenDO.getAuthzUser().getTenantDomain(),
+                        generation);
+            }
+        }
+    }
+
+    private static OAuthNearCache buildNearCache() {
+
+        if (!Boolean.parseBoolean(IdentityUtil.getProperty(NEAR_CACHE_ENABLED))) {
+            return null;
+        }
+        int maxEntries = getIntProperty(NEAR_CACHE_MAX_ENTRIES, DEFAULT_NEAR_CACHE_MAX_ENTRIES, 1);
+        int timeToLive = getIntProperty(NEAR_CACHE_TIME_TO_LIVE, DEFAULT_NEAR_CACHE_TIME_TO_LIVE, 1);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("OAuthCache near cache is enabled with max entries: " + maxEntries + " and time to live: " +
+                    timeToLive + "s.");
+        }
+        return new OAuthNearCache(maxEntries, timeToLive * 1000L);
+    }
 }
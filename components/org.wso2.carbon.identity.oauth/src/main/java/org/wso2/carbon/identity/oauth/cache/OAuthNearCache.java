@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process near cache of the access tokens held in the {@link OAuthCache}.
+ * <p>
+ * The cache is bounded and evicts the least recently used entries. An entry expires at the expiry of its access token
+ * or after the configured time to live, whichever comes first. The entries are split into segments, each guarded by
+ * its own lock, so that concurrent lookups of different tokens do not contend. The near cache only holds entries
+ * added through the {@link OAuthCache}, and is invalidated whenever the corresponding {@link OAuthCache} entry is
+ * cleared or removed.
+ * <p>
+ * Every segment counts the invalidations of its entries. A value read from the {@link OAuthCache} is only added with
+ * {@link #putIfNotInvalidated(OAuthCacheKey, AccessTokenDO, String, long)}, using the count taken before the read, so
+ * that a value read before a concurrent clear is never cached after it.
+ */
+public class OAuthNearCache {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final long ANY_GENERATION = -1;
+
+    private final Segment[] segments;
+    private final long timeToLiveMillis;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a near cache.
+     *
+     * @param maxEntries       Maximum number of entries held by the cache.
+     * @param timeToLiveMillis Maximum time an entry is held by the cache, in milliseconds.
+     */
+    public OAuthNearCache(int maxEntries, long timeToLiveMillis) {
+
+        this.timeToLiveMillis = timeToLiveMillis;
+        int segmentCapacity = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns the access token cached against the given key.
+     *
+     * @param key          Cache key.
+     * @param tenantDomain Tenant domain the access token should belong to. Any tenant is matched when blank.
+     * @return Cached access token, or null if there is no live entry for the key in the tenant.
+     */
+    public AccessTokenDO get(OAuthCacheKey key, String tenantDomain) {
+
+        String cacheKeyString = key.getCacheKeyString();
+        Segment segment = segmentFor(cacheKeyString);
+        NearCacheEntry entry;
+        synchronized (segment) {
+            entry = segment.get(cacheKeyString);
+            if (entry != null && entry.expiryTime <= System.currentTimeMillis()) {
+                segment.remove(cacheKeyString);
+                evictionCount.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry == null || (StringUtils.isNotBlank(tenantDomain) &&
+                !StringUtils.equals(tenantDomain, entry.tenantDomain))) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return entry.accessTokenDO;
+    }
+
+    /**
+     * Caches an access token. The access token is not cached if it has already expired.
+     *
+     * @param key           Cache key.
+     * @param accessTokenDO Access token.
+     * @param tenantDomain  Tenant domain of the access token.
+     */
+    public void put(OAuthCacheKey key, AccessTokenDO accessTokenDO, String tenantDomain) {
+
+        put(key, accessTokenDO, tenantDomain, ANY_GENERATION);
+    }
+
+    /**
+     * Returns the invalidation generation of the given key, which changes whenever the key may have been invalidated.
+     * It must be taken before reading the value to cache from the {@link OAuthCache}.
+     *
+     * @param key Cache key.
+     * @return Invalidation generation.
+     */
+    public long getGeneration(OAuthCacheKey key) {
+
+        Segment segment = segmentFor(key.getCacheKeyString());
+        synchronized (segment) {
+            return segment.generation;
+        }
+    }
+
+    /**
+     * Caches an access token read from the {@link OAuthCache}, unless the key was invalidated after the given
+     * generation was taken.
+     *
+     * @param key           Cache key.
+     * @param accessTokenDO Access token.
+     * @param tenantDomain  Tenant domain of the access token.
+     * @param generation    Generation of the key taken before the access token was read.
+     * @return True if the key was not invalidated in the meantime.
+     */
+    public boolean putIfNotInvalidated(OAuthCacheKey key, AccessTokenDO accessTokenDO, String tenantDomain,
+                                       long generation) {
+
+        return put(key, accessTokenDO, tenantDomain, generation);
+    }
+
+    private boolean put(OAuthCacheKey key, AccessTokenDO accessTokenDO, String tenantDomain, long generation) {
+
+        long now = System.currentTimeMillis();
+        long expiryTime = now + timeToLiveMillis;
+        if (accessTokenDO.getIssuedTime() != null && accessTokenDO.getValidityPeriodInMillis() >= 0) {
+            expiryTime = Math.min(expiryTime,
+                    accessTokenDO.getIssuedTime().getTime() + accessTokenDO.getValidityPeriodInMillis());
+        }
+        String cacheKeyString = key.getCacheKeyString();
+        Segment segment = segmentFor(cacheKeyString);
+        synchronized (segment) {
+            if (generation != ANY_GENERATION && generation != segment.generation) {
+                return false;
+            }
+            if (expiryTime <= now) {
+                segment.remove(cacheKeyString);
+                return true;
+            }
+            segment.put(cacheKeyString, new NearCacheEntry(accessTokenDO, tenantDomain, expiryTime));
+        }
+        return true;
+    }
+
+    /**
+     * Removes the entry cached against the given key, irrespective of its tenant.
+     *
+     * @param key Cache key.
+     */
+    public void invalidate(OAuthCacheKey key) {
+
+        String cacheKeyString = key.getCacheKeyString();
+        Segment segment = segmentFor(cacheKeyString);
+        synchronized (segment) {
+            segment.remove(cacheKeyString);
+            segment.generation++;
+        }
+    }
+
+    /**
+     * Removes all the entries.
+     */
+    public void invalidateAll() {
+
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+                segment.generation++;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a live entry.
+     *
+     * @return Hit count.
+     */
+    public long getHitCount() {
+
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a live entry.
+     *
+     * @return Miss count.
+     */
+    public long getMissCount() {
+
+        return missCount.get();
+    }
+
+    /**
+     * Returns the number of entries evicted as the cache was full or the entries expired.
+     *
+     * @return Eviction count.
+     */
+    public long getEvictionCount() {
+
+        return evictionCount.get();
+    }
+
+    private Segment segmentFor(String cacheKeyString) {
+
+        int hash = cacheKeyString.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Access ordered map of a segment, which evicts its least recently used entry when full.
+     */
+    private class Segment extends LinkedHashMap<String, NearCacheEntry> {
+
+        private static final long serialVersionUID = -2431652733186404327L;
+        private final int capacity;
+        private long generation;
+
+        Segment(int capacity) {
+
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, NearCacheEntry> eldest) {
+
+            if (size() > capacity) {
+                evictionCount.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Cached access token along with its tenant domain and expiry time.
+     */
+    private static class NearCacheEntry {
+
+        private final AccessTokenDO accessTokenDO;
+        private final String tenantDomain;
+        private final long expiryTime;
+
+        NearCacheEntry(AccessTokenDO accessTokenDO, String tenantDomain, long expiryTime) {
+
+            this.accessTokenDO = accessTokenDO;
+            this.tenantDomain = tenantDomain;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
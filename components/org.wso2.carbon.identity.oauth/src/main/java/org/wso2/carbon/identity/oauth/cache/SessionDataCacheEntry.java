@@ -24,6 +24,11 @@ import org.wso2.carbon.identity.oauth2.authz.OAuthAuthzReqMessageContext;
 import org.wso2.carbon.identity.oauth2.model.FederatedTokenDO;
 import org.wso2.carbon.identity.oauth2.model.OAuth2Parameters;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
@@ -184,4 +189,77 @@ public class SessionDataCacheEntry extends CacheEntry {
 
         this.mappedRemoteClaims = mappedRemoteClaims;
     }
+
+    private Object writeReplace() throws ObjectStreamException {
+
+        return CompactCacheEntryCodec.isEnabled() ? new CompactForm(this) : this;
+    }
+
+    /**
+     * Compact serialized form of {@link SessionDataCacheEntry}. Entries which were serialized before the compact form
+     * was enabled keep using the default serialized form of the entry.
+     */
+    static final class CompactForm implements Externalizable {
+
+        private static final long serialVersionUID = -2868720353129460734L;
+
+        private SessionDataCacheEntry entry;
+
+        public CompactForm() {
+
+        }
+
+        CompactForm(SessionDataCacheEntry entry) {
+
+            this.entry = entry;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+
+            CompactCacheEntryCodec.Writer writer = new CompactCacheEntryCodec.Writer(out);
+            writer.writeVersion();
+            writer.writeLong(entry.getValidityPeriod());
+            writer.writeObject(entry.loggedInUser);
+            writer.writeObject(entry.oAuth2Parameters);
+            writer.writeObject(entry.authzReqMsgCtx);
+            writer.writeLong(entry.authTime);
+            writer.writeString(entry.authenticatedIdPs);
+            writer.writeString(entry.essentialClaims);
+            writer.writeString(entry.sessionContextIdentifier);
+            writer.writeBoolean(entry.removeOnConsume);
+            writer.writeString(entry.queryString);
+            writer.writeStringArrayMap(entry.paramMap);
+            writer.writeObject(entry.endpointParams);
+            writer.writeObject(entry.federatedTokens);
+            writer.writeClaimMappings(entry.mappedRemoteClaims);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+
+            CompactCacheEntryCodec.Reader reader = new CompactCacheEntryCodec.Reader(in);
+            reader.readVersion();
+            entry = new SessionDataCacheEntry();
+            entry.setValidityPeriod(reader.readLong());
+            entry.loggedInUser = reader.readObject();
+            entry.oAuth2Parameters = reader.readObject();
+            entry.authzReqMsgCtx = reader.readObject();
+            entry.authTime = reader.readLong();
+            entry.authenticatedIdPs = reader.readString();
+            entry.essentialClaims = reader.readString();
+            entry.sessionContextIdentifier = reader.readString();
+            entry.removeOnConsume = reader.readBoolean();
+            entry.queryString = reader.readString();
+            entry.paramMap = reader.readStringArrayMap();
+            entry.endpointParams = reader.readObject();
+            entry.federatedTokens = reader.readObject();
+            entry.mappedRemoteClaims = reader.readClaimMappings();
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+
+            return entry;
+        }
+    }
 }
@@ -164,13 +164,13 @@ public class OAuthServerConfiguration {
     private String tokenPersistenceProcessorClassName =
             "org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor";
     private String oauthTokenGeneratorClassName;
-    private OAuthIssuer oauthTokenGenerator;
+    private volatile OAuthIssuer oauthTokenGenerator;
     private String oauthIdentityTokenGeneratorClassName;
     private String clientIdValidationRegex = "[a-zA-Z0-9_]{15,30}";
     private String persistAccessTokenAlias;
     private String retainOldAccessTokens;
     private String tokenCleanupFeatureEnable;
-    private OauthTokenIssuer oauthIdentityTokenGenerator;
+    private volatile OauthTokenIssuer oauthIdentityTokenGenerator;
     private boolean scopeValidationConfigValue = true;
     private boolean globalRbacScopeIssuerEnabled = false;
     private boolean cacheEnabled = false;
@@ -194,18 +194,18 @@ public class OAuthServerConfiguration {
     private Map<String, String> idTokenAllowedForGrantTypesMap = new HashMap<>();
     private Set<String> idTokenNotAllowedGrantTypesSet = new HashSet<>();
     private Set<String> userConsentEnabledGrantTypes = new HashSet<>();
-    private Map<String, AuthorizationGrantHandler> supportedGrantTypes;
-    private Map<String, RequestObjectBuilder> requestObjectBuilder;
+    private volatile Map<String, AuthorizationGrantHandler> supportedGrantTypes;
+    private volatile Map<String, RequestObjectBuilder> requestObjectBuilder;
     private Map<String, String> supportedGrantTypeValidatorNames = new HashMap<>();
-    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedGrantTypeValidators;
+    private volatile Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedGrantTypeValidators;
     private Map<String, String> supportedResponseTypeClassNames = new HashMap<>();
-    private Map<String, ResponseTypeHandler> supportedResponseTypes;
+    private volatile Map<String, ResponseTypeHandler> supportedResponseTypes;
     private Map<String, String> supportedResponseTypeValidatorNames = new HashMap<>();
     private Map<String, String> supportedResponseModeProviderClassNames = new HashMap<>();
-    private Map<String, ResponseModeProvider> supportedResponseModes;
+    private volatile Map<String, ResponseModeProvider> supportedResponseModes;
     private String defaultResponseModeProviderClassName;
     private ResponseModeProvider defaultResponseModeProvider;
-    private Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedResponseTypeValidators;
+    private volatile Map<String, Class<? extends OAuthValidator<HttpServletRequest>>> supportedResponseTypeValidators;
     private Map<String, TokenIssuerDO> supportedTokenIssuers = new HashMap<>();
     private List<String> supportedTokenTypes = new ArrayList<>();
     private List<String> publicClientSupportedGrantTypes = new ArrayList<>();
@@ -308,7 +308,7 @@ public class OAuthServerConfiguration {
     private boolean useSPTenantDomainValue;
 
     // Property added to customize the token valued generation method. (IDENTITY-6139)
-    private ValueGenerator tokenValueGenerator;
+    private volatile ValueGenerator tokenValueGenerator;
 
     // property to skip OIDC claims retrieval for client credential grant type.
     // By default, this is true because OIDC claims are not required for client credential grant type
@@ -1146,27 +1146,10 @@ public class OAuthServerConfiguration {
         if (supportedGrantTypes == null) {
             synchronized (this) {
                 if (supportedGrantTypes == null) {
-                    Map<String, AuthorizationGrantHandler> supportedGrantTypesTemp = new HashMap<>();
-                    for (Map.Entry<String, String> entry : supportedGrantTypeClassNames.entrySet()) {
-                        AuthorizationGrantHandler authzGrantHandler = null;
-                        try {
-                            authzGrantHandler =
-                                    (AuthorizationGrantHandler) Class.forName(entry.getValue()).newInstance();
-                            authzGrantHandler.init();
-                        } catch (InstantiationException e) {
-                            log.error("Error instantiating " + entry.getValue(), e);
-                        } catch (IllegalAccessException e) {
-                            log.error("Illegal access to " + entry.getValue(), e);
-                        } catch (ClassNotFoundException e) {
-                            log.error("Cannot find class: " + entry.getValue(), e);
-                        } catch (IdentityOAuth2Exception e) {
-                            log.error("Error while initializing " + entry.getValue(), e);
-                        }
-
-                        if (authzGrantHandler != null) {
-                            supportedGrantTypesTemp.put(entry.getKey(), authzGrantHandler);
-                        } else {
-                            log.warn("Grant type : " + entry.getKey() + ", is not added as a supported grant type. "
+                    Map<String, AuthorizationGrantHandler> supportedGrantTypesTemp = instantiateGrantHandlers();
+                    for (String grantType : supportedGrantTypeClassNames.keySet()) {
+                        if (!supportedGrantTypesTemp.containsKey(grantType)) {
+                            log.warn("Grant type : " + grantType + ", is not added as a supported grant type. "
                                     + "Relevant grant handler failed to initiate properly.");
                         }
                     }
@@ -1177,6 +1160,53 @@ public class OAuthServerConfiguration {
         return supportedGrantTypes;
     }
 
+    /**
+     * Instantiate the supported grant handlers ahead of their first use. They are kept only when every configured
+     * grant handler could be instantiated, otherwise they are instantiated again on first use.
+     */
+    void initializeSupportedGrantTypes() {
+
+        if (supportedGrantTypes != null) {
+            return;
+        }
+        synchronized (this) {
+            if (supportedGrantTypes == null) {
+                Map<String, AuthorizationGrantHandler> supportedGrantTypesTemp = instantiateGrantHandlers();
+                if (supportedGrantTypesTemp.size() == supportedGrantTypeClassNames.size()) {
+                    supportedGrantTypes = supportedGrantTypesTemp;
+                } else {
+                    log.warn("Some grant handlers failed to initiate properly. The grant handlers will be " +
+                            "initialized again on first use.");
+                }
+            }
+        }
+    }
+
+    private Map<String, AuthorizationGrantHandler> instantiateGrantHandlers() {
+
+        Map<String, AuthorizationGrantHandler> grantHandlers = new HashMap<>();
+        for (Map.Entry<String, String> entry : supportedGrantTypeClassNames.entrySet()) {
+            AuthorizationGrantHandler authzGrantHandler = null;
+            try {
+                authzGrantHandler = (AuthorizationGrantHandler) Class.forName(entry.getValue()).newInstance();
+                authzGrantHandler.init();
+            } catch (InstantiationException e) {
+                log.error("Error instantiating " + entry.getValue(), e);
+            } catch (IllegalAccessException e) {
+                log.error("Illegal access to " + entry.getValue(), e);
+            } catch (ClassNotFoundException e) {
+                log.error("Cannot find class: " + entry.getValue(), e);
+            } catch (IdentityOAuth2Exception e) {
+                log.error("Error while initializing " + entry.getValue(), e);
+            }
+
+            if (authzGrantHandler != null) {
+                grantHandlers.put(entry.getKey(), authzGrantHandler);
+            }
+        }
+        return grantHandlers;
+    }
+
     /**
      * Returns a map of supported grant type validators that are configured in identity.xml.
      * This method loads default grant type validator classes for PASSWORD, CLIENT_CREDENTIALS, AUTHORIZATION_CODE,
@@ -1506,6 +1536,22 @@ public class OAuthServerConfiguration {
         return requestObjectBuilder;
     }
 
+    /**
+     * Instantiate the configured token generators, grant handlers, response type handlers, validators and request
+     * object builders, so that the first requests which need them do not pay for their instantiation. Grant handlers
+     * which fail to initiate here are not given up on, but instantiated again on first use.
+     */
+    public void initializeHandlers() {
+
+        getOAuthTokenGenerator();
+        getIdentityOauthTokenIssuer();
+        initializeSupportedGrantTypes();
+        getSupportedGrantTypeValidators();
+        getSupportedResponseTypes();
+        getSupportedResponseTypeValidators();
+        getRequestObjectBuilders();
+    }
+
     /**
      * Returns the configured OAuthAuthzRequest class name. If not configured, the default class name will be returned.
      *
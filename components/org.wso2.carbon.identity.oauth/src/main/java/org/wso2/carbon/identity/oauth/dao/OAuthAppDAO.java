@@ -67,8 +67,11 @@ import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -138,6 +141,10 @@ public class OAuthAppDAO {
     private static final String ID_TOKEN_EXPIRE_TIME = "ID_TOKEN_EXPIRE_TIME";
 
     private static final String CONSUMER_APPS_TABLE_NAME = "IDN_OAUTH_CONSUMER_APPS";
+    private static final int APP_INFO_BATCH_SIZE = 100;
+    private static final int OIDC_PROPERTY_ROW = 1;
+    private static final int SCOPE_VALIDATOR_ROW = 2;
+    private static final int ACCESS_TOKEN_CLAIM_ROW = 3;
 
     private TokenPersistenceProcessor persistenceProcessor;
     private boolean isHashDisabled = OAuth2Util.isHashDisabled();
@@ -447,51 +454,13 @@ public class OAuthAppDAO {
                       associated application. We need to barf with a meaningful error message for this case
                     */
                     boolean appExists = false;
+                    String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantId);
                     while (rSet.next()) {
                         // There is at least one application associated with a given key
                         appExists = true;
                         if (rSet.getString(4) != null && rSet.getString(4).length() > 0) {
-                            oauthApp = new OAuthAppDO();
-                            oauthApp.setOauthConsumerKey(consumerKey);
-                            if (isHashDisabled) {
-                                oauthApp.setOauthConsumerSecret(persistenceProcessor.getPreprocessedClientSecret(rSet
-                                        .getString(1)));
-                            } else {
-                                oauthApp.setOauthConsumerSecret(rSet.getString(1));
-                            }
-                            AuthenticatedUser authenticatedUser = new AuthenticatedUser();
-                            authenticatedUser.setUserName(rSet.getString(2));
-                            oauthApp.setApplicationName(rSet.getString(3));
-                            oauthApp.setOauthVersion(rSet.getString(4));
-
-                            oauthApp.setCallbackUrl(rSet.getString(5));
-                            if (ApplicationMgtUtil.isConsoleOrMyAccount(oauthApp.getApplicationName())) {
-                                oauthApp.setCallbackUrl(
-                                        ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(rSet.getString(5),
-                                                oauthApp.getApplicationName()));
-                                if (isRootOrganization(tenantId)) {
-                                    String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantId);
-                                    resolveCallbackFromServerConfigForSystemApps(tenantDomain, oauthApp);
-                                }
-                            }
-
-                            authenticatedUser.setTenantDomain(IdentityTenantUtil.getTenantDomain(rSet.getInt(6)));
-                            authenticatedUser.setUserStoreDomain(rSet.getString(7));
-                            oauthApp.setUser(authenticatedUser);
-                            oauthApp.setGrantTypes(rSet.getString(8));
-                            oauthApp.setId(rSet.getInt(9));
-                            oauthApp.setPkceMandatory(!"0".equals(rSet.getString(10)));
-                            oauthApp.setPkceSupportPlain(!"0".equals(rSet.getString(11)));
-                            oauthApp.setUserAccessTokenExpiryTime(rSet.getLong(12));
-                            oauthApp.setApplicationAccessTokenExpiryTime(rSet.getLong(13));
-                            oauthApp.setRefreshTokenExpiryTime(rSet.getLong(14));
-                            oauthApp.setIdTokenExpiryTime(rSet.getLong(15));
-                            oauthApp.setState(rSet.getString(16));
-
-                            String spTenantDomain = authenticatedUser.getTenantDomain();
-                            handleSpOIDCProperties(connection, preprocessedClientId, spTenantDomain, oauthApp);
-                            oauthApp.setScopeValidators(getScopeValidators(connection, oauthApp.getId()));
-                            oauthApp.setAccessTokenClaims(getAccessTokenClaims(connection, oauthApp.getId()));
+                            oauthApp = buildAppInformation(rSet, consumerKey, tenantId, tenantDomain);
+                            populateAppDetails(connection, preprocessedClientId, tenantId, oauthApp);
                         }
                     }
 
@@ -510,6 +479,64 @@ public class OAuthAppDAO {
         return oauthApp;
     }
 
+    /**
+     * Get the OAuth consumer applications for the given consumer keys of a tenant, using a single connection. The
+     * applications are read in batches, hence this is suitable for warming up the application cache.
+     *
+     * @param consumerKeys Consumer keys of the OAuth applications.
+     * @param tenantId     Tenant ID of the OAuth applications.
+     * @return OAuth applications keyed by their consumer keys. Consumer keys without an application are omitted.
+     * @throws IdentityOAuth2Exception Error while retrieving the OAuth applications.
+     */
+    public Map<String, OAuthAppDO> getAppInformation(Collection<String> consumerKeys, int tenantId)
+            throws IdentityOAuth2Exception {
+
+        Map<String, OAuthAppDO> oauthApps = new HashMap<>();
+        if (CollectionUtils.isEmpty(consumerKeys)) {
+            return oauthApps;
+        }
+        Map<String, String> consumerKeysByProcessedId = new LinkedHashMap<>();
+        for (String consumerKey : consumerKeys) {
+            consumerKeysByProcessedId.put(persistenceProcessor.getProcessedClientId(consumerKey), consumerKey);
+        }
+        String tenantDomain = IdentityTenantUtil.getTenantDomain(tenantId);
+        List<String> processedIds = new ArrayList<>(consumerKeysByProcessedId.keySet());
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false)) {
+            for (int from = 0; from < processedIds.size(); from += APP_INFO_BATCH_SIZE) {
+                List<String> batch = processedIds.subList(from,
+                        Math.min(from + APP_INFO_BATCH_SIZE, processedIds.size()));
+                String sqlQuery = SQLQueries.OAuthAppDAOSQLQueries.GET_APPS_INFO_WITH_PKCE.replace(
+                        SQLQueries.OAuthAppDAOSQLQueries.CONSUMER_KEY_LIST_PLACEHOLDER,
+                        String.join(", ", Collections.nCopies(batch.size(), "?")));
+                try (PreparedStatement prepStmt = connection.prepareStatement(sqlQuery)) {
+                    prepStmt.setInt(1, tenantId);
+                    for (int i = 0; i < batch.size(); i++) {
+                        prepStmt.setString(i + 2, batch.get(i));
+                    }
+                    try (ResultSet rSet = prepStmt.executeQuery()) {
+                        while (rSet.next()) {
+                            if (StringUtils.isBlank(rSet.getString(4))) {
+                                continue;
+                            }
+                            String processedId = rSet.getString(17);
+                            String consumerKey = consumerKeysByProcessedId.getOrDefault(processedId, processedId);
+                            OAuthAppDO oauthApp = buildAppInformation(rSet, consumerKey, tenantId, tenantDomain);
+                            populateAppDetails(connection, processedId, tenantId, oauthApp);
+                            oauthApps.put(consumerKey, oauthApp);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving the information of the apps of tenant: " +
+                    tenantDomain, e);
+        } catch (URLBuilderException e) {
+            throw new IdentityOAuth2Exception(
+                    "Error occurred when replacing origin of the access URL with placeholders", e);
+        }
+        return oauthApps;
+    }
+
     /**
      * Get the OAuth consumer application for the given consumer key and access token.
      *
@@ -1632,33 +1659,6 @@ public class OAuthAppDAO {
         }
     }
 
-    /**
-     * Get access token claims.
-     *
-     * @param connection DB connection.
-     * @param appId      Consumer app id.
-     * @return list of Access Token Claims.
-     * @throws SQLException Sql error.
-     */
-    private String[] getAccessTokenClaims(Connection connection, int appId) throws SQLException {
-
-        List<String> claims = new ArrayList<>();
-        try (PreparedStatement stmt = connection.prepareStatement(SQLQueries.OAuthAppDAOSQLQueries
-                .GET_ACCESS_TOKEN_CLAIMS)) {
-            stmt.setInt(1, appId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    claims.add(rs.getString(1));
-                }
-            }
-        }
-        if (LOG.isDebugEnabled()) {
-            LOG.debug(String.format("Retrieving %d access token claims registered for OAuth appId %s",
-                    claims.size(), appId));
-        }
-        return claims.toArray(new String[0]);
-    }
-
     /**
      * Get the application id using the client id.
      *
@@ -1824,6 +1824,101 @@ public class OAuthAppDAO {
         }
     }
 
+    /**
+     * Build an OAuth application from the current row of a result set of the GET_APP_INFO_WITH_PKCE query or of a
+     * query selecting the same columns in the same order.
+     */
+    private OAuthAppDO buildAppInformation(ResultSet rSet, String consumerKey, int tenantId, String tenantDomain)
+            throws SQLException, IdentityOAuth2Exception, URLBuilderException {
+
+        OAuthAppDO oauthApp = new OAuthAppDO();
+        oauthApp.setOauthConsumerKey(consumerKey);
+        if (isHashDisabled) {
+            oauthApp.setOauthConsumerSecret(persistenceProcessor.getPreprocessedClientSecret(rSet.getString(1)));
+        } else {
+            oauthApp.setOauthConsumerSecret(rSet.getString(1));
+        }
+        AuthenticatedUser authenticatedUser = new AuthenticatedUser();
+        authenticatedUser.setUserName(rSet.getString(2));
+        oauthApp.setApplicationName(rSet.getString(3));
+        oauthApp.setOauthVersion(rSet.getString(4));
+
+        oauthApp.setCallbackUrl(rSet.getString(5));
+        if (ApplicationMgtUtil.isConsoleOrMyAccount(oauthApp.getApplicationName())) {
+            oauthApp.setCallbackUrl(ApplicationMgtUtil.resolveOriginUrlFromPlaceholders(rSet.getString(5),
+                    oauthApp.getApplicationName()));
+            if (isRootOrganization(tenantId)) {
+                resolveCallbackFromServerConfigForSystemApps(tenantDomain, oauthApp);
+            }
+        }
+
+        authenticatedUser.setTenantDomain(tenantDomain);
+        authenticatedUser.setUserStoreDomain(rSet.getString(7));
+        oauthApp.setUser(authenticatedUser);
+        oauthApp.setGrantTypes(rSet.getString(8));
+        oauthApp.setId(rSet.getInt(9));
+        oauthApp.setPkceMandatory(!"0".equals(rSet.getString(10)));
+        oauthApp.setPkceSupportPlain(!"0".equals(rSet.getString(11)));
+        oauthApp.setUserAccessTokenExpiryTime(rSet.getLong(12));
+        oauthApp.setApplicationAccessTokenExpiryTime(rSet.getLong(13));
+        oauthApp.setRefreshTokenExpiryTime(rSet.getLong(14));
+        oauthApp.setIdTokenExpiryTime(rSet.getLong(15));
+        oauthApp.setState(rSet.getString(16));
+        return oauthApp;
+    }
+
+    /**
+     * Set the OIDC properties, scope validators and access token claims of an OAuth application, retrieving them
+     * in a single round trip.
+     *
+     * @param connection           Same db connection used in retrieving OAuth App.
+     * @param preprocessedClientId Processed client id of the OAuth app.
+     * @param tenantId             Tenant id of the OAuth app.
+     * @param oauthApp             OAuth app to be populated.
+     * @throws SQLException            Sql error.
+     * @throws IdentityOAuth2Exception Error while setting the OIDC properties.
+     */
+    private void populateAppDetails(Connection connection, String preprocessedClientId, int tenantId,
+                                    OAuthAppDO oauthApp) throws SQLException, IdentityOAuth2Exception {
+
+        Map<String, List<String>> spOIDCProperties = new HashMap<>();
+        List<String> scopeValidators = new ArrayList<>();
+        List<String> accessTokenClaims = new ArrayList<>();
+        try (PreparedStatement stmt = connection.prepareStatement(
+                SQLQueries.OAuthAppDAOSQLQueries.GET_APP_DETAILS)) {
+            stmt.setString(1, preprocessedClientId);
+            stmt.setInt(2, tenantId);
+            stmt.setInt(3, oauthApp.getId());
+            stmt.setInt(4, oauthApp.getId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    switch (rs.getInt(1)) {
+                        case OIDC_PROPERTY_ROW:
+                            spOIDCProperties.computeIfAbsent(rs.getString(2), k -> new ArrayList<>())
+                                    .add(rs.getString(3));
+                            break;
+                        case SCOPE_VALIDATOR_ROW:
+                            scopeValidators.add(rs.getString(2));
+                            break;
+                        case ACCESS_TOKEN_CLAIM_ROW:
+                            accessTokenClaims.add(rs.getString(2));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Retrieved %d OIDC properties, %d scope validators and %d access token claims " +
+                            "registered for OAuth appId %d", spOIDCProperties.size(), scopeValidators.size(),
+                    accessTokenClaims.size(), oauthApp.getId()));
+        }
+        setSpOIDCProperties(spOIDCProperties, oauthApp);
+        oauthApp.setScopeValidators(scopeValidators.toArray(new String[0]));
+        oauthApp.setAccessTokenClaims(accessTokenClaims.toArray(new String[0]));
+    }
+
     private void handleSpOIDCProperties(Connection connection,
                                         String preprocessedClientId,
                                         String spTenantDomain,
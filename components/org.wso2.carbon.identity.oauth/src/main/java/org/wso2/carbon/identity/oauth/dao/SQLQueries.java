@@ -230,6 +230,25 @@ public class SQLQueries {
         public static final String GET_ACCESS_TOKEN_CLAIMS = "SELECT CLAIM_URI FROM IDN_OAUTH2_TOKEN_CLAIMS " +
                 "WHERE APP_ID=? ";
 
+        /*
+         * Retrieves the OIDC properties, scope validators and access token claims of an application in one round
+         * trip. The first column identifies the kind of the row, and the scope validator and claim rows repeat their
+         * value in the last two columns.
+         */
+        public static final String GET_APP_DETAILS = "SELECT 1, PROPERTY_KEY, PROPERTY_VALUE FROM " +
+                "IDN_OIDC_PROPERTY WHERE CONSUMER_KEY = ? AND TENANT_ID = ? UNION ALL SELECT 2, SCOPE_VALIDATOR, " +
+                "SCOPE_VALIDATOR FROM IDN_OAUTH2_SCOPE_VALIDATORS WHERE APP_ID = ? UNION ALL SELECT 3, CLAIM_URI, " +
+                "CLAIM_URI FROM IDN_OAUTH2_TOKEN_CLAIMS WHERE APP_ID = ?";
+
+        public static final String CONSUMER_KEY_LIST_PLACEHOLDER = "_CONSUMER_KEY_LIST_";
+
+        public static final String GET_APPS_INFO_WITH_PKCE = "SELECT CONSUMER_SECRET, USERNAME, APP_NAME, " +
+                "OAUTH_VERSION, CALLBACK_URL, TENANT_ID, USER_DOMAIN, GRANT_TYPES, ID, PKCE_MANDATORY, " +
+                "PKCE_SUPPORT_PLAIN, USER_ACCESS_TOKEN_EXPIRE_TIME, APP_ACCESS_TOKEN_EXPIRE_TIME, " +
+                "REFRESH_TOKEN_EXPIRE_TIME, ID_TOKEN_EXPIRE_TIME, APP_STATE, CONSUMER_KEY FROM " +
+                "IDN_OAUTH_CONSUMER_APPS WHERE TENANT_ID = ? AND CONSUMER_KEY IN (" + CONSUMER_KEY_LIST_PLACEHOLDER +
+                ")";
+
         public static final String REMOVE_ACCESS_TOKEN_CLAIMS = "DELETE FROM IDN_OAUTH2_TOKEN_CLAIMS " +
                 "WHERE APP_ID=?";
 
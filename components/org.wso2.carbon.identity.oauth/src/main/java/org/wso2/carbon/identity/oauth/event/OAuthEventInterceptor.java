@@ -229,6 +229,38 @@ public interface OAuthEventInterceptor extends IdentityHandler {
 
     }
 
+    /**
+     * This will be called before a batch of tokens is revoked through listeners directly. By default, the per token
+     * listener is invoked for each token of the batch.
+     *
+     * @param accessTokenDOs Batch of {@link AccessTokenDO}s which are about to be revoked.
+     * @param params         Additional parameters.
+     * @throws IdentityOAuth2Exception
+     */
+    default void onPreTokenRevocationBySystem(List<AccessTokenDO> accessTokenDOs, Map<String, Object> params)
+            throws IdentityOAuth2Exception {
+
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            onPreTokenRevocationBySystem(accessTokenDO, params);
+        }
+    }
+
+    /**
+     * This will be called after a batch of tokens is revoked through listeners directly. By default, the per token
+     * listener is invoked for each token of the batch.
+     *
+     * @param accessTokenDOs Batch of revoked {@link AccessTokenDO}s.
+     * @param params         Additional parameters.
+     * @throws IdentityOAuth2Exception
+     */
+    default void onPostTokenRevocationBySystem(List<AccessTokenDO> accessTokenDOs, Map<String, Object> params)
+            throws IdentityOAuth2Exception {
+
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            onPostTokenRevocationBySystem(accessTokenDO, params);
+        }
+    }
+
     /**
      * This will be called before when tokens are revoked through Listeners implicitly.
      * The {@link OAuthEventInterceptor} implementations can be invoked pre user events
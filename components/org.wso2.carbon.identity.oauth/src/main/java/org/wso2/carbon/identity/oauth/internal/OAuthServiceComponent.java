@@ -47,6 +47,7 @@ import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.token.bindings.TokenBinderInfo;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.event.OAuthEventInterceptor;
+import org.wso2.carbon.identity.oauth.listener.BulkTokenRevocationService;
 import org.wso2.carbon.identity.oauth.listener.IdentityOathEventListener;
 import org.wso2.carbon.identity.oauth.listener.IdentityOauthEventHandler;
 import org.wso2.carbon.identity.oauth.listener.OAuthApplicationMgtListener;
@@ -155,6 +156,7 @@ public class OAuthServiceComponent {
         if (serviceRegistration != null) {
             serviceRegistration.unregister();
         }
+        BulkTokenRevocationService.getInstance().shutdown();
         if (log.isDebugEnabled()) {
             log.debug("Identity OAuth bundle is deactivated");
         }
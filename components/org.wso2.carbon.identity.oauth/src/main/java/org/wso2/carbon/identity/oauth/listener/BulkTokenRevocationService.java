@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.listener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.event.IdentityEventException;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * Runs the token revocation of the users affected by a group or role change in the background.
+ * <p>
+ * A role or group update can affect thousands of users. Instead of revoking the tokens of every user in the thread
+ * which handles the event, the users are handed over to a revocation job, which revokes the tokens of the users one
+ * after the other on a bounded pool of threads. The progress of the recent jobs can be retrieved by the job id, and
+ * is logged periodically while a job is running.
+ * <p>
+ * The service is disabled by default. When it is disabled or its queue is full, the caller is expected to revoke the
+ * tokens synchronously.
+ */
+public class BulkTokenRevocationService {
+
+    private static final Log log = LogFactory.getLog(BulkTokenRevocationService.class);
+
+    private static final int DEFAULT_THREAD_COUNT = 2;
+    private static final int DEFAULT_QUEUE_SIZE = 100;
+    private static final int DEFAULT_PROGRESS_LOG_INTERVAL = 1000;
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private static volatile BulkTokenRevocationService instance;
+
+    private final boolean enabled;
+    private final int threadCount;
+    private final int queueSize;
+    private final int progressLogInterval;
+    private final Map<String, RevocationJob> jobs;
+
+    private ThreadPoolExecutor executor;
+
+    BulkTokenRevocationService(boolean enabled, int threadCount, int queueSize, int progressLogInterval) {
+
+        this.enabled = enabled;
+        this.threadCount = Math.max(1, threadCount);
+        this.queueSize = Math.max(1, queueSize);
+        this.progressLogInterval = Math.max(1, progressLogInterval);
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<String, RevocationJob>() {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RevocationJob> eldest) {
+
+                return size() > MAX_RETAINED_JOBS;
+            }
+        });
+    }
+
+    /**
+     * Get the shared revocation service, configured from the OAuth.TokenRevocation.BulkRevocation.Async section of
+     * identity.xml.
+     *
+     * @return Bulk token revocation service.
+     */
+    public static BulkTokenRevocationService getInstance() {
+
+        if (instance == null) {
+            synchronized (BulkTokenRevocationService.class) {
+                if (instance == null) {
+                    instance = new BulkTokenRevocationService(
+                            Boolean.parseBoolean(IdentityUtil.getProperty(
+                                    OAuth2Constants.BulkTokenRevocation.ASYNC_ENABLE)),
+                            getIntProperty(OAuth2Constants.BulkTokenRevocation.THREAD_COUNT, DEFAULT_THREAD_COUNT),
+                            getIntProperty(OAuth2Constants.BulkTokenRevocation.QUEUE_SIZE, DEFAULT_QUEUE_SIZE),
+                            getIntProperty(OAuth2Constants.BulkTokenRevocation.PROGRESS_LOG_INTERVAL,
+                                    DEFAULT_PROGRESS_LOG_INTERVAL));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Submit a job which revokes the tokens of the given users in the background.
+     *
+     * @param tenantDomain Tenant domain of the users.
+     * @param roleId       Id of the role which triggered the revocation, if any.
+     * @param userIds      Ids of the users whose tokens should be revoked.
+     * @param revoker      Revokes the tokens of a single user. It is invoked on a revocation thread, hence it must
+     *                     set up the tenant flow it requires.
+     * @return The submitted job. Null if the service is disabled or is full, in which case the caller must revoke the
+     * tokens synchronously.
+     */
+    public RevocationJob submit(String tenantDomain, String roleId, List<String> userIds,
+                                UserTokenRevoker revoker) {
+
+        if (!enabled) {
+            return null;
+        }
+        RevocationJob job = new RevocationJob(tenantDomain, roleId, new ArrayList<>(userIds));
+        try {
+            getExecutor().execute(() -> run(job, revoker));
+        } catch (RejectedExecutionException e) {
+            log.warn("Bulk token revocation queue is full. The tokens of " + userIds.size() + " users of tenant: " +
+                    tenantDomain + " will be revoked synchronously.");
+            return null;
+        }
+        jobs.put(job.getJobId(), job);
+        if (log.isDebugEnabled()) {
+            log.debug("Submitted bulk token revocation job: " + job.getJobId() + " for " + job.getTotalUsers() +
+                    " users of tenant: " + tenantDomain + (roleId != null ? " and role: " + roleId : ""));
+        }
+        return job;
+    }
+
+    /**
+     * Get a recent revocation job.
+     *
+     * @param jobId Id of the job.
+     * @return The job, or null if there is no such job or it has been evicted.
+     */
+    public RevocationJob getJob(String jobId) {
+
+        return jobs.get(jobId);
+    }
+
+    /**
+     * Get the recent revocation jobs, oldest first.
+     *
+     * @return Recent revocation jobs.
+     */
+    public List<RevocationJob> getJobs() {
+
+        synchronized (jobs) {
+            return new ArrayList<>(jobs.values());
+        }
+    }
+
+    /**
+     * Stop the revocation threads. Jobs which are queued or running are abandoned.
+     */
+    public synchronized void shutdown() {
+
+        if (executor == null) {
+            return;
+        }
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    void run(RevocationJob job, UserTokenRevoker revoker) {
+
+        job.start();
+        log.info("Started bulk token revocation job: " + job.getJobId() + " for " + job.getTotalUsers() +
+                " users of tenant: " + job.getTenantDomain());
+        try {
+            for (String userId : job.getUserIds()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    log.warn("Bulk token revocation job: " + job.getJobId() + " is interrupted after processing " +
+                            job.getProcessedUsers() + " of " + job.getTotalUsers() + " users.");
+                    break;
+                }
+                try {
+                    revoker.revoke(userId);
+                } catch (IdentityEventException | RuntimeException e) {
+                    job.failedUsers.incrementAndGet();
+                    log.error("Error while revoking the tokens of user id: " + userId + " in bulk token " +
+                            "revocation job: " + job.getJobId(), e);
+                }
+                int processed = job.processedUsers.incrementAndGet();
+                if (processed % progressLogInterval == 0 && processed < job.getTotalUsers()) {
+                    log.info("Bulk token revocation job: " + job.getJobId() + " processed " + processed + " of " +
+                            job.getTotalUsers() + " users.");
+                }
+            }
+        } finally {
+            job.finish();
+        }
+        log.info("Finished bulk token revocation job: " + job.getJobId() + " in " +
+                (job.getEndTime() - job.getStartTime()) + " ms. Processed: " + job.getProcessedUsers() +
+                ", failed: " + job.getFailedUsers() + " of " + job.getTotalUsers() + " users.");
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+
+        if (executor == null) {
+            AtomicInteger threadCounter = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "oauth-bulk-token-revocation-" +
+                        threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            executor = new ThreadPoolExecutor(threadCount, threadCount, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), threadFactory);
+        }
+        return executor;
+    }
+
+    /**
+     * Revokes the tokens of a single user of a revocation job.
+     */
+    @FunctionalInterface
+    public interface UserTokenRevoker {
+
+        /**
+         * Revoke the tokens of the given user.
+         *
+         * @param userId Id of the user.
+         * @throws IdentityEventException If an error occurred while revoking the tokens.
+         */
+        void revoke(String userId) throws IdentityEventException;
+    }
+
+    /**
+     * Progress of a revocation job.
+     */
+    public static class RevocationJob {
+
+        /**
+         * States of a revocation job.
+         */
+        public enum State {
+            QUEUED, RUNNING, COMPLETED, COMPLETED_WITH_ERRORS
+        }
+
+        private final String jobId = UUID.randomUUID().toString();
+        private final String tenantDomain;
+        private final String roleId;
+        private final List<String> userIds;
+        private final long submittedTime = System.currentTimeMillis();
+        private final AtomicInteger processedUsers = new AtomicInteger();
+        private final AtomicInteger failedUsers = new AtomicInteger();
+        private volatile State state = State.QUEUED;
+        private volatile long startTime;
+        private volatile long endTime;
+
+        RevocationJob(String tenantDomain, String roleId, List<String> userIds) {
+
+            this.tenantDomain = tenantDomain;
+            this.roleId = roleId;
+            this.userIds = userIds;
+        }
+
+        private void start() {
+
+            startTime = System.currentTimeMillis();
+            state = State.RUNNING;
+        }
+
+        private void finish() {
+
+            endTime = System.currentTimeMillis();
+            state = failedUsers.get() > 0 || processedUsers.get() < userIds.size() ?
+                    State.COMPLETED_WITH_ERRORS : State.COMPLETED;
+        }
+
+        List<String> getUserIds() {
+
+            return userIds;
+        }
+
+        public String getJobId() {
+
+            return jobId;
+        }
+
+        public String getTenantDomain() {
+
+            return tenantDomain;
+        }
+
+        public String getRoleId() {
+
+            return roleId;
+        }
+
+        public State getState() {
+
+            return state;
+        }
+
+        public int getTotalUsers() {
+
+            return userIds.size();
+        }
+
+        public int getProcessedUsers() {
+
+            return processedUsers.get();
+        }
+
+        public int getFailedUsers() {
+
+            return failedUsers.get();
+        }
+
+        public long getSubmittedTime() {
+
+            return submittedTime;
+        }
+
+        public long getStartTime() {
+
+            return startTime;
+        }
+
+        public long getEndTime() {
+
+            return endTime;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.wso2.carbon.identity.oauth.OAuthUtil;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.organization.management.organization.user.sharing.models.UserAssociation;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 import org.wso2.carbon.identity.role.mgt.core.GroupBasicInfo;
@@ -57,8 +58,11 @@ import org.wso2.carbon.user.core.service.RealmService;
 import org.wso2.carbon.user.core.util.UserCoreUtil;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -481,7 +485,9 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
     }
 
     /**
-     * To revoke access tokens and terminate sessions of given list of user IDs.
+     * To revoke access tokens and terminate sessions of given list of user IDs. When the bulk token revocation
+     * service is enabled, the active tokens of the users are revoked before returning, and the rest of the
+     * revocation is done in the background.
      *
      * @param userIDList            List of user IDs
      * @throws IdentityEventException
@@ -493,28 +499,39 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
             if (CollectionUtils.isNotEmpty(userIDList)) {
                 int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
                 UserStoreManager userStoreManager = getUserStoreManager(tenantId);
-
-                for (String userId : userIDList) {
-                    try {
-                        String userName = FrameworkUtils.resolveUserNameFromUserId(userStoreManager, userId);
-                        if (userName == null) {
-                            log.warn("User name is null for user id: " + userId + ". Hence skipping " +
-                                    "token revocation and session termination processes.");
-                            continue;
+                // A user can be assigned to the role both directly and through groups.
+                List<String> distinctUserIDList = new ArrayList<>(new LinkedHashSet<>(userIDList));
+
+                BulkTokenRevocationService bulkTokenRevocationService = BulkTokenRevocationService.getInstance();
+                if (bulkTokenRevocationService.isEnabled()) {
+                    // Revoked tokens must stop validating when the event is handled, not when the job reaches them.
+                    Map<String, List<AccessTokenDO>> revokedTokens = OAuthUtil.revokeActiveTokensOfUsers(
+                            resolveUserNames(userStoreManager, distinctUserIDList), roleId, tenantDomain);
+                    if (bulkTokenRevocationService.submit(tenantDomain, roleId, distinctUserIDList, userId -> {
+                        try {
+                            FrameworkUtils.startTenantFlow(tenantDomain);
+                            OAuthUtil.completeRevocation(revokedTokens.get(userId));
+                            revokeTokensOfUser(userStoreManager, userId, roleId);
+                        } finally {
+                            FrameworkUtils.endTenantFlow();
                         }
-                        UserStoreManager userStoreManagerOfUser = getUserStoreManagerOfUser(
-                                userStoreManager, userName);
-                        OAuth2ServiceComponentHolder.getInstance()
-                                .getRevocationProcessor()
-                                .revokeTokens(userName, userStoreManagerOfUser, roleId);
-                        OAuthUtil.removeUserClaimsFromCache(userName, userStoreManagerOfUser);
-                    } catch (UserSessionException e) {
-                        String errorMsg = "Error occurred while revoking access token for user Id: " + userId;
-                        log.error(errorMsg, e);
-                        throw new IdentityEventException(errorMsg, e);
+                    }) != null) {
+                        return;
+                    }
+                    for (String userId : distinctUserIDList) {
+                        OAuthUtil.completeRevocation(revokedTokens.get(userId));
+                        revokeTokensOfUser(userStoreManager, userId, roleId);
                     }
+                    return;
+                }
+                for (String userId : distinctUserIDList) {
+                    revokeTokensOfUser(userStoreManager, userId, roleId);
                 }
             }
+        } catch (UserStoreException e) {
+            String errorMsg = "Error occurred while revoking the access tokens of the users of tenant: " + tenantDomain;
+            log.error(errorMsg, e);
+            throw new IdentityEventException(errorMsg, e);
         } catch (org.wso2.carbon.user.api.UserStoreException e) {
             String errorMsg = "Error occurred while retrieving user manager";
             log.error(errorMsg, e);
@@ -522,6 +539,63 @@ public class IdentityOauthEventHandler extends AbstractEventHandler {
         }
     }
 
+    /**
+     * Resolve the usernames of the given users.
+     *
+     * @param userStoreManager User store manager of the tenant.
+     * @param userIds          IDs of the users.
+     * @return Domain qualified usernames of the users which could be resolved, by user id.
+     * @throws IdentityEventException If an error occurred while resolving the usernames.
+     */
+    private Map<String, String> resolveUserNames(UserStoreManager userStoreManager, List<String> userIds)
+            throws IdentityEventException {
+
+        Map<String, String> userNames = new HashMap<>();
+        for (String userId : userIds) {
+            try {
+                String userName = FrameworkUtils.resolveUserNameFromUserId(userStoreManager, userId);
+                if (userName != null) {
+                    userNames.put(userId, userName);
+                }
+            } catch (UserSessionException e) {
+                String errorMsg = "Error occurred while resolving the username of user Id: " + userId;
+                log.error(errorMsg, e);
+                throw new IdentityEventException(errorMsg, e);
+            }
+        }
+        return userNames;
+    }
+
+    /**
+     * Revoke the access tokens of a user and clear the cached claims of the user.
+     *
+     * @param userStoreManager User store manager of the tenant.
+     * @param userId           ID of the user.
+     * @param roleId           ID of the role which triggered the revocation, if any.
+     * @throws IdentityEventException If an error occurred while revoking the tokens.
+     */
+    private void revokeTokensOfUser(UserStoreManager userStoreManager, String userId, String roleId)
+            throws IdentityEventException {
+
+        try {
+            String userName = FrameworkUtils.resolveUserNameFromUserId(userStoreManager, userId);
+            if (userName == null) {
+                log.warn("User name is null for user id: " + userId + ". Hence skipping " +
+                        "token revocation and session termination processes.");
+                return;
+            }
+            UserStoreManager userStoreManagerOfUser = getUserStoreManagerOfUser(userStoreManager, userName);
+            OAuth2ServiceComponentHolder.getInstance()
+                    .getRevocationProcessor()
+                    .revokeTokens(userName, userStoreManagerOfUser, roleId);
+            OAuthUtil.removeUserClaimsFromCache(userName, userStoreManagerOfUser);
+        } catch (UserSessionException | UserStoreException e) {
+            String errorMsg = "Error occurred while revoking access token for user Id: " + userId;
+            log.error(errorMsg, e);
+            throw new IdentityEventException(errorMsg, e);
+        }
+    }
+
     /**
      * Get the user store manager of the user.
      *
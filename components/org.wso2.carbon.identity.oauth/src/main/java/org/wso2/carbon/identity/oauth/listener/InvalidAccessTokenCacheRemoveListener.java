@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.listener;
+
+import org.wso2.carbon.identity.core.cache.AbstractCacheListener;
+import org.wso2.carbon.identity.oauth.cache.InvalidAccessTokenCache;
+import org.wso2.carbon.identity.oauth.cache.InvalidAccessTokenCacheEntry;
+
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+
+/**
+ * Cache listener which removes the entries of the invalid access token cache of this node, when they are removed
+ * from the invalid access token cluster cache, including the removals propagated from the other nodes.
+ */
+public class InvalidAccessTokenCacheRemoveListener extends AbstractCacheListener<String, InvalidAccessTokenCacheEntry>
+        implements CacheEntryRemovedListener<String, InvalidAccessTokenCacheEntry> {
+
+    @Override
+    public void entryRemoved(CacheEntryEvent<? extends String, ? extends InvalidAccessTokenCacheEntry>
+                                     cacheEntryEvent) throws CacheEntryListenerException {
+
+        if (cacheEntryEvent == null || cacheEntryEvent.getKey() == null) {
+            return;
+        }
+        InvalidAccessTokenCache.getInstance().removeLocalEntry(cacheEntryEvent.getKey());
+    }
+}
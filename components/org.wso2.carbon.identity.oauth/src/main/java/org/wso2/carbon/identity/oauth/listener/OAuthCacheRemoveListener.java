@@ -44,6 +44,8 @@ public class OAuthCacheRemoveListener extends AbstractCacheListener<OAuthCacheKe
     public void entryRemoved(CacheEntryEvent<? extends OAuthCacheKey, ? extends CacheEntry> cacheEntryEvent)
             throws CacheEntryListenerException {
 
+        // Keep the in-process near cache coherent with the removals, including the ones propagated from other nodes.
+        OAuthCache.getInstance().invalidateNearCacheEntry(cacheEntryEvent.getKey());
         CacheEntry cacheEntry = cacheEntryEvent.getValue();
         if (!(cacheEntry instanceof AccessTokenDO)) {
             return;
@@ -58,6 +58,123 @@ public class OAuth2Constants {
 
     public static final int MAX_ALLOWED_LENGTH = 256;
 
+    /**
+     * Configurations of the token issuance lock manager.
+     */
+    public static class TokenIssuanceLock {
+
+        public static final String STRIPE_COUNT = "OAuth.TokenIssuanceLock.StripeCount";
+        public static final String TRY_LOCK_TIMEOUT = "OAuth.TokenIssuanceLock.TryLockTimeout";
+        public static final String FALLBACK_POLICY = "OAuth.TokenIssuanceLock.FallbackPolicy";
+    }
+
+    /**
+     * Configurations of the asynchronous access token persistence pipeline.
+     */
+    public static class AsyncTokenPersistence {
+
+        public static final String ENABLE = "OAuth.TokenPersistence.AsyncPersistence.Enable";
+        public static final String GRANT_TYPES = "OAuth.TokenPersistence.AsyncPersistence.GrantTypes";
+        public static final String QUEUE_SIZE = "OAuth.TokenPersistence.AsyncPersistence.QueueSize";
+        public static final String WRITER_COUNT = "OAuth.TokenPersistence.AsyncPersistence.WriterCount";
+        public static final String BATCH_SIZE = "OAuth.TokenPersistence.AsyncPersistence.BatchSize";
+        public static final String ENQUEUE_TIMEOUT = "OAuth.TokenPersistence.AsyncPersistence.EnqueueTimeout";
+        public static final String MAX_RETRY_COUNT = "OAuth.TokenPersistence.AsyncPersistence.MaxRetryCount";
+        public static final String RETRY_BACKOFF = "OAuth.TokenPersistence.AsyncPersistence.RetryBackoff";
+    }
+
+    /**
+     * Configurations of the asynchronous purge of old tokens and expired grants. The periodic sweep scans the tables
+     * shared by all the nodes of a cluster, hence it is disabled by default and is meant to be enabled on a single
+     * node.
+     */
+    public static class TokenPurge {
+
+        public static final String ENABLE = "OAuth.TokenCleanup.AsyncPurge.Enable";
+        public static final String QUEUE_SIZE = "OAuth.TokenCleanup.AsyncPurge.QueueSize";
+        public static final String CHUNK_SIZE = "OAuth.TokenCleanup.AsyncPurge.ChunkSize";
+        public static final String CHUNK_INTERVAL = "OAuth.TokenCleanup.AsyncPurge.ChunkInterval";
+        public static final String PURGE_INTERVAL = "OAuth.TokenCleanup.AsyncPurge.PurgeInterval";
+        public static final String SWEEP_INTERVAL = "OAuth.TokenCleanup.AsyncPurge.SweepInterval";
+        public static final String SWEEP_ENABLE = "OAuth.TokenCleanup.AsyncPurge.Sweep.Enable";
+    }
+
+    /**
+     * Configurations of the bulk token revocation triggered by user, group and role events.
+     */
+    public static class BulkTokenRevocation {
+
+        public static final String BATCH_SIZE = "OAuth.TokenRevocation.BulkRevocation.BatchSize";
+        public static final String ASYNC_ENABLE = "OAuth.TokenRevocation.BulkRevocation.Async.Enable";
+        public static final String THREAD_COUNT = "OAuth.TokenRevocation.BulkRevocation.Async.ThreadCount";
+        public static final String QUEUE_SIZE = "OAuth.TokenRevocation.BulkRevocation.Async.QueueSize";
+        public static final String PROGRESS_LOG_INTERVAL =
+                "OAuth.TokenRevocation.BulkRevocation.Async.ProgressLogInterval";
+    }
+
+    /**
+     * Configurations of the chunked listing of the tokens and authorization codes of a tenant, user store or
+     * application.
+     */
+    public static class TokenListing {
+
+        public static final String CHUNK_SIZE = "OAuth.TokenListing.ChunkSize";
+    }
+
+    /**
+     * Configurations of the serialization of the session data and authorization grant cache entries.
+     */
+    public static class CacheEntrySerialization {
+
+        public static final String COMPACT_FORMAT_ENABLE = "OAuth.CacheEntrySerialization.CompactFormat.Enable";
+    }
+
+    /**
+     * Configurations of the in-memory tracking of the device flow and CIBA polling state.
+     */
+    public static class PollingStateTracking {
+
+        public static final String ENABLE = "OAuth.PollingStateTracking.Enable";
+        public static final String MAX_STATE_AGE = "OAuth.PollingStateTracking.MaxStateAge";
+    }
+
+    /**
+     * Configurations of the cache of the applications authorized by a user.
+     */
+    public static class AuthorizedAppsCache {
+
+        public static final String ENABLE = "OAuth.AuthorizedAppsCache.Enable";
+        public static final String MAX_AGE = "OAuth.AuthorizedAppsCache.MaxAge";
+    }
+
+    /**
+     * Configurations of the cache of the client certificates parsed for the certificate bound tokens.
+     */
+    public static class ClientCertificateCache {
+
+        public static final String MAX_SIZE = "OAuth.ClientCertificateCache.MaxSize";
+    }
+
+    /**
+     * Configurations of the SAML2 bearer grant assertion validation.
+     */
+    public static class SAML2BearerGrant {
+
+        public static final String REPLAY_DETECTION_ENABLE = "OAuth.SAML2BearerGrant.ReplayDetection.Enable";
+        public static final String VERIFIED_ASSERTION_CACHE_ENABLE =
+                "OAuth.SAML2BearerGrant.VerifiedAssertionCache.Enable";
+        public static final String ASSERTION_STORE_MAX_SIZE = "OAuth.SAML2BearerGrant.AssertionStore.MaxSize";
+    }
+
+    /**
+     * Configurations of the pre issue access token action execution.
+     */
+    public static class PreIssueAccessTokenAction {
+
+        public static final String EXECUTE_OUTSIDE_ISSUANCE_LOCK =
+                "OAuth.PreIssueAccessTokenAction.ExecuteOutsideIssuanceLock";
+    }
+
     /**
      * Constants for global role based scope issuer.
      */
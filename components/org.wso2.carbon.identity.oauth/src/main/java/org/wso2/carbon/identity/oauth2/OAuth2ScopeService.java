@@ -38,6 +38,7 @@ import org.wso2.carbon.identity.oauth2.scopeservice.ScopeMetadata;
 import org.wso2.carbon.identity.oauth2.scopeservice.ScopeMetadataService;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
+import org.wso2.carbon.identity.openidconnect.cache.OIDCDiscoveryCache;
 import org.wso2.carbon.identity.openidconnect.cache.OIDCScopeClaimCache;
 import org.wso2.carbon.utils.DiagnosticLog;
 
@@ -366,6 +367,7 @@ public class OAuth2ScopeService implements ScopeMetadataService {
         OAuthScopeCache.getInstance().addToCache(new OAuthScopeCacheKey(updatedScope.getName()), updatedScope,
                 tenantID);
         OIDCScopeClaimCache.getInstance().clearScopeClaimMap(tenantID);
+        OIDCDiscoveryCache.getInstance().clear(tenantID);
         return updatedScope;
     }
 
@@ -61,6 +61,7 @@ import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
 import org.wso2.carbon.identity.oauth2.model.SubjectTokenDO;
 import org.wso2.carbon.identity.oauth2.token.AccessTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.SubjectTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.openidconnect.model.Constants;
@@ -720,8 +721,9 @@ public class OAuth2Service extends AbstractAdmin {
                         OAuthUtil.clearOAuthCache(accessTokenDO);
                         String scope = OAuth2Util.buildScopeString(accessTokenDO.getScope());
                         String userId = accessTokenDO.getAuthzUser().getUserId();
-                        synchronized ((revokeRequestDTO.getConsumerKey() + ":" + userId + ":" + scope + ":"
-                                + tokenBindingReference).intern()) {
+                        try (TokenIssuanceLockManager.LockHandle ignored = TokenIssuanceLockManager.getInstance()
+                                .acquire(TokenIssuanceLockManager.LockScope.TOKEN_ISSUANCE,
+                                        revokeRequestDTO.getConsumerKey(), userId, scope, tokenBindingReference)) {
                             getRevocationProcessor().revokeAccessToken(revokeRequestDTO, accessTokenDO);
                         }
                         addRevokeResponseHeaders(revokeResponseDTO,
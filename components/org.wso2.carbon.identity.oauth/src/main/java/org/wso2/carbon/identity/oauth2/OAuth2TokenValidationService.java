@@ -30,7 +30,9 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationResponseDTO;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.validators.TokenValidationHandler;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.triggerOnIntrospectionExceptionListeners;
@@ -128,6 +130,40 @@ public class OAuth2TokenValidationService extends AbstractAdmin {
         return oAuth2IntrospectionResponseDTO;
     }
 
+    /**
+     * Returns back the introspection responses of a set of tokens, in the order of the requests. The active access
+     * tokens not found in the cache are retrieved in a single lookup before the tokens are introspected one by one,
+     * as done by {@link #buildIntrospectionResponse(OAuth2TokenValidationRequestDTO)}.
+     *
+     * @param validationRequests Token validation requests.
+     * @return Introspection responses.
+     */
+    public List<OAuth2IntrospectionResponseDTO> buildIntrospectionResponses(
+            List<OAuth2TokenValidationRequestDTO> validationRequests) {
+
+        List<String> tokenIdentifiers = new ArrayList<>();
+        for (OAuth2TokenValidationRequestDTO validationRequest : validationRequests) {
+            if (validationRequest.getAccessToken() != null) {
+                tokenIdentifiers.add(validationRequest.getAccessToken().getIdentifier());
+            }
+        }
+        List<OAuth2IntrospectionResponseDTO> introspectionResponses = new ArrayList<>();
+        try {
+            try {
+                OAuth2Util.prefetchAccessTokens(tokenIdentifiers);
+            } catch (IdentityOAuth2Exception e) {
+                // The tokens are looked up one by one while being introspected.
+                log.error("Error occurred while prefetching the access tokens.", e);
+            }
+            for (OAuth2TokenValidationRequestDTO validationRequest : validationRequests) {
+                introspectionResponses.add(buildIntrospectionResponse(validationRequest));
+            }
+        } finally {
+            OAuth2Util.clearPrefetchedAccessTokens();
+        }
+        return introspectionResponses;
+    }
+
     private void triggerPreValidationListeners(OAuth2TokenValidationRequestDTO requestDTO)
             throws IdentityOAuth2Exception {
         OAuthEventInterceptor oAuthEventInterceptorProxy = OAuthComponentServiceHolder.getInstance()
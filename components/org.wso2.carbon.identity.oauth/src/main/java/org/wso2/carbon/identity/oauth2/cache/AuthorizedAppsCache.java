@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.application.authentication.framework.cache.AuthenticationBaseCache;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+/**
+ * Cache of the client ids of the applications authorized by a user, keyed by the tenant of the applications, the
+ * authenticated identity provider and the fully qualified name of the user. The entries are short lived, and the entry
+ * of a user is cleared when an access token of the user is revoked.
+ */
+public class AuthorizedAppsCache extends AuthenticationBaseCache<String, AuthorizedAppsCacheEntry> {
+
+    private static final String CACHE_NAME = "OAuthAuthorizedAppsCache";
+    private static final String KEY_SEPARATOR = ":";
+
+    private static volatile AuthorizedAppsCache instance;
+
+    private AuthorizedAppsCache() {
+
+        super(CACHE_NAME);
+    }
+
+    /**
+     * Returns AuthorizedAppsCache instance.
+     *
+     * @return instance of AuthorizedAppsCache
+     */
+    public static AuthorizedAppsCache getInstance() {
+
+        if (instance == null) {
+            synchronized (AuthorizedAppsCache.class) {
+                if (instance == null) {
+                    instance = new AuthorizedAppsCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the key of the entry of a user.
+     *
+     * @param user        Authorized user.
+     * @param appTenantId Tenant id of the applications.
+     * @return Cache key.
+     */
+    public static String getKey(AuthenticatedUser user, int appTenantId) {
+
+        String username = user.toFullQualifiedUsername();
+        if (!IdentityUtil.isUserStoreInUsernameCaseSensitive(username)) {
+            username = username.toLowerCase();
+        }
+        return appTenantId + KEY_SEPARATOR + StringUtils.defaultString(OAuth2Util.getAuthenticatedIDP(user)) +
+                KEY_SEPARATOR + username;
+    }
+
+    /**
+     * Returns the tenant of the applications listed as authorized by a user. It is the tenant of the user when the
+     * user resides in an organization, and the tenant of the request otherwise.
+     *
+     * @param user Authorized user.
+     * @return Tenant id of the applications.
+     * @throws IdentityOAuth2Exception If the tenant of the user is invalid.
+     */
+    public static int getAppTenantId(AuthenticatedUser user) throws IdentityOAuth2Exception {
+
+        if (user.getUserResidentOrganization() != null) {
+            return OAuth2Util.getTenantId(user.getTenantDomain());
+        }
+        return IdentityTenantUtil.getLoginTenantId();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache entry of {@link AuthorizedAppsCache}, holding the client ids of the applications authorized by a user.
+ */
+public class AuthorizedAppsCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -3320867915264310917L;
+
+    private final ArrayList<String> clientIds;
+    private final long createdTime;
+
+    public AuthorizedAppsCacheEntry(Collection<String> clientIds) {
+
+        this.clientIds = new ArrayList<>(clientIds);
+        this.createdTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the client ids of the applications authorized by the user, in ascending order.
+     *
+     * @return Client ids.
+     */
+    public List<String> getClientIds() {
+
+        return Collections.unmodifiableList(clientIds);
+    }
+
+    /**
+     * Returns the time at which the client ids were read from the database, in milliseconds.
+     *
+     * @return Time at which the entry was created.
+     */
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+}
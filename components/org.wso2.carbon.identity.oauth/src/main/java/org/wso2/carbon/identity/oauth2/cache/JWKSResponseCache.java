@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the JWKS documents served by the JWKS endpoint. Entries are kept in the cache of the tenant whose keys
+ * they publish, keyed by the tenant domain.
+ */
+public class JWKSResponseCache extends BaseCache<String, JWKSResponseCacheEntry> {
+
+    private static final String CACHE_NAME = "JWKSResponseCache";
+
+    private static final JWKSResponseCache instance = new JWKSResponseCache();
+
+    private JWKSResponseCache() {
+
+        super(CACHE_NAME);
+    }
+
+    /**
+     * Returns JWKSResponseCache instance.
+     *
+     * @return instance of JWKSResponseCache
+     */
+    public static JWKSResponseCache getInstance() {
+
+        return instance;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry of {@link JWKSResponseCache}, holding the serialized JWKS document of a tenant, its entity tag and the
+ * time it was built at.
+ */
+public class JWKSResponseCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = -2753215187539513187L;
+
+    private final byte[] jwks;
+    private final String eTag;
+    private final long createdTime;
+
+    public JWKSResponseCacheEntry(byte[] jwks, String eTag) {
+
+        this.jwks = jwks;
+        this.eTag = eTag;
+        this.createdTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the serialized JWKS document. The returned array is shared and must not be modified.
+     *
+     * @return UTF-8 encoded JWKS document.
+     */
+    public byte[] getJwks() {
+
+        return jwks;
+    }
+
+    /**
+     * Returns the strong entity tag of the JWKS document.
+     *
+     * @return Quoted entity tag of the JWKS document.
+     */
+    public String getETag() {
+
+        return eTag;
+    }
+
+    /**
+     * Returns the time at which the JWKS document was built from the key store, in milliseconds.
+     *
+     * @return Time at which the entry was created.
+     */
+    public long getCreatedTime() {
+
+        return createdTime;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the polling state of the pending device flow and CIBA requests, keyed by the type of the request and its
+ * identifier. The cache is bounded by its configured capacity, and is invalidated across the cluster when the status
+ * of a request changes.
+ */
+public class PollingStateCache extends BaseCache<String, PollingStateCacheEntry> {
+
+    private static final String CACHE_NAME = "OAuthPollingStateCache";
+
+    private static volatile PollingStateCache instance;
+
+    private PollingStateCache() {
+
+        super(CACHE_NAME);
+    }
+
+    /**
+     * Returns PollingStateCache instance.
+     *
+     * @return instance of PollingStateCache
+     */
+    public static PollingStateCache getInstance() {
+
+        if (instance == null) {
+            synchronized (PollingStateCache.class) {
+                if (instance == null) {
+                    instance = new PollingStateCache();
+                }
+            }
+        }
+        return instance;
+    }
+}
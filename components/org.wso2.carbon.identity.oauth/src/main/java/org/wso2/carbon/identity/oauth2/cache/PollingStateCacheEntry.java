@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry of {@link PollingStateCache}, holding the polling state of a request which is pending authorization.
+ * The last poll time and the polling interval are updated in place on every poll.
+ */
+public class PollingStateCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 6129645403925711342L;
+
+    private final String clientId;
+    private final long expiryTime;
+    private final long intervalIncrement;
+    private final long trackedTime;
+    private long lastPollTime;
+    private long interval;
+
+    public PollingStateCacheEntry(String clientId, long lastPollTime, long interval, long intervalIncrement,
+                                  long expiryTime) {
+
+        this.clientId = clientId;
+        this.lastPollTime = lastPollTime;
+        this.interval = interval;
+        this.intervalIncrement = intervalIncrement;
+        this.expiryTime = expiryTime;
+        this.trackedTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the client id of the application which initiated the request.
+     *
+     * @return Client id.
+     */
+    public String getClientId() {
+
+        return clientId;
+    }
+
+    /**
+     * Returns the time at which the request expires, in milliseconds.
+     *
+     * @return Expiry time of the request.
+     */
+    public long getExpiryTime() {
+
+        return expiryTime;
+    }
+
+    /**
+     * Returns the time at which the state was read from the database, in milliseconds.
+     *
+     * @return Time at which the state started to be tracked.
+     */
+    public long getTrackedTime() {
+
+        return trackedTime;
+    }
+
+    /**
+     * Record a poll of the client.
+     *
+     * @param pollTime Time of the poll, in milliseconds.
+     * @return True if the client polled before the polling interval elapsed, in which case the interval is
+     * increased.
+     */
+    public synchronized boolean recordPoll(long pollTime) {
+
+        boolean tooFrequent = pollTime - lastPollTime < interval;
+        lastPollTime = pollTime;
+        if (tooFrequent) {
+            interval += intervalIncrement;
+        }
+        return tooFrequent;
+    }
+
+    public synchronized long getLastPollTime() {
+
+        return lastPollTime;
+    }
+
+    public synchronized long getInterval() {
+
+        return interval;
+    }
+}
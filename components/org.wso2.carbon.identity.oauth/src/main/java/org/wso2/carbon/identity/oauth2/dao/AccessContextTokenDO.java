@@ -30,6 +30,9 @@ public class AccessContextTokenDO {
     private AccessTokenDO newAccessTokenDO;
     private AccessTokenDO existingAccessTokenDO;
     private String userStoreDomain;
+    private String accessTokenIdentifier;
+    private Integer appTenantId;
+    private String tenantDomain;
 
     public AccessContextTokenDO(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO, AccessTokenDO
             existingAccessTokenDO, String userStoreDomain) {
@@ -59,4 +62,38 @@ public class AccessContextTokenDO {
     public AccessTokenDO getExistingAccessTokenDO() {
         return existingAccessTokenDO;
     }
+
+    /**
+     * Get the identifier persisted for the access token, if it was resolved when the token was issued.
+     *
+     * @return Persisted access token identifier, or null if not resolved.
+     */
+    public String getAccessTokenIdentifier() {
+        return accessTokenIdentifier;
+    }
+
+    public void setAccessTokenIdentifier(String accessTokenIdentifier) {
+        this.accessTokenIdentifier = accessTokenIdentifier;
+    }
+
+    /**
+     * Get the tenant id of the application, if it was resolved when the token was issued.
+     *
+     * @return Application tenant id, or null if not resolved.
+     */
+    public Integer getAppTenantId() {
+        return appTenantId;
+    }
+
+    public void setAppTenantId(Integer appTenantId) {
+        this.appTenantId = appTenantId;
+    }
+
+    public String getTenantDomain() {
+        return tenantDomain;
+    }
+
+    public void setTenantDomain(String tenantDomain) {
+        this.tenantDomain = tenantDomain;
+    }
 }
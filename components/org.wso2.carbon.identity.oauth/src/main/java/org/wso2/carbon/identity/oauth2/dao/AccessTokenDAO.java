@@ -23,7 +23,9 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -38,6 +40,36 @@ public interface AccessTokenDAO {
                               AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
                               String rawUserStoreDomain) throws IdentityOAuth2Exception;
 
+    /**
+     * Persist a new access token which was resolved on another thread, marking the existing token as expired. The
+     * default implementation ignores the identifiers resolved when the token was queued, while implementations may
+     * use them in place of the request context of the current thread.
+     *
+     * @param accessContextToken Access token to persist.
+     * @return True if the token was persisted.
+     * @throws IdentityOAuth2Exception If the token could not be persisted.
+     */
+    default boolean insertAccessToken(AccessContextTokenDO accessContextToken) throws IdentityOAuth2Exception {
+
+        return insertAccessToken(accessContextToken.getAccessToken(), accessContextToken.getConsumerKey(),
+                accessContextToken.getNewAccessTokenDO(), accessContextToken.getExistingAccessTokenDO(),
+                accessContextToken.getUserStoreDomain());
+    }
+
+    /**
+     * Persist a set of new access tokens, marking the existing token of each entry as expired. The default
+     * implementation persists the tokens one by one, while implementations may write them in a single batch.
+     *
+     * @param accessContextTokens Access tokens to persist.
+     * @throws IdentityOAuth2Exception If the tokens could not be persisted.
+     */
+    default void insertAccessTokens(List<AccessContextTokenDO> accessContextTokens) throws IdentityOAuth2Exception {
+
+        for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+            insertAccessToken(accessContextToken);
+        }
+    }
+
     AccessTokenDO getLatestAccessToken(String consumerKey, AuthenticatedUser authzUser, String userStoreDomain,
                                        String scope, boolean includeExpiredTokens) throws IdentityOAuth2Exception;
 
@@ -99,6 +131,28 @@ public interface AccessTokenDAO {
 
     AccessTokenDO getAccessToken(String accessTokenIdentifier, boolean includeExpired) throws IdentityOAuth2Exception;
 
+    /**
+     * Retrieve the active access tokens of a set of access token identifiers. The default implementation retrieves
+     * the tokens one by one, while implementations may retrieve them in a single query.
+     *
+     * @param accessTokenIdentifiers Access token identifiers.
+     * @return Map of the access token identifier to the active access token. Identifiers without an active access
+     * token are not included in the map.
+     * @throws IdentityOAuth2Exception If the tokens could not be retrieved.
+     */
+    default Map<String, AccessTokenDO> getActiveAccessTokens(Set<String> accessTokenIdentifiers)
+            throws IdentityOAuth2Exception {
+
+        Map<String, AccessTokenDO> accessTokens = new HashMap<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            AccessTokenDO accessTokenDO = getAccessToken(accessTokenIdentifier, false);
+            if (accessTokenDO != null) {
+                accessTokens.put(accessTokenIdentifier, accessTokenDO);
+            }
+        }
+        return accessTokens;
+    }
+
     Set<String> getAccessTokensByUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception;
 
     default Set<AccessTokenDO> getAccessTokensByUserForOpenidScope(AuthenticatedUser authenticatedUser)
@@ -121,6 +175,70 @@ public interface AccessTokenDAO {
     Set<AccessTokenDO> getAccessTokensOfUserStore(int tenantId, String userStoreDomain) throws
             IdentityOAuth2Exception;
 
+    /**
+     * Stream the ACTIVE access tokens of the given application to the consumer, in chunks of the given size. The
+     * default implementation loads the tokens at once and hands them over in chunks.
+     *
+     * @param consumerKey Consumer key of the application.
+     * @param chunkSize   Maximum number of tokens in a chunk.
+     * @param consumer    Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
+     */
+    default void streamActiveAccessTokenDataByConsumerKey(String consumerKey, int chunkSize,
+                                                          ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getActiveAcessTokenDataByConsumerKey(consumerKey), chunkSize, consumer);
+    }
+
+    /**
+     * Stream the ACTIVE and EXPIRED access tokens of the given tenant to the consumer, in chunks of the given size.
+     * The default implementation loads the tokens at once and hands them over in chunks.
+     *
+     * @param tenantId  Tenant id.
+     * @param chunkSize Maximum number of tokens in a chunk.
+     * @param consumer  Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
+     */
+    default void streamAccessTokensByTenant(int tenantId, int chunkSize, ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getAccessTokensByTenant(tenantId), chunkSize, consumer);
+    }
+
+    /**
+     * Stream the ACTIVE and EXPIRED access tokens issued for the given organization to the consumer, in chunks of
+     * the given size. The default implementation loads the tokens at once and hands them over in chunks.
+     *
+     * @param organizationId Id of the authorized organization.
+     * @param chunkSize      Maximum number of tokens in a chunk.
+     * @param consumer       Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
+     */
+    default void streamAccessTokensByAuthorizedOrg(String organizationId, int chunkSize,
+                                                   ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getAccessTokensByAuthorizedOrg(organizationId), chunkSize, consumer);
+    }
+
+    /**
+     * Stream the ACTIVE and EXPIRED access tokens of the given user store to the consumer, in chunks of the given
+     * size. The default implementation loads the tokens at once and hands them over in chunks.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain.
+     * @param chunkSize       Maximum number of tokens in a chunk.
+     * @param consumer        Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
+     */
+    default void streamAccessTokensOfUserStore(int tenantId, String userStoreDomain, int chunkSize,
+                                               ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getAccessTokensOfUserStore(tenantId, userStoreDomain), chunkSize, consumer);
+    }
+
     /**
      * This method is to revoke specific tokens where tokens should be plain text tokens.
      *
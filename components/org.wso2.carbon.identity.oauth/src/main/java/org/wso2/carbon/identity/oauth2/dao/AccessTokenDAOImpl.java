@@ -37,6 +37,7 @@ import org.wso2.carbon.identity.base.IdentityConstants;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.cache.InvalidAccessTokenCache;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
@@ -63,15 +64,18 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 import static org.apache.commons.lang.StringUtils.isNotBlank;
 import static org.wso2.carbon.identity.core.util.IdentityUtil.getProperty;
@@ -107,17 +111,18 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         } catch (SQLException e) {
             throw new IdentityOAuth2Exception("Error while inserting access token.", e);
         }
+        removeInvalidTokenEntries(accessToken, consumerKey);
     }
 
     private void insertAccessToken(String accessToken, String consumerKey, AccessTokenDO accessTokenDO,
                                    Connection connection, String userStoreDomain) throws IdentityOAuth2Exception {
         // Start inserting access token with retryAttemptCounter set to 0.
-        insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain, 0);
+        insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain, null, 0);
     }
 
     private void insertAccessToken(String accessToken, String consumerKey, AccessTokenDO accessTokenDO,
-                                   Connection connection, String userStoreDomain, int retryAttemptCounter)
-            throws IdentityOAuth2Exception {
+                                   Connection connection, String userStoreDomain, Integer appTenantId,
+                                   int retryAttemptCounter) throws IdentityOAuth2Exception {
 
         if (!isPersistenceEnabled()) {
             return;
@@ -133,23 +138,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     "Authorized user should be available for further execution.");
         }
 
-        String accessTokenHash = accessToken;
-        try {
-            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
-            //check for persist alias for the token type
-            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
-                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
-            }
-        } catch (OAuthSystemException e) {
-            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
-                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
-                        .sha256Hex(accessTokenHash));
-            }
-            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
-        } catch (InvalidOAuthClientException e) {
-            throw new IdentityOAuth2Exception(
-                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
-        }
+        String accessTokenHash = resolveAccessTokenIdentifier(accessToken, consumerKey);
 
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
@@ -179,21 +168,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             log.debug("Userstore domain for user: " + username + " is " + userDomain);
         }
 
-        String sql;
-        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME_WITH_CONSENTED_TOKEN;
-            } else {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME;
-            }
-        } else {
-            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_CONSENTED_TOKEN;
-            } else {
-                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN;
-            }
-        }
-        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userDomain);
+        String sql = getInsertAccessTokenSql(userDomain);
         String sqlAddScopes = OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.INSERT_OAUTH2_TOKEN_SCOPE,
                 userDomain);
         String sqlInsertTokenExtendedAttribute = OAuth2Util.getTokenPartitionedSqlByUserStore(
@@ -204,97 +179,12 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 accessTokenDO.getAccessTokenExtendedAttributes().isExtendedToken();
         try {
             insertTokenPrepStmt = connection.prepareStatement(sql);
-            insertTokenPrepStmt.setString(1, getPersistenceProcessor().getProcessedAccessTokenIdentifier(
-                    accessTokenHash));
-
-            if (accessTokenDO.getRefreshToken() != null) {
-                insertTokenPrepStmt.setString(2,
-                        getPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
-            } else {
-                insertTokenPrepStmt.setString(2, accessTokenDO.getRefreshToken());
-            }
-
-            insertTokenPrepStmt.setString(3, accessTokenDO.getAuthzUser().getUserName());
             String userTenantDomain = getUserResidentTenantDomain(accessTokenDO.getAuthzUser());
             int tenantId = OAuth2Util.getTenantId(userTenantDomain);
-            insertTokenPrepStmt.setInt(4, tenantId);
-            insertTokenPrepStmt.setString(5, OAuth2Util.getSanitizedUserStoreDomain(userDomain));
-            insertTokenPrepStmt
-                    .setTimestamp(6, accessTokenDO.getIssuedTime(), Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-            insertTokenPrepStmt.setTimestamp(7, accessTokenDO.getRefreshTokenIssuedTime(), Calendar.getInstance(TimeZone
-                    .getTimeZone(UTC)));
-            insertTokenPrepStmt.setLong(8, accessTokenDO.getValidityPeriodInMillis());
-            insertTokenPrepStmt.setLong(9, accessTokenDO.getRefreshTokenValidityPeriodInMillis());
-            insertTokenPrepStmt.setString(10, OAuth2Util.hashScopes(accessTokenDO.getScope()));
-            insertTokenPrepStmt.setString(11, accessTokenDO.getTokenState());
-            insertTokenPrepStmt.setString(12, accessTokenDO.getTokenType());
-            insertTokenPrepStmt.setString(13, accessTokenDO.getTokenId());
-            insertTokenPrepStmt.setString(14, accessTokenDO.getGrantType());
-            insertTokenPrepStmt.setString(15, accessTokenDO.getAuthzUser().getAuthenticatedSubjectIdentifier());
-            insertTokenPrepStmt
-                    .setString(16, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
-            if (accessTokenDO.getRefreshToken() != null) {
-                insertTokenPrepStmt.setString(17,
-                        getHashingPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
-            } else {
-                insertTokenPrepStmt.setString(17, accessTokenDO.getRefreshToken());
-            }
+            setInsertAccessTokenParameters(insertTokenPrepStmt, accessTokenHash, consumerKey, accessTokenDO,
+                    userDomain, authenticatedIDP, tenantId,
+                    appTenantId != null ? appTenantId : resolveApplicationTenantId());
             boolean tokenBindingAvailable = isTokenBindingAvailable(accessTokenDO.getTokenBinding());
-            if (tokenBindingAvailable) {
-                insertTokenPrepStmt.setString(18, accessTokenDO.getTokenBinding().getBindingReference());
-            } else {
-                insertTokenPrepStmt.setString(18, NONE);
-            }
-
-            String authorizedOrganization = accessTokenDO.getAuthzUser().getAccessingOrganization();
-            if (StringUtils.isBlank(authorizedOrganization)) {
-                authorizedOrganization = OAuthConstants.AuthorizedOrganization.NONE;
-            }
-            insertTokenPrepStmt.setString(19, authorizedOrganization);
-
-            int appTenantId = IdentityTenantUtil.getLoginTenantId();
-            String applicationResidentOrgId = PrivilegedCarbonContext.getThreadLocalCarbonContext()
-                    .getApplicationResidentOrganizationId();
-            /*
-             If applicationResidentOrgId is not empty, then the request comes for an application which is registered
-             directly in the organization of the applicationResidentOrgId. Therefore, we need to resolve the
-             tenant domain of the organization to get the application tenant id.
-            */
-            if (StringUtils.isNotEmpty(applicationResidentOrgId)) {
-                try {
-                    String tenantDomain = OAuthComponentServiceHolder.getInstance().getOrganizationManager()
-                            .resolveTenantDomain(applicationResidentOrgId);
-                    appTenantId = OAuth2Util.getTenantId(tenantDomain);
-                } catch (OrganizationManagementException e) {
-                    throw new IdentityOAuth2Exception("Error while resolving tenant domain from the organization id: "
-                            + applicationResidentOrgId, e);
-                }
-            }
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                    insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
-                    insertTokenPrepStmt.setString(21, authenticatedIDP);
-                    // Set tenant ID of the IDP by considering it is same as appTenantID.
-                    insertTokenPrepStmt.setInt(22, appTenantId);
-                    insertTokenPrepStmt.setString(23, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(24, appTenantId);
-                } else {
-                    insertTokenPrepStmt.setString(20, authenticatedIDP);
-                    // Set tenant ID of the IDP by considering it is same as appTenantID.
-                    insertTokenPrepStmt.setInt(21, appTenantId);
-                    insertTokenPrepStmt.setString(22, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(23, appTenantId);
-                }
-            } else {
-                if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
-                    insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
-                    insertTokenPrepStmt.setString(21, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(22, appTenantId);
-                } else {
-                    insertTokenPrepStmt.setString(20, getPersistenceProcessor().getProcessedClientId(consumerKey));
-                    insertTokenPrepStmt.setInt(21, appTenantId);
-                }
-            }
             insertTokenPrepStmt.executeUpdate();
 
             String accessTokenId = accessTokenDO.getTokenId();
@@ -362,7 +252,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             }
 
             recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO, connection,
-                    userStoreDomain, retryAttemptCounter + 1);
+                    userStoreDomain, appTenantId, retryAttemptCounter + 1);
         } catch (DataTruncation e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Invalid request", e);
@@ -381,7 +271,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 }
 
                 recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO,
-                        connection, userStoreDomain, retryAttemptCounter + 1);
+                        connection, userStoreDomain, appTenantId, retryAttemptCounter + 1);
             } else {
                 throw new IdentityOAuth2Exception(
                         "Error when storing the access token for consumer key : " + consumerKey, e);
@@ -404,7 +294,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 }
 
                 recoverFromConAppKeyConstraintViolation(accessToken, consumerKey, accessTokenDO,
-                        connection, userStoreDomain, retryAttemptCounter + 1);
+                        connection, userStoreDomain, appTenantId, retryAttemptCounter + 1);
             } else {
                 throw new IdentityOAuth2Exception(
                         "Error when storing the access token for consumer key : " + consumerKey, e);
@@ -419,11 +309,434 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     }
 
+    @Override
+    public void insertAccessTokens(List<AccessContextTokenDO> accessContextTokens) throws IdentityOAuth2Exception {
+
+        if (!isPersistenceEnabled() || CollectionUtils.isEmpty(accessContextTokens)) {
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Persisting " + accessContextTokens.size() + " access tokens in a batch.");
+        }
+
+        // Statements are kept in insertion order so that token rows are written before the dependent rows.
+        Map<String, PreparedStatement> insertTokenStatements = new LinkedHashMap<>();
+        Map<String, PreparedStatement> addScopeStatements = new LinkedHashMap<>();
+        Map<String, PreparedStatement> insertTokenAttributeStatements = new LinkedHashMap<>();
+        PreparedStatement storeTokenBindingStatement = null;
+        List<String> persistedTokenIdentifiers = new ArrayList<>();
+        Connection connection = IdentityDatabaseUtil.getDBConnection();
+        try {
+            for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+                AccessTokenDO existingAccessTokenDO = accessContextToken.getExistingAccessTokenDO();
+                if (existingAccessTokenDO != null) {
+                    updateAccessTokenState(connection, existingAccessTokenDO.getTokenId(),
+                            OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, UUID.randomUUID().toString(),
+                            OAuth2Util.getSanitizedUserStoreDomain(accessContextToken.getUserStoreDomain()),
+                            existingAccessTokenDO.getGrantType());
+                }
+            }
+
+            for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+                AccessTokenDO accessTokenDO = accessContextToken.getNewAccessTokenDO();
+                if (accessTokenDO == null || accessTokenDO.getAuthzUser() == null) {
+                    throw new IdentityOAuth2Exception("Access token data object with an authorized user should be " +
+                            "available for further execution.");
+                }
+                String consumerKey = accessContextToken.getConsumerKey();
+                String accessTokenHash = accessContextToken.getAccessTokenIdentifier() != null ?
+                        accessContextToken.getAccessTokenIdentifier() :
+                        resolveAccessTokenIdentifier(accessContextToken.getAccessToken(), consumerKey);
+                persistedTokenIdentifiers.add(accessContextToken.getAccessToken());
+                persistedTokenIdentifiers.add(accessTokenHash);
+                int appTenantId = accessContextToken.getAppTenantId() != null ? accessContextToken.getAppTenantId() :
+                        resolveApplicationTenantId();
+                String userDomain = OAuth2Util.getUserStoreDomain(accessTokenDO.getAuthzUser());
+                String authenticatedIDP = OAuth2Util.getAuthenticatedIDP(accessTokenDO.getAuthzUser());
+                int tenantId = OAuth2Util.getTenantId(getUserResidentTenantDomain(accessTokenDO.getAuthzUser()));
+                String accessTokenId = accessTokenDO.getTokenId();
+
+                PreparedStatement insertTokenPrepStmt = getOrPrepareStatement(connection, insertTokenStatements,
+                        getInsertAccessTokenSql(userDomain));
+                setInsertAccessTokenParameters(insertTokenPrepStmt, accessTokenHash, consumerKey, accessTokenDO,
+                        userDomain, authenticatedIDP, tenantId, appTenantId);
+                insertTokenPrepStmt.addBatch();
+
+                if (ArrayUtils.isNotEmpty(accessTokenDO.getScope())) {
+                    PreparedStatement addScopePrepStmt = getOrPrepareStatement(connection, addScopeStatements,
+                            OAuth2Util.getTokenPartitionedSqlByUserStore(SQLQueries.INSERT_OAUTH2_TOKEN_SCOPE,
+                                    userDomain));
+                    for (String scope : accessTokenDO.getScope()) {
+                        addScopePrepStmt.setString(1, accessTokenId);
+                        addScopePrepStmt.setString(2, scope);
+                        addScopePrepStmt.setInt(3, tenantId);
+                        addScopePrepStmt.addBatch();
+                    }
+                }
+
+                if (isTokenBindingAvailable(accessTokenDO.getTokenBinding())) {
+                    if (storeTokenBindingStatement == null) {
+                        storeTokenBindingStatement = connection.prepareStatement(STORE_TOKEN_BINDING);
+                    }
+                    storeTokenBindingStatement.setString(1, accessTokenId);
+                    storeTokenBindingStatement.setString(2, accessTokenDO.getTokenBinding().getBindingType());
+                    storeTokenBindingStatement.setString(3, accessTokenDO.getTokenBinding().getBindingReference());
+                    storeTokenBindingStatement.setString(4, accessTokenDO.getTokenBinding().getBindingValue());
+                    storeTokenBindingStatement.setInt(5, tenantId);
+                    storeTokenBindingStatement.addBatch();
+                }
+
+                if (OAuth2ServiceComponentHolder.isTokenExtendedTableExist() &&
+                        accessTokenDO.getAccessTokenExtendedAttributes() != null &&
+                        accessTokenDO.getAccessTokenExtendedAttributes().isExtendedToken()) {
+                    PreparedStatement insertTokenAttributePrepStmt = getOrPrepareStatement(connection,
+                            insertTokenAttributeStatements, OAuth2Util.getTokenPartitionedSqlByUserStore(
+                                    SQLQueries.INSERT_OAUTH2_TOKEN_ATTRIBUTES, userDomain));
+                    insertTokenAttributePrepStmt.setString(1, IS_EXTENDED_TOKEN);
+                    insertTokenAttributePrepStmt.setString(2, "true");
+                    insertTokenAttributePrepStmt.setString(3, accessTokenId);
+                    insertTokenAttributePrepStmt.addBatch();
+                    if (accessTokenDO.getAccessTokenExtendedAttributes().getParameters() != null) {
+                        for (Map.Entry<String, String> entry : accessTokenDO.getAccessTokenExtendedAttributes()
+                                .getParameters().entrySet()) {
+                            insertTokenAttributePrepStmt.setString(1, entry.getKey());
+                            insertTokenAttributePrepStmt.setString(2, entry.getValue());
+                            insertTokenAttributePrepStmt.setString(3, accessTokenId);
+                            insertTokenAttributePrepStmt.addBatch();
+                        }
+                    }
+                }
+            }
+
+            for (PreparedStatement preparedStatement : insertTokenStatements.values()) {
+                preparedStatement.executeBatch();
+            }
+            for (PreparedStatement preparedStatement : addScopeStatements.values()) {
+                preparedStatement.executeBatch();
+            }
+            if (storeTokenBindingStatement != null) {
+                storeTokenBindingStatement.executeBatch();
+            }
+            for (PreparedStatement preparedStatement : insertTokenAttributeStatements.values()) {
+                preparedStatement.executeBatch();
+            }
+
+            if (isTokenCleanupFeatureEnabled) {
+                for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+                    if (accessContextToken.getExistingAccessTokenDO() != null) {
+                        cleanupOldToken(accessContextToken.getExistingAccessTokenDO().getTokenId(), connection);
+                    }
+                }
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            // The tokens could have been looked up and recorded as invalid before they were persisted.
+            InvalidAccessTokenCache.getInstance().removeInvalidToken(
+                    persistedTokenIdentifiers.toArray(new String[0]));
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error occurred while persisting access tokens in a batch.", e);
+        } catch (IdentityOAuth2Exception e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw e;
+        } finally {
+            closeStatements(insertTokenAttributeStatements.values());
+            IdentityDatabaseUtil.closeStatement(storeTokenBindingStatement);
+            closeStatements(addScopeStatements.values());
+            closeStatements(insertTokenStatements.values());
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private PreparedStatement getOrPrepareStatement(Connection connection, Map<String, PreparedStatement> statements,
+                                                    String sql) throws SQLException {
+
+        PreparedStatement preparedStatement = statements.get(sql);
+        if (preparedStatement == null) {
+            preparedStatement = connection.prepareStatement(sql);
+            statements.put(sql, preparedStatement);
+        }
+        return preparedStatement;
+    }
+
+    private void closeStatements(Collection<PreparedStatement> statements) {
+
+        for (PreparedStatement preparedStatement : statements) {
+            IdentityDatabaseUtil.closeStatement(preparedStatement);
+        }
+    }
+
+    private String getInsertAccessTokenSql(String userDomain) throws IdentityOAuth2Exception {
+
+        String sql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME_WITH_CONSENTED_TOKEN;
+            } else {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_IDP_NAME;
+            }
+        } else {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN_WITH_CONSENTED_TOKEN;
+            } else {
+                sql = SQLQueries.INSERT_OAUTH2_ACCESS_TOKEN;
+            }
+        }
+        return OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userDomain);
+    }
+
+    private void setInsertAccessTokenParameters(PreparedStatement insertTokenPrepStmt, String accessTokenHash,
+                                                String consumerKey, AccessTokenDO accessTokenDO, String userDomain,
+                                                String authenticatedIDP, int tenantId, int appTenantId)
+            throws SQLException, IdentityOAuth2Exception {
+
+        insertTokenPrepStmt.setString(1, getPersistenceProcessor().getProcessedAccessTokenIdentifier(
+                accessTokenHash));
+
+        if (accessTokenDO.getRefreshToken() != null) {
+            insertTokenPrepStmt.setString(2,
+                    getPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
+        } else {
+            insertTokenPrepStmt.setString(2, accessTokenDO.getRefreshToken());
+        }
+
+        insertTokenPrepStmt.setString(3, accessTokenDO.getAuthzUser().getUserName());
+        insertTokenPrepStmt.setInt(4, tenantId);
+        insertTokenPrepStmt.setString(5, OAuth2Util.getSanitizedUserStoreDomain(userDomain));
+        insertTokenPrepStmt
+                .setTimestamp(6, accessTokenDO.getIssuedTime(), Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        insertTokenPrepStmt.setTimestamp(7, accessTokenDO.getRefreshTokenIssuedTime(), Calendar.getInstance(TimeZone
+                .getTimeZone(UTC)));
+        insertTokenPrepStmt.setLong(8, accessTokenDO.getValidityPeriodInMillis());
+        insertTokenPrepStmt.setLong(9, accessTokenDO.getRefreshTokenValidityPeriodInMillis());
+        insertTokenPrepStmt.setString(10, OAuth2Util.hashScopes(accessTokenDO.getScope()));
+        insertTokenPrepStmt.setString(11, accessTokenDO.getTokenState());
+        insertTokenPrepStmt.setString(12, accessTokenDO.getTokenType());
+        insertTokenPrepStmt.setString(13, accessTokenDO.getTokenId());
+        insertTokenPrepStmt.setString(14, accessTokenDO.getGrantType());
+        insertTokenPrepStmt.setString(15, accessTokenDO.getAuthzUser().getAuthenticatedSubjectIdentifier());
+        insertTokenPrepStmt
+                .setString(16, getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenHash));
+        if (accessTokenDO.getRefreshToken() != null) {
+            insertTokenPrepStmt.setString(17,
+                    getHashingPersistenceProcessor().getProcessedRefreshToken(accessTokenDO.getRefreshToken()));
+        } else {
+            insertTokenPrepStmt.setString(17, accessTokenDO.getRefreshToken());
+        }
+        if (isTokenBindingAvailable(accessTokenDO.getTokenBinding())) {
+            insertTokenPrepStmt.setString(18, accessTokenDO.getTokenBinding().getBindingReference());
+        } else {
+            insertTokenPrepStmt.setString(18, NONE);
+        }
+
+        String authorizedOrganization = accessTokenDO.getAuthzUser().getAccessingOrganization();
+        if (StringUtils.isBlank(authorizedOrganization)) {
+            authorizedOrganization = OAuthConstants.AuthorizedOrganization.NONE;
+        }
+        insertTokenPrepStmt.setString(19, authorizedOrganization);
+
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
+                insertTokenPrepStmt.setString(21, authenticatedIDP);
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                insertTokenPrepStmt.setInt(22, appTenantId);
+                insertTokenPrepStmt.setString(23, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                insertTokenPrepStmt.setInt(24, appTenantId);
+            } else {
+                insertTokenPrepStmt.setString(20, authenticatedIDP);
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                insertTokenPrepStmt.setInt(21, appTenantId);
+                insertTokenPrepStmt.setString(22, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                insertTokenPrepStmt.setInt(23, appTenantId);
+            }
+        } else {
+            if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
+                insertTokenPrepStmt.setString(20, Boolean.toString(accessTokenDO.isConsentedToken()));
+                insertTokenPrepStmt.setString(21, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                insertTokenPrepStmt.setInt(22, appTenantId);
+            } else {
+                insertTokenPrepStmt.setString(20, getPersistenceProcessor().getProcessedClientId(consumerKey));
+                insertTokenPrepStmt.setInt(21, appTenantId);
+            }
+        }
+    }
+
+    /**
+     * Remove the invalid access token cache entries of a persisted access token. The token could have been looked up
+     * and recorded as invalid before it was persisted, either by the token itself or by the identifier persisted for
+     * it, hence both are removed.
+     *
+     * @param accessToken Access token.
+     * @param consumerKey Client id of the app.
+     * @throws IdentityOAuth2Exception If the persisted identifier could not be resolved.
+     */
+    private static void removeInvalidTokenEntries(String accessToken, String consumerKey)
+            throws IdentityOAuth2Exception {
+
+        InvalidAccessTokenCache invalidAccessTokenCache = InvalidAccessTokenCache.getInstance();
+        if (invalidAccessTokenCache.isEnabled()) {
+            invalidAccessTokenCache.removeInvalidToken(accessToken,
+                    resolveAccessTokenIdentifier(accessToken, consumerKey));
+        }
+    }
+
+    /**
+     * Resolve the value persisted as the access token identifier. This is the token alias when the token issuer of
+     * the app persists an alias instead of the token, e.g. the JTI of a JWT access token.
+     *
+     * @param accessToken Access token.
+     * @param consumerKey Client id of the app.
+     * @return Access token identifier to persist.
+     * @throws IdentityOAuth2Exception If the token issuer or the alias could not be resolved.
+     */
+    static String resolveAccessTokenIdentifier(String accessToken, String consumerKey)
+            throws IdentityOAuth2Exception {
+
+        String accessTokenHash = accessToken;
+        try {
+            OauthTokenIssuer oauthTokenIssuer = OAuth2Util.getOAuthTokenIssuerForOAuthApp(consumerKey);
+            //check for persist alias for the token type
+            if (oauthTokenIssuer.usePersistedAccessTokenAlias()) {
+                accessTokenHash = oauthTokenIssuer.getAccessTokenHash(accessToken);
+            }
+        } catch (OAuthSystemException e) {
+            if (log.isDebugEnabled() && IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
+                log.debug("Error while getting access token hash for token(hashed): " + DigestUtils
+                        .sha256Hex(accessTokenHash));
+            }
+            throw new IdentityOAuth2Exception("Error while getting access token hash.", e);
+        } catch (InvalidOAuthClientException e) {
+            throw new IdentityOAuth2Exception(
+                    "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
+        }
+        return accessTokenHash;
+    }
+
+    /**
+     * Resolve the tenant id of the application the token is issued for, from the current request context.
+     *
+     * @return Tenant id of the application.
+     * @throws IdentityOAuth2Exception If the tenant of the application resident organization could not be resolved.
+     */
+    static int resolveApplicationTenantId() throws IdentityOAuth2Exception {
+
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
+        String applicationResidentOrgId = PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                .getApplicationResidentOrganizationId();
+        /*
+         If applicationResidentOrgId is not empty, then the request comes for an application which is registered
+         directly in the organization of the applicationResidentOrgId. Therefore, we need to resolve the
+         tenant domain of the organization to get the application tenant id.
+        */
+        if (StringUtils.isNotEmpty(applicationResidentOrgId)) {
+            try {
+                String tenantDomain = OAuthComponentServiceHolder.getInstance().getOrganizationManager()
+                        .resolveTenantDomain(applicationResidentOrgId);
+                appTenantId = OAuth2Util.getTenantId(tenantDomain);
+            } catch (OrganizationManagementException e) {
+                throw new IdentityOAuth2Exception("Error while resolving tenant domain from the organization id: "
+                        + applicationResidentOrgId, e);
+            }
+        }
+        return appTenantId;
+    }
+
+    /**
+     * Write the access tokens queued for asynchronous persistence which match the filter to the database, so that the
+     * tokens issued before a revocation or a token listing are not missed by it. Only the tokens the call concerns
+     * are written or waited for.
+     *
+     * @param filter Filter of the pending tokens.
+     */
+    static void flushPendingAccessTokens(Predicate<AccessContextTokenDO> filter) {
+
+        AccessTokenPersistencePipeline persistencePipeline = AccessTokenPersistencePipeline.getInstanceIfCreated();
+        if (persistencePipeline != null) {
+            persistencePipeline.flush(filter);
+        }
+    }
+
+    /**
+     * Write the access tokens queued for asynchronous persistence with the given identifiers to the database.
+     *
+     * @param accessTokens Persisted access token identifiers, or the access tokens themselves.
+     */
+    static void flushPendingAccessTokens(String[] accessTokens) {
+
+        AccessTokenPersistencePipeline persistencePipeline = AccessTokenPersistencePipeline.getInstanceIfCreated();
+        if (persistencePipeline != null && accessTokens != null) {
+            persistencePipeline.flush(Arrays.asList(accessTokens));
+        }
+    }
+
+    static Predicate<AccessContextTokenDO> pendingTokensOfClient(String consumerKey) {
+
+        return accessContextToken -> StringUtils.equals(consumerKey, accessContextToken.getConsumerKey());
+    }
+
+    static Predicate<AccessContextTokenDO> pendingTokensWithTokenId(String tokenId) {
+
+        return accessContextToken -> accessContextToken.getNewAccessTokenDO() != null &&
+                StringUtils.equals(tokenId, accessContextToken.getNewAccessTokenDO().getTokenId());
+    }
+
+    /**
+     * Match the pending tokens of a user. The user name is compared case insensitively, as flushing a token of
+     * another user only costs a write, while missing a token of the user leaves it out of the call.
+     */
+    static Predicate<AccessContextTokenDO> pendingTokensOfUser(String userName, String tenantDomain) {
+
+        return accessContextToken -> {
+            AuthenticatedUser authzUser = getPendingAuthzUser(accessContextToken);
+            return authzUser != null && StringUtils.equalsIgnoreCase(userName, authzUser.getUserName()) &&
+                    StringUtils.equalsIgnoreCase(tenantDomain, authzUser.getTenantDomain());
+        };
+    }
+
+    static Predicate<AccessContextTokenDO> pendingTokensOfTenant(String tenantDomain) {
+
+        return accessContextToken -> {
+            AuthenticatedUser authzUser = getPendingAuthzUser(accessContextToken);
+            return authzUser != null && StringUtils.equalsIgnoreCase(tenantDomain, authzUser.getTenantDomain());
+        };
+    }
+
+    private static Predicate<AccessContextTokenDO> pendingTokensWithBindingRef(String bindingRef) {
+
+        return accessContextToken -> accessContextToken.getNewAccessTokenDO() != null &&
+                accessContextToken.getNewAccessTokenDO().getTokenBinding() != null &&
+                StringUtils.equals(bindingRef,
+                        accessContextToken.getNewAccessTokenDO().getTokenBinding().getBindingReference());
+    }
+
+    private static AuthenticatedUser getPendingAuthzUser(AccessContextTokenDO accessContextToken) {
+
+        return accessContextToken.getNewAccessTokenDO() != null ?
+                accessContextToken.getNewAccessTokenDO().getAuthzUser() : null;
+    }
+
     @Override
     public boolean insertAccessToken(String accessToken, String consumerKey,
                                      AccessTokenDO newAccessTokenDO, AccessTokenDO existingAccessTokenDO,
                                      String rawUserStoreDomain) throws IdentityOAuth2Exception {
 
+        return insertAccessToken(accessToken, consumerKey, newAccessTokenDO, existingAccessTokenDO,
+                rawUserStoreDomain, null);
+    }
+
+    @Override
+    public boolean insertAccessToken(AccessContextTokenDO accessContextToken) throws IdentityOAuth2Exception {
+
+        // The app tenant was resolved from the request context when the token was queued.
+        return insertAccessToken(accessContextToken.getAccessToken(), accessContextToken.getConsumerKey(),
+                accessContextToken.getNewAccessTokenDO(), accessContextToken.getExistingAccessTokenDO(),
+                accessContextToken.getUserStoreDomain(), accessContextToken.getAppTenantId());
+    }
+
+    private boolean insertAccessToken(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO,
+                                      AccessTokenDO existingAccessTokenDO, String rawUserStoreDomain,
+                                      Integer appTenantId) throws IdentityOAuth2Exception {
+
         if (!isPersistenceEnabled()) {
             return false;
         }
@@ -450,12 +763,14 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         .TOKEN_STATE_EXPIRED, UUID.randomUUID().toString(), userStoreDomain,
                         existingAccessTokenDO.getGrantType());
             }
-            insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain);
+            insertAccessToken(accessToken, consumerKey, newAccessTokenDO, connection, userStoreDomain, appTenantId,
+                    0);
 
             if (isTokenCleanupFeatureEnabled && existingAccessTokenDO != null) {
-                oldTokenCleanupObject.cleanupTokenByTokenId(existingAccessTokenDO.getTokenId(), connection);
+                cleanupOldToken(existingAccessTokenDO.getTokenId(), connection);
             }
             IdentityDatabaseUtil.commitTransaction(connection);
+            removeInvalidTokenEntries(accessToken, consumerKey);
             return true;
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -929,6 +1244,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                                               String userStoreDomain, boolean includeExpired)
             throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfClient(consumerKey).and(pendingTokensOfUser(
+                authenticatedUser.getUserName(), authenticatedUser.getTenantDomain())));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens for client: " + consumerKey + " user: " + authenticatedUser.toString());
         }
@@ -1058,6 +1376,15 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     (accessTokenIdentifier));
         }
 
+        // A token queued for asynchronous persistence is resolved before it reaches the database.
+        AccessTokenPersistencePipeline persistencePipeline = AccessTokenPersistencePipeline.getInstanceIfCreated();
+        if (persistencePipeline != null) {
+            AccessTokenDO pendingAccessTokenDO = persistencePipeline.getPendingAccessToken(accessTokenIdentifier);
+            if (pendingAccessTokenDO != null) {
+                return pendingAccessTokenDO;
+            }
+        }
+
         AccessTokenDO dataDO = null;
         Connection connection = IdentityDatabaseUtil.getDBConnection(false);
         PreparedStatement prepStmt = null;
@@ -1173,12 +1500,134 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             }
 
         } catch (SQLException e) {
-            throw new IdentityOAuth2Exception("Error when retrieving Access Token" + e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, prepStmt);
+            throw new IdentityOAuth2Exception("Error when retrieving Access Token" + e);
+        } finally {
+            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, prepStmt);
+        }
+
+        return dataDO;
+    }
+
+    @Override
+    public Map<String, AccessTokenDO> getActiveAccessTokens(Set<String> accessTokenIdentifiers)
+            throws IdentityOAuth2Exception {
+
+        if (CollectionUtils.isEmpty(accessTokenIdentifiers)) {
+            return Collections.emptyMap();
+        }
+        if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+            // The tokens may reside in different partitioned tables, hence they are retrieved one by one.
+            return AccessTokenDAO.super.getActiveAccessTokens(accessTokenIdentifiers);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Retrieving information of " + accessTokenIdentifiers.size() + " access tokens.");
+        }
+
+        Map<String, String> accessTokenIdentifiersByHash = new HashMap<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            accessTokenIdentifiersByHash.put(
+                    getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(accessTokenIdentifier),
+                    accessTokenIdentifier);
+        }
+
+        boolean isIDPIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+        boolean isConsentedColumnDataFetched = OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled();
+        String sql = isIDPIdColumnEnabled ? SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS_BY_HASHES_IDP_NAME :
+                SQLQueries.RETRIEVE_ACTIVE_ACCESS_TOKENS_BY_HASHES;
+        sql = sql.replace(SQLQueries.ACCESS_TOKEN_HASH_LIST_PLACEHOLDER,
+                        String.join(", ", Collections.nCopies(accessTokenIdentifiersByHash.size(), "?")))
+                .replace(SQLQueries.CONSENTED_TOKEN_COLUMN_PLACEHOLDER,
+                        isConsentedColumnDataFetched ? ", " + CONSENTED_TOKEN_COLUMN_NAME : StringUtils.EMPTY);
+
+        Map<String, AccessTokenDO> accessTokens = new HashMap<>();
+        Map<String, ServiceProvider> serviceProviders = new HashMap<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            int parameterIndex = 1;
+            for (String accessTokenHash : accessTokenIdentifiersByHash.keySet()) {
+                prepStmt.setString(parameterIndex++, accessTokenHash);
+            }
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                // A row is returned for each scope of a token, and the first row of a token carries its data.
+                while (resultSet.next()) {
+                    String accessTokenIdentifier = accessTokenIdentifiersByHash.get(resultSet.getString(18));
+                    if (accessTokenIdentifier == null) {
+                        continue;
+                    }
+                    AccessTokenDO dataDO = accessTokens.get(accessTokenIdentifier);
+                    if (dataDO != null) {
+                        dataDO.setScope((String[]) ArrayUtils.add(dataDO.getScope(), resultSet.getString(5)));
+                        continue;
+                    }
+
+                    String consumerKey = getPersistenceProcessor().getPreprocessedClientId(resultSet.getString(1));
+                    String authorizedUser = resultSet.getString(2);
+                    int tenantId = resultSet.getInt(3);
+                    String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
+                    String userDomain = resultSet.getString(4);
+                    String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(5));
+                    Timestamp issuedTime = resultSet.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+                    Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(7,
+                            Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+                    long validityPeriodInMillis = resultSet.getLong(8);
+                    long refreshTokenValidityPeriodMillis = resultSet.getLong(9);
+                    String tokenType = resultSet.getString(10);
+                    String refreshToken = resultSet.getString(11);
+                    String tokenId = resultSet.getString(12);
+                    String grantType = resultSet.getString(13);
+                    String subjectIdentifier = resultSet.getString(14);
+                    String authenticatedIDP = null;
+                    String tokenBindingReference = resultSet.getString(15);
+                    String authorizedOrganization = resultSet.getString(16);
+                    int appResideTenantId = resultSet.getInt(17);
+
+                    if (isIDPIdColumnEnabled) {
+                        authenticatedIDP = resultSet.getString(19);
+                    }
+
+                    boolean isConsentedToken = false;
+                    if (isConsentedColumnDataFetched) {
+                        int consentedTokenColumnIndex = resultSet.findColumn(CONSENTED_TOKEN_COLUMN_NAME);
+                        isConsentedToken = resultSet.getBoolean(consentedTokenColumnIndex);
+                    }
+
+                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authorizedUser,
+                            userDomain, tenantDomain, authenticatedIDP, authorizedOrganization, appResideTenantId);
+                    ServiceProvider serviceProvider = serviceProviders.get(tenantDomain + ":" + consumerKey);
+                    if (serviceProvider == null) {
+                        try {
+                            serviceProvider = OAuth2ServiceComponentHolder.getApplicationMgtService().
+                                    getServiceProviderByClientId(consumerKey, OAuthConstants.Scope.OAUTH2,
+                                            tenantDomain);
+                        } catch (IdentityApplicationManagementException e) {
+                            throw new IdentityOAuth2Exception("Error occurred while retrieving OAuth2 application " +
+                                    "data for client id " + consumerKey, e);
+                        }
+                        serviceProviders.put(tenantDomain + ":" + consumerKey, serviceProvider);
+                    }
+
+                    user.setAuthenticatedSubjectIdentifier(subjectIdentifier, serviceProvider);
+
+                    dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime, refreshTokenIssuedTime,
+                            validityPeriodInMillis, refreshTokenValidityPeriodMillis, tokenType);
+                    dataDO.setAccessToken(accessTokenIdentifier);
+                    dataDO.setRefreshToken(refreshToken);
+                    dataDO.setTokenId(tokenId);
+                    dataDO.setGrantType(grantType);
+                    dataDO.setTenantID(tenantId);
+                    dataDO.setIsConsentedToken(isConsentedToken);
+                    dataDO.setAppResidentTenantId(appResideTenantId);
+
+                    if (StringUtils.isNotBlank(tokenBindingReference) && !NONE.equals(tokenBindingReference)) {
+                        setTokenBindingToAccessTokenDO(dataDO, connection, tokenId);
+                    }
+                    accessTokens.put(accessTokenIdentifier, dataDO);
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error when retrieving access tokens.", e);
         }
-
-        return dataDO;
+        return accessTokens;
     }
 
     private void setTokenBindingToAccessTokenDO(AccessTokenDO dataDO, Connection connection, String tokenId)
@@ -1321,6 +1770,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
 
     public void updateAccessTokenState(String tokenId, String tokenState, String grantType)
             throws IdentityOAuth2Exception {
+        flushPendingAccessTokens(pendingTokensWithTokenId(tokenId));
+
         boolean tokenUpdateSuccessful;
         try (Connection connection = IdentityDatabaseUtil.getDBConnection(true)) {
             if (log.isDebugEnabled()) {
@@ -1337,7 +1788,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 tokenUpdateSuccessful = true;
 
                 if (isTokenCleanupFeatureEnabled && !OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(tokenState)) {
-                    oldTokenCleanupObject.cleanupTokenByTokenId(tokenId, connection);
+                    cleanupOldToken(tokenId, connection);
                 }
 
                 IdentityDatabaseUtil.commitTransaction(connection);
@@ -1475,6 +1926,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public void revokeAccessTokensInBatch(String[] tokens, boolean isHashedToken) throws IdentityOAuth2Exception {
 
+        // A hashed token is read from the database, so only plain tokens can still be pending.
+        if (!isHashedToken) {
+            flushPendingAccessTokens(tokens);
+        }
+
         if (ArrayUtils.isEmpty(tokens)) {
             if (log.isDebugEnabled()) {
                 log.debug("No tokens to revoke in batch mode. Therefore not continuing further in revocation.");
@@ -1521,7 +1977,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         Hence, invoke the event listener to revoke the request objects.*/
                         revokeRequestObjectEntries(Arrays.asList(tokens));
                     }
-                    oldTokenCleanupObject.cleanupTokensInBatch(oldTokens, connection);
+                    for (String oldToken : oldTokens) {
+                        cleanupOldTokenByHash(oldToken, connection);
+                    }
                 }
             } catch (SQLException e) {
                 IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -1553,7 +2011,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                         Hence, invoke the event listener to revoke the request objects.*/
                         revokeRequestObjectEntries(Arrays.asList(tokens));
                     }
-                    oldTokenCleanupObject.cleanupTokenByTokenValue(
+                    cleanupOldTokenByHash(
                             getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(tokens[0]), connection);
                 }
             } catch (SQLException e) {
@@ -1588,6 +2046,11 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public void revokeAccessTokensIndividually(String[] tokens, boolean isHashedToken) throws IdentityOAuth2Exception {
 
+        // A hashed token is read from the database, so only plain tokens can still be pending.
+        if (!isHashedToken) {
+            flushPendingAccessTokens(tokens);
+        }
+
         List<String> accessTokenId = new ArrayList<>();
         if (log.isDebugEnabled()) {
             if (IdentityUtil.isTokenLoggable(IdentityConstants.IdentityTokens.ACCESS_TOKEN)) {
@@ -1628,7 +2091,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     revokeRequestObjectEntries(accessTokenId);
                 }
                 for (String token : tokens) {
-                    oldTokenCleanupObject.cleanupTokenByTokenValue(
+                    cleanupOldTokenByHash(
                             getHashingPersistenceProcessor().getProcessedAccessTokenIdentifier(token), connection);
                 }
             }
@@ -1650,6 +2113,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
      */
     public void revokeAccessToken(String tokenId, String userId) throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensWithTokenId(tokenId));
+
         if (log.isDebugEnabled()) {
             log.debug("Revoking access token with id: " + tokenId + " user: " + userId);
         }
@@ -1672,7 +2137,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             revoked = true;
 
             if (isTokenCleanupFeatureEnabled && tokenId != null) {
-                oldTokenCleanupObject.cleanupTokenByTokenId(tokenId, connection);
+                cleanupOldToken(tokenId, connection);
             }
         } catch (SQLException e) {
             IdentityDatabaseUtil.rollbackTransaction(connection);
@@ -1697,6 +2162,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<String> getAccessTokensByUser(AuthenticatedUser authenticatedUser) throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfUser(authenticatedUser.getUserName(),
+                authenticatedUser.getTenantDomain()));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens of user: " + authenticatedUser.getLoggableUserId());
         }
@@ -1763,6 +2231,9 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getAccessTokensByUserForOpenidScope(AuthenticatedUser authenticatedUser)
             throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfUser(authenticatedUser.getUserName(),
+                authenticatedUser.getTenantDomain()));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving access tokens of user: " + authenticatedUser.toString());
         }
@@ -1887,6 +2358,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<String> getActiveTokensByConsumerKey(String consumerKey) throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens of client: " + consumerKey);
         }
@@ -1950,99 +2423,100 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getActiveAcessTokenDataByConsumerKey(String consumerKey) throws IdentityOAuth2Exception {
 
+        Set<AccessTokenDO> accessTokenDOs = new HashSet<>();
+        streamActiveAccessTokenDataByConsumerKey(consumerKey, OAuth2Util.getTokenListingChunkSize(),
+                accessTokenDOs::addAll);
+        return accessTokenDOs;
+    }
+
+    @Override
+    public void streamActiveAccessTokenDataByConsumerKey(String consumerKey, int chunkSize,
+                                                         ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        flushPendingAccessTokens(pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens for client: " + consumerKey);
         }
 
-        Set<AccessTokenDO> accessTokenDOs = getActiveAcessTokenDataByConsumerKey(consumerKey,
-                IdentityUtil.getPrimaryDomainName());
+        streamActiveAccessTokenDataByConsumerKey(consumerKey, IdentityUtil.getPrimaryDomainName(), chunkSize,
+                consumer);
 
         if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
             Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
             for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
-                accessTokenDOs.addAll(getActiveAcessTokenDataByConsumerKey(consumerKey,
-                        availableDomainMapping.getKey()));
+                streamActiveAccessTokenDataByConsumerKey(consumerKey, availableDomainMapping.getKey(), chunkSize,
+                        consumer);
             }
         }
-        return accessTokenDOs;
     }
 
     /**
-     * Retrieves active AccessTokenDOs of specified user store for the given consumer key.
+     * Streams active AccessTokenDOs of specified user store for the given consumer key.
      *
-     * @param consumerKey
-     * @param userStoreDomain
-     * @return
-     * @throws IdentityOAuth2Exception
+     * @param consumerKey     Consumer key of the application.
+     * @param userStoreDomain User store domain of the partitioned token table.
+     * @param chunkSize       Maximum number of tokens in a chunk.
+     * @param consumer        Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
      */
-    private Set<AccessTokenDO> getActiveAcessTokenDataByConsumerKey(String consumerKey, String userStoreDomain)
+    private void streamActiveAccessTokenDataByConsumerKey(String consumerKey, String userStoreDomain, int chunkSize,
+                                                          ChunkConsumer<AccessTokenDO> consumer)
             throws IdentityOAuth2Exception {
 
-        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-        PreparedStatement ps = null;
-        ResultSet rs = null;
-        Set<AccessTokenDO> activeDetailedTokens;
-        Map<String, AccessTokenDO> tokenMap = new HashMap<>();
+        String sqlQuery;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sqlQuery = SQLQueries.GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY_IDP_NAME;
+        } else {
+            sqlQuery = SQLQueries.GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY;
+        }
+        String firstPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(
+                sqlQuery + SQLQueries.ORDER_BY_ACTIVE_DETAILS_TOKEN_ID, userStoreDomain);
+        String nextPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery +
+                SQLQueries.ACTIVE_DETAILS_TOKEN_ID_AFTER + SQLQueries.ORDER_BY_ACTIVE_DETAILS_TOKEN_ID,
+                userStoreDomain);
+        int appTenantId = IdentityTenantUtil.getLoginTenantId();
 
         try {
-            String sqlQuery;
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                sqlQuery = SQLQueries.GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY_IDP_NAME;
-            } else {
-                sqlQuery = SQLQueries.GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY;
-            }
-            sqlQuery = OAuth2Util.getTokenPartitionedSqlByUserStore(sqlQuery, userStoreDomain);
-
-            ps = connection.prepareStatement(sqlQuery);
-            ps.setString(1, consumerKey);
-            int appTenantId = IdentityTenantUtil.getLoginTenantId();
-            ps.setInt(2, appTenantId);
-            ps.setString(3, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String token = rs.getString(2);
-                if (tokenMap.containsKey(token)) {
-                    AccessTokenDO tokenObj = tokenMap.get(token);
-                    String[] previousScope = tokenObj.getScope();
-                    String[] newSope = new String[tokenObj.getScope().length + 1];
-                    System.arraycopy(previousScope, 0, newSope, 0, previousScope.length);
-                    newSope[previousScope.length] = rs.getString(5);
-                    tokenObj.setScope(newSope);
-                } else {
-                    String authzUser = rs.getString(1);
-                    int tenentId = rs.getInt(3);
-                    String userDomain = rs.getString(4);
-                    String tokenSope = rs.getString(5);
-                    String authorizedOrganizationId = null;
-                    String authenticatedIDP = null;
-                    if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                        authenticatedIDP = rs.getString(6);
-                        authorizedOrganizationId = rs.getString(8);
-                    }
-                    String[] scope = OAuth2Util.buildScopeArray(tokenSope);
-                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userDomain,
-                            OAuth2Util.getTenantDomain(tenentId), authenticatedIDP, authorizedOrganizationId,
-                            appTenantId);
-                    user.setAuthenticatedSubjectIdentifier(rs.getString(7));
-                    AccessTokenDO aTokenDetail = new AccessTokenDO();
-                    aTokenDetail.setAccessToken(token);
-                    aTokenDetail.setConsumerKey(consumerKey);
-                    aTokenDetail.setScope(scope);
-                    aTokenDetail.setAuthzUser(user);
-                    aTokenDetail.setAuthorizedOrganizationId(authorizedOrganizationId);
-                    tokenMap.put(token, aTokenDetail);
-                }
-            }
-            activeDetailedTokens = new HashSet<>(tokenMap.values());
+            consumeTokensInChunks(firstPageSql, nextPageSql, ps -> {
+                ps.setString(1, consumerKey);
+                ps.setInt(2, appTenantId);
+                ps.setString(3, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                return 4;
+            }, 5, chunkSize, resultSet -> buildActiveAccessTokenData(resultSet, consumerKey, appTenantId), consumer);
         } catch (SQLException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Error occurred while getting access tokens from acces token table for " +
                     "the application with consumer key : " + consumerKey, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, null, ps);
         }
+    }
 
-        return activeDetailedTokens;
+    private AccessTokenDO buildActiveAccessTokenData(ResultSet rs, String consumerKey, int appTenantId)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String authzUser = rs.getString(1);
+        String token = rs.getString(2);
+        int tenentId = rs.getInt(3);
+        String userDomain = rs.getString(4);
+        String tokenSope = rs.getString(5);
+        String authorizedOrganizationId = null;
+        String authenticatedIDP = null;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            authenticatedIDP = rs.getString(6);
+            authorizedOrganizationId = rs.getString(8);
+        }
+        String[] scope = OAuth2Util.buildScopeArray(tokenSope);
+        AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userDomain,
+                OAuth2Util.getTenantDomain(tenentId), authenticatedIDP, authorizedOrganizationId,
+                appTenantId);
+        user.setAuthenticatedSubjectIdentifier(rs.getString(7));
+        AccessTokenDO aTokenDetail = new AccessTokenDO();
+        aTokenDetail.setAccessToken(token);
+        aTokenDetail.setConsumerKey(consumerKey);
+        aTokenDetail.setScope(scope);
+        aTokenDetail.setAuthzUser(user);
+        aTokenDetail.setAuthorizedOrganizationId(authorizedOrganizationId);
+        return aTokenDetail;
     }
 
     /**
@@ -2117,7 +2591,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
             }
 
             if (isTokenCleanupFeatureEnabled && oldAccessTokenId != null) {
-                oldTokenCleanupObject.cleanupTokenByTokenId(oldAccessTokenId, connection);
+                cleanupOldToken(oldAccessTokenId, connection);
             }
             IdentityDatabaseUtil.commitTransaction(connection);
             tokenUpdateSuccessful = true;
@@ -2149,120 +2623,116 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getAccessTokensByTenant(int tenantId) throws IdentityOAuth2Exception {
 
+        Set<AccessTokenDO> accessTokenDOs = new HashSet<>();
+        streamAccessTokensByTenant(tenantId, OAuth2Util.getTokenListingChunkSize(), accessTokenDOs::addAll);
+        return accessTokenDOs;
+    }
+
+    @Override
+    public void streamAccessTokensByTenant(int tenantId, int chunkSize, ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        flushPendingAccessTokens(pendingTokensOfTenant(IdentityTenantUtil.getTenantDomain(tenantId)));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all access tokens of tenant id: " + tenantId);
         }
 
-        Set<AccessTokenDO> accessTokenDOs = getAccessTokensByTenant(tenantId, IdentityUtil.getPrimaryDomainName());
+        streamAccessTokensByTenant(tenantId, IdentityUtil.getPrimaryDomainName(), chunkSize, consumer);
 
         if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
             Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
             for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
-                accessTokenDOs.addAll(getAccessTokensByTenant(tenantId, availableDomainMapping.getKey()));
+                streamAccessTokensByTenant(tenantId, availableDomainMapping.getKey(), chunkSize, consumer);
             }
         }
-        return accessTokenDOs;
     }
 
     public Set<AccessTokenDO> getAccessTokensByAuthorizedOrg(String organizationId) throws IdentityOAuth2Exception {
 
+        Set<AccessTokenDO> accessTokenDOs = new HashSet<>();
+        streamAccessTokensByAuthorizedOrg(organizationId, OAuth2Util.getTokenListingChunkSize(),
+                accessTokenDOs::addAll);
+        return accessTokenDOs;
+    }
+
+    @Override
+    public void streamAccessTokensByAuthorizedOrg(String organizationId, int chunkSize,
+                                                  ChunkConsumer<AccessTokenDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        flushPendingAccessTokens(accessContextToken -> {
+            AuthenticatedUser authzUser = getPendingAuthzUser(accessContextToken);
+            return authzUser != null && StringUtils.equals(organizationId, authzUser.getAccessingOrganization());
+        });
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all access tokens issued for organization id: " + organizationId);
         }
 
-        Set<AccessTokenDO> accessTokenDOs =
-                getAccessTokensByAuthorizedOrg(organizationId, IdentityUtil.getPrimaryDomainName());
+        streamAccessTokensByAuthorizedOrg(organizationId, IdentityUtil.getPrimaryDomainName(), chunkSize, consumer);
 
         if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
             Map<String, String> availableDomainMappings = OAuth2Util.getAvailableUserStoreDomainMappings();
             for (Map.Entry<String, String> availableDomainMapping : availableDomainMappings.entrySet()) {
-                accessTokenDOs.addAll(getAccessTokensByAuthorizedOrg(organizationId, availableDomainMapping.getKey()));
+                streamAccessTokensByAuthorizedOrg(organizationId, availableDomainMapping.getKey(), chunkSize,
+                        consumer);
             }
         }
-        return accessTokenDOs;
     }
 
     /**
-     * Retrieves AccessTokenDOs of specified user store of the given tenant.
+     * Streams AccessTokenDOs of specified user store of the given tenant.
      *
-     * @param tenantId
-     * @param userStoreDomain
-     * @return
-     * @throws IdentityOAuth2Exception
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain of the partitioned token table.
+     * @param chunkSize       Maximum number of tokens in a chunk.
+     * @param consumer        Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the tokens.
      */
-    private Set<AccessTokenDO> getAccessTokensByTenant(int tenantId, String userStoreDomain)
-            throws IdentityOAuth2Exception {
+    private void streamAccessTokensByTenant(int tenantId, String userStoreDomain, int chunkSize,
+                                            ChunkConsumer<AccessTokenDO> consumer) throws IdentityOAuth2Exception {
 
         String organizationId = resolveOrganizationId(IdentityTenantUtil.getTenantDomain(tenantId));
         String rootTenantDomain = getRootTenantDomainByOrganizationId(organizationId);
-        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-        PreparedStatement prepStmt = null;
-        ResultSet resultSet = null;
-        Map<String, AccessTokenDO> accessTokenDOMap = new HashMap<>();
-        try {
-            String sql;
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                sql = SQLQueries.LIST_ALL_TOKENS_IN_TENANT_IDP_NAME;
-            } else {
-                sql = SQLQueries.LIST_ALL_TOKENS_IN_TENANT;
-            }
-            sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userStoreDomain);
-
-            prepStmt = connection.prepareStatement(sql);
-            prepStmt.setInt(1, tenantId);
-            resultSet = prepStmt.executeQuery();
-
-            while (resultSet.next()) {
-                String accessToken = getPersistenceProcessor().
-                        getPreprocessedAccessTokenIdentifier(resultSet.getString(1));
-                if (accessTokenDOMap.get(accessToken) == null) {
-                    String refreshToken = getPersistenceProcessor().getPreprocessedRefreshToken(resultSet.getString(2));
-                    Timestamp issuedTime = resultSet.getTimestamp(3, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                    Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(4, Calendar.getInstance(TimeZone
-                            .getTimeZone(UTC)));
-                    long validityPeriodInMillis = resultSet.getLong(5);
-                    long refreshTokenValidityPeriodMillis = resultSet.getLong(6);
-                    String tokenType = resultSet.getString(7);
-                    String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(8));
-                    String tokenId = resultSet.getString(9);
-                    String authzUser = resultSet.getString(10);
-                    userStoreDomain = resultSet.getString(11);
-                    String consumerKey = resultSet.getString(12);
-                    String authorizedOrganization = resultSet.getString(13);
-                    String authenticatedIDP = null;
-                    if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                        authenticatedIDP = resultSet.getString(14);
-                    }
+        String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
+        String sql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sql = SQLQueries.LIST_ALL_TOKENS_IN_TENANT_IDP_NAME;
+        } else {
+            sql = SQLQueries.LIST_ALL_TOKENS_IN_TENANT;
+        }
+        String firstPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.ORDER_BY_LISTED_TOKEN_ID,
+                userStoreDomain);
+        String nextPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.LISTED_TOKEN_ID_AFTER +
+                SQLQueries.ORDER_BY_LISTED_TOKEN_ID, userStoreDomain);
 
-                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userStoreDomain,
-                            OAuth2Util.getTenantDomain(tenantId), authenticatedIDP, authorizedOrganization,
-                            rootTenantDomain);
-                    AccessTokenDO dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime,
-                            refreshTokenIssuedTime, validityPeriodInMillis,
-                            refreshTokenValidityPeriodMillis, tokenType);
-                    dataDO.setAccessToken(accessToken);
-                    dataDO.setRefreshToken(refreshToken);
-                    dataDO.setTokenId(tokenId);
-                    dataDO.setTenantID(tenantId);
-                    accessTokenDOMap.put(accessToken, dataDO);
-                } else {
-                    String scope = resultSet.getString(8).trim();
-                    AccessTokenDO accessTokenDO = accessTokenDOMap.get(accessToken);
-                    accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(), scope));
+        try {
+            consumeTokensInChunks(firstPageSql, nextPageSql, prepStmt -> {
+                prepStmt.setInt(1, tenantId);
+                return 2;
+            }, 8, chunkSize, rs -> {
+                String authzUser = rs.getString(10);
+                String tokenUserStoreDomain = rs.getString(11);
+                String consumerKey = rs.getString(12);
+                String authorizedOrganization = rs.getString(13);
+                String authenticatedIDP = null;
+                if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+                    authenticatedIDP = rs.getString(14);
                 }
-            }
+                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, tokenUserStoreDomain,
+                        tenantDomain, authenticatedIDP, authorizedOrganization, rootTenantDomain);
+                return buildListedAccessToken(rs, consumerKey, user, tenantId);
+            }, consumer);
         } catch (SQLException e) {
             String errorMsg = "Error occurred while retrieving 'ACTIVE or EXPIRED' access tokens for " +
                     "user  tenant id : " + tenantId;
             throw new IdentityOAuth2Exception(errorMsg, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, prepStmt);
         }
-
-        return new HashSet<>(accessTokenDOMap.values());
     }
 
-    private Set<AccessTokenDO> getAccessTokensByAuthorizedOrg(String organizationId, String userStoreDomain)
+    private void streamAccessTokensByAuthorizedOrg(String organizationId, String userStoreDomain, int chunkSize,
+                                                   ChunkConsumer<AccessTokenDO> consumer)
             throws IdentityOAuth2Exception {
 
         String sql;
@@ -2271,138 +2741,198 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         } else {
             sql = SQLQueries.LIST_ALL_TOKENS_ISSUED_FOR_ORGANIZATION;
         }
-        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userStoreDomain);
+        String firstPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.ORDER_BY_LISTED_TOKEN_ID,
+                userStoreDomain);
+        String nextPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.LISTED_TOKEN_ID_AFTER +
+                SQLQueries.ORDER_BY_LISTED_TOKEN_ID, userStoreDomain);
         String rootTenantDomain = getRootTenantDomainByOrganizationId(organizationId);
-        Map<String, AccessTokenDO> accessTokenDOMap = new HashMap<>();
-        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
-            prepStmt.setString(1, organizationId);
-            try (ResultSet resultSet = prepStmt.executeQuery()) {
-                while (resultSet.next()) {
-                    String accessToken = getPersistenceProcessor().
-                            getPreprocessedAccessTokenIdentifier(resultSet.getString(1));
-                    if (accessTokenDOMap.get(accessToken) == null) {
-                        String refreshToken =
-                                getPersistenceProcessor().getPreprocessedRefreshToken(resultSet.getString(2));
-                        Timestamp issuedTime =
-                                resultSet.getTimestamp(3, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                        Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(4, Calendar.getInstance(TimeZone
-                                .getTimeZone(UTC)));
-                        long validityPeriodInMillis = resultSet.getLong(5);
-                        long refreshTokenValidityPeriodMillis = resultSet.getLong(6);
-                        String tokenType = resultSet.getString(7);
-                        String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(8));
-                        String tokenId = resultSet.getString(9);
-                        String authzUser = resultSet.getString(10);
-                        int tenantId = resultSet.getInt(11);
-                        userStoreDomain = resultSet.getString(12);
-                        String consumerKey = resultSet.getString(13);
-                        String authenticatedIDP = null;
-                        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                            authenticatedIDP = resultSet.getString(14);
-                        }
-
-                        AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userStoreDomain,
-                                OAuth2Util.getTenantDomain(tenantId), authenticatedIDP, organizationId,
-                                rootTenantDomain);
-                        AccessTokenDO dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime,
-                                refreshTokenIssuedTime, validityPeriodInMillis,
-                                refreshTokenValidityPeriodMillis, tokenType);
-                        dataDO.setAccessToken(accessToken);
-                        dataDO.setRefreshToken(refreshToken);
-                        dataDO.setTokenId(tokenId);
-                        dataDO.setTenantID(tenantId);
-                        dataDO.setAuthorizedOrganizationId(organizationId);
-                        accessTokenDOMap.put(accessToken, dataDO);
-                    } else {
-                        String scope = resultSet.getString(8).trim();
-                        AccessTokenDO accessTokenDO = accessTokenDOMap.get(accessToken);
-                        accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(), scope));
-                    }
+        try {
+            consumeTokensInChunks(firstPageSql, nextPageSql, prepStmt -> {
+                prepStmt.setString(1, organizationId);
+                return 2;
+            }, 8, chunkSize, rs -> {
+                String authzUser = rs.getString(10);
+                int tenantId = rs.getInt(11);
+                String tokenUserStoreDomain = rs.getString(12);
+                String consumerKey = rs.getString(13);
+                String authenticatedIDP = null;
+                if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+                    authenticatedIDP = rs.getString(14);
                 }
-            }
+                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, tokenUserStoreDomain,
+                        OAuth2Util.getTenantDomain(tenantId), authenticatedIDP, organizationId, rootTenantDomain);
+                AccessTokenDO dataDO = buildListedAccessToken(rs, consumerKey, user, tenantId);
+                dataDO.setAuthorizedOrganizationId(organizationId);
+                return dataDO;
+            }, consumer);
         } catch (SQLException e) {
             String errorMsg = "Error occurred while retrieving 'ACTIVE or EXPIRED' access tokens issued for" +
                     "organization: " + organizationId;
             throw new IdentityOAuth2Exception(errorMsg, e);
         }
-        return new HashSet<>(accessTokenDOMap.values());
     }
 
     @Override
     public Set<AccessTokenDO> getAccessTokensOfUserStore(int tenantId, String userStoreDomain) throws
             IdentityOAuth2Exception {
 
+        Set<AccessTokenDO> accessTokenDOs = new HashSet<>();
+        streamAccessTokensOfUserStore(tenantId, userStoreDomain, OAuth2Util.getTokenListingChunkSize(),
+                accessTokenDOs::addAll);
+        return accessTokenDOs;
+    }
+
+    @Override
+    public void streamAccessTokensOfUserStore(int tenantId, String userStoreDomain, int chunkSize,
+                                              ChunkConsumer<AccessTokenDO> consumer) throws IdentityOAuth2Exception {
+
+        flushPendingAccessTokens(pendingTokensOfTenant(IdentityTenantUtil.getTenantDomain(tenantId))
+                .and(accessContextToken -> StringUtils.equalsIgnoreCase(userStoreDomain,
+                        getPendingAuthzUser(accessContextToken).getUserStoreDomain())));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving all ACTIVE and EXPIRED access tokens of userstore: " + userStoreDomain + " tenant " +
                     "id: " + tenantId);
         }
         // we do not support access token partitioning here
-        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+        String sanitizedUserStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
+        String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
+        String sql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sql = SQLQueries.LIST_ALL_TOKENS_IN_USER_STORE_IDP_NAME;
+        } else {
+            sql = SQLQueries.LIST_ALL_TOKENS_IN_USER_STORE;
+        }
+        String firstPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.ORDER_BY_LISTED_TOKEN_ID,
+                sanitizedUserStoreDomain);
+        String nextPageSql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql + SQLQueries.LISTED_TOKEN_ID_AFTER +
+                SQLQueries.ORDER_BY_LISTED_TOKEN_ID, sanitizedUserStoreDomain);
 
-        userStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
-        PreparedStatement prepStmt = null;
-        ResultSet resultSet = null;
-        Map<String, AccessTokenDO> accessTokenDOMap = new HashMap<>();
         try {
-            String sql;
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                sql = SQLQueries.LIST_ALL_TOKENS_IN_USER_STORE_IDP_NAME;
-            } else {
-                sql = SQLQueries.LIST_ALL_TOKENS_IN_USER_STORE;
-            }
-            sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userStoreDomain);
+            consumeTokensInChunks(firstPageSql, nextPageSql, prepStmt -> {
+                prepStmt.setInt(1, tenantId);
+                prepStmt.setString(2, sanitizedUserStoreDomain);
+                return 3;
+            }, 8, chunkSize, rs -> {
+                String authzUser = rs.getString(10);
+                String consumerKey = rs.getString(11);
+                String authenticatedIDP = null;
+                if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+                    authenticatedIDP = rs.getString(12);
+                }
+                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, sanitizedUserStoreDomain,
+                        tenantDomain, authenticatedIDP);
+                return buildListedAccessToken(rs, consumerKey, user, tenantId);
+            }, consumer);
+        } catch (SQLException e) {
+            String errorMsg = "Error occurred while retrieving 'ACTIVE or EXPIRED' access tokens for " +
+                    "user in store domain : " + sanitizedUserStoreDomain + " and tenant id : " + tenantId;
+            throw new IdentityOAuth2Exception(errorMsg, e);
+        }
+    }
 
-            prepStmt = connection.prepareStatement(sql);
-            prepStmt.setInt(1, tenantId);
-            prepStmt.setString(2, userStoreDomain);
-            resultSet = prepStmt.executeQuery();
+    /**
+     * Builds an access token from the columns shared by the token listing queries of a tenant, an organization and a
+     * user store.
+     */
+    private AccessTokenDO buildListedAccessToken(ResultSet resultSet, String consumerKey, AuthenticatedUser user,
+                                                 int tenantId) throws SQLException, IdentityOAuth2Exception {
+
+        String accessToken = getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(resultSet.getString(1));
+        String refreshToken = getPersistenceProcessor().getPreprocessedRefreshToken(resultSet.getString(2));
+        Timestamp issuedTime = resultSet.getTimestamp(3, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(4, Calendar.getInstance(TimeZone
+                .getTimeZone(UTC)));
+        long validityPeriodInMillis = resultSet.getLong(5);
+        long refreshTokenValidityPeriodMillis = resultSet.getLong(6);
+        String tokenType = resultSet.getString(7);
+        String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(8));
+        String tokenId = resultSet.getString(9);
+
+        AccessTokenDO dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime, refreshTokenIssuedTime,
+                validityPeriodInMillis, refreshTokenValidityPeriodMillis, tokenType);
+        dataDO.setAccessToken(accessToken);
+        dataDO.setRefreshToken(refreshToken);
+        dataDO.setTokenId(tokenId);
+        dataDO.setTenantID(tenantId);
+        return dataDO;
+    }
 
-            while (resultSet.next()) {
-                String accessToken =
-                        getPersistenceProcessor().getPreprocessedAccessTokenIdentifier(resultSet.getString(1));
-                if (accessTokenDOMap.get(accessToken) == null) {
-                    String refreshToken = getPersistenceProcessor().getPreprocessedRefreshToken(resultSet.getString(2));
-                    Timestamp issuedTime = resultSet.getTimestamp(3, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                    Timestamp refreshTokenIssuedTime = resultSet.getTimestamp(4, Calendar.getInstance(TimeZone
-                            .getTimeZone(UTC)));
-                    long validityPeriodInMillis = resultSet.getLong(5);
-                    long refreshTokenValidityPeriodMillis = resultSet.getLong(6);
-                    String tokenType = resultSet.getString(7);
-                    String[] scope = OAuth2Util.buildScopeArray(resultSet.getString(8));
-                    String tokenId = resultSet.getString(9);
-                    String authzUser = resultSet.getString(10);
-                    String consumerKey = resultSet.getString(11);
-                    String authenticatedIDP = null;
-                    if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                        authenticatedIDP = resultSet.getString(12);
+    /**
+     * Reads the tokens of a token listing query page by page and hands them over to the consumer in chunks, so that the
+     * listing is never held in memory at once. The pages are read with keyset pagination on the token id, and the
+     * connection of a page is closed before its chunk is consumed. Hence the consumer can revoke the tokens without a
+     * cursor being held open on the token table, which could deadlock on databases that lock the rows read by a cursor.
+     * <p>
+     * A token is read as one row per scope, hence the rows are ordered by the token id. When a page is full, the scope
+     * rows of its last token may continue on the next page, hence the last token is read again with the next page.
+     *
+     * @param firstPageSql    Token listing query of the first page, ordered by the token id.
+     * @param nextPageSql     Token listing query of the tokens after a given token id, ordered by the token id.
+     * @param parameterSetter Sets the parameters of the listing query, except the token id of the next pages.
+     * @param scopeColumn     Index of the token scope column.
+     * @param chunkSize       Maximum number of tokens in a chunk.
+     * @param rowMapper       Builds a token from the first row of the token.
+     * @param consumer        Consumer of the chunks.
+     */
+    private void consumeTokensInChunks(String firstPageSql, String nextPageSql, ListingParameterSetter parameterSetter,
+                                       int scopeColumn, int chunkSize, ListedTokenMapper rowMapper,
+                                       ChunkConsumer<AccessTokenDO> consumer)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String lastTokenId = null;
+        int pageSize = chunkSize;
+        while (true) {
+            Map<String, AccessTokenDO> page = new LinkedHashMap<>();
+            String lastRowTokenId = null;
+            int rowCount = 0;
+            try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+                 PreparedStatement prepStmt = connection.prepareStatement(lastTokenId == null ? firstPageSql :
+                         nextPageSql)) {
+                prepStmt.setMaxRows(pageSize);
+                prepStmt.setFetchSize(pageSize);
+                int parameterIndex = parameterSetter.setParameters(prepStmt);
+                if (lastTokenId != null) {
+                    prepStmt.setString(parameterIndex, lastTokenId);
+                }
+                try (ResultSet resultSet = prepStmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        rowCount++;
+                        lastRowTokenId = resultSet.getString(OAuthColumnName.TOKEN_ID);
+                        AccessTokenDO accessTokenDO = page.get(lastRowTokenId);
+                        if (accessTokenDO == null) {
+                            page.put(lastRowTokenId, rowMapper.map(resultSet));
+                            continue;
+                        }
+                        String scope = resultSet.getString(scopeColumn);
+                        if (scope != null) {
+                            accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(), scope.trim()));
+                        }
                     }
+                }
+            }
 
-                    AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userStoreDomain,
-                            OAuth2Util.getTenantDomain(tenantId), authenticatedIDP);
-                    AccessTokenDO dataDO = new AccessTokenDO(consumerKey, user, scope, issuedTime,
-                            refreshTokenIssuedTime, validityPeriodInMillis,
-                            refreshTokenValidityPeriodMillis, tokenType);
-                    dataDO.setAccessToken(accessToken);
-                    dataDO.setRefreshToken(refreshToken);
-                    dataDO.setTokenId(tokenId);
-                    dataDO.setTenantID(tenantId);
-                    accessTokenDOMap.put(accessToken, dataDO);
-                } else {
-                    String scope = resultSet.getString(8).trim();
-                    AccessTokenDO accessTokenDO = accessTokenDOMap.get(accessToken);
-                    accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(), scope));
+            boolean isLastPage = rowCount < pageSize;
+            if (!isLastPage) {
+                page.remove(lastRowTokenId);
+                if (page.isEmpty()) {
+                    // The scope rows of a single token do not fit in a page, hence the page is enlarged.
+                    pageSize = pageSize > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : pageSize * 2;
+                    continue;
                 }
             }
-        } catch (SQLException e) {
-            String errorMsg = "Error occurred while retrieving 'ACTIVE or EXPIRED' access tokens for " +
-                    "user in store domain : " + userStoreDomain + " and tenant id : " + tenantId;
-            throw new IdentityOAuth2Exception(errorMsg, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, resultSet, prepStmt);
+            if (!page.isEmpty()) {
+                List<AccessTokenDO> chunk = new ArrayList<>(page.values());
+                for (String tokenId : page.keySet()) {
+                    lastTokenId = tokenId;
+                }
+                consumer.accept(chunk);
+            }
+            if (isLastPage) {
+                return;
+            }
+            pageSize = chunkSize;
         }
-
-        return new HashSet<>(accessTokenDOMap.values());
     }
 
     @Override
@@ -2589,8 +3119,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     }
 
     private void recoverFromConAppKeyConstraintViolation(String accessToken, String consumerKey, AccessTokenDO
-            accessTokenDO, Connection connection, String userStoreDomain, int retryAttemptCounter)
-            throws IdentityOAuth2Exception {
+            accessTokenDO, Connection connection, String userStoreDomain, Integer appTenantId,
+                                                         int retryAttemptCounter) throws IdentityOAuth2Exception {
         try {
             connection.setAutoCommit(false);
             log.warn("Retry attempt to recover 'CON_APP_KEY' constraint violation : " + retryAttemptCounter);
@@ -2616,7 +3146,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessTokenDO.getAccessToken(), consumerKey, accessTokenDO, connection,
-                            userStoreDomain, retryAttemptCounter);
+                            userStoreDomain, appTenantId, retryAttemptCounter);
                 } else if (OAuth2Util.getAccessTokenExpireMillis(latestActiveToken) != 0 &&
                         (latestNonActiveToken == null || latestActiveToken.getIssuedTime().after
                                 (latestNonActiveToken.getIssuedTime()))) {
@@ -2645,7 +3175,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                            retryAttemptCounter);
+                            appTenantId, retryAttemptCounter);
 
                 } else {
                     // Inactivate latest active token.
@@ -2656,7 +3186,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                     // Update token issued time make this token as latest token & try to store it again.
                     accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                     insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                            retryAttemptCounter);
+                            appTenantId, retryAttemptCounter);
                 }
             } else {
                 // In this case another process already updated the latest active token to inactive.
@@ -2664,7 +3194,7 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
                 // Update token issued time make this token as latest token & try to store it again.
                 accessTokenDO.setIssuedTime(new Timestamp(new Date().getTime()));
                 insertAccessToken(accessToken, consumerKey, accessTokenDO, connection, userStoreDomain,
-                        retryAttemptCounter);
+                        appTenantId, retryAttemptCounter);
             }
             connection.commit();
         } catch (SQLException e) {
@@ -2938,6 +3468,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getActiveTokenSetWithTokenIdByConsumerKeyForOpenidScope(String consumerKey)
             throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access token set with token id of client: " + consumerKey);
         }
@@ -2965,6 +3497,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getActiveTokenSetWithTokenIdByConsumerKeyAndScope(String consumerKey, List<String> scopes)
             throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access token set with token id of client: " + consumerKey);
         }
@@ -3140,6 +3674,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     public Set<AccessTokenDO> getAccessTokensByBindingRef(AuthenticatedUser user, String bindingRef)
             throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensWithBindingRef(bindingRef));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens issued to user, " + user.getUserName() + " with binding " +
                     "reference " + bindingRef);
@@ -3209,6 +3745,8 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
     @Override
     public Set<AccessTokenDO> getAccessTokensByBindingRef(String bindingRef) throws IdentityOAuth2Exception {
 
+        flushPendingAccessTokens(pendingTokensWithBindingRef(bindingRef));
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving active access tokens issued with binding reference : " + bindingRef);
         }
@@ -3344,4 +3882,44 @@ public class AccessTokenDAOImpl extends AbstractOAuthDAO implements AccessTokenD
         OAuth2TokenUtil.postUpdateAccessTokens(tokens, OAuthConstants.TokenStates.
                 TOKEN_STATE_REVOKED);
     }
+
+    /**
+     * Clean up an access token which is no longer active. When the {@link TokenPurgeService} is enabled, the token is
+     * handed over to it, so that moving the token to the audit table is not part of the current transaction.
+     *
+     * @param tokenId    Token id of the old access token.
+     * @param connection Database connection of the current transaction.
+     * @throws SQLException If the token could not be cleaned up inline.
+     */
+    private void cleanupOldToken(String tokenId, Connection connection) throws SQLException {
+
+        if (!TokenPurgeService.getInstance().submit(tokenId)) {
+            oldTokenCleanupObject.cleanupTokenByTokenId(tokenId, connection);
+        }
+    }
+
+    private void cleanupOldTokenByHash(String accessTokenHash, Connection connection) throws SQLException {
+
+        if (!TokenPurgeService.getInstance().submitByHash(accessTokenHash)) {
+            oldTokenCleanupObject.cleanupTokenByTokenValue(accessTokenHash, connection);
+        }
+    }
+
+    /**
+     * Builds a token from the first row of the token read by a token listing query.
+     */
+    @FunctionalInterface
+    private interface ListedTokenMapper {
+
+        AccessTokenDO map(ResultSet resultSet) throws SQLException, IdentityOAuth2Exception;
+    }
+
+    /**
+     * Sets the parameters of a token listing query and returns the index of the next parameter.
+     */
+    @FunctionalInterface
+    private interface ListingParameterSetter {
+
+        int setParameters(PreparedStatement preparedStatement) throws SQLException;
+    }
 }
@@ -0,0 +1,599 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * Write-behind pipeline which persists access tokens asynchronously.
+ * <p>
+ * Issued tokens are handed over to a bounded queue and drained by a set of {@link TokenPersistenceTask} writers,
+ * which persist them with {@link AccessTokenDAO#insertAccessTokens(List)} so that many tokens share a single
+ * transaction and JDBC batch. The issuing thread must add the token to the OAuth cache before the response is
+ * returned, so that the token can be resolved before it reaches the database.
+ * <p>
+ * Queued tokens are tracked until they are written, so that token lookups can resolve them and revocations can
+ * {@link #flush(Predicate)} the tokens they concern to the database before updating their state. Tokens which can not
+ * be persisted are removed from the OAuth cache, so that a token which is not in the database can not be used, and
+ * are not kept anywhere else.
+ * <p>
+ * The pipeline is disabled by default and only applies to the configured grant types. When the queue is full, the
+ * caller is expected to persist the token synchronously, which provides backpressure. Pending tokens are flushed when
+ * the pipeline is shut down.
+ */
+public class AccessTokenPersistencePipeline {
+
+    private static final Log log = LogFactory.getLog(AccessTokenPersistencePipeline.class);
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_WRITER_COUNT = 4;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final long DEFAULT_ENQUEUE_TIMEOUT_MILLIS = 50;
+    private static final int DEFAULT_MAX_RETRY_COUNT = 3;
+    private static final long DEFAULT_RETRY_BACKOFF_MILLIS = 200;
+    private static final long DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 30000;
+    private static final long DEFAULT_FLUSH_TIMEOUT_MILLIS = 10000;
+    private static final String DEFAULT_GRANT_TYPES = "client_credentials";
+
+    private static volatile AccessTokenPersistencePipeline instance;
+
+    private final boolean enabled;
+    private final Set<String> grantTypes;
+    private final int writerCount;
+    private final int batchSize;
+    private final long enqueueTimeoutMillis;
+    private final int maxRetryCount;
+    private final long retryBackoffMillis;
+    private final long shutdownTimeoutMillis;
+    private final BlockingQueue<AccessContextTokenDO> queue;
+    // Queued and in-flight tokens, keyed by the persisted access token identifier.
+    private final ConcurrentMap<String, AccessContextTokenDO> pendingTokens = new ConcurrentHashMap<>();
+    // Pending tokens persisted against an alias, e.g. the JTI of a JWT, indexed by the token itself.
+    private final ConcurrentMap<String, AccessContextTokenDO> pendingTokensByAccessToken = new ConcurrentHashMap<>();
+    private final Object pendingTokensMonitor = new Object();
+    // Submissions hold the read lock, so that no token is accepted once the shutdown has stopped the writers.
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder persistedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+
+    private ExecutorService writers;
+    private List<TokenPersistenceTask> tasks;
+    private volatile boolean running;
+
+    AccessTokenPersistencePipeline(boolean enabled, Set<String> grantTypes, int queueSize, int writerCount,
+                                   int batchSize, long enqueueTimeoutMillis, int maxRetryCount,
+                                   long retryBackoffMillis, long shutdownTimeoutMillis) {
+
+        this.enabled = enabled;
+        this.grantTypes = grantTypes;
+        this.writerCount = Math.max(1, writerCount);
+        this.batchSize = Math.max(1, batchSize);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.maxRetryCount = Math.max(0, maxRetryCount);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    /**
+     * Get the shared pipeline, configured from the OAuth.TokenPersistence.AsyncPersistence section of
+     * identity.xml. The writer threads are started on first use when the pipeline is enabled.
+     *
+     * @return Access token persistence pipeline.
+     */
+    public static AccessTokenPersistencePipeline getInstance() {
+
+        if (instance == null) {
+            synchronized (AccessTokenPersistencePipeline.class) {
+                if (instance == null) {
+                    AccessTokenPersistencePipeline pipeline = new AccessTokenPersistencePipeline(
+                            Boolean.parseBoolean(IdentityUtil.getProperty(
+                                    OAuth2Constants.AsyncTokenPersistence.ENABLE)),
+                            readGrantTypes(),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.QUEUE_SIZE, DEFAULT_QUEUE_SIZE),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.WRITER_COUNT, DEFAULT_WRITER_COUNT),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.ENQUEUE_TIMEOUT,
+                                    (int) DEFAULT_ENQUEUE_TIMEOUT_MILLIS),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.MAX_RETRY_COUNT,
+                                    DEFAULT_MAX_RETRY_COUNT),
+                            getIntProperty(OAuth2Constants.AsyncTokenPersistence.RETRY_BACKOFF,
+                                    (int) DEFAULT_RETRY_BACKOFF_MILLIS),
+                            DEFAULT_SHUTDOWN_TIMEOUT_MILLIS);
+                    if (pipeline.isEnabled()) {
+                        pipeline.start();
+                    }
+                    instance = pipeline;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the shared pipeline without creating it. Tokens can only be pending when the pipeline was created.
+     *
+     * @return Access token persistence pipeline, or null if it was not created.
+     */
+    static AccessTokenPersistencePipeline getInstanceIfCreated() {
+
+        return instance;
+    }
+
+    /**
+     * Check whether tokens issued for the given grant type can be persisted through the pipeline.
+     *
+     * @param grantType Grant type of the token request.
+     * @return True if the pipeline is running and configured for the grant type.
+     */
+    public boolean isApplicable(String grantType) {
+
+        return enabled && running && grantType != null && grantTypes.contains(grantType);
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Hand over an access token to the pipeline. The identifiers which depend on the request context are resolved
+     * on the calling thread, as the writers run without one.
+     *
+     * @param accessToken       Access token.
+     * @param consumerKey       Client id.
+     * @param newAccessTokenDO  Token to persist.
+     * @param existingAccessTokenDO Existing token to mark as expired, if any.
+     * @param userStoreDomain   User store domain.
+     * @return True if the token was queued. False if the pipeline is not running or is full, in which case the caller
+     * must persist the token synchronously.
+     * @throws IdentityOAuth2Exception If the request context dependent identifiers could not be resolved.
+     */
+    public boolean submit(String accessToken, String consumerKey, AccessTokenDO newAccessTokenDO,
+                          AccessTokenDO existingAccessTokenDO, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        if (!running) {
+            return false;
+        }
+        AccessContextTokenDO accessContextToken = new AccessContextTokenDO(accessToken, consumerKey,
+                newAccessTokenDO, existingAccessTokenDO, userStoreDomain);
+        accessContextToken.setAccessTokenIdentifier(
+                AccessTokenDAOImpl.resolveAccessTokenIdentifier(accessToken, consumerKey));
+        accessContextToken.setAppTenantId(AccessTokenDAOImpl.resolveApplicationTenantId());
+        accessContextToken.setTenantDomain(PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantDomain());
+
+        lifecycleLock.readLock().lock();
+        try {
+            // Checked again under the lock, as the pipeline may have been shut down in the meantime.
+            if (!running) {
+                return false;
+            }
+            if (enqueue(accessContextToken)) {
+                submittedCount.increment();
+                return true;
+            }
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        overflowCount.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Access token persistence queue is full. Persisting the token of the token id: " +
+                    newAccessTokenDO.getTokenId() + " synchronously.");
+        }
+        return false;
+    }
+
+    /**
+     * Get a token which is queued for persistence and not written yet.
+     *
+     * @param accessTokenIdentifier Persisted access token identifier, or the access token itself.
+     * @return Pending access token, or null if there is no pending token with the identifier.
+     */
+    public AccessTokenDO getPendingAccessToken(String accessTokenIdentifier) {
+
+        if (accessTokenIdentifier == null || pendingTokens.isEmpty()) {
+            return null;
+        }
+        AccessContextTokenDO accessContextToken = pendingTokens.get(accessTokenIdentifier);
+        if (accessContextToken == null) {
+            accessContextToken = pendingTokensByAccessToken.get(accessTokenIdentifier);
+        }
+        return accessContextToken != null ? accessContextToken.getNewAccessTokenDO() : null;
+    }
+
+    /**
+     * Write the pending tokens with the given identifiers to the database, so that a following state update finds
+     * them.
+     *
+     * @param accessTokenIdentifiers Persisted access token identifiers, or the access tokens themselves.
+     */
+    public void flush(Collection<String> accessTokenIdentifiers) {
+
+        if (pendingTokens.isEmpty()) {
+            return;
+        }
+        List<AccessContextTokenDO> matching = new ArrayList<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            AccessContextTokenDO accessContextToken = pendingTokens.get(accessTokenIdentifier);
+            if (accessContextToken == null) {
+                accessContextToken = pendingTokensByAccessToken.get(accessTokenIdentifier);
+            }
+            if (accessContextToken != null) {
+                matching.add(accessContextToken);
+            }
+        }
+        flushPending(matching);
+    }
+
+    /**
+     * Write the pending tokens which match the filter to the database, so that a following state update or listing
+     * finds them. Only the matching tokens are written or waited for, so that a call which concerns one client or
+     * user is not held up by the tokens pending for the others.
+     *
+     * @param filter Filter of the tokens the call concerns.
+     */
+    public void flush(Predicate<AccessContextTokenDO> filter) {
+
+        if (pendingTokens.isEmpty()) {
+            return;
+        }
+        List<AccessContextTokenDO> matching = new ArrayList<>();
+        for (AccessContextTokenDO accessContextToken : pendingTokens.values()) {
+            if (filter.test(accessContextToken)) {
+                matching.add(accessContextToken);
+            }
+        }
+        flushPending(matching);
+    }
+
+    /**
+     * Queued tokens are taken out of the queue and persisted on the calling thread, while tokens already taken by a
+     * writer are waited for, up to the flush timeout.
+     */
+    private void flushPending(List<AccessContextTokenDO> matching) {
+
+        if (matching.isEmpty()) {
+            return;
+        }
+        List<AccessContextTokenDO> taken = new ArrayList<>();
+        for (AccessContextTokenDO accessContextToken : matching) {
+            if (queue.remove(accessContextToken)) {
+                taken.add(accessContextToken);
+            }
+        }
+        int from = 0;
+        try {
+            for (; from < taken.size(); from += batchSize) {
+                persist(taken.subList(from, Math.min(taken.size(), from + batchSize)));
+            }
+            awaitPersisted(matching);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while flushing the pending access tokens.");
+            // The tokens of the interrupted batch which were not written are failed by the task, while the following
+            // batches are handed back to the writers.
+            if (from + batchSize < taken.size()) {
+                requeue(taken.subList(from + batchSize, taken.size()));
+            }
+        }
+    }
+
+    /**
+     * Start the writer threads.
+     */
+    public void start() {
+
+        lifecycleLock.writeLock().lock();
+        try {
+            if (running) {
+                return;
+            }
+            startWriters();
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+    }
+
+    private void startWriters() {
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "oauth-token-persistence-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        writers = Executors.newFixedThreadPool(writerCount, threadFactory);
+        tasks = new ArrayList<>(writerCount);
+        running = true;
+        for (int i = 0; i < writerCount; i++) {
+            TokenPersistenceTask task = new TokenPersistenceTask(queue, this);
+            tasks.add(task);
+            writers.execute(task);
+        }
+        log.info("Asynchronous access token persistence is enabled for the grant types: " + grantTypes +
+                " with " + writerCount + " writers.");
+    }
+
+    /**
+     * Stop accepting tokens and flush the queued tokens, waiting up to the shutdown timeout. Tokens which are not
+     * written by the writers within the timeout are persisted on the calling thread.
+     */
+    public void shutdown() {
+
+        lifecycleLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            // Once the write lock is held no submission is in flight, so every accepted token is in the queue.
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        for (TokenPersistenceTask task : tasks) {
+            task.stop();
+        }
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Access token persistence writers did not finish within " + shutdownTimeoutMillis +
+                        " ms. " + queue.size() + " queued tokens are persisted synchronously.");
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writers.shutdownNow();
+        }
+        List<AccessContextTokenDO> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        try {
+            for (int from = 0; from < remaining.size(); from += batchSize) {
+                persist(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while persisting the queued access tokens on shutdown.");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Access token persistence pipeline is stopped. Submitted: " + getSubmittedCount() +
+                    ", persisted: " + getPersistedCount() + ", batches: " + getBatchCount() + ", overflowed: " +
+                    getOverflowCount() + ", failed: " + getFailedCount());
+        }
+    }
+
+    int getBatchSize() {
+
+        return batchSize;
+    }
+
+    int getMaxRetryCount() {
+
+        return maxRetryCount;
+    }
+
+    long getRetryBackoffMillis() {
+
+        return retryBackoffMillis;
+    }
+
+    void recordBatch(int size) {
+
+        batchCount.increment();
+        persistedCount.add(size);
+    }
+
+    void recordPersisted() {
+
+        persistedCount.increment();
+    }
+
+    void recordFailed() {
+
+        failedCount.increment();
+    }
+
+    /**
+     * Stop tracking tokens which were written, or could not be written, and wake up the flushes waiting for them.
+     *
+     * @param accessContextTokens Access tokens which are no longer pending.
+     */
+    void complete(Collection<AccessContextTokenDO> accessContextTokens) {
+
+        if (accessContextTokens.isEmpty()) {
+            return;
+        }
+        for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+            removePending(accessContextToken);
+        }
+        synchronized (pendingTokensMonitor) {
+            pendingTokensMonitor.notifyAll();
+        }
+    }
+
+    public int getPendingCount() {
+
+        return pendingTokens.size();
+    }
+
+    public int getQueueSize() {
+
+        return queue.size();
+    }
+
+    public long getSubmittedCount() {
+
+        return submittedCount.sum();
+    }
+
+    public long getOverflowCount() {
+
+        return overflowCount.sum();
+    }
+
+    public long getPersistedCount() {
+
+        return persistedCount.sum();
+    }
+
+    public long getBatchCount() {
+
+        return batchCount.sum();
+    }
+
+    public long getFailedCount() {
+
+        return failedCount.sum();
+    }
+
+    boolean enqueue(AccessContextTokenDO accessContextToken) {
+
+        // Tracked before the token is queued, so that a writer can not complete it before it is tracked.
+        String key = getPendingKey(accessContextToken);
+        if (key != null) {
+            if (isPersistedAgainstAlias(accessContextToken)) {
+                pendingTokensByAccessToken.put(accessContextToken.getAccessToken(), accessContextToken);
+            }
+            pendingTokens.put(key, accessContextToken);
+        }
+        try {
+            if (queue.offer(accessContextToken, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        removePending(accessContextToken);
+        return false;
+    }
+
+    private void removePending(AccessContextTokenDO accessContextToken) {
+
+        String key = getPendingKey(accessContextToken);
+        if (key != null) {
+            pendingTokens.remove(key, accessContextToken);
+            if (isPersistedAgainstAlias(accessContextToken)) {
+                pendingTokensByAccessToken.remove(accessContextToken.getAccessToken(), accessContextToken);
+            }
+        }
+    }
+
+    private void awaitPersisted(List<AccessContextTokenDO> accessContextTokens) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + DEFAULT_FLUSH_TIMEOUT_MILLIS;
+        synchronized (pendingTokensMonitor) {
+            for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+                String key = getPendingKey(accessContextToken);
+                while (key != null && pendingTokens.get(key) == accessContextToken) {
+                    long remainingMillis = deadline - System.currentTimeMillis();
+                    if (remainingMillis <= 0) {
+                        log.warn("Pending access tokens are not persisted within " + DEFAULT_FLUSH_TIMEOUT_MILLIS +
+                                " ms.");
+                        return;
+                    }
+                    pendingTokensMonitor.wait(remainingMillis);
+                }
+            }
+        }
+    }
+
+    private void persist(List<AccessContextTokenDO> batch) throws InterruptedException {
+
+        new TokenPersistenceTask(queue, this).persist(new ArrayList<>(batch));
+    }
+
+    private void requeue(List<AccessContextTokenDO> accessContextTokens) {
+
+        List<AccessContextTokenDO> rejected = new ArrayList<>();
+        for (AccessContextTokenDO accessContextToken : accessContextTokens) {
+            if (!running || !queue.offer(accessContextToken)) {
+                rejected.add(accessContextToken);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            TokenPersistenceTask task = new TokenPersistenceTask(queue, this);
+            for (AccessContextTokenDO accessContextToken : rejected) {
+                task.fail(accessContextToken, null);
+            }
+            complete(rejected);
+        }
+    }
+
+    private static boolean isPersistedAgainstAlias(AccessContextTokenDO accessContextToken) {
+
+        return accessContextToken.getAccessTokenIdentifier() != null && accessContextToken.getAccessToken() != null &&
+                !accessContextToken.getAccessTokenIdentifier().equals(accessContextToken.getAccessToken());
+    }
+
+    private static String getPendingKey(AccessContextTokenDO accessContextToken) {
+
+        if (accessContextToken.getAccessTokenIdentifier() != null) {
+            return accessContextToken.getAccessTokenIdentifier();
+        }
+        return accessContextToken.getAccessToken();
+    }
+
+    private static Set<String> readGrantTypes() {
+
+        String grantTypes = IdentityUtil.getProperty(OAuth2Constants.AsyncTokenPersistence.GRANT_TYPES);
+        if (StringUtils.isBlank(grantTypes)) {
+            grantTypes = DEFAULT_GRANT_TYPES;
+        }
+        Set<String> grantTypeSet = new HashSet<>();
+        for (String grantType : grantTypes.split(",")) {
+            if (StringUtils.isNotBlank(grantType)) {
+                grantTypeSet.add(grantType.trim());
+            }
+        }
+        return Collections.unmodifiableSet(grantTypeSet);
+    }
+}
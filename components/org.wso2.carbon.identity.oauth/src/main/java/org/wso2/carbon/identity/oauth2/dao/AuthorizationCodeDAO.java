@@ -96,6 +96,40 @@ public interface AuthorizationCodeDAO {
     List<AuthzCodeDO> getLatestAuthorizationCodesByUserStore(int tenantId, String userStorDomain) throws
             IdentityOAuth2Exception;
 
+    /**
+     * Stream the latest authorization codes of the given tenant to the consumer, in chunks of the given size. The
+     * default implementation loads the codes at once and hands them over in chunks.
+     *
+     * @param tenantId  Tenant id.
+     * @param chunkSize Maximum number of codes in a chunk.
+     * @param consumer  Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the codes.
+     */
+    default void streamLatestAuthorizationCodesByTenant(int tenantId, int chunkSize,
+                                                        ChunkConsumer<AuthzCodeDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getLatestAuthorizationCodesByTenant(tenantId), chunkSize, consumer);
+    }
+
+    /**
+     * Stream the latest authorization codes of the given user store to the consumer, in chunks of the given size.
+     * The default implementation loads the codes at once and hands them over in chunks.
+     *
+     * @param tenantId        Tenant id.
+     * @param userStoreDomain User store domain.
+     * @param chunkSize       Maximum number of codes in a chunk.
+     * @param consumer        Consumer of the chunks.
+     * @throws IdentityOAuth2Exception If an error occurred while retrieving or consuming the codes.
+     */
+    default void streamLatestAuthorizationCodesByUserStore(int tenantId, String userStoreDomain, int chunkSize,
+                                                           ChunkConsumer<AuthzCodeDO> consumer)
+            throws IdentityOAuth2Exception {
+
+        ChunkConsumer.acceptInChunks(getLatestAuthorizationCodesByUserStore(tenantId, userStoreDomain), chunkSize,
+                consumer);
+    }
+
     void updateUserStoreDomain(int tenantId, String currentUserStoreDomain, String
             newUserStoreDomain) throws IdentityOAuth2Exception;
 
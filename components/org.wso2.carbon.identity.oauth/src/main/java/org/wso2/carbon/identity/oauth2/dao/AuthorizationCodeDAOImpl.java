@@ -656,126 +656,163 @@ public class AuthorizationCodeDAOImpl extends AbstractOAuthDAO implements Author
     @Override
     public List<AuthzCodeDO> getLatestAuthorizationCodesByTenant(int tenantId) throws IdentityOAuth2Exception {
 
+        List<AuthzCodeDO> latestAuthzCodes = new ArrayList<>();
+        streamLatestAuthorizationCodesByTenant(tenantId, OAuth2Util.getTokenListingChunkSize(),
+                latestAuthzCodes::addAll);
+        return latestAuthzCodes;
+    }
+
+    @Override
+    public void streamLatestAuthorizationCodesByTenant(int tenantId, int chunkSize,
+                                                       ChunkConsumer<AuthzCodeDO> consumer)
+            throws IdentityOAuth2Exception {
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving latest authorization codes of tenant id: " + tenantId);
         }
         //we do not support access token partitioning here
-        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-        PreparedStatement ps = null;
-        ResultSet rs = null;
-
-        List<AuthzCodeDO> latestAuthzCodes = new ArrayList<>();
+        String sqlQuery;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_TENANT_IDP_NAME;
+        } else {
+            sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_TENANT;
+        }
         try {
-            String sqlQuery;
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_TENANT_IDP_NAME;
-            } else {
-                sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_TENANT;
-            }
-            ps = connection.prepareStatement(sqlQuery);
-            ps.setInt(1, tenantId);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String authzCodeId = rs.getString(1);
-                String authzCode = rs.getString(2);
-                String consumerKey = rs.getString(3);
-                String authzUser = rs.getString(4);
-                String[] scope = OAuth2Util.buildScopeArray(rs.getString(5));
-                Timestamp issuedTime = rs.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                long validityPeriodInMillis = rs.getLong(7);
-                String callbackUrl = rs.getString(8);
-                String userStoreDomain = rs.getString(9);
+            consumeAuthorizationCodesInChunks(sqlQuery, ps -> {
+                ps.setInt(1, tenantId);
+                return 2;
+            }, chunkSize, (connection, rs) -> {
                 String authenticatedIDP = null;
                 if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
                     authenticatedIDP = rs.getString(10);
                 }
-
-                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userStoreDomain, OAuth2Util
-                        .getTenantDomain(tenantId), authenticatedIDP);
-
-                // If the scope value is empty. It could have stored in the IDN_OAUTH2_AUTHZ_CODE_SCOPE table
-                // for on demand scope migration.
-                if (ArrayUtils.isEmpty(scope)) {
-                    List<String> authorizationCodeScopes =
-                            getAuthorizationCodeScopes(connection, authzCodeId, tenantId);
-                    scope = authorizationCodeScopes.toArray(new String[0]);
-                }
-
-                latestAuthzCodes.add(new AuthzCodeDO(user, scope, issuedTime, validityPeriodInMillis, callbackUrl,
-                        consumerKey, authzCode, authzCodeId));
-            }
+                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(rs.getString(4), rs.getString(9),
+                        OAuth2Util.getTenantDomain(tenantId), authenticatedIDP);
+                return buildListedAuthorizationCode(connection, rs, user, tenantId);
+            }, consumer);
         } catch (SQLException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Error occurred while retrieving latest authorization codes of tenant " +
                     ":" + tenantId, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, rs, ps);
         }
-        return latestAuthzCodes;
     }
 
     @Override
     public List<AuthzCodeDO> getLatestAuthorizationCodesByUserStore(int tenantId, String userStorDomain) throws
             IdentityOAuth2Exception {
 
+        List<AuthzCodeDO> latestAuthzCodes = new ArrayList<>();
+        streamLatestAuthorizationCodesByUserStore(tenantId, userStorDomain, OAuth2Util.getTokenListingChunkSize(),
+                latestAuthzCodes::addAll);
+        return latestAuthzCodes;
+    }
+
+    @Override
+    public void streamLatestAuthorizationCodesByUserStore(int tenantId, String userStorDomain, int chunkSize,
+                                                          ChunkConsumer<AuthzCodeDO> consumer)
+            throws IdentityOAuth2Exception {
+
         if (log.isDebugEnabled()) {
             log.debug("Retrieving latest authorization codes of userstore: " + userStorDomain + " tenant id: " +
                     tenantId);
         }
         //we do not support access token partitioning here
-        Connection connection = IdentityDatabaseUtil.getDBConnection(false);
-        PreparedStatement ps = null;
-        ResultSet rs = null;
-
         String userStoreDomain = OAuth2Util.getSanitizedUserStoreDomain(userStorDomain);
-
-        List<AuthzCodeDO> latestAuthzCodes = new ArrayList<>();
+        String sqlQuery;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN_IDP_NAME;
+        } else {
+            sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN;
+        }
         try {
-            String sqlQuery;
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN_IDP_NAME;
-            } else {
-                sqlQuery = SQLQueries.LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN;
-            }
-            ps = connection.prepareStatement(sqlQuery);
-            ps.setInt(1, tenantId);
-            ps.setString(2, userStoreDomain);
-            rs = ps.executeQuery();
-            while (rs.next()) {
-                String authzCodeId = rs.getString(1);
-                String authzCode = rs.getString(2);
-                String consumerKey = rs.getString(3);
-                String authzUser = rs.getString(4);
-                String[] scope = OAuth2Util.buildScopeArray(rs.getString(5));
-                Timestamp issuedTime = rs.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
-                long validityPeriodInMillis = rs.getLong(7);
-                String callbackUrl = rs.getString(8);
+            consumeAuthorizationCodesInChunks(sqlQuery, ps -> {
+                ps.setInt(1, tenantId);
+                ps.setString(2, userStoreDomain);
+                return 3;
+            }, chunkSize, (connection, rs) -> {
                 String authenticatedIDP = null;
                 if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
                     authenticatedIDP = rs.getString(9);
                 }
-
-                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(authzUser, userStoreDomain, OAuth2Util
-                        .getTenantDomain(tenantId), authenticatedIDP);
-
-                // If the scope value is empty. It could have stored in the IDN_OAUTH2_AUTHZ_CODE_SCOPE table
-                // for on demand scope migration.
-                if (ArrayUtils.isEmpty(scope)) {
-                    List<String> scopes = getAuthorizationCodeScopes(connection, authzCodeId, tenantId);
-                    scope = scopes.toArray(new String[0]);
-                }
-
-                latestAuthzCodes.add(new AuthzCodeDO(user, scope, issuedTime, validityPeriodInMillis, callbackUrl,
-                        consumerKey, authzCode, authzCodeId));
-            }
+                AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(rs.getString(4), userStoreDomain,
+                        OAuth2Util.getTenantDomain(tenantId), authenticatedIDP);
+                return buildListedAuthorizationCode(connection, rs, user, tenantId);
+            }, consumer);
         } catch (SQLException e) {
-            IdentityDatabaseUtil.rollbackTransaction(connection);
             throw new IdentityOAuth2Exception("Error occurred while retrieving latest authorization codes of user " +
                     "store : " + userStoreDomain + " in tenant :" + tenantId, e);
-        } finally {
-            IdentityDatabaseUtil.closeAllConnections(connection, rs, ps);
         }
-        return latestAuthzCodes;
+    }
+
+    /**
+     * Reads the authorization codes of a latest authorization code listing query page by page, with keyset pagination
+     * on the code id, and hands over each page to the consumer as a chunk. The connection of a page is closed before
+     * its chunk is consumed, hence the consumer can deactivate the codes without a cursor being held open on the
+     * authorization code table.
+     *
+     * @param sql             Latest authorization code listing query.
+     * @param parameterSetter Sets the parameters of the listing query, except the code id of the next pages.
+     * @param chunkSize       Maximum number of authorization codes in a chunk.
+     * @param rowMapper       Builds an authorization code from a row.
+     * @param consumer        Consumer of the chunks.
+     */
+    private void consumeAuthorizationCodesInChunks(String sql, ListingParameterSetter parameterSetter, int chunkSize,
+                                                   ListedAuthzCodeMapper rowMapper,
+                                                   ChunkConsumer<AuthzCodeDO> consumer)
+            throws SQLException, IdentityOAuth2Exception {
+
+        String firstPageSql = sql + SQLQueries.ORDER_BY_LISTED_AUTHZ_CODE_ID;
+        String nextPageSql = sql + SQLQueries.LISTED_AUTHZ_CODE_ID_AFTER + SQLQueries.ORDER_BY_LISTED_AUTHZ_CODE_ID;
+        String lastCodeId = null;
+        while (true) {
+            List<AuthzCodeDO> chunk = new ArrayList<>();
+            try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+                 PreparedStatement ps = connection.prepareStatement(lastCodeId == null ? firstPageSql :
+                         nextPageSql)) {
+                ps.setMaxRows(chunkSize);
+                ps.setFetchSize(chunkSize);
+                int parameterIndex = parameterSetter.setParameters(ps);
+                if (lastCodeId != null) {
+                    ps.setString(parameterIndex, lastCodeId);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        chunk.add(rowMapper.map(connection, rs));
+                    }
+                }
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            lastCodeId = chunk.get(chunk.size() - 1).getAuthzCodeId();
+            consumer.accept(chunk);
+            if (chunk.size() < chunkSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Builds an authorization code from the columns shared by the latest authorization code listing queries.
+     */
+    private AuthzCodeDO buildListedAuthorizationCode(Connection connection, ResultSet rs, AuthenticatedUser user,
+                                                     int tenantId) throws SQLException {
+
+        String authzCodeId = rs.getString(1);
+        String authzCode = rs.getString(2);
+        String consumerKey = rs.getString(3);
+        String[] scope = OAuth2Util.buildScopeArray(rs.getString(5));
+        Timestamp issuedTime = rs.getTimestamp(6, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        long validityPeriodInMillis = rs.getLong(7);
+        String callbackUrl = rs.getString(8);
+
+        // If the scope value is empty. It could have stored in the IDN_OAUTH2_AUTHZ_CODE_SCOPE table
+        // for on demand scope migration.
+        if (ArrayUtils.isEmpty(scope)) {
+            List<String> authorizationCodeScopes = getAuthorizationCodeScopes(connection, authzCodeId, tenantId);
+            scope = authorizationCodeScopes.toArray(new String[0]);
+        }
+        return new AuthzCodeDO(user, scope, issuedTime, validityPeriodInMillis, callbackUrl, consumerKey, authzCode,
+                authzCodeId);
     }
 
     @Override
@@ -994,4 +1031,22 @@ public class AuthorizationCodeDAOImpl extends AbstractOAuthDAO implements Author
         }
         return false;
     }
+
+    /**
+     * Sets the parameters of an authorization code listing query and returns the index of the next parameter.
+     */
+    @FunctionalInterface
+    private interface ListingParameterSetter {
+
+        int setParameters(PreparedStatement preparedStatement) throws SQLException;
+    }
+
+    /**
+     * Builds an authorization code from a row read by an authorization code listing query.
+     */
+    @FunctionalInterface
+    private interface ListedAuthzCodeMapper {
+
+        AuthzCodeDO map(Connection connection, ResultSet resultSet) throws SQLException, IdentityOAuth2Exception;
+    }
 }
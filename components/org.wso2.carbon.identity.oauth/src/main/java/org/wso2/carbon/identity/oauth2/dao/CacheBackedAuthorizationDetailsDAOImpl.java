@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.wso2.carbon.identity.oauth.rar.dao.AuthorizationDetailsDAO;
+import org.wso2.carbon.identity.oauth.rar.dao.AuthorizationDetailsDAOImpl;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsCodeDTO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsConsentDTO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsDTO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsTokenDTO;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCache;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCacheEntry;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache backed rich authorization requests data access object implementation.
+ * <p>
+ * The authorization details of access tokens and user consents are cached on read, and the cached entries are
+ * cleared whenever the authorization details of the token or the consent are added, updated or deleted. The
+ * authorization details of an authorization code are cached only once they are found, as the code may be looked up
+ * before it is persisted.
+ */
+public class CacheBackedAuthorizationDetailsDAOImpl implements AuthorizationDetailsDAO {
+
+    private final AuthorizationDetailsCache cache;
+    private final AuthorizationDetailsDAO dao;
+
+    public CacheBackedAuthorizationDetailsDAOImpl() {
+
+        this(new AuthorizationDetailsDAOImpl(), AuthorizationDetailsCache.getInstance());
+    }
+
+    CacheBackedAuthorizationDetailsDAOImpl(AuthorizationDetailsDAO dao, AuthorizationDetailsCache cache) {
+
+        this.dao = dao;
+        this.cache = cache;
+    }
+
+    @Override
+    public int[] addUserConsentedAuthorizationDetails(Set<AuthorizationDetailsConsentDTO> consentDTOs)
+            throws SQLException {
+
+        clearConsentEntries(consentDTOs);
+        return dao.addUserConsentedAuthorizationDetails(consentDTOs);
+    }
+
+    @Override
+    public int[] updateUserConsentedAuthorizationDetails(Set<AuthorizationDetailsConsentDTO> consentDTOs)
+            throws SQLException {
+
+        clearConsentEntries(consentDTOs);
+        return dao.updateUserConsentedAuthorizationDetails(consentDTOs);
+    }
+
+    @Override
+    public Set<AuthorizationDetailsConsentDTO> getUserConsentedAuthorizationDetails(String consentId, int tenantId)
+            throws SQLException {
+
+        String key = AuthorizationDetailsCache.getConsentKey(consentId);
+        Set<AuthorizationDetailsConsentDTO> consentDTOs = getFromCache(key, tenantId);
+        if (consentDTOs == null) {
+            consentDTOs = dao.getUserConsentedAuthorizationDetails(consentId, tenantId);
+            cache.addToCache(key, new AuthorizationDetailsCacheEntry<>(consentDTOs), tenantId);
+        }
+        return consentDTOs;
+    }
+
+    @Override
+    public int deleteUserConsentedAuthorizationDetails(String consentId, int tenantId) throws SQLException {
+
+        cache.clearCacheEntry(AuthorizationDetailsCache.getConsentKey(consentId), tenantId);
+        return dao.deleteUserConsentedAuthorizationDetails(consentId, tenantId);
+    }
+
+    @Override
+    public int[] addAccessTokenAuthorizationDetails(Set<AuthorizationDetailsTokenDTO> tokenDTOs)
+            throws SQLException {
+
+        // The token may have been looked up, and cached without authorization details, before they are stored.
+        for (AuthorizationDetailsTokenDTO tokenDTO : tokenDTOs) {
+            cache.clearCacheEntry(AuthorizationDetailsCache.getAccessTokenKey(tokenDTO.getAccessTokenId()),
+                    tokenDTO.getTenantId());
+        }
+        return dao.addAccessTokenAuthorizationDetails(tokenDTOs);
+    }
+
+    @Override
+    public Set<AuthorizationDetailsTokenDTO> getAccessTokenAuthorizationDetails(String accessTokenId, int tenantId)
+            throws SQLException {
+
+        String key = AuthorizationDetailsCache.getAccessTokenKey(accessTokenId);
+        Set<AuthorizationDetailsTokenDTO> tokenDTOs = getFromCache(key, tenantId);
+        if (tokenDTOs == null) {
+            tokenDTOs = dao.getAccessTokenAuthorizationDetails(accessTokenId, tenantId);
+            cache.addToCache(key, new AuthorizationDetailsCacheEntry<>(tokenDTOs), tenantId);
+        }
+        return tokenDTOs;
+    }
+
+    @Override
+    public Map<String, Set<AuthorizationDetailsTokenDTO>> getAccessTokenAuthorizationDetails(
+            Set<String> accessTokenIds, int tenantId) throws SQLException {
+
+        Map<String, Set<AuthorizationDetailsTokenDTO>> tokenDTOs = new HashMap<>();
+        Set<String> uncachedAccessTokenIds = new HashSet<>();
+        for (String accessTokenId : accessTokenIds) {
+            Set<AuthorizationDetailsTokenDTO> cachedTokenDTOs =
+                    getFromCache(AuthorizationDetailsCache.getAccessTokenKey(accessTokenId), tenantId);
+            if (cachedTokenDTOs != null) {
+                tokenDTOs.put(accessTokenId, cachedTokenDTOs);
+            } else {
+                uncachedAccessTokenIds.add(accessTokenId);
+            }
+        }
+        if (uncachedAccessTokenIds.isEmpty()) {
+            return tokenDTOs;
+        }
+
+        // Fetches the authorization details of all the uncached tokens at once.
+        Map<String, Set<AuthorizationDetailsTokenDTO>> fetchedTokenDTOs =
+                dao.getAccessTokenAuthorizationDetails(uncachedAccessTokenIds, tenantId);
+        for (String accessTokenId : uncachedAccessTokenIds) {
+            Set<AuthorizationDetailsTokenDTO> fetched = fetchedTokenDTOs.get(accessTokenId);
+            if (fetched == null) {
+                fetched = new HashSet<>();
+            }
+            cache.addToCache(AuthorizationDetailsCache.getAccessTokenKey(accessTokenId),
+                    new AuthorizationDetailsCacheEntry<>(fetched), tenantId);
+            tokenDTOs.put(accessTokenId, fetched);
+        }
+        return tokenDTOs;
+    }
+
+    @Override
+    public int deleteAccessTokenAuthorizationDetails(String accessTokenId, int tenantId) throws SQLException {
+
+        cache.clearCacheEntry(AuthorizationDetailsCache.getAccessTokenKey(accessTokenId), tenantId);
+        return dao.deleteAccessTokenAuthorizationDetails(accessTokenId, tenantId);
+    }
+
+    @Override
+    public int[] addOAuth2CodeAuthorizationDetails(Set<AuthorizationDetailsCodeDTO> authorizationDetailsCodeDTOs)
+            throws SQLException {
+
+        return dao.addOAuth2CodeAuthorizationDetails(authorizationDetailsCodeDTOs);
+    }
+
+    @Override
+    public Set<AuthorizationDetailsCodeDTO> getOAuth2CodeAuthorizationDetails(String authorizationCode, int tenantId)
+            throws SQLException {
+
+        String key = AuthorizationDetailsCache.getAuthorizationCodeKey(authorizationCode);
+        Set<AuthorizationDetailsCodeDTO> codeDTOs = getFromCache(key, tenantId);
+        if (codeDTOs == null) {
+            codeDTOs = dao.getOAuth2CodeAuthorizationDetails(authorizationCode, tenantId);
+            if (!codeDTOs.isEmpty()) {
+                cache.addToCache(key, new AuthorizationDetailsCacheEntry<>(codeDTOs), tenantId);
+            }
+        }
+        return codeDTOs;
+    }
+
+    @Override
+    public String getConsentIdByUserIdAndAppId(String userId, String appId, int tenantId) throws SQLException {
+
+        return dao.getConsentIdByUserIdAndAppId(userId, appId, tenantId);
+    }
+
+    private void clearConsentEntries(Set<AuthorizationDetailsConsentDTO> consentDTOs) {
+
+        for (AuthorizationDetailsConsentDTO consentDTO : consentDTOs) {
+            cache.clearCacheEntry(AuthorizationDetailsCache.getConsentKey(consentDTO.getConsentId()),
+                    consentDTO.getTenantId());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AuthorizationDetailsDTO> Set<T> getFromCache(String key, int tenantId) {
+
+        // The key prefix of an entry identifies the type of the DTOs it holds.
+        AuthorizationDetailsCacheEntry<T> entry = (AuthorizationDetailsCacheEntry<T>) cache.getValueFromCache(key,
+                tenantId);
+        return entry == null ? null : entry.getAuthorizationDetailsDTOs();
+    }
+}
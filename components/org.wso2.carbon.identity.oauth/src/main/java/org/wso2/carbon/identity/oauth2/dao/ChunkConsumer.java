@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consumer of the chunks of a listing, such as the tokens of a tenant, which is streamed from the database instead of
+ * being loaded into memory at once.
+ *
+ * @param <T> Type of the listed elements.
+ */
+@FunctionalInterface
+public interface ChunkConsumer<T> {
+
+    /**
+     * Consume a chunk of the listing. The chunk is not retained by the producer once this method returns.
+     *
+     * @param chunk Chunk of the listed elements.
+     * @throws IdentityOAuth2Exception If an error occurred while consuming the chunk, which stops the listing.
+     */
+    void accept(List<T> chunk) throws IdentityOAuth2Exception;
+
+    /**
+     * Hand over the given elements to the consumer in chunks of the given size.
+     *
+     * @param elements  Elements to be handed over.
+     * @param chunkSize Maximum number of elements in a chunk.
+     * @param consumer  Consumer of the chunks.
+     * @param <T>       Type of the elements.
+     * @throws IdentityOAuth2Exception If an error occurred while consuming a chunk.
+     */
+    static <T> void acceptInChunks(Collection<T> elements, int chunkSize, ChunkConsumer<T> consumer)
+            throws IdentityOAuth2Exception {
+
+        if (elements == null || elements.isEmpty()) {
+            return;
+        }
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, elements.size()));
+        for (T element : elements) {
+            chunk.add(element);
+            if (chunk.size() >= chunkSize) {
+                consumer.accept(chunk);
+                chunk = new ArrayList<>(Math.min(chunkSize, elements.size()));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consumer.accept(chunk);
+        }
+    }
+}
@@ -22,7 +22,6 @@ package org.wso2.carbon.identity.oauth2.dao;
 
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth.rar.dao.AuthorizationDetailsDAO;
-import org.wso2.carbon.identity.oauth.rar.dao.AuthorizationDetailsDAOImpl;
 import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetails;
 import org.wso2.carbon.identity.openidconnect.dao.CacheBackedScopeClaimMappingDAOImpl;
 import org.wso2.carbon.identity.openidconnect.dao.RequestObjectDAO;
@@ -55,7 +54,7 @@ public class OAuthTokenPersistenceFactory {
         this.scopeClaimMappingDAO = new CacheBackedScopeClaimMappingDAOImpl();
         this.tokenBindingMgtDAO = new TokenBindingMgtDAOImpl();
         this.oauthUserConsentedScopesDAO = new CacheBackedOAuthUserConsentedScopesDAOImpl();
-        this.authorizationDetailsDAO = new AuthorizationDetailsDAOImpl();
+        this.authorizationDetailsDAO = new CacheBackedAuthorizationDetailsDAOImpl();
     }
 
     public static OAuthTokenPersistenceFactory getInstance() {
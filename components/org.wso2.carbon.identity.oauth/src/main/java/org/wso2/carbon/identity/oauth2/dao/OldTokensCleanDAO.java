@@ -55,10 +55,11 @@ public class OldTokensCleanDAO {
                 } else {
                     sql = SQLQueries.RETRIEVE_AND_STORE_IN_AUDIT;
                 }
-                PreparedStatement prepStmt = connection.prepareStatement(sql);
-                prepStmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
-                prepStmt.setString(2, tokenId);
-                prepStmt.executeUpdate();
+                try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+                    prepStmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                    prepStmt.setString(2, tokenId);
+                    prepStmt.executeUpdate();
+                }
             }
             removeTokenFromMainTable(tokenId, connection);
             connection.commit();
@@ -78,46 +79,13 @@ public class OldTokensCleanDAO {
             sql = SQLQueries.RETRIEVE_OLD_TOKEN_BY_TOKEN_HASH;
         }
 
-        PreparedStatement prepStmt = connection.prepareStatement(sql);
-        prepStmt.setString(1, token);
-        ResultSet resultSet = prepStmt.executeQuery();
-        //iterate result set and insert to AccessTokenDO object.
-        if (resultSet.next()) {
-            oldAccessTokenObject.setTokenId(resultSet.getString(1));
-            oldAccessTokenObject.setAccessToken(resultSet.getString(2));
-            oldAccessTokenObject.setRefreshToken(resultSet.getString(3));
-            oldAccessTokenObject.setConsumerKeyId(resultSet.getInt(4));
-            oldAccessTokenObject.setAuthzUser(resultSet.getString(5));
-            oldAccessTokenObject.setTenantId(resultSet.getInt(6));
-            oldAccessTokenObject.setUserDomain(resultSet.getString(7));
-            oldAccessTokenObject.setUserType(resultSet.getString(8));
-            oldAccessTokenObject.setGrantType(resultSet.getString(9));
-            oldAccessTokenObject.setTimeCreated(resultSet.getTimestamp(10));
-            oldAccessTokenObject.setRefreshTokenTimeCreated(resultSet.getTimestamp(11));
-            oldAccessTokenObject.setValdityPeriod(resultSet.getLong(12));
-            oldAccessTokenObject.setRefreshTokenValidityPeriod(resultSet.getLong(13));
-            oldAccessTokenObject.setTokenScopeHash(resultSet.getString(14));
-            oldAccessTokenObject.setTokenState(resultSet.getString(15));
-            oldAccessTokenObject.setTokenStateId(resultSet.getString(16));
-            oldAccessTokenObject.setSubjectIdentifier(resultSet.getString(17));
-            oldAccessTokenObject.setAccessTokenHash(resultSet.getString(18));
-            oldAccessTokenObject.setRefreshTokenHash(resultSet.getString(19));
-            String tokenBindingRef = resultSet.getString(20);
-            if (StringUtils.isNotBlank(tokenBindingRef)) {
-                TokenBinding tokenBinding = new TokenBinding();
-                tokenBinding.setBindingReference(tokenBindingRef);
-                oldAccessTokenObject.setTokenBinding(tokenBinding);
-            }
-
-            String isConsentedToken = resultSet.getString(21);
-            if (StringUtils.isNotEmpty(isConsentedToken)) {
-                oldAccessTokenObject.setIsConsentedToken(Boolean.parseBoolean(isConsentedToken));
-            }
-
-            oldAccessTokenObject.setAuthorizedOrganizationId(resultSet.getString(22));
-
-            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                oldAccessTokenObject.setIdpId(resultSet.getInt(23));
+        try (PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, token);
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                //iterate result set and insert to AccessTokenDO object.
+                if (resultSet.next()) {
+                    readOldAccessToken(resultSet, oldAccessTokenObject);
+                }
             }
         }
         if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
@@ -126,6 +94,47 @@ public class OldTokensCleanDAO {
         removeTokenFromMainTable(oldAccessTokenObject.getTokenId(), connection);
     }
 
+    private void readOldAccessToken(ResultSet resultSet, OldAccessTokenDO oldAccessTokenObject)
+            throws SQLException {
+
+        oldAccessTokenObject.setTokenId(resultSet.getString(1));
+        oldAccessTokenObject.setAccessToken(resultSet.getString(2));
+        oldAccessTokenObject.setRefreshToken(resultSet.getString(3));
+        oldAccessTokenObject.setConsumerKeyId(resultSet.getInt(4));
+        oldAccessTokenObject.setAuthzUser(resultSet.getString(5));
+        oldAccessTokenObject.setTenantId(resultSet.getInt(6));
+        oldAccessTokenObject.setUserDomain(resultSet.getString(7));
+        oldAccessTokenObject.setUserType(resultSet.getString(8));
+        oldAccessTokenObject.setGrantType(resultSet.getString(9));
+        oldAccessTokenObject.setTimeCreated(resultSet.getTimestamp(10));
+        oldAccessTokenObject.setRefreshTokenTimeCreated(resultSet.getTimestamp(11));
+        oldAccessTokenObject.setValdityPeriod(resultSet.getLong(12));
+        oldAccessTokenObject.setRefreshTokenValidityPeriod(resultSet.getLong(13));
+        oldAccessTokenObject.setTokenScopeHash(resultSet.getString(14));
+        oldAccessTokenObject.setTokenState(resultSet.getString(15));
+        oldAccessTokenObject.setTokenStateId(resultSet.getString(16));
+        oldAccessTokenObject.setSubjectIdentifier(resultSet.getString(17));
+        oldAccessTokenObject.setAccessTokenHash(resultSet.getString(18));
+        oldAccessTokenObject.setRefreshTokenHash(resultSet.getString(19));
+        String tokenBindingRef = resultSet.getString(20);
+        if (StringUtils.isNotBlank(tokenBindingRef)) {
+            TokenBinding tokenBinding = new TokenBinding();
+            tokenBinding.setBindingReference(tokenBindingRef);
+            oldAccessTokenObject.setTokenBinding(tokenBinding);
+        }
+
+        String isConsentedToken = resultSet.getString(21);
+        if (StringUtils.isNotEmpty(isConsentedToken)) {
+            oldAccessTokenObject.setIsConsentedToken(Boolean.parseBoolean(isConsentedToken));
+        }
+
+        oldAccessTokenObject.setAuthorizedOrganizationId(resultSet.getString(22));
+
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            oldAccessTokenObject.setIdpId(resultSet.getInt(23));
+        }
+    }
+
     private void saveTokenInAuditTable(OldAccessTokenDO oldAccessTokenDAO, Connection connection) throws SQLException {
 
         String sql;
@@ -135,39 +144,40 @@ public class OldTokensCleanDAO {
             sql = SQLQueries.STORE_OLD_TOKEN_IN_AUDIT;
         }
 
-        PreparedStatement insertintoaudittable = connection.prepareStatement(sql);
-        insertintoaudittable.setString(1, oldAccessTokenDAO.getTokenId());
-        insertintoaudittable.setString(2, oldAccessTokenDAO.getAccessToken());
-        insertintoaudittable.setString(3, oldAccessTokenDAO.getRefreshToken());
-        insertintoaudittable.setInt(4, oldAccessTokenDAO.getConsumerKeyId());
-        insertintoaudittable.setString(5, oldAccessTokenDAO.getAuthzUserValue());
-        insertintoaudittable.setInt(6, oldAccessTokenDAO.getTenantId());
-        insertintoaudittable.setString(7, oldAccessTokenDAO.getUserDomain());
-        insertintoaudittable.setString(8, oldAccessTokenDAO.getUserType());
-        insertintoaudittable.setString(9, oldAccessTokenDAO.getGrantType());
-        insertintoaudittable.setTimestamp(10, oldAccessTokenDAO.getTimeCreated());
-        insertintoaudittable.setTimestamp(11, oldAccessTokenDAO.getRefreshTokenTimeCreated());
-        insertintoaudittable.setLong(12, oldAccessTokenDAO.getValdityPeriod());
-        insertintoaudittable.setLong(13, oldAccessTokenDAO.getRefreshTokenValidityPeriod());
-        insertintoaudittable.setString(14, oldAccessTokenDAO.getTokenScopeHash());
-        insertintoaudittable.setString(15, oldAccessTokenDAO.getTokenState());
-        insertintoaudittable.setString(16, oldAccessTokenDAO.getTokenStateId());
-        insertintoaudittable.setString(17, oldAccessTokenDAO.getSubjectIdentifier());
-        insertintoaudittable.setString(18, oldAccessTokenDAO.getAccessTokenHash());
-        insertintoaudittable.setString(19, oldAccessTokenDAO.getRefreshTokenHash());
-        insertintoaudittable.setTimestamp(20, new Timestamp(System.currentTimeMillis()));
-        if (oldAccessTokenDAO.getTokenBinding() != null && StringUtils
-                .isNotBlank(oldAccessTokenDAO.getTokenBinding().getBindingReference())) {
-            insertintoaudittable.setString(21, oldAccessTokenDAO.getTokenBinding().getBindingReference());
-        } else {
-            insertintoaudittable.setString(21, NONE);
-        }
-        insertintoaudittable.setString(22, Boolean.toString(oldAccessTokenDAO.isConsentedToken()));
-        insertintoaudittable.setString(23, oldAccessTokenDAO.getAuthorizedOrganizationId());
-        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-            insertintoaudittable.setInt(24, oldAccessTokenDAO.getIdpId());
+        try (PreparedStatement insertintoaudittable = connection.prepareStatement(sql)) {
+            insertintoaudittable.setString(1, oldAccessTokenDAO.getTokenId());
+            insertintoaudittable.setString(2, oldAccessTokenDAO.getAccessToken());
+            insertintoaudittable.setString(3, oldAccessTokenDAO.getRefreshToken());
+            insertintoaudittable.setInt(4, oldAccessTokenDAO.getConsumerKeyId());
+            insertintoaudittable.setString(5, oldAccessTokenDAO.getAuthzUserValue());
+            insertintoaudittable.setInt(6, oldAccessTokenDAO.getTenantId());
+            insertintoaudittable.setString(7, oldAccessTokenDAO.getUserDomain());
+            insertintoaudittable.setString(8, oldAccessTokenDAO.getUserType());
+            insertintoaudittable.setString(9, oldAccessTokenDAO.getGrantType());
+            insertintoaudittable.setTimestamp(10, oldAccessTokenDAO.getTimeCreated());
+            insertintoaudittable.setTimestamp(11, oldAccessTokenDAO.getRefreshTokenTimeCreated());
+            insertintoaudittable.setLong(12, oldAccessTokenDAO.getValdityPeriod());
+            insertintoaudittable.setLong(13, oldAccessTokenDAO.getRefreshTokenValidityPeriod());
+            insertintoaudittable.setString(14, oldAccessTokenDAO.getTokenScopeHash());
+            insertintoaudittable.setString(15, oldAccessTokenDAO.getTokenState());
+            insertintoaudittable.setString(16, oldAccessTokenDAO.getTokenStateId());
+            insertintoaudittable.setString(17, oldAccessTokenDAO.getSubjectIdentifier());
+            insertintoaudittable.setString(18, oldAccessTokenDAO.getAccessTokenHash());
+            insertintoaudittable.setString(19, oldAccessTokenDAO.getRefreshTokenHash());
+            insertintoaudittable.setTimestamp(20, new Timestamp(System.currentTimeMillis()));
+            if (oldAccessTokenDAO.getTokenBinding() != null && StringUtils
+                    .isNotBlank(oldAccessTokenDAO.getTokenBinding().getBindingReference())) {
+                insertintoaudittable.setString(21, oldAccessTokenDAO.getTokenBinding().getBindingReference());
+            } else {
+                insertintoaudittable.setString(21, NONE);
+            }
+            insertintoaudittable.setString(22, Boolean.toString(oldAccessTokenDAO.isConsentedToken()));
+            insertintoaudittable.setString(23, oldAccessTokenDAO.getAuthorizedOrganizationId());
+            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+                insertintoaudittable.setInt(24, oldAccessTokenDAO.getIdpId());
+            }
+            insertintoaudittable.execute();
         }
-        insertintoaudittable.execute();
         if (log.isDebugEnabled()) {
             log.debug(
                     "Successfully saved old access token in audit table. Token ID: " + oldAccessTokenDAO.getTokenId());
@@ -179,10 +189,11 @@ public class OldTokensCleanDAO {
 
         connection.setAutoCommit(false);
         try {
-            PreparedStatement deletefromaccesstokentable =
-                    connection.prepareStatement(SQLQueries.DELETE_OLD_TOKEN_BY_ID);
-            deletefromaccesstokentable.setString(1, oldAccessTokenID);
-            deletefromaccesstokentable.executeUpdate();
+            try (PreparedStatement deletefromaccesstokentable =
+                         connection.prepareStatement(SQLQueries.DELETE_OLD_TOKEN_BY_ID)) {
+                deletefromaccesstokentable.setString(1, oldAccessTokenID);
+                deletefromaccesstokentable.executeUpdate();
+            }
             if (log.isDebugEnabled()) {
                 log.debug(
                         "Successfully old access token deleted from access token table. Token ID: " + oldAccessTokenID);
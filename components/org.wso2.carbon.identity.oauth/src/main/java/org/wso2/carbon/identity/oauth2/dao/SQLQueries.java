@@ -438,6 +438,49 @@ public class SQLQueries {
                     + "IDP ON IDP_ID = IDP.ID";
 
 
+    public static final String ACCESS_TOKEN_HASH_LIST_PLACEHOLDER = "_ACCESS_TOKEN_HASH_LIST_";
+
+    public static final String CONSENTED_TOKEN_COLUMN_PLACEHOLDER = "_CONSENTED_TOKEN_COLUMN_";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS_BY_HASHES = "SELECT CONSUMER_KEY, AUTHZ_USER, " +
+            "ACCESS_TOKEN_TABLE.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+            "GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, " +
+            "AUTHORIZED_ORGANIZATION, ACCESS_TOKEN_TABLE.APP_TENANT_ID, ACCESS_TOKEN_HASH" +
+            CONSENTED_TOKEN_COLUMN_PLACEHOLDER + " " +
+            "FROM (SELECT TOKEN_ID, CONSUMER_KEY, AUTHZ_USER, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN, " +
+            "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+            "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE, SUBJECT_IDENTIFIER, " +
+            "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID, " +
+            "ACCESS_TOKEN_HASH" + CONSENTED_TOKEN_COLUMN_PLACEHOLDER + " " +
+            "FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+            ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+            " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE " +
+            "ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID";
+
+    public static final String RETRIEVE_ACTIVE_ACCESS_TOKENS_BY_HASHES_IDP_NAME =
+            "SELECT CONSUMER_KEY, AUTHZ_USER, ACCESS_TOKEN_TABLE.TENANT_ID, " +
+                    "USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+                    "REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+                    "GRANT_TYPE, SUBJECT_IDENTIFIER, TOKEN_BINDING_REF, " +
+                    "AUTHORIZED_ORGANIZATION, ACCESS_TOKEN_TABLE.APP_TENANT_ID, ACCESS_TOKEN_HASH, IDP.NAME" +
+                    CONSENTED_TOKEN_COLUMN_PLACEHOLDER + " " +
+                    "FROM (SELECT TOKEN_ID, CONSUMER_KEY," +
+                    "  AUTHZ_USER, IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID AS TENANT_ID, " +
+                    "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN AS USER_DOMAIN,TIME_CREATED," +
+                    "REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, " +
+                    "REFRESH_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.GRANT_TYPE AS GRANT_TYPE," +
+                    "SUBJECT_IDENTIFIER, IDN_OAUTH2_ACCESS_TOKEN.IDP_ID AS IDP_ID, " +
+                    "TOKEN_BINDING_REF, AUTHORIZED_ORGANIZATION, IDN_OAUTH_CONSUMER_APPS.TENANT_ID AS APP_TENANT_ID, " +
+                    "ACCESS_TOKEN_HASH" + CONSENTED_TOKEN_COLUMN_PLACEHOLDER + " " +
+                    "FROM (SELECT * FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN_HASH IN (" +
+                    ACCESS_TOKEN_HASH_LIST_PLACEHOLDER + ") AND TOKEN_STATE='ACTIVE') IDN_OAUTH2_ACCESS_TOKEN " +
+                    "JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID) ACCESS_TOKEN_TABLE" +
+                    " LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = " +
+                    "IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID JOIN IDP ON IDP_ID = IDP.ID";
+
     public static final String RETRIEVE_ACTIVE_EXPIRED_ACCESS_TOKEN = "SELECT CONSUMER_KEY, AUTHZ_USER, " +
             "ACCESS_TOKEN_TABLE.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
             "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, USER_TYPE, REFRESH_TOKEN, ACCESS_TOKEN_TABLE.TOKEN_ID, " +
@@ -561,7 +604,8 @@ public class SQLQueries {
 
     public static final String GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY = "SELECT IDN_OAUTH2_ACCESS_TOKEN.AUTHZ_USER, " +
             "IDN_OAUTH2_ACCESS_TOKEN.ACCESS_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID, " +
-            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN, IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_SCOPE " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN, IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_SCOPE, " +
+            "IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID " +
             "FROM IDN_OAUTH2_ACCESS_TOKEN LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE " +
             "ON IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID=IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID WHERE " +
             "CONSUMER_KEY_ID = (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY=? AND TENANT_ID = ?) " +
@@ -570,8 +614,8 @@ public class SQLQueries {
     public static final String GET_ACTIVE_DETAILS_FOR_CONSUMER_KEY_IDP_NAME = "SELECT IDN_OAUTH2_ACCESS_TOKEN" +
             ".AUTHZ_USER, IDN_OAUTH2_ACCESS_TOKEN.ACCESS_TOKEN, IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID, " +
             "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN, IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_SCOPE, IDP.NAME, " +
-            "IDN_OAUTH2_ACCESS_TOKEN.SUBJECT_IDENTIFIER, AUTHORIZED_ORGANIZATION FROM " +
-            "IDN_OAUTH2_ACCESS_TOKEN LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE" +
+            "IDN_OAUTH2_ACCESS_TOKEN.SUBJECT_IDENTIFIER, AUTHORIZED_ORGANIZATION, IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID " +
+            "FROM IDN_OAUTH2_ACCESS_TOKEN LEFT JOIN IDN_OAUTH2_ACCESS_TOKEN_SCOPE" +
             " ON IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID=IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
             " JOIN IDP ON IDN_OAUTH2_ACCESS_TOKEN.IDP_ID=IDP.ID WHERE " +
             "CONSUMER_KEY_ID = (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY=? AND TENANT_ID = ?) " +
@@ -621,6 +665,26 @@ public class SQLQueries {
             "ID WHERE AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? " +
             "AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')";
 
+    public static final String GET_APPS_AUTHORIZED_BY_USER = "SELECT DISTINCT CONSUMER_KEY FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID WHERE " +
+            "IDN_OAUTH_CONSUMER_APPS.TENANT_ID = ? AND AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED')";
+
+    public static final String GET_APPS_AUTHORIZED_BY_USER_IDP_NAME = "SELECT DISTINCT CONSUMER_KEY FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID WHERE " +
+            "IDN_OAUTH_CONSUMER_APPS.TENANT_ID = ? AND AUTHZ_USER=? AND IDN_OAUTH2_ACCESS_TOKEN.TENANT_ID=? AND " +
+            "IDN_OAUTH2_ACCESS_TOKEN.USER_DOMAIN=? AND (TOKEN_STATE='ACTIVE' OR TOKEN_STATE='EXPIRED') AND " +
+            "IDP_ID=(SELECT ID FROM IDP WHERE NAME=? AND TENANT_ID=?)";
+
+    public static final String USERNAME_LIST_PLACEHOLDER = "_USERNAME_LIST_";
+
+    public static final String GET_ACTIVE_ACCESS_TOKENS_OF_USERS = "SELECT ACCESS_TOKEN_TABLE.TOKEN_ID, " +
+            "ACCESS_TOKEN, CONSUMER_KEY, TOKEN_BINDING_REF, TOKEN_SCOPE, AUTHZ_USER FROM IDN_OAUTH2_ACCESS_TOKEN " +
+            "ACCESS_TOKEN_TABLE JOIN IDN_OAUTH_CONSUMER_APPS ON CONSUMER_KEY_ID = ID LEFT JOIN " +
+            "IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
+            "WHERE ACCESS_TOKEN_TABLE.TENANT_ID = ? AND ACCESS_TOKEN_TABLE.USER_DOMAIN = ? AND " +
+            "TOKEN_STATE = 'ACTIVE' AND AUTHZ_USER IN (" + USERNAME_LIST_PLACEHOLDER + ")";
+
     public static final String RETRIEVE_ACCESS_TOKEN_VALIDATION_DATA_MYSQL = "SELECT ACCESS_TOKEN, AUTHZ_USER, " +
             "ACCESS_TOKEN_SELECTED.TENANT_ID, USER_DOMAIN, TOKEN_SCOPE, TOKEN_STATE, REFRESH_TOKEN_TIME_CREATED, " +
             "REFRESH_TOKEN_VALIDITY_PERIOD, ACCESS_TOKEN_SELECTED.TOKEN_ID, GRANT_TYPE, SUBJECT_IDENTIFIER, " +
@@ -971,6 +1035,53 @@ public class SQLQueries {
 
     public static final String DELETE_OLD_TOKEN_BY_ID = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE TOKEN_ID = ?";
 
+    public static final String PURGE_CONDITION_PLACEHOLDER = "_PURGE_CONDITION_";
+
+    public static final String PURGE_ID_LIST_PLACEHOLDER = "_PURGE_ID_LIST_";
+
+    public static final String KEYSET_CONDITION_PLACEHOLDER = "_KEYSET_CONDITION_";
+
+    public static final String STORE_PURGED_TOKENS_IN_AUDIT = RETRIEVE_AND_STORE_IN_AUDIT
+            .replace("WHERE TOKEN_ID = ?", "WHERE " + PURGE_CONDITION_PLACEHOLDER);
+
+    public static final String STORE_PURGED_TOKENS_IN_AUDIT_WITH_IDP_NAME = RETRIEVE_AND_STORE_IN_AUDIT_WITH_IDP_NAME
+            .replace("WHERE TOKEN_ID = ?", "WHERE " + PURGE_CONDITION_PLACEHOLDER);
+
+    public static final String DELETE_PURGED_TOKENS = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE " +
+            PURGE_CONDITION_PLACEHOLDER;
+
+    public static final String RETRIEVE_ACCESS_TOKENS_FOR_PURGE = "SELECT TOKEN_ID, TOKEN_STATE, TIME_CREATED, " +
+            "VALIDITY_PERIOD, REFRESH_TOKEN_TIME_CREATED, REFRESH_TOKEN_VALIDITY_PERIOD FROM IDN_OAUTH2_ACCESS_TOKEN " +
+            KEYSET_CONDITION_PLACEHOLDER + " ORDER BY TOKEN_ID";
+
+    public static final String RETRIEVE_ACCESS_TOKENS_FOR_PURGE_BY_IDS = "SELECT TOKEN_ID, TOKEN_STATE, " +
+            "TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_TIME_CREATED, REFRESH_TOKEN_VALIDITY_PERIOD FROM " +
+            "IDN_OAUTH2_ACCESS_TOKEN WHERE " + PURGE_CONDITION_PLACEHOLDER;
+
+    public static final String RETRIEVE_AUTHORIZATION_CODES_FOR_PURGE = "SELECT CODE_ID, TIME_CREATED, " +
+            "VALIDITY_PERIOD FROM IDN_OAUTH2_AUTHORIZATION_CODE " + KEYSET_CONDITION_PLACEHOLDER + " ORDER BY CODE_ID";
+
+    public static final String DELETE_PURGED_AUTHORIZATION_CODES = "DELETE FROM IDN_OAUTH2_AUTHORIZATION_CODE " +
+            "WHERE CODE_ID IN (" + PURGE_ID_LIST_PLACEHOLDER + ")";
+
+    public static final String RETRIEVE_CIBA_AUTH_CODES_FOR_PURGE = "SELECT AUTH_CODE_KEY, ISSUED_TIME, EXPIRES_IN " +
+            "FROM IDN_OAUTH2_CIBA_AUTH_CODE " + KEYSET_CONDITION_PLACEHOLDER + " ORDER BY AUTH_CODE_KEY";
+
+    public static final String DELETE_PURGED_CIBA_AUTH_CODES = "DELETE FROM IDN_OAUTH2_CIBA_AUTH_CODE " +
+            "WHERE AUTH_CODE_KEY IN (" + PURGE_ID_LIST_PLACEHOLDER + ")";
+
+    public static final String RETRIEVE_EXPIRED_DEVICE_CODES = "SELECT DEVICE_CODE FROM IDN_OAUTH2_DEVICE_FLOW " +
+            "WHERE EXPIRY_TIME < ?";
+
+    public static final String DELETE_PURGED_DEVICE_CODES = "DELETE FROM IDN_OAUTH2_DEVICE_FLOW " +
+            "WHERE DEVICE_CODE IN (" + PURGE_ID_LIST_PLACEHOLDER + ")";
+
+    public static final String RETRIEVE_EXPIRED_PAR_REQUESTS = "SELECT REQ_URI_REF FROM IDN_OAUTH_PAR " +
+            "WHERE SCHEDULED_EXPIRY < ?";
+
+    public static final String DELETE_PURGED_PAR_REQUESTS = "DELETE FROM IDN_OAUTH_PAR " +
+            "WHERE REQ_URI_REF IN (" + PURGE_ID_LIST_PLACEHOLDER + ")";
+
     public static final String DELETE_ACCESS_TOKEN = "DELETE FROM IDN_OAUTH2_ACCESS_TOKEN WHERE ACCESS_TOKEN = ? ";
 
     public static final String REVOKE_SAAS_TOKENS_OF_OTHER_TENANTS = "UPDATE IDN_OAUTH2_ACCESS_TOKEN " +
@@ -1064,6 +1175,28 @@ public class SQLQueries {
             "IDN_OAUTH2_ACCESS_TOKEN_SCOPE ON ACCESS_TOKEN_TABLE.TOKEN_ID = IDN_OAUTH2_ACCESS_TOKEN_SCOPE.TOKEN_ID " +
             "JOIN IDP ON IDP.ID=IDP_ID";
 
+    /**
+     * Appended to the token listing queries when the tokens are read page by page, so that the scope rows of a token
+     * are read consecutively.
+     */
+    public static final String ORDER_BY_LISTED_TOKEN_ID = " ORDER BY ACCESS_TOKEN_TABLE.TOKEN_ID";
+
+    public static final String ORDER_BY_ACTIVE_DETAILS_TOKEN_ID = " ORDER BY IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID";
+
+    /**
+     * Appended to the token listing queries to read the page of tokens after the last token of the previous page.
+     */
+    public static final String LISTED_TOKEN_ID_AFTER = " WHERE ACCESS_TOKEN_TABLE.TOKEN_ID > ?";
+
+    public static final String ACTIVE_DETAILS_TOKEN_ID_AFTER = " AND IDN_OAUTH2_ACCESS_TOKEN.TOKEN_ID > ?";
+
+    /**
+     * Appended to the latest authorization code listing queries when the codes are read page by page.
+     */
+    public static final String ORDER_BY_LISTED_AUTHZ_CODE_ID = " ORDER BY IDN_OAUTH2_AUTHORIZATION_CODE.CODE_ID";
+
+    public static final String LISTED_AUTHZ_CODE_ID_AFTER = " AND IDN_OAUTH2_AUTHORIZATION_CODE.CODE_ID > ?";
+
     public static final String LIST_LATEST_AUTHZ_CODES_IN_USER_DOMAIN = "SELECT CODE_ID, AUTHORIZATION_CODE, " +
             "CONSUMER_KEY, IDN_OAUTH2_AUTHORIZATION_CODE.AUTHZ_USER, IDN_OAUTH2_AUTHORIZATION_CODE.SCOPE, " +
             "TIME_CREATED, VALIDITY_PERIOD, IDN_OAUTH2_AUTHORIZATION_CODE.CALLBACK_URL FROM (SELECT " +
@@ -27,8 +27,11 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Token management data access interface.
@@ -98,4 +101,42 @@ public interface TokenManagementDAO {
             IdentityOAuth2Exception;
 
     Set<String> getAllTimeAuthorizedClientIds(AuthenticatedUser authzUser) throws IdentityOAuth2Exception;
+
+    /**
+     * Get the client ids of the applications of the current tenant for which the user holds an active or expired
+     * access token.
+     *
+     * @param authzUser       Authorized user.
+     * @param userStoreDomain User store domain of the access token partition, or null if the access tokens are not
+     *                        partitioned.
+     * @return Client ids of the applications authorized by the user, in ascending order.
+     * @throws IdentityOAuth2Exception Error while retrieving the client ids.
+     */
+    default Set<String> getAuthorizedClientIds(AuthenticatedUser authzUser, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        Set<String> authorizedClientIds = new TreeSet<>();
+        AccessTokenDAO accessTokenDAO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO();
+        for (String clientId : getAllTimeAuthorizedClientIds(authzUser)) {
+            if (!accessTokenDAO.getAccessTokens(clientId, authzUser, userStoreDomain, true).isEmpty()) {
+                authorizedClientIds.add(clientId);
+            }
+        }
+        return authorizedClientIds;
+    }
+
+    /**
+     * Get the active access tokens of the given users of a user store, with a single query over all the users.
+     *
+     * @param usernames       Tenant aware usernames of the users, without the user store domain.
+     * @param userStoreDomain User store domain of the users.
+     * @param tenantId        Tenant id of the users.
+     * @return Active access tokens of the users, along with their scopes and token binding references.
+     * @throws IdentityOAuth2Exception Error while retrieving the access tokens.
+     */
+    default List<AccessTokenDO> getActiveAccessTokensOfUsers(List<String> usernames, String userStoreDomain,
+                                                             int tenantId) throws IdentityOAuth2Exception {
+
+        return Collections.emptyList();
+    }
 }
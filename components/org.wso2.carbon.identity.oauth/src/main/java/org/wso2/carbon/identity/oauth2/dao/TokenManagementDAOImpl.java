@@ -35,10 +35,12 @@ import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.Oauth2ScopeConstants;
+import org.wso2.carbon.identity.oauth2.cache.AuthorizedAppsCache;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenExtendedAttributes;
 import org.wso2.carbon.identity.oauth2.model.RefreshTokenValidationDataDO;
+import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
@@ -49,18 +51,20 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.IS_EXTENDED_TOKEN;
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getUserResidentTenantDomain;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.isAccessTokenExtendedTableExist;
 
 /*
 NOTE
@@ -107,7 +111,7 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
             boolean isMysqlOrMarinaDBOrH2 =
                     driverName.contains("MySQL") || driverName.contains("MariaDB") || driverName.contains("H2");
             if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
-                if (isAccessTokenExtendedTableExist()) {
+                if (OAuth2ServiceComponentHolder.isTokenExtendedTableExist()) {
                     if (isMysqlOrMarinaDBOrH2) {
                         sql = SQLQueries.RETRIEVE_ACCESS_TOKEN_VALIDATION_DATA_WITH_EXTENDED_ATTRIBUTES_MYSQL;
                     } else if (connection.getMetaData().getDatabaseProductName().contains("DB2")) {
@@ -226,7 +230,7 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
                     AuthenticatedUser user = OAuth2Util.createAuthenticatedUser(userName, userDomain, tenantDomain,
                             authenticatedIDP);
                     user.setAuthenticatedSubjectIdentifier(subjectIdentifier);
-                    if (isAccessTokenExtendedTableExist() && resultSet.getString(17) != null &&
+                    if (OAuth2ServiceComponentHolder.isTokenExtendedTableExist() && resultSet.getString(17) != null &&
                             resultSet.getString(18) != null) {
                         extendedParams.put(resultSet.getString(17), resultSet.getString(18));
                     }
@@ -248,7 +252,7 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
                             !validationDataDO.getScope()[0].equals(resultSet.getString(5))) {
                         scopes.add(resultSet.getString(5));
                     }
-                    if (isAccessTokenExtendedTableExist() && resultSet.getString(17) != null &&
+                    if (OAuth2ServiceComponentHolder.isTokenExtendedTableExist() && resultSet.getString(17) != null &&
                             resultSet.getString(18) != null) {
                         extendedParams.put(resultSet.getString(17), resultSet.getString(18));
                     }
@@ -590,6 +594,8 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
                                                       String[] authorizationCodes, String[] accessTokens)
             throws IdentityOAuth2Exception, IdentityApplicationManagementException {
 
+        AccessTokenDAOImpl.flushPendingAccessTokens(AccessTokenDAOImpl.pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Updating state of client: " + consumerKey + " and revoking all access tokens and " +
                     "authorization codes.");
@@ -665,10 +671,16 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
             //Revoke all active access tokens
             if (ArrayUtils.isNotEmpty(accessTokens)) {
                 if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+                    // The tokens of the application are revoked once per partition of the token table.
+                    Set<String> revokedPartitionSqls = new HashSet<>();
                     for (String token : accessTokens) {
                         String sqlQuery = OAuth2Util.getTokenPartitionedSqlByToken(SQLQueries.REVOKE_APP_ACCESS_TOKEN,
                                 token);
+                        if (!revokedPartitionSqls.add(sqlQuery)) {
+                            continue;
+                        }
 
+                        IdentityDatabaseUtil.closeStatement(revokeActiveTokensStatement);
                         revokeActiveTokensStatement = connection.prepareStatement(sqlQuery);
                         revokeActiveTokensStatement.setString(1, OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
                         revokeActiveTokensStatement.setString(2, UUID.randomUUID().toString());
@@ -722,6 +734,8 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     public void revokeTokens(String consumerKey, String[] accessTokens)
             throws IdentityOAuth2Exception, IdentityApplicationManagementException {
 
+        AccessTokenDAOImpl.flushPendingAccessTokens(AccessTokenDAOImpl.pendingTokensOfClient(consumerKey));
+
         if (log.isDebugEnabled()) {
             log.debug("Updating state of client: " + consumerKey + " and revoking all access tokens.");
         }
@@ -730,9 +744,14 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
             //Revoke all active access tokens
             if (ArrayUtils.isNotEmpty(accessTokens)) {
                 if (OAuth2Util.checkAccessTokenPartitioningEnabled() && OAuth2Util.checkUserNameAssertionEnabled()) {
+                    // The tokens of the application are revoked once per partition of the token table.
+                    Set<String> revokedPartitionSqls = new HashSet<>();
                     for (String token : accessTokens) {
                         String sqlQuery = OAuth2Util.getTokenPartitionedSqlByToken(SQLQueries.REVOKE_APP_ACCESS_TOKEN,
                                 token);
+                        if (!revokedPartitionSqls.add(sqlQuery)) {
+                            continue;
+                        }
                         try (PreparedStatement revokeActiveTokensStatement = connection.prepareStatement(sqlQuery)) {
                             revokeActiveTokensStatement.setString(1,
                                     OAuthConstants.TokenStates.TOKEN_STATE_REVOKED);
@@ -840,6 +859,8 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
     public void revokeSaaSTokensOfOtherTenants(String consumerKey, String userStoreDomain, int tenantId) throws
             IdentityOAuth2Exception {
 
+        AccessTokenDAOImpl.flushPendingAccessTokens(AccessTokenDAOImpl.pendingTokensOfClient(consumerKey));
+
         Connection connection = IdentityDatabaseUtil.getDBConnection();
         PreparedStatement ps = null;
         try {
@@ -929,6 +950,137 @@ public class TokenManagementDAOImpl extends AbstractOAuthDAO implements TokenMan
         return distinctConsumerKeys;
     }
 
+    @Override
+    public Set<String> getAuthorizedClientIds(AuthenticatedUser authzUser, String userStoreDomain)
+            throws IdentityOAuth2Exception {
+
+        String tenantDomain = getUserResidentTenantDomain(authzUser);
+        int tenantId = OAuth2Util.getTenantId(tenantDomain);
+        String tenantAwareUsernameWithNoUserDomain = authzUser.getUserName();
+        String userDomain = OAuth2Util.getUserStoreDomain(authzUser);
+        boolean isUsernameCaseSensitive = IdentityUtil.isUserStoreCaseSensitive(authzUser.getUserStoreDomain(),
+                tenantId);
+        String authenticatedIDP = OAuth2Util.getAuthenticatedIDP(authzUser);
+        int appTenantId = AuthorizedAppsCache.getAppTenantId(authzUser);
+
+        String sql;
+        if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+            sql = SQLQueries.GET_APPS_AUTHORIZED_BY_USER_IDP_NAME;
+        } else {
+            sql = SQLQueries.GET_APPS_AUTHORIZED_BY_USER;
+        }
+        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql,
+                OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain));
+        if (!isUsernameCaseSensitive) {
+            sql = sql.replace(AUTHZ_USER, LOWER_AUTHZ_USER);
+        }
+
+        Set<String> clientIds = new TreeSet<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setInt(1, appTenantId);
+            if (isUsernameCaseSensitive) {
+                ps.setString(2, tenantAwareUsernameWithNoUserDomain);
+            } else {
+                ps.setString(2, tenantAwareUsernameWithNoUserDomain.toLowerCase());
+            }
+            ps.setInt(3, tenantId);
+            ps.setString(4, userDomain);
+            if (OAuth2ServiceComponentHolder.isIDPIdColumnEnabled()) {
+                ps.setString(5, authenticatedIDP);
+                // Set tenant ID of the IDP by considering it is same as appTenantID.
+                ps.setInt(6, appTenantId);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    clientIds.add(getPersistenceProcessor().getPreprocessedClientId(rs.getString(1)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving the Client IDs authorized by User ID : "
+                    + authzUser, e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Found " + clientIds.size() + " authorized clients for user: " + authzUser);
+        }
+        return clientIds;
+    }
+
+    @Override
+    public List<AccessTokenDO> getActiveAccessTokensOfUsers(List<String> usernames, String userStoreDomain,
+                                                            int tenantId) throws IdentityOAuth2Exception {
+
+        if (usernames.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String tenantDomain = OAuth2Util.getTenantDomain(tenantId);
+        Set<String> pendingUsernames = new HashSet<>();
+        for (String username : usernames) {
+            pendingUsernames.add(username.toLowerCase());
+        }
+        AccessTokenDAOImpl.flushPendingAccessTokens(AccessTokenDAOImpl.pendingTokensOfTenant(tenantDomain)
+                .and(accessContextToken -> pendingUsernames.contains(StringUtils.lowerCase(
+                        accessContextToken.getNewAccessTokenDO().getAuthzUser().getUserName()))));
+        String userDomain = OAuth2Util.getSanitizedUserStoreDomain(userStoreDomain);
+        boolean isUsernameCaseSensitive = IdentityUtil.isUserStoreCaseSensitive(userDomain, tenantId);
+
+        String sql = SQLQueries.GET_ACTIVE_ACCESS_TOKENS_OF_USERS.replace(SQLQueries.USERNAME_LIST_PLACEHOLDER,
+                String.join(", ", Collections.nCopies(usernames.size(), "?")));
+        sql = OAuth2Util.getTokenPartitionedSqlByUserStore(sql, userDomain);
+        if (!isUsernameCaseSensitive) {
+            sql = sql.replace(AUTHZ_USER, LOWER_AUTHZ_USER);
+        }
+
+        Map<String, AccessTokenDO> accessTokens = new LinkedHashMap<>();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            int parameterIndex = 1;
+            ps.setInt(parameterIndex++, tenantId);
+            ps.setString(parameterIndex++, userDomain);
+            for (String username : usernames) {
+                ps.setString(parameterIndex++, isUsernameCaseSensitive ? username : username.toLowerCase());
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tokenId = rs.getString(1);
+                    AccessTokenDO accessTokenDO = accessTokens.get(tokenId);
+                    if (accessTokenDO == null) {
+                        AuthenticatedUser authzUser = new AuthenticatedUser();
+                        authzUser.setUserName(rs.getString(6));
+                        authzUser.setUserStoreDomain(userDomain);
+                        authzUser.setTenantDomain(tenantDomain);
+                        accessTokenDO = new AccessTokenDO();
+                        accessTokenDO.setTokenId(tokenId);
+                        accessTokenDO.setAccessToken(getPersistenceProcessor()
+                                .getPreprocessedAccessTokenIdentifier(rs.getString(2)));
+                        accessTokenDO.setConsumerKey(getPersistenceProcessor()
+                                .getPreprocessedClientId(rs.getString(3)));
+                        accessTokenDO.setAuthzUser(authzUser);
+                        accessTokenDO.setTenantID(tenantId);
+                        accessTokenDO.setTokenState(OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+                        accessTokenDO.setScope(new String[0]);
+                        String tokenBindingReference = rs.getString(4);
+                        if (StringUtils.isNotBlank(tokenBindingReference) &&
+                                !OAuthConstants.TokenBindings.NONE.equals(tokenBindingReference)) {
+                            TokenBinding tokenBinding = new TokenBinding();
+                            tokenBinding.setBindingReference(tokenBindingReference);
+                            accessTokenDO.setTokenBinding(tokenBinding);
+                        }
+                        accessTokens.put(tokenId, accessTokenDO);
+                    }
+                    String scope = rs.getString(5);
+                    if (StringUtils.isNotBlank(scope)) {
+                        accessTokenDO.setScope((String[]) ArrayUtils.add(accessTokenDO.getScope(), scope.trim()));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error occurred while retrieving the active access tokens of " +
+                    usernames.size() + " users of user store: " + userDomain + " in tenant: " + tenantId, e);
+        }
+        return new ArrayList<>(accessTokens.values());
+    }
+
     private String getAppTenantDomain() {
 
         return IdentityTenantUtil.getTenantDomainFromContext();
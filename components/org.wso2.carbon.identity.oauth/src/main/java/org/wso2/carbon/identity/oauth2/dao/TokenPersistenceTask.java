@@ -17,22 +17,41 @@
  */
 package org.wso2.carbon.identity.oauth2.dao;
 
+import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.base.IdentityException;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 
-import java.util.concurrent.BlockingDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
- * OAuth token persistence task.
+ * OAuth token persistence task. Drains the access token queue of the {@link AccessTokenPersistencePipeline} and
+ * persists the tokens in batches. If a batch fails, its tokens are persisted one by one with retries, recovering
+ * from token collisions as the synchronous path does. Tokens which still can not be persisted are removed from the
+ * OAuth cache, so that a token which is not in the database is not accepted either.
  */
 public class TokenPersistenceTask implements Runnable {
 
     private static final Log log = LogFactory.getLog(TokenPersistenceTask.class);
-    private BlockingDeque<AccessContextTokenDO> accessContextTokenQueue;
+    private static final Log failureLog = LogFactory.getLog("org.wso2.carbon.identity.oauth2.dao" +
+            ".TokenPersistenceFailure");
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final BlockingQueue<AccessContextTokenDO> accessContextTokenQueue;
+    private final AccessTokenPersistencePipeline pipeline;
+    private volatile boolean stopped;
+
+    public TokenPersistenceTask(BlockingQueue<AccessContextTokenDO> accessContextTokenQueue,
+                                AccessTokenPersistencePipeline pipeline) {
 
-    public TokenPersistenceTask(BlockingDeque<AccessContextTokenDO> accessContextTokenQueue) {
         this.accessContextTokenQueue = accessContextTokenQueue;
+        this.pipeline = pipeline;
     }
 
     @Override
@@ -40,25 +59,150 @@ public class TokenPersistenceTask implements Runnable {
 
         log.debug("Access Token context persist consumer is started");
 
-        while (true) {
-            AccessContextTokenDO accessContextTokenDO = null;
-            String accessToken = null;
+        List<AccessContextTokenDO> batch = new ArrayList<>(pipeline.getBatchSize());
+        // Keep draining after a stop request so that the queued tokens are flushed.
+        while (!stopped || !accessContextTokenQueue.isEmpty()) {
             try {
-                accessContextTokenDO =  accessContextTokenQueue.take();
-                if (accessContextTokenDO != null) {
-                    accessToken = accessContextTokenDO.getAccessToken();
-                    log.debug("Access Token Data persisting Task is started to run");
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                            .insertAccessToken(accessToken, accessContextTokenDO.getConsumerKey(),
-                                    accessContextTokenDO.getNewAccessTokenDO(),
-                                    accessContextTokenDO.getExistingAccessTokenDO(),
-                                    accessContextTokenDO.getUserStoreDomain());
+                AccessContextTokenDO accessContextTokenDO = accessContextTokenQueue.poll(POLL_TIMEOUT_MILLIS,
+                        TimeUnit.MILLISECONDS);
+                if (accessContextTokenDO == null) {
+                    continue;
                 }
+                batch.add(accessContextTokenDO);
+                accessContextTokenQueue.drainTo(batch, pipeline.getBatchSize() - 1);
+                persist(batch);
             } catch (InterruptedException e) {
-                log.error("Error occurred while getting AccessContextTokenDO instance from accessContextTokenQueue", e);
+                log.error("Access token persist consumer is interrupted while waiting for access tokens.", e);
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+        log.debug("Access Token context persist consumer is stopped");
+    }
+
+    /**
+     * Request the task to stop once the queue is empty.
+     */
+    public void stop() {
+
+        stopped = true;
+    }
+
+    /**
+     * Persist a batch of tokens, and stop tracking them as pending once they are written or failed.
+     *
+     * @param batch Access tokens to persist.
+     * @throws InterruptedException If interrupted while waiting to retry. The tokens which were not written are
+     *                              failed before returning.
+     */
+    void persist(List<AccessContextTokenDO> batch) throws InterruptedException {
+
+        try {
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().insertAccessTokens(batch);
+            pipeline.recordBatch(batch.size());
+            pipeline.complete(batch);
+            return;
+        } catch (IdentityException e) {
+            log.warn("Error occurred while persisting a batch of " + batch.size() + " access tokens. Retrying the " +
+                    "tokens individually.", e);
+        }
+
+        int persistedCount = 0;
+        try {
+            for (AccessContextTokenDO accessContextTokenDO : batch) {
+                persistWithRetry(accessContextTokenDO);
+                persistedCount++;
+            }
+        } catch (InterruptedException e) {
+            for (AccessContextTokenDO accessContextTokenDO : batch.subList(persistedCount, batch.size())) {
+                fail(accessContextTokenDO, null);
+            }
+            throw e;
+        } finally {
+            pipeline.complete(batch);
+        }
+    }
+
+    private void persistWithRetry(AccessContextTokenDO accessContextTokenDO) throws InterruptedException {
+
+        String tokenId = accessContextTokenDO.getNewAccessTokenDO() != null ?
+                accessContextTokenDO.getNewAccessTokenDO().getTokenId() : null;
+        IdentityException lastError = null;
+        for (int attempt = 0; attempt <= pipeline.getMaxRetryCount(); attempt++) {
+            if (attempt > 0) {
+                // Exponential backoff between the attempts.
+                Thread.sleep(pipeline.getRetryBackoffMillis() << (attempt - 1));
+            }
+            try {
+                insertAccessToken(accessContextTokenDO);
+                pipeline.recordPersisted();
+                return;
             } catch (IdentityException e) {
-                log.error("Error occurred while persisting access token :" + accessToken, e);
+                lastError = e;
+                if (log.isDebugEnabled()) {
+                    log.debug("Attempt " + (attempt + 1) + " to persist the access token with the token id: " +
+                            tokenId + " failed.", e);
+                }
+            }
+        }
+        fail(accessContextTokenDO, lastError);
+    }
+
+    /**
+     * Give up on a token which could not be persisted. The token is removed from the OAuth cache, so that it is
+     * rejected like any other unknown token, and the client has to request a new one.
+     *
+     * @param accessContextTokenDO Access token which could not be persisted.
+     * @param error                Last persistence error, if any.
+     */
+    void fail(AccessContextTokenDO accessContextTokenDO, IdentityException error) {
+
+        pipeline.recordFailed();
+        AccessTokenDO accessTokenDO = accessContextTokenDO.getNewAccessTokenDO();
+        String tokenId = accessTokenDO != null ? accessTokenDO.getTokenId() : null;
+        failureLog.error("Access token with the token id: " + tokenId + " issued for the client: " +
+                accessContextTokenDO.getConsumerKey() + " could not be persisted. The token is removed from the " +
+                "cache.", error);
+        if (accessTokenDO == null || accessTokenDO.getAuthzUser() == null) {
+            return;
+        }
+        boolean tenantFlowStarted = startTenantFlow(accessContextTokenDO);
+        try {
+            OAuthUtil.clearOAuthCaches(accessTokenDO);
+        } catch (RuntimeException e) {
+            log.error("Error while removing the access token with the token id: " + tokenId + " from the cache.", e);
+        } finally {
+            if (tenantFlowStarted) {
+                PrivilegedCarbonContext.endTenantFlow();
             }
         }
     }
+
+    private void insertAccessToken(AccessContextTokenDO accessContextTokenDO) throws IdentityException {
+
+        // The token issuer of the app is resolved from the tenant of the carbon context, while the app tenant
+        // resolved when the token was queued is carried in the access token context.
+        boolean tenantFlowStarted = startTenantFlow(accessContextTokenDO);
+        try {
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().insertAccessToken(accessContextTokenDO);
+        } finally {
+            if (tenantFlowStarted) {
+                PrivilegedCarbonContext.endTenantFlow();
+            }
+        }
+    }
+
+    private static boolean startTenantFlow(AccessContextTokenDO accessContextTokenDO) {
+
+        boolean tenantFlowStarted = false;
+        if (StringUtils.isNotBlank(accessContextTokenDO.getTenantDomain())) {
+            PrivilegedCarbonContext.startTenantFlow();
+            PrivilegedCarbonContext.getThreadLocalCarbonContext()
+                    .setTenantDomain(accessContextTokenDO.getTenantDomain(), true);
+            tenantFlowStarted = true;
+        }
+        return tenantFlowStarted;
+    }
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * DAO used by the {@link TokenPurgeService} to move old access tokens to the audit table and to delete expired
+ * access tokens, authorization codes, device codes, CIBA auth codes and pushed authorization requests in chunks.
+ * <p>
+ * Rows which need the validity period to decide whether they are expired are read in primary key order, a chunk at a
+ * time, and filtered here, as the expiry can not be computed in SQL portably across the supported databases.
+ */
+public class TokenPurgeDAO {
+
+    private static final String UTC = "UTC";
+    private static final String TOKEN_ID = "TOKEN_ID";
+    private static final String ACCESS_TOKEN_HASH = "ACCESS_TOKEN_HASH";
+
+    /**
+     * Decides whether the current row of a result set is expired.
+     */
+    @FunctionalInterface
+    private interface ExpiryCheck {
+
+        boolean isExpired(ResultSet resultSet, long currentTime) throws SQLException;
+    }
+
+    /**
+     * Moves the non active access tokens with the given token ids to the audit table, if the old access tokens are
+     * retained, and deletes them. Tokens which are still active, and expired tokens of which the refresh token can
+     * still be used, are left untouched.
+     *
+     * @param tokenIds Token ids.
+     * @return Number of deleted tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be purged.
+     */
+    public int purgeInactiveTokensById(List<String> tokenIds) throws IdentityOAuth2Exception {
+
+        return purgeAccessTokens(TOKEN_ID, findPurgeableTokens(TOKEN_ID, tokenIds), true);
+    }
+
+    /**
+     * Moves the non active access tokens with the given access token hashes to the audit table, if the old access
+     * tokens are retained, and deletes them. Tokens which are still active, and expired tokens of which the refresh
+     * token can still be used, are left untouched.
+     *
+     * @param accessTokenHashes Access token hashes.
+     * @return Number of deleted tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be purged.
+     */
+    public int purgeInactiveTokensByHash(List<String> accessTokenHashes) throws IdentityOAuth2Exception {
+
+        return purgeAccessTokens(TOKEN_ID, findPurgeableTokens(ACCESS_TOKEN_HASH, accessTokenHashes), true);
+    }
+
+    /**
+     * Moves the access tokens with the given token ids to the audit table, if the old access tokens are retained, and
+     * deletes them regardless of their state.
+     *
+     * @param tokenIds Token ids of tokens found to be expired.
+     * @return Number of deleted tokens.
+     * @throws IdentityOAuth2Exception If the tokens could not be purged.
+     */
+    public int purgeExpiredTokens(List<String> tokenIds) throws IdentityOAuth2Exception {
+
+        return purgeAccessTokens(TOKEN_ID, tokenIds, false);
+    }
+
+    /**
+     * Reads the next chunk of access tokens after the given token id and collects the ones which are neither active
+     * nor expired, or of which both the access token and the refresh token are expired. The refresh token of an
+     * active or expired access token is still accepted by the refresh grant until it expires.
+     *
+     * @param afterTokenId   Last token id of the previous chunk, or null to start from the first token.
+     * @param chunkSize      Number of tokens to read.
+     * @param currentTime    Current time in milliseconds.
+     * @param expiredTokenIds List to add the ids of the purgeable tokens to.
+     * @return Last token id of the chunk, or null if there are no more tokens after the chunk.
+     * @throws IdentityOAuth2Exception If the tokens could not be read.
+     */
+    public String findExpiredTokens(String afterTokenId, int chunkSize, long currentTime,
+                                    List<String> expiredTokenIds) throws IdentityOAuth2Exception {
+
+        return findExpiredRows(SQLQueries.RETRIEVE_ACCESS_TOKENS_FOR_PURGE, TOKEN_ID, afterTokenId, chunkSize,
+                currentTime, expiredTokenIds, TokenPurgeDAO::isPurgeableToken);
+    }
+
+    /**
+     * Reads the next chunk of authorization codes after the given code id and collects the expired ones.
+     *
+     * @param afterCodeId    Last code id of the previous chunk, or null to start from the first code.
+     * @param chunkSize      Number of codes to read.
+     * @param currentTime    Current time in milliseconds.
+     * @param expiredCodeIds List to add the ids of the expired codes to.
+     * @return Last code id of the chunk, or null if there are no more codes after the chunk.
+     * @throws IdentityOAuth2Exception If the codes could not be read.
+     */
+    public String findExpiredAuthorizationCodes(String afterCodeId, int chunkSize, long currentTime,
+                                                List<String> expiredCodeIds) throws IdentityOAuth2Exception {
+
+        return findExpiredRows(SQLQueries.RETRIEVE_AUTHORIZATION_CODES_FOR_PURGE, "CODE_ID", afterCodeId, chunkSize,
+                currentTime, expiredCodeIds,
+                (resultSet, now) -> isExpired(getTime(resultSet, 2), resultSet.getLong(3), now));
+    }
+
+    /**
+     * Reads the next chunk of CIBA auth codes after the given auth code key and collects the expired ones.
+     *
+     * @param afterAuthCodeKey Last auth code key of the previous chunk, or null to start from the first one.
+     * @param chunkSize        Number of auth codes to read.
+     * @param currentTime      Current time in milliseconds.
+     * @param expiredKeys      List to add the keys of the expired auth codes to.
+     * @return Last auth code key of the chunk, or null if there are no more auth codes after the chunk.
+     * @throws IdentityOAuth2Exception If the auth codes could not be read.
+     */
+    public String findExpiredCibaAuthCodes(String afterAuthCodeKey, int chunkSize, long currentTime,
+                                           List<String> expiredKeys) throws IdentityOAuth2Exception {
+
+        // The expiry of a CIBA auth code is in seconds.
+        return findExpiredRows(SQLQueries.RETRIEVE_CIBA_AUTH_CODES_FOR_PURGE, "AUTH_CODE_KEY", afterAuthCodeKey,
+                chunkSize, currentTime, expiredKeys,
+                (resultSet, now) -> isExpired(getTime(resultSet, 2), resultSet.getLong(3) * 1000, now));
+    }
+
+    /**
+     * Returns up to a chunk of device codes which are expired.
+     *
+     * @param currentTime Current time in milliseconds.
+     * @param chunkSize   Maximum number of device codes to return.
+     * @return Expired device codes.
+     * @throws IdentityOAuth2Exception If the device codes could not be read.
+     */
+    public List<String> findExpiredDeviceCodes(long currentTime, int chunkSize) throws IdentityOAuth2Exception {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.RETRIEVE_EXPIRED_DEVICE_CODES)) {
+            prepStmt.setTimestamp(1, new Timestamp(currentTime), Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+            return readIds(prepStmt, chunkSize);
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving the expired device codes.", e);
+        }
+    }
+
+    /**
+     * Returns up to a chunk of pushed authorization request references which are expired.
+     *
+     * @param currentTime Current time in milliseconds.
+     * @param chunkSize   Maximum number of request references to return.
+     * @return Expired request references.
+     * @throws IdentityOAuth2Exception If the requests could not be read.
+     */
+    public List<String> findExpiredParRequests(long currentTime, int chunkSize) throws IdentityOAuth2Exception {
+
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(SQLQueries.RETRIEVE_EXPIRED_PAR_REQUESTS)) {
+            prepStmt.setLong(1, currentTime);
+            return readIds(prepStmt, chunkSize);
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while retrieving the expired pushed authorization requests.", e);
+        }
+    }
+
+    public int deleteAuthorizationCodes(List<String> codeIds) throws IdentityOAuth2Exception {
+
+        return deleteByIds(SQLQueries.DELETE_PURGED_AUTHORIZATION_CODES, codeIds, "authorization codes");
+    }
+
+    public int deleteCibaAuthCodes(List<String> authCodeKeys) throws IdentityOAuth2Exception {
+
+        return deleteByIds(SQLQueries.DELETE_PURGED_CIBA_AUTH_CODES, authCodeKeys, "CIBA auth codes");
+    }
+
+    public int deleteDeviceCodes(List<String> deviceCodes) throws IdentityOAuth2Exception {
+
+        return deleteByIds(SQLQueries.DELETE_PURGED_DEVICE_CODES, deviceCodes, "device codes");
+    }
+
+    public int deleteParRequests(List<String> requestUriRefs) throws IdentityOAuth2Exception {
+
+        return deleteByIds(SQLQueries.DELETE_PURGED_PAR_REQUESTS, requestUriRefs, "pushed authorization requests");
+    }
+
+    private int purgeAccessTokens(String idColumn, List<String> ids, boolean inactiveOnly)
+            throws IdentityOAuth2Exception {
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String condition = (inactiveOnly ? "TOKEN_STATE <> ? AND " : "") + idColumn + " IN (" +
+                buildPlaceholders(ids.size()) + ")";
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try {
+            if (OAuthServerConfiguration.getInstance().useRetainOldAccessTokens()) {
+                String auditSql = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled() ?
+                        SQLQueries.STORE_PURGED_TOKENS_IN_AUDIT_WITH_IDP_NAME : SQLQueries.STORE_PURGED_TOKENS_IN_AUDIT;
+                try (PreparedStatement prepStmt = connection.prepareStatement(
+                        auditSql.replace(SQLQueries.PURGE_CONDITION_PLACEHOLDER, condition))) {
+                    prepStmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                    setPurgeConditionParameters(prepStmt, 2, ids, inactiveOnly);
+                    prepStmt.executeUpdate();
+                }
+            }
+            int deletedCount;
+            try (PreparedStatement prepStmt = connection.prepareStatement(
+                    SQLQueries.DELETE_PURGED_TOKENS.replace(SQLQueries.PURGE_CONDITION_PLACEHOLDER, condition))) {
+                setPurgeConditionParameters(prepStmt, 1, ids, inactiveOnly);
+                deletedCount = prepStmt.executeUpdate();
+            }
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return deletedCount;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error while purging a chunk of " + ids.size() + " access tokens.", e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private List<String> findPurgeableTokens(String idColumn, List<String> ids) throws IdentityOAuth2Exception {
+
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long currentTime = System.currentTimeMillis();
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     SQLQueries.RETRIEVE_ACCESS_TOKENS_FOR_PURGE_BY_IDS.replace(SQLQueries.PURGE_CONDITION_PLACEHOLDER,
+                             idColumn + " IN (" + buildPlaceholders(ids.size()) + ")"))) {
+            setPurgeConditionParameters(prepStmt, 1, ids, false);
+            List<String> purgeableTokenIds = new ArrayList<>();
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    if (isPurgeableToken(resultSet, currentTime)) {
+                        purgeableTokenIds.add(resultSet.getString(1));
+                    }
+                }
+            }
+            return purgeableTokenIds;
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while reading a chunk of " + ids.size() + " access tokens to " +
+                    "purge.", e);
+        }
+    }
+
+    private static boolean isPurgeableToken(ResultSet resultSet, long currentTime) throws SQLException {
+
+        String tokenState = resultSet.getString(2);
+        if (!OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE.equals(tokenState) &&
+                !OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED.equals(tokenState)) {
+            return true;
+        }
+        return isExpired(getTime(resultSet, 3), resultSet.getLong(4), currentTime) &&
+                isExpired(getTime(resultSet, 5), resultSet.getLong(6), currentTime);
+    }
+
+    private void setPurgeConditionParameters(PreparedStatement prepStmt, int startIndex, List<String> ids,
+                                             boolean inactiveOnly) throws SQLException {
+
+        int index = startIndex;
+        if (inactiveOnly) {
+            prepStmt.setString(index++, OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE);
+        }
+        for (String id : ids) {
+            prepStmt.setString(index++, id);
+        }
+    }
+
+    private String findExpiredRows(String sql, String idColumn, String afterId, int chunkSize, long currentTime,
+                                   List<String> expiredIds, ExpiryCheck expiryCheck)
+            throws IdentityOAuth2Exception {
+
+        boolean hasAfterId = StringUtils.isNotEmpty(afterId);
+        String keysetCondition = hasAfterId ? "WHERE " + idColumn + " > ?" : "";
+        try (Connection connection = IdentityDatabaseUtil.getDBConnection(false);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     sql.replace(SQLQueries.KEYSET_CONDITION_PLACEHOLDER, keysetCondition))) {
+            if (hasAfterId) {
+                prepStmt.setString(1, afterId);
+            }
+            prepStmt.setMaxRows(chunkSize);
+            String lastId = null;
+            int rowCount = 0;
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    lastId = resultSet.getString(1);
+                    rowCount++;
+                    if (expiryCheck.isExpired(resultSet, currentTime)) {
+                        expiredIds.add(lastId);
+                    }
+                }
+            }
+            return rowCount < chunkSize ? null : lastId;
+        } catch (SQLException e) {
+            throw new IdentityOAuth2Exception("Error while reading rows to purge with the query: " + sql, e);
+        }
+    }
+
+    private int deleteByIds(String sql, List<String> ids, String rowType) throws IdentityOAuth2Exception {
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Connection connection = IdentityDatabaseUtil.getDBConnection(true);
+        try (PreparedStatement prepStmt = connection.prepareStatement(
+                sql.replace(SQLQueries.PURGE_ID_LIST_PLACEHOLDER, buildPlaceholders(ids.size())))) {
+            for (int i = 0; i < ids.size(); i++) {
+                prepStmt.setString(i + 1, ids.get(i));
+            }
+            int deletedCount = prepStmt.executeUpdate();
+            IdentityDatabaseUtil.commitTransaction(connection);
+            return deletedCount;
+        } catch (SQLException e) {
+            IdentityDatabaseUtil.rollbackTransaction(connection);
+            throw new IdentityOAuth2Exception("Error while deleting a chunk of " + ids.size() + " expired " + rowType +
+                    ".", e);
+        } finally {
+            IdentityDatabaseUtil.closeConnection(connection);
+        }
+    }
+
+    private static List<String> readIds(PreparedStatement prepStmt, int chunkSize) throws SQLException {
+
+        prepStmt.setMaxRows(chunkSize);
+        try (ResultSet resultSet = prepStmt.executeQuery()) {
+            List<String> ids = new ArrayList<>();
+            while (resultSet.next()) {
+                ids.add(resultSet.getString(1));
+            }
+            return ids.isEmpty() ? Collections.emptyList() : ids;
+        }
+    }
+
+    private static long getTime(ResultSet resultSet, int columnIndex) throws SQLException {
+
+        Timestamp timestamp = resultSet.getTimestamp(columnIndex, Calendar.getInstance(TimeZone.getTimeZone(UTC)));
+        return timestamp != null ? timestamp.getTime() : 0;
+    }
+
+    private static boolean isExpired(long issuedTime, long validityPeriod, long currentTime) {
+
+        // A negative validity period means that the grant never expires.
+        return validityPeriod >= 0 && currentTime - issuedTime > validityPeriod;
+    }
+
+    private static String buildPlaceholders(int count) {
+
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                placeholders.append(", ");
+            }
+            placeholders.append('?');
+        }
+        return placeholders.toString();
+    }
+}
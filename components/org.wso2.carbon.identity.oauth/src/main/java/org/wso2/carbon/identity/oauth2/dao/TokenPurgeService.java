@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * Background service which purges old access tokens and expired grants, off the token issuance and revocation paths.
+ * <p>
+ * Tokens which are made inactive, expired or revoked are handed over to a bounded queue instead of being moved to the
+ * audit table and deleted in the issuing transaction. The queue is drained periodically and the tokens are purged in
+ * chunks, pausing between the chunks to limit the load on the database. Only tokens which are no longer active are
+ * purged from the queue, so a token is kept if the transaction which made it inactive is rolled back.
+ * <p>
+ * A periodic sweep additionally purges the access tokens which are neither active nor expired, or of which the
+ * refresh token has expired as well, and deletes the expired authorization codes, device codes, CIBA auth codes and
+ * pushed authorization requests. The sweep also purges the tokens which could not be queued or were still queued
+ * when the service was stopped. Expired access tokens are kept while their refresh token can still be used. As the
+ * sweep covers the tables shared by all the nodes of a cluster, it only runs on the nodes on which
+ * OAuth.TokenCleanup.AsyncPurge.Sweep.Enable is set, which is expected to be a single node.
+ * <p>
+ * The service is disabled by default, and is only enabled along with the token cleanup feature. When it is disabled,
+ * stopped or its queue is full, the caller is expected to clean up the token inline.
+ */
+public class TokenPurgeService {
+
+    private static final Log log = LogFactory.getLog(TokenPurgeService.class);
+
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+    private static final long DEFAULT_CHUNK_INTERVAL_MILLIS = 100;
+    private static final long DEFAULT_PURGE_INTERVAL_MILLIS = 1000;
+    private static final long DEFAULT_SWEEP_INTERVAL_SECONDS = 3600;
+
+    private static volatile TokenPurgeService instance;
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final long chunkIntervalMillis;
+    private final long purgeIntervalMillis;
+    private final long sweepIntervalMillis;
+    private final TokenPurgeDAO tokenPurgeDAO;
+    private final BlockingQueue<String> tokenIdQueue;
+    private final BlockingQueue<String> tokenHashQueue;
+
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder overflowCount = new LongAdder();
+    private final LongAdder purgedTokenCount = new LongAdder();
+    private final LongAdder sweptRowCount = new LongAdder();
+    private final LongAdder failedChunkCount = new LongAdder();
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+
+    TokenPurgeService(boolean enabled, int queueSize, int chunkSize, long chunkIntervalMillis,
+                      long purgeIntervalMillis, long sweepIntervalMillis, TokenPurgeDAO tokenPurgeDAO) {
+
+        this.enabled = enabled;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunkIntervalMillis = Math.max(0, chunkIntervalMillis);
+        this.purgeIntervalMillis = Math.max(1, purgeIntervalMillis);
+        this.sweepIntervalMillis = Math.max(0, sweepIntervalMillis);
+        this.tokenPurgeDAO = tokenPurgeDAO;
+        this.tokenIdQueue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.tokenHashQueue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+    }
+
+    /**
+     * Get the shared purge service, configured from the OAuth.TokenCleanup.AsyncPurge section of identity.xml. The
+     * service is only enabled when the token cleanup is enabled as well. The purge and sweep tasks are scheduled on
+     * first use when the service is enabled. The sweep is only scheduled when it is enabled on this node.
+     *
+     * @return Token purge service.
+     */
+    public static TokenPurgeService getInstance() {
+
+        if (instance == null) {
+            synchronized (TokenPurgeService.class) {
+                if (instance == null) {
+                    TokenPurgeService service = new TokenPurgeService(
+                            Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TokenPurge.ENABLE)) &&
+                                    OAuthServerConfiguration.getInstance().isTokenCleanupEnabled(),
+                            getIntProperty(OAuth2Constants.TokenPurge.QUEUE_SIZE, DEFAULT_QUEUE_SIZE),
+                            getIntProperty(OAuth2Constants.TokenPurge.CHUNK_SIZE, DEFAULT_CHUNK_SIZE),
+                            getIntProperty(OAuth2Constants.TokenPurge.CHUNK_INTERVAL,
+                                    (int) DEFAULT_CHUNK_INTERVAL_MILLIS),
+                            getIntProperty(OAuth2Constants.TokenPurge.PURGE_INTERVAL,
+                                    (int) DEFAULT_PURGE_INTERVAL_MILLIS),
+                            Boolean.parseBoolean(IdentityUtil.getProperty(OAuth2Constants.TokenPurge.SWEEP_ENABLE)) ?
+                                    TimeUnit.SECONDS.toMillis(getIntProperty(OAuth2Constants.TokenPurge.SWEEP_INTERVAL,
+                                            (int) DEFAULT_SWEEP_INTERVAL_SECONDS)) : 0,
+                            new TokenPurgeDAO());
+                    if (service.isEnabled()) {
+                        service.start();
+                    }
+                    instance = service;
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Hand over an old access token to be purged in the background.
+     *
+     * @param tokenId Token id of an access token which is no longer active.
+     * @return True if the token was queued. False if the service is not running or is full, in which case the caller
+     * must clean up the token inline.
+     */
+    public boolean submit(String tokenId) {
+
+        return offer(tokenIdQueue, tokenId);
+    }
+
+    /**
+     * Hand over an old access token, identified by its hash, to be purged in the background.
+     *
+     * @param accessTokenHash Hash of an access token which is no longer active.
+     * @return True if the token was queued. False if the service is not running or is full, in which case the caller
+     * must clean up the token inline.
+     */
+    public boolean submitByHash(String accessTokenHash) {
+
+        return offer(tokenHashQueue, accessTokenHash);
+    }
+
+    private boolean offer(BlockingQueue<String> queue, String identifier) {
+
+        if (!running || StringUtils.isEmpty(identifier)) {
+            return false;
+        }
+        if (queue.offer(identifier)) {
+            submittedCount.increment();
+            return true;
+        }
+        overflowCount.increment();
+        if (log.isDebugEnabled()) {
+            log.debug("Token purge queue is full. The old access token will be cleaned up inline.");
+        }
+        return false;
+    }
+
+    /**
+     * Schedule the purge of the queued tokens and the periodic sweep.
+     */
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "oauth-token-purge-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // The queued tokens and the sweep are purged on separate threads, so that a long sweep does not fill the queue.
+        scheduler = Executors.newScheduledThreadPool(2, threadFactory);
+        running = true;
+        scheduler.scheduleWithFixedDelay(this::purgeQueuedTokens, purgeIntervalMillis, purgeIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        if (sweepIntervalMillis > 0) {
+            scheduler.scheduleWithFixedDelay(this::sweep, sweepIntervalMillis, sweepIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Asynchronous token purge is enabled with a chunk size of " + chunkSize + ". Expired grants are " +
+                (sweepIntervalMillis > 0 ? "swept every " + TimeUnit.MILLISECONDS.toSeconds(sweepIntervalMillis) +
+                        " seconds." : "not swept."));
+    }
+
+    /**
+     * Stop the purge. Tokens which are still queued are left to be purged by a subsequent sweep.
+     */
+    public synchronized void shutdown() {
+
+        if (!running) {
+            return;
+        }
+        running = false;
+        scheduler.shutdownNow();
+        if (log.isDebugEnabled()) {
+            log.debug("Token purge service is stopped. Submitted: " + getSubmittedCount() + ", purged: " +
+                    getPurgedTokenCount() + ", swept: " + getSweptRowCount() + ", overflowed: " +
+                    getOverflowCount() + ", failed chunks: " + getFailedChunkCount() + ", left in the queue: " +
+                    getQueueSize());
+        }
+    }
+
+    /**
+     * Purge the queued tokens in chunks until the queues are empty.
+     */
+    void purgeQueuedTokens() {
+
+        List<String> chunk = new ArrayList<>(chunkSize);
+        try {
+            while (running && tokenIdQueue.drainTo(chunk, chunkSize) > 0) {
+                purgeChunk(chunk, false);
+            }
+            while (running && tokenHashQueue.drainTo(chunk, chunkSize) > 0) {
+                purgeChunk(chunk, true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void purgeChunk(List<String> chunk, boolean byHash) throws InterruptedException {
+
+        try {
+            int purged = byHash ? tokenPurgeDAO.purgeInactiveTokensByHash(chunk) :
+                    tokenPurgeDAO.purgeInactiveTokensById(chunk);
+            purgedTokenCount.add(purged);
+            if (log.isDebugEnabled()) {
+                log.debug("Purged " + purged + " of a chunk of " + chunk.size() + " old access tokens.");
+            }
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            // The tokens are no longer active, hence they are purged by the next sweep.
+            log.warn("Error while purging a chunk of " + chunk.size() + " old access tokens.", e);
+        } finally {
+            chunk.clear();
+        }
+        pauseBetweenChunks();
+    }
+
+    /**
+     * Purge the access tokens which are not active or have expired and delete the other expired grants.
+     */
+    void sweep() {
+
+        long startTime = System.currentTimeMillis();
+        try {
+            sweepAccessTokens(startTime);
+            sweepAuthorizationCodes(startTime);
+            sweepDeviceCodes(startTime);
+            sweepCibaAuthCodes(startTime);
+            sweepParRequests(startTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Token purge sweep completed in " + (System.currentTimeMillis() - startTime) + " ms. Total " +
+                    "swept rows: " + getSweptRowCount());
+        }
+    }
+
+    private void sweepAccessTokens(long currentTime) throws InterruptedException {
+
+        try {
+            String lastTokenId = null;
+            do {
+                List<String> expiredTokenIds = new ArrayList<>();
+                lastTokenId = tokenPurgeDAO.findExpiredTokens(lastTokenId, chunkSize, currentTime, expiredTokenIds);
+                if (!expiredTokenIds.isEmpty()) {
+                    sweptRowCount.add(tokenPurgeDAO.purgeExpiredTokens(expiredTokenIds));
+                    pauseBetweenChunks();
+                }
+            } while (running && lastTokenId != null);
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            log.warn("Error while sweeping the expired access tokens.", e);
+        }
+    }
+
+    private void sweepAuthorizationCodes(long currentTime) throws InterruptedException {
+
+        try {
+            String lastCodeId = null;
+            do {
+                List<String> expiredCodeIds = new ArrayList<>();
+                lastCodeId = tokenPurgeDAO.findExpiredAuthorizationCodes(lastCodeId, chunkSize, currentTime,
+                        expiredCodeIds);
+                if (!expiredCodeIds.isEmpty()) {
+                    sweptRowCount.add(tokenPurgeDAO.deleteAuthorizationCodes(expiredCodeIds));
+                    pauseBetweenChunks();
+                }
+            } while (running && lastCodeId != null);
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            log.warn("Error while sweeping the expired authorization codes.", e);
+        }
+    }
+
+    private void sweepCibaAuthCodes(long currentTime) throws InterruptedException {
+
+        try {
+            String lastAuthCodeKey = null;
+            do {
+                List<String> expiredKeys = new ArrayList<>();
+                lastAuthCodeKey = tokenPurgeDAO.findExpiredCibaAuthCodes(lastAuthCodeKey, chunkSize, currentTime,
+                        expiredKeys);
+                if (!expiredKeys.isEmpty()) {
+                    sweptRowCount.add(tokenPurgeDAO.deleteCibaAuthCodes(expiredKeys));
+                    pauseBetweenChunks();
+                }
+            } while (running && lastAuthCodeKey != null);
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            log.warn("Error while sweeping the expired CIBA auth codes.", e);
+        }
+    }
+
+    private void sweepDeviceCodes(long currentTime) throws InterruptedException {
+
+        try {
+            List<String> expiredDeviceCodes;
+            do {
+                expiredDeviceCodes = tokenPurgeDAO.findExpiredDeviceCodes(currentTime, chunkSize);
+                if (!expiredDeviceCodes.isEmpty()) {
+                    sweptRowCount.add(tokenPurgeDAO.deleteDeviceCodes(expiredDeviceCodes));
+                    pauseBetweenChunks();
+                }
+            } while (running && expiredDeviceCodes.size() == chunkSize);
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            log.warn("Error while sweeping the expired device codes.", e);
+        }
+    }
+
+    private void sweepParRequests(long currentTime) throws InterruptedException {
+
+        try {
+            List<String> expiredRequests;
+            do {
+                expiredRequests = tokenPurgeDAO.findExpiredParRequests(currentTime, chunkSize);
+                if (!expiredRequests.isEmpty()) {
+                    sweptRowCount.add(tokenPurgeDAO.deleteParRequests(expiredRequests));
+                    pauseBetweenChunks();
+                }
+            } while (running && expiredRequests.size() == chunkSize);
+        } catch (IdentityOAuth2Exception e) {
+            failedChunkCount.increment();
+            log.warn("Error while sweeping the expired pushed authorization requests.", e);
+        }
+    }
+
+    private void pauseBetweenChunks() throws InterruptedException {
+
+        if (chunkIntervalMillis > 0) {
+            Thread.sleep(chunkIntervalMillis);
+        }
+    }
+
+    public int getQueueSize() {
+
+        return tokenIdQueue.size() + tokenHashQueue.size();
+    }
+
+    public long getSubmittedCount() {
+
+        return submittedCount.sum();
+    }
+
+    public long getOverflowCount() {
+
+        return overflowCount.sum();
+    }
+
+    public long getPurgedTokenCount() {
+
+        return purgedTokenCount.sum();
+    }
+
+    public long getSweptRowCount() {
+
+        return sweptRowCount.sum();
+    }
+
+    public long getFailedChunkCount() {
+
+        return failedChunkCount.sum();
+    }
+}
@@ -38,6 +38,7 @@ import org.wso2.carbon.identity.oauth2.device.errorcodes.DeviceErrorCodes;
 import org.wso2.carbon.identity.oauth2.device.model.DeviceFlowDO;
 import org.wso2.carbon.identity.oauth2.device.util.DeviceFlowUtil;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.PollingStateTracker;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.sql.Connection;
@@ -167,6 +168,7 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
             throw new IdentityOAuth2Exception("Error when setting the authentication status for the user_code: " +
                     userCode, e);
         }
+        clearPollingStateOfUserCode(userCode);
     }
 
     @Override
@@ -202,7 +204,7 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
                             Calendar.getInstance(TimeZone.getTimeZone(Constants.UTC))));
 
                     if (!Constants.AUTHORIZED.equals(deviceStatus)) {
-                        handleAuthorizationPending(deviceStatus, newPollTime, deviceFlowDO);
+                        handleAuthorizationPending(deviceCode, clientId, deviceStatus, newPollTime, deviceFlowDO);
                     }
 
                     userName = resultSet.getString(5);
@@ -250,7 +252,8 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
         }
     }
 
-    private void handleAuthorizationPending(String deviceStatus, Timestamp newPollTime, DeviceFlowDO deviceFlowDO)
+    private void handleAuthorizationPending(String deviceCode, String clientId, String deviceStatus,
+                                            Timestamp newPollTime, DeviceFlowDO deviceFlowDO)
             throws IdentityOAuth2Exception {
 
         if (!isWithinValidPollInterval(newPollTime, deviceFlowDO)) {
@@ -264,10 +267,28 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
                     DeviceErrorCodes.SubDeviceErrorCodesDescriptions.EXPIRED_TOKEN);
         }
 
+        // Serve the subsequent polls from memory until the status of the device code changes.
+        PollingStateTracker.getInstance().trackPending(Constants.DEVICE_CODE, deviceCode, clientId,
+                newPollTime.getTime(), deviceFlowDO.getPollTime(), 0, deviceFlowDO.getExpiryTime().getTime());
         throw new IdentityOAuth2Exception(DeviceErrorCodes.SubDeviceErrorCodes.AUTHORIZATION_PENDING,
                 deviceStatus);
     }
 
+    /**
+     * Stop tracking the polling state of the device code of a user code, after the status of the user code changed.
+     *
+     * @param userCode User code.
+     * @throws IdentityOAuth2Exception Error while retrieving the device code.
+     */
+    private void clearPollingStateOfUserCode(String userCode) throws IdentityOAuth2Exception {
+
+        PollingStateTracker pollingStateTracker = PollingStateTracker.getInstance();
+        if (pollingStateTracker.isEnabled()) {
+            getDeviceCodeForUserCode(userCode).ifPresent(
+                    deviceCode -> pollingStateTracker.clear(Constants.DEVICE_CODE, deviceCode));
+        }
+    }
+
     @Override
     @Deprecated
     public DeviceFlowDO getAuthenticationDetails(String deviceCode) throws IdentityOAuth2Exception {
@@ -426,6 +447,7 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
             throw new IdentityOAuth2Exception("Error when setting authenticated user for user_code: " +
                     userCode, e);
         }
+        clearPollingStateOfUserCode(userCode);
     }
 
     @Override
@@ -450,6 +472,7 @@ public class DeviceFlowDAOImpl implements DeviceFlowDAO {
             throw new IdentityOAuth2Exception("Error when setting expired status for device_code: " +
                     deviceCode, e);
         }
+        PollingStateTracker.getInstance().clear(Constants.DEVICE_CODE, deviceCode);
     }
 
     @Override
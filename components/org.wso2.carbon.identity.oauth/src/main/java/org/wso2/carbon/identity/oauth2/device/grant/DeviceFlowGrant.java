@@ -31,6 +31,7 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.model.RequestParameter;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AbstractAuthorizationGrantHandler;
+import org.wso2.carbon.identity.oauth2.token.handlers.grant.PollingStateTracker;
 
 import java.sql.Timestamp;
 import java.util.Date;
@@ -64,6 +65,8 @@ public class DeviceFlowGrant extends AbstractAuthorizationGrantHandler {
             log.debug("Getting ready to release token for device_code: " + deviceCode);
         }
 
+        // Polls of a request which is pending authorization are served from memory when the state is tracked.
+        handleTrackedPoll(PollingStateTracker.getInstance().poll(Constants.DEVICE_CODE, deviceCode, clientId));
         try {
             deviceFlowDO = DeviceFlowPersistenceFactory.getInstance().getDeviceFlowDAO()
                     .getAuthenticationDetails(deviceCode, clientId);
@@ -90,6 +93,10 @@ public class DeviceFlowGrant extends AbstractAuthorizationGrantHandler {
     private void setLastPollTime(String deviceCode)
             throws IdentityOAuth2Exception {
 
+        if (PollingStateTracker.getInstance().isEnabled()) {
+            // The last poll time of a pending request is tracked in memory.
+            return;
+        }
         Date date = new Date();
         Timestamp newPollTime = new Timestamp(date.getTime());
         DeviceFlowPersistenceFactory.getInstance().getDeviceFlowDAO().setLastPollTime(deviceCode, newPollTime);
@@ -108,6 +115,17 @@ public class DeviceFlowGrant extends AbstractAuthorizationGrantHandler {
         }
     }
 
+    private void handleTrackedPoll(PollingStateTracker.PollOutcome pollOutcome) throws IdentityOAuth2Exception {
+
+        if (PollingStateTracker.PollOutcome.AUTHORIZATION_PENDING.equals(pollOutcome)) {
+            throw new IdentityOAuth2Exception(DeviceErrorCodes.SubDeviceErrorCodes.AUTHORIZATION_PENDING,
+                    DeviceErrorCodes.SubDeviceErrorCodesDescriptions.AUTHORIZATION_PENDING);
+        } else if (PollingStateTracker.PollOutcome.SLOW_DOWN.equals(pollOutcome)) {
+            throw new IdentityOAuth2Exception(DeviceErrorCodes.SubDeviceErrorCodes.SLOW_DOWN,
+                    DeviceErrorCodes.SubDeviceErrorCodesDescriptions.SLOW_DOWN);
+        }
+    }
+
     private void handleInvalidRequests(IdentityOAuth2Exception e) throws IdentityOAuth2Exception {
 
         String deviceStatus = e.getMessage();
@@ -73,8 +73,10 @@ import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthenti
 import org.wso2.carbon.identity.oauth2.client.authentication.OAuthClientAuthnService;
 import org.wso2.carbon.identity.oauth2.client.authentication.PublicClientAuthenticator;
 import org.wso2.carbon.identity.oauth2.dao.AccessTokenDAO;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenPersistencePipeline;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dao.TokenManagementDAO;
+import org.wso2.carbon.identity.oauth2.dao.TokenPurgeService;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthService;
 import org.wso2.carbon.identity.oauth2.device.api.DeviceAuthServiceImpl;
 import org.wso2.carbon.identity.oauth2.device.response.DeviceFlowResponseTypeRequestValidator;
@@ -107,6 +109,7 @@ import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaim
 import org.wso2.carbon.identity.oauth2.token.handlers.response.AccessTokenResponseHandler;
 import org.wso2.carbon.identity.oauth2.token.handlers.response.FederatedTokenResponseHandler;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.validators.jwt.JWKSKeySourceManager;
 import org.wso2.carbon.identity.oauth2.validators.scope.RoleBasedScopeIssuer;
 import org.wso2.carbon.identity.oauth2.validators.scope.ScopeValidator;
 import org.wso2.carbon.identity.oauth2.validators.validationhandler.ScopeValidationHandler;
@@ -142,6 +145,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.xml.namespace.QName;
@@ -152,10 +161,7 @@ import javax.xml.stream.XMLStreamReader;
 import static org.wso2.carbon.identity.oauth2.Oauth2ScopeConstants.PERMISSIONS_BINDING_TYPE;
 import static org.wso2.carbon.identity.oauth2.device.constants.Constants.DEVICE_FLOW_GRANT_TYPE;
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.checkAudienceEnabled;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.checkConsentedTokenColumnAvailable;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.checkIDPIdColumnAvailable;
 import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getJWTRenewWithoutRevokeAllowedGrantTypes;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.isAccessTokenExtendedTableExist;
 
 /**
  * OAuth 2 OSGi service component.
@@ -168,6 +174,7 @@ public class OAuth2ServiceComponent {
 
     private static final Log log = LogFactory.getLog(OAuth2ServiceComponent.class);
     private static final String IDENTITY_PATH = "identity";
+    private static final int STARTUP_THREAD_COUNT = 4;
     public static final String NAME = "name";
     public static final String ID = "id";
     private static final String DISPLAY_NAME = "displayName";
@@ -233,6 +240,20 @@ public class OAuth2ServiceComponent {
 
     protected void activate(ComponentContext context) {
 
+        OAuth2StartupTimeline startupTimeline = new OAuth2StartupTimeline();
+        ThreadPoolExecutor startupExecutor = createStartupExecutor();
+        // The schema probes and the parsing of the scope binding file are independent of the rest of the
+        // activation, hence run in parallel to it and joined where their results are needed.
+        CompletableFuture<Boolean> idpIdColumnProbe = startupTimeline.runAsync("IDP_ID column probe",
+                OAuth2Util::checkIDPIdColumnAvailable, startupExecutor);
+        CompletableFuture<Boolean> tokenExtendedTableProbe = startupTimeline.runAsync("Token extended table probe",
+                OAuth2Util::isAccessTokenExtendedTableExist, startupExecutor);
+        CompletableFuture<Boolean> consentedTokenColumnProbe = startupTimeline.runAsync(
+                "CONSENTED_TOKEN column probe", OAuth2Util::checkConsentedTokenColumnAvailable, startupExecutor);
+        CompletableFuture<Void> scopeBindingLoading = startupTimeline.runAsync("OAuth scope binding loading", () -> {
+            loadOauthScopeBinding();
+            return null;
+        }, startupExecutor);
         try {
             // Check if server compliant with the client ID tenant unification.
             if (!OAuth2Util.isCompliantWithClientIDTenantUnification()) {
@@ -244,14 +265,19 @@ public class OAuth2ServiceComponent {
                 OAuth2ServiceComponentHolder.getInstance()
                         .setScopeClaimMappingDAO(new ScopeClaimMappingDAOImpl());
             }
+            long stepStartTime = System.nanoTime();
             loadScopeConfigFile();
-            loadOauthScopeBinding();
+            startupTimeline.record("OIDC scope config loading", stepStartTime);
+            stepStartTime = System.nanoTime();
             int tenantId = PrivilegedCarbonContext.getThreadLocalCarbonContext().getTenantId();
             boolean isRecordExist = OAuthTokenPersistenceFactory.getInstance().getScopeClaimMappingDAO().
                     hasScopesPopulated(tenantId);
             if (!isRecordExist) {
                 OAuth2Util.initiateOIDCScopes(tenantId);
             }
+            startupTimeline.record("OIDC scope seeding", stepStartTime);
+            // The scope bindings are loaded before the tenant creation listener, which seeds them for new tenants.
+            scopeBindingLoading.join();
             TenantCreationEventListener scopeTenantMgtListener = new TenantCreationEventListener();
             bundleContext = context.getBundleContext();
             //Registering TenantCreationEventListener
@@ -265,7 +291,9 @@ public class OAuth2ServiceComponent {
                 log.error("TenantMgtListener could not be registered");
             }
             // iniating oauth scopes
+            stepStartTime = System.nanoTime();
             OAuth2Util.initiateOAuthScopePermissionsBindings(tenantId);
+            startupTimeline.record("OAuth scope seeding", stepStartTime);
             // exposing server configuration as a service
             OAuthServerConfiguration oauthServerConfig = OAuthServerConfiguration.getInstance();
             bundleContext.registerService(OAuthServerConfiguration.class.getName(), oauthServerConfig, null);
@@ -436,7 +464,7 @@ public class OAuth2ServiceComponent {
             }
             OAuth2ServiceComponentHolder.setAudienceEnabled(false);
         }
-        if (checkIDPIdColumnAvailable()) {
+        if (idpIdColumnProbe.join()) {
             if (log.isDebugEnabled()) {
                 log.debug("IDP_ID column is available in all relevant tables. " +
                         "Setting isIDPIdColumnEnabled to true.");
@@ -450,13 +478,13 @@ public class OAuth2ServiceComponent {
             OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(false);
         }
 
-        if (isAccessTokenExtendedTableExist()) {
+        if (tokenExtendedTableProbe.join()) {
             log.debug("IDN_OAUTH2_ACCESS_TOKEN_EXTENDED table is available Setting " +
                     "isAccessTokenExtendedTableExist to true.");
             OAuth2ServiceComponentHolder.setTokenExtendedTableExist(true);
         }
 
-        boolean isConsentedTokenColumnAvailable = checkConsentedTokenColumnAvailable();
+        boolean isConsentedTokenColumnAvailable = consentedTokenColumnProbe.join();
         OAuth2ServiceComponentHolder.setConsentedTokenColumnEnabled(isConsentedTokenColumnAvailable);
         if (log.isDebugEnabled()) {
             if (isConsentedTokenColumnAvailable) {
@@ -477,6 +505,55 @@ public class OAuth2ServiceComponent {
                 || OAuthServerConfiguration.getInstance().isUseLegacyPermissionAccessForUserBasedAuth()) {
             initializeLegacyScopeToNewScopeMappings();
         }
+        // Schedule the purge of old tokens and expired grants when it is enabled, after the IDP_ID column check.
+        TokenPurgeService.getInstance();
+
+        // Instantiate the handlers which are not needed for the activation off the request path.
+        startupExecutor.execute(() -> {
+            long startTime = System.nanoTime();
+            try {
+                OAuthServerConfiguration.getInstance().initializeHandlers();
+                if (log.isDebugEnabled()) {
+                    log.debug("OAuth handlers initialized in " +
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms.");
+                }
+            } catch (RuntimeException e) {
+                log.warn("Error while initializing the OAuth handlers. They will be initialized on first use.", e);
+            }
+        });
+        startupExecutor.shutdown();
+        log.info(startupTimeline.report());
+    }
+
+    /**
+     * Create the executor running the independent activation steps. Its threads time out when idle, so that they
+     * do not outlive a failed activation.
+     *
+     * @return Startup executor.
+     */
+    private static ThreadPoolExecutor createStartupExecutor() {
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "oauth-startup-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor startupExecutor = new ThreadPoolExecutor(STARTUP_THREAD_COUNT, STARTUP_THREAD_COUNT, 30,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        startupExecutor.allowCoreThreadTimeOut(true);
+        return startupExecutor;
+    }
+
+    protected void deactivate(ComponentContext context) {
+
+        // Flush the access tokens which are queued for asynchronous persistence.
+        AccessTokenPersistencePipeline.getInstance().shutdown();
+        JWKSKeySourceManager.shutdownInstance();
+        TokenPurgeService.getInstance().shutdown();
+        if (log.isDebugEnabled()) {
+            log.debug("Identity OAuth2 bundle is deactivated");
+        }
     }
 
     /**
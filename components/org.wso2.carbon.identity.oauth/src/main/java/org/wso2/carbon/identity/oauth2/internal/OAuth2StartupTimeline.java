@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timeline of the steps run while activating the OAuth2 service component. Steps either run on the activating thread
+ * or in parallel on a startup executor, and the report lists the time taken by each of them.
+ */
+class OAuth2StartupTimeline {
+
+    private final long startTime = System.nanoTime();
+    private final List<String> steps = new ArrayList<>();
+
+    /**
+     * Run a step asynchronously on the given executor.
+     *
+     * @param step     Name of the step.
+     * @param supplier Step to run.
+     * @param executor Executor to run the step on.
+     * @param <T>      Type of the result of the step.
+     * @return Future of the result of the step.
+     */
+    <T> CompletableFuture<T> runAsync(String step, Supplier<T> supplier, Executor executor) {
+
+        return CompletableFuture.supplyAsync(() -> {
+            long stepStartTime = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                record(step, stepStartTime);
+            }
+        }, executor);
+    }
+
+    /**
+     * Record a step completed on the calling thread.
+     *
+     * @param step          Name of the step.
+     * @param stepStartTime Time the step started at, as given by {@link System#nanoTime()}.
+     */
+    void record(String step, long stepStartTime) {
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stepStartTime);
+        synchronized (steps) {
+            steps.add(step + ": " + elapsedMillis + " ms");
+        }
+    }
+
+    /**
+     * Build the report of the steps completed so far, in the order they completed.
+     *
+     * @return Startup timeline report.
+     */
+    String report() {
+
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        synchronized (steps) {
+            return "OAuth2 service component activated in " + totalMillis + " ms. Steps: " + String.join(", ", steps);
+        }
+    }
+}
@@ -494,36 +494,21 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
     }
 
     /**
-     * Clear the cache entries against the token.
+     * Clear the cache entries against the application and its active tokens.
      *
-     * @param accessTokenDOSet Set of access token DO.
-     * @param consumerKey      Consumer key of the application.
-     * @param tenantDomain     Tenant domain of the application.
+     * @param consumerKey     Consumer key of the application.
+     * @param tenantDomain    Tenant domain of the application.
+     * @param hasActiveTokens Whether the application has active tokens.
      *
      * @throws IdentityOAuth2Exception IdentityOAuth2Exception.
      */
-    private void clearCacheEntriesAgainstTokenByConsumerKey(Set<AccessTokenDO> accessTokenDOSet, String consumerKey,
-                                                            String tenantDomain) throws IdentityOAuth2Exception {
+    private void clearCacheEntriesAgainstTokenByConsumerKey(String consumerKey, String tenantDomain,
+                                                            boolean hasActiveTokens) throws IdentityOAuth2Exception {
 
         AppInfoCache appInfoCache = AppInfoCache.getInstance();
         appInfoCache.clearCacheEntry(consumerKey, tenantDomain);
         OAuthCache.getInstance().clearCacheEntry(new OAuthCacheKey(consumerKey));
-        if (isNotEmpty(accessTokenDOSet)) {
-            for (AccessTokenDO accessTokenDo : accessTokenDOSet) {
-                String tokenBindingReference = "NONE";
-                if (accessTokenDo.getTokenBinding() != null && StringUtils
-                        .isNotBlank(accessTokenDo.getTokenBinding().getBindingReference())) {
-                    tokenBindingReference = accessTokenDo.getTokenBinding().getBindingReference();
-                }
-                // Remove access token from OAuthCache.
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDo.getScope()), tokenBindingReference);
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDo.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDo);
-            }
-
+        if (hasActiveTokens) {
             Set<String> accessTokens = OAuthTokenPersistenceFactory.getInstance()
                     .getAccessTokenDAO().getActiveTokensByConsumerKey(consumerKey);
             for (String accessToken : accessTokens) {
@@ -540,6 +525,29 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
         }
     }
 
+    /**
+     * Clear the cache entries against the given tokens.
+     *
+     * @param accessTokenDOs Access token DOs.
+     */
+    private void clearCacheEntriesAgainstTokens(List<AccessTokenDO> accessTokenDOs) {
+
+        for (AccessTokenDO accessTokenDo : accessTokenDOs) {
+            String tokenBindingReference = "NONE";
+            if (accessTokenDo.getTokenBinding() != null && StringUtils
+                    .isNotBlank(accessTokenDo.getTokenBinding().getBindingReference())) {
+                tokenBindingReference = accessTokenDo.getTokenBinding().getBindingReference();
+            }
+            // Remove access token from OAuthCache.
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDo.getScope()), tokenBindingReference);
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDo.getScope()));
+            OAuthUtil.clearOAuthCache(accessTokenDo.getConsumerKey(), accessTokenDo.getAuthzUser());
+            OAuthUtil.clearOAuthCache(accessTokenDo);
+        }
+    }
+
     /**
      * Clear the cache entries against the authorization code.
      *
@@ -741,20 +749,20 @@ public class OAuthApplicationMgtListener extends AbstractApplicationMgtListener
                     .equalsIgnoreCase(config.getInboundAuthType()) &&
                     config.getInboundAuthKey() != null) {
                 String oauthKey = config.getInboundAuthKey();
-                int countToken = 0;
-                Set<AccessTokenDO> activeDetailedTokens;
                 try {
-                    activeDetailedTokens = OAuthTokenPersistenceFactory
-                            .getInstance().getAccessTokenDAO().getActiveAcessTokenDataByConsumerKey(oauthKey);
-                    String[] accessTokens = new String[activeDetailedTokens.size()];
-                    for (AccessTokenDO detailToken : activeDetailedTokens) {
-                        String token = detailToken.getAccessToken();
-                        accessTokens[countToken] = token;
-                        countToken++;
-                    }
-                    clearCacheEntriesAgainstTokenByConsumerKey(activeDetailedTokens, oauthKey, tenantDomain);
+                    // The tokens are streamed in chunks, so that only the token identifiers are held in memory.
+                    List<String> accessTokens = new ArrayList<>();
+                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                            .streamActiveAccessTokenDataByConsumerKey(oauthKey, OAuth2Util.getTokenListingChunkSize(),
+                                    activeDetailedTokens -> {
+                                        for (AccessTokenDO detailToken : activeDetailedTokens) {
+                                            accessTokens.add(detailToken.getAccessToken());
+                                        }
+                                        clearCacheEntriesAgainstTokens(activeDetailedTokens);
+                                    });
+                    clearCacheEntriesAgainstTokenByConsumerKey(oauthKey, tenantDomain, !accessTokens.isEmpty());
                     OAuthTokenPersistenceFactory.getInstance().getTokenManagementDAO()
-                            .revokeTokens(oauthKey, accessTokens);
+                            .revokeTokens(oauthKey, accessTokens.toArray(new String[0]));
                 } catch (IdentityOAuth2Exception | IdentityApplicationManagementException e) {
                     throw new IdentityApplicationManagementException("Error occurred while revoking tokens and " +
                             "authz code for client ID: " + config.getInboundAuthKey() + " and tenant domain: " +
@@ -29,10 +29,7 @@ import org.wso2.carbon.identity.user.store.configuration.listener.AbstractUserSt
 import org.wso2.carbon.user.api.UserStoreException;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * Userstore config listener for OAuth related functionality.
@@ -43,15 +40,12 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     public void onUserStoreNamePreUpdate(int tenantId, String currentUserStoreName, String newUserStoreName) throws
             UserStoreException {
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance()
-                    .getAccessTokenDAO().getAccessTokensOfUserStore(tenantId, currentUserStoreName);
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().streamAccessTokensOfUserStore(tenantId,
+                    currentUserStoreName, OAuth2Util.getTokenListingChunkSize(), accessTokenDOs -> {
+                        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                            clearOAuthCache(accessTokenDO);
+                        }
+                    });
             OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
                     .updateUserStoreDomain(tenantId, currentUserStoreName, newUserStoreName);
             OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
@@ -80,53 +74,41 @@ public class OAuthUserStoreConfigListenerImpl extends AbstractUserStoreConfigLis
     private void revokeTokens(int tenantId, String userStoreName) throws UserStoreException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .getAccessTokensOfUserStore(tenantId, userStoreName);
-            Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
-                        latestAccessTokens.put(keyString, accessTokenDO);
-                    }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
+            // The tokens and codes are streamed and revoked in chunks, as a user store may hold more tokens than fit
+            // in memory.
+            int chunkSize = OAuth2Util.getTokenListingChunkSize();
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().streamAccessTokensOfUserStore(tenantId,
+                    userStoreName, chunkSize, accessTokenDOs -> {
+                        List<String> tokensToRevoke = new ArrayList<>(accessTokenDOs.size());
+                        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+                            tokensToRevoke.add(accessTokenDO.getAccessToken());
+                            clearOAuthCache(accessTokenDO);
+                        }
+                        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                                .revokeAccessTokens(tokensToRevoke.toArray(new String[0]), OAuth2Util.isHashEnabled());
+                    });
 
-                //Clear cache
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-            }
-            ArrayList<String> tokensToRevoke = new ArrayList<>();
-            for (Map.Entry entry : latestAccessTokens.entrySet()) {
-                tokensToRevoke.add(((AccessTokenDO) entry.getValue()).getAccessToken());
-            }
-
-            if (!tokensToRevoke.isEmpty()) {
-                OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                        .revokeAccessTokens(tokensToRevoke.toArray(new String[tokensToRevoke.size()]),
-                                OAuth2Util.isHashEnabled());
-            }
-
-            List<AuthzCodeDO> latestAuthzCodes = OAuthTokenPersistenceFactory.getInstance()
-                    .getAuthorizationCodeDAO().getLatestAuthorizationCodesByUserStore(tenantId, userStoreName);
-
-            if (!latestAuthzCodes.isEmpty()) {
-                for (AuthzCodeDO authzCodeDO : latestAuthzCodes) {
-                    // remove the authorization code from the cache
-                    OAuthUtil.clearOAuthCache(authzCodeDO.getConsumerKey() + ":" + authzCodeDO.getAuthorizationCode());
-                }
-                OAuthTokenPersistenceFactory.getInstance()
-                        .getAuthorizationCodeDAO().deactivateAuthorizationCodes(latestAuthzCodes);
-            }
+            OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
+                    .streamLatestAuthorizationCodesByUserStore(tenantId, userStoreName, chunkSize, latestAuthzCodes -> {
+                        for (AuthzCodeDO authzCodeDO : latestAuthzCodes) {
+                            // remove the authorization code from the cache
+                            OAuthUtil.clearOAuthCache(authzCodeDO.getConsumerKey() + ":" +
+                                    authzCodeDO.getAuthorizationCode());
+                        }
+                        OAuthTokenPersistenceFactory.getInstance()
+                                .getAuthorizationCodeDAO().deactivateAuthorizationCodes(latestAuthzCodes);
+                    });
         } catch (IdentityOAuth2Exception e) {
             throw new UserStoreException("Error occurred while revoking Access Token of user store : " +
                     userStoreName + " in tenant :" + tenantId, e);
         }
     }
+
+    private static void clearOAuthCache(AccessTokenDO accessTokenDO) {
+
+        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+        OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+        OAuthUtil.clearOAuthCache(accessTokenDO);
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.internal.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the rich authorization requests authorization details of access tokens, authorization codes and user
+ * consents, keyed by the kind of the owner and its identifier.
+ */
+public class AuthorizationDetailsCache extends BaseCache<String, AuthorizationDetailsCacheEntry<?>> {
+
+    private static final String CACHE_NAME = "AuthorizationDetailsCache";
+    private static final String ACCESS_TOKEN_KEY_PREFIX = "AT:";
+    private static final String AUTHORIZATION_CODE_KEY_PREFIX = "CODE:";
+    private static final String CONSENT_KEY_PREFIX = "CONSENT:";
+
+    private static final AuthorizationDetailsCache instance = new AuthorizationDetailsCache();
+
+    private AuthorizationDetailsCache() {
+
+        super(CACHE_NAME);
+    }
+
+    /**
+     * Returns AuthorizationDetailsCache instance.
+     *
+     * @return instance of AuthorizationDetailsCache
+     */
+    public static AuthorizationDetailsCache getInstance() {
+
+        return instance;
+    }
+
+    public static String getAccessTokenKey(String accessTokenId) {
+
+        return ACCESS_TOKEN_KEY_PREFIX + accessTokenId;
+    }
+
+    public static String getAuthorizationCodeKey(String authorizationCode) {
+
+        // The code is a credential, hence only its hash is held by the cache.
+        return AUTHORIZATION_CODE_KEY_PREFIX + DigestUtils.sha256Hex(authorizationCode);
+    }
+
+    public static String getConsentKey(String consentId) {
+
+        return CONSENT_KEY_PREFIX + consentId;
+    }
+}
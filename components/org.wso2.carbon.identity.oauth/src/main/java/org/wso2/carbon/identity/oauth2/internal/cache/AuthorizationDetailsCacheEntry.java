@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.internal.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsDTO;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cache entry of {@link AuthorizationDetailsCache}, holding the authorization details DTOs of an access token, an
+ * authorization code or a user consent.
+ *
+ * @param <T> Type of the authorization details DTOs.
+ */
+public class AuthorizationDetailsCacheEntry<T extends AuthorizationDetailsDTO> extends CacheEntry {
+
+    private static final long serialVersionUID = -4712618364092561257L;
+
+    private final HashSet<T> authorizationDetailsDTOs;
+
+    public AuthorizationDetailsCacheEntry(Set<T> authorizationDetailsDTOs) {
+
+        this.authorizationDetailsDTOs = new HashSet<>(authorizationDetailsDTOs);
+    }
+
+    /**
+     * Returns a copy of the cached authorization details DTOs.
+     *
+     * @return Authorization details DTOs.
+     */
+    public Set<T> getAuthorizationDetailsDTOs() {
+
+        return new HashSet<>(authorizationDetailsDTOs);
+    }
+}
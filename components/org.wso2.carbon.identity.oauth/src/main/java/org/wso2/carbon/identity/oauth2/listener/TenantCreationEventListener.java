@@ -27,7 +27,6 @@ import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
-import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
@@ -35,10 +34,7 @@ import org.wso2.carbon.stratos.common.beans.TenantInfoBean;
 import org.wso2.carbon.stratos.common.exception.StratosException;
 import org.wso2.carbon.stratos.common.listeners.TenantMgtListener;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.TokenBindings.NONE;
 
@@ -113,63 +109,27 @@ public class TenantCreationEventListener implements TenantMgtListener {
     private void revokeTokens(int tenantId) throws StratosException {
 
         try {
-            Set<AccessTokenDO> accessTokenDOs = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .getAccessTokensByTenant(tenantId);
+            // The tokens are streamed and revoked in chunks, as a tenant may hold more tokens than fit in memory.
+            int chunkSize = OAuth2Util.getTokenListingChunkSize();
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .streamAccessTokensByTenant(tenantId, chunkSize, this::clearCacheAndRevokeTokens);
             String organizationId =
                     OAuth2ServiceComponentHolder.getInstance().getOrganizationManager().resolveOrganizationId(
                             IdentityTenantUtil.getTenantDomain(tenantId));
-            Set<AccessTokenDO> accessTokensByAuthorizedOrg =
-                    OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                            .getAccessTokensByAuthorizedOrg(organizationId);
-            accessTokenDOs.addAll(accessTokensByAuthorizedOrg);
-
-            Map<String, AccessTokenDO> latestAccessTokens = new HashMap<>();
-
-            for (AccessTokenDO accessTokenDO : accessTokenDOs) {
-                String keyString = accessTokenDO.getConsumerKey() + ":" + accessTokenDO.getAuthzUser() + ":" +
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()) + ":"
-                        + accessTokenDO.getAuthzUser().getFederatedIdPName();
-                AccessTokenDO accessTokenDOFromMap = latestAccessTokens.get(keyString);
-                if (accessTokenDOFromMap != null) {
-                    if (accessTokenDOFromMap.getIssuedTime().before(accessTokenDO.getIssuedTime())) {
-                        latestAccessTokens.put(keyString, accessTokenDO);
-                    }
-                } else {
-                    latestAccessTokens.put(keyString, accessTokenDO);
-                }
-
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()));
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
-                OAuthUtil.clearOAuthCache(accessTokenDO);
-                TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
-                String tokenBindingReference = (tokenBinding != null &&
-                        StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
-                        tokenBinding.getBindingReference() : NONE;
-                String authorizedOrgId = StringUtils.isNotEmpty(accessTokenDO.getAuthorizedOrganizationId()) ?
-                        accessTokenDO.getAuthorizedOrganizationId() : OAuthConstants.AuthorizedOrganization.NONE;
-                OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
-                        OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference, authorizedOrgId);
-            }
-
-            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeAccessTokens(
-                    latestAccessTokens
-                            .values()
-                            .stream()
-                            .map(AccessTokenDO::getAccessToken)
-                            .toArray(String[]::new),
-                    OAuth2Util.isHashEnabled());
-
-            List<AuthzCodeDO> latestAuthzCodes = OAuthTokenPersistenceFactory.getInstance()
-                    .getAuthorizationCodeDAO().getLatestAuthorizationCodesByTenant(tenantId);
-
-            // Remove the authorization code from the cache.
-            latestAuthzCodes.stream()
-                    .map(authzCodeDO -> authzCodeDO.getConsumerKey() + ":" + authzCodeDO.getAuthorizationCode())
-                    .forEach(OAuthUtil::clearOAuthCache);
-
-            OAuthTokenPersistenceFactory.getInstance()
-                    .getAuthorizationCodeDAO().deactivateAuthorizationCodes(latestAuthzCodes);
+            OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .streamAccessTokensByAuthorizedOrg(organizationId, chunkSize, this::clearCacheAndRevokeTokens);
+
+            OAuthTokenPersistenceFactory.getInstance().getAuthorizationCodeDAO()
+                    .streamLatestAuthorizationCodesByTenant(tenantId, chunkSize, latestAuthzCodes -> {
+                        // Remove the authorization code from the cache.
+                        latestAuthzCodes.stream()
+                                .map(authzCodeDO -> authzCodeDO.getConsumerKey() + ":" +
+                                        authzCodeDO.getAuthorizationCode())
+                                .forEach(OAuthUtil::clearOAuthCache);
+
+                        OAuthTokenPersistenceFactory.getInstance()
+                                .getAuthorizationCodeDAO().deactivateAuthorizationCodes(latestAuthzCodes);
+                    });
         } catch (IdentityOAuth2Exception e) {
             throw new StratosException("Error occurred while revoking Access Token of tenant: " + tenantId, e);
         } catch (OrganizationManagementException e) {
@@ -177,4 +137,27 @@ public class TenantCreationEventListener implements TenantMgtListener {
         }
     }
 
+    private void clearCacheAndRevokeTokens(List<AccessTokenDO> accessTokenDOs) throws IdentityOAuth2Exception {
+
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()));
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser());
+            OAuthUtil.clearOAuthCache(accessTokenDO);
+            TokenBinding tokenBinding = accessTokenDO.getTokenBinding();
+            String tokenBindingReference = (tokenBinding != null &&
+                    StringUtils.isNotBlank(tokenBinding.getBindingReference())) ?
+                    tokenBinding.getBindingReference() : NONE;
+            String authorizedOrgId = StringUtils.isNotEmpty(accessTokenDO.getAuthorizedOrganizationId()) ?
+                    accessTokenDO.getAuthorizedOrganizationId() : OAuthConstants.AuthorizedOrganization.NONE;
+            OAuthUtil.clearOAuthCache(accessTokenDO.getConsumerKey(), accessTokenDO.getAuthzUser(),
+                    OAuth2Util.buildScopeString(accessTokenDO.getScope()), tokenBindingReference, authorizedOrgId);
+        }
+
+        OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO().revokeAccessTokens(
+                accessTokenDOs.stream()
+                        .map(AccessTokenDO::getAccessToken)
+                        .toArray(String[]::new),
+                OAuth2Util.isHashEnabled());
+    }
 }
@@ -43,11 +43,13 @@ import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * AuthorizationDetailsService is responsible for managing and handling OAuth2 authorization details,
@@ -471,6 +473,41 @@ public class AuthorizationDetailsService {
         }
     }
 
+    /**
+     * Retrieves the authorization details associated with multiple access tokens at once, such as for bulk
+     * introspection.
+     *
+     * @param accessTokenIds The access token IDs.
+     * @param tenantId       The tenant ID.
+     * @return A map of access token IDs to their authorization details.
+     * @throws IdentityOAuth2Exception If an error occurs while retrieving the details.
+     */
+    public Map<String, AuthorizationDetails> getAccessTokenAuthorizationDetails(final Set<String> accessTokenIds,
+                                                                                final int tenantId)
+            throws IdentityOAuth2Exception {
+
+        final Map<String, AuthorizationDetails> accessTokenAuthorizationDetails = new HashMap<>();
+        if (CollectionUtils.isEmpty(accessTokenIds)) {
+            return accessTokenAuthorizationDetails;
+        }
+        if (this.isRichAuthorizationRequestsDisabled) {
+            log.debug("Rich authorization requests is disabled. Skip retrieving token authorization details.");
+            accessTokenIds.forEach(id -> accessTokenAuthorizationDetails.put(id, new AuthorizationDetails()));
+            return accessTokenAuthorizationDetails;
+        }
+        try {
+            this.authorizationDetailsDAO.getAccessTokenAuthorizationDetails(accessTokenIds, tenantId)
+                    .forEach((accessTokenId, authorizationDetailsTokenDTOs) -> accessTokenAuthorizationDetails
+                            .put(accessTokenId, new AuthorizationDetails(authorizationDetailsTokenDTOs.stream()
+                                    .map(AuthorizationDetailsTokenDTO::getAuthorizationDetail)
+                                    .collect(Collectors.toSet()))));
+            return accessTokenAuthorizationDetails;
+        } catch (SQLException e) {
+            log.error("Error occurred while retrieving access token authorization details. Caused by, ", e);
+            throw new IdentityOAuth2Exception("Unable to retrieve access token authorization details", e);
+        }
+    }
+
     /**
      * Stores the authorization details for a given access token and OAuth authorization request context.
      *
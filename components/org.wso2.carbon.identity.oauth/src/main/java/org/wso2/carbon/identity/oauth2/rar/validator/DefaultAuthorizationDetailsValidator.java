@@ -322,7 +322,6 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
             final Map<String, AuthorizationDetailsType> authorizedDetailsTypes)
             throws AuthorizationDetailsProcessingException {
 
-        final Set<AuthorizationDetail> schemaCompliantAuthorizationDetails = new HashSet<>();
         for (final AuthorizationDetail authorizationDetail : authorizationDetails.getDetails()) {
 
             if (log.isDebugEnabled()) {
@@ -330,9 +329,20 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
             }
 
             this.assertAuthorizationDetailTypeSupported(authorizationDetail.getType());
+            this.assertAuthorizationDetailTypeAuthorized(authorizationDetail.getType(), authorizedDetailsTypes);
+        }
 
-            if (this.isSchemaCompliant(authorizationDetail.getType(), authorizationDetail, authorizedDetailsTypes)) {
-                schemaCompliantAuthorizationDetails.add(authorizationDetail);
+        // Validates the authorization details of each type in one pass, so that each schema is compiled once
+        final Set<AuthorizationDetail> schemaCompliantAuthorizationDetails = new HashSet<>();
+        for (final Map.Entry<String, Set<AuthorizationDetail>> authorizationDetailsOfType :
+                AuthorizationDetailsUtils.getAuthorizationDetailsTypesMap(authorizationDetails).entrySet()) {
+
+            final String type = authorizationDetailsOfType.getKey();
+            if (this.authorizationDetailsSchemaValidator.areSchemaCompliant(
+                    authorizedDetailsTypes.get(type).getSchema(), authorizationDetailsOfType.getValue())) {
+                schemaCompliantAuthorizationDetails.addAll(authorizationDetailsOfType.getValue());
+            } else if (log.isDebugEnabled()) {
+                log.debug("Ignoring non-schema-compliant authorization details type: " + type);
             }
         }
         return schemaCompliantAuthorizationDetails;
@@ -393,8 +403,8 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
         }
     }
 
-    private boolean isSchemaCompliant(final String type, final AuthorizationDetail authorizationDetail,
-                                      final Map<String, AuthorizationDetailsType> authorizedDetailsTypes)
+    private void assertAuthorizationDetailTypeAuthorized(
+            final String type, final Map<String, AuthorizationDetailsType> authorizedDetailsTypes)
             throws AuthorizationDetailsProcessingException {
 
         if (!authorizedDetailsTypes.containsKey(type)) {
@@ -403,15 +413,5 @@ public class DefaultAuthorizationDetailsValidator implements AuthorizationDetail
             }
             throw new AuthorizationDetailsProcessingException(VALIDATION_FAILED_ERR_MSG);
         }
-
-        if (this.authorizationDetailsSchemaValidator
-                .isSchemaCompliant(authorizedDetailsTypes.get(type).getSchema(), authorizationDetail)) {
-            return true;
-        }
-
-        if (log.isDebugEnabled()) {
-            log.debug("Ignoring non-schema-compliant authorization details type: " + type);
-        }
-        return false;
     }
 }
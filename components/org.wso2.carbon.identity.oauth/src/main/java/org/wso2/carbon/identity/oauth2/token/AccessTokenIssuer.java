@@ -376,7 +376,8 @@ public class AccessTokenIssuer {
             return validateGrantAndIssueToken(tokenReqDTO, tokReqMsgCtx, tokenRespDTO, authzGrantHandler,
                     tenantDomainOfApp, oAuthAppDO);
         }
-        synchronized (syncLockString.intern()) {
+        try (TokenIssuanceLockManager.LockHandle ignored = TokenIssuanceLockManager.getInstance()
+                .acquire(TokenIssuanceLockManager.LockScope.TOKEN_REQUEST, syncLockString)) {
             return validateGrantAndIssueToken(tokenReqDTO, tokReqMsgCtx, tokenRespDTO, authzGrantHandler,
                     tenantDomainOfApp, oAuthAppDO);
         }
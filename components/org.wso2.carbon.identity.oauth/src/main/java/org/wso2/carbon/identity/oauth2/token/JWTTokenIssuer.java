@@ -23,7 +23,6 @@ import com.nimbusds.jose.JOSEException;
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.JWSHeader;
-import com.nimbusds.jose.JWSSigner;
 import com.nimbusds.jose.util.Base64URL;
 import com.nimbusds.jwt.JWT;
 import com.nimbusds.jwt.JWTClaimsSet;
@@ -53,14 +52,12 @@ import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.token.handlers.claims.JWTAccessTokenClaimProvider;
 import org.wso2.carbon.identity.oauth2.token.handlers.grant.AuthorizationGrantHandler;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.oauth2.util.SigningKeyContext;
 import org.wso2.carbon.identity.openidconnect.CustomClaimsCallbackHandler;
 import org.wso2.carbon.identity.openidconnect.OIDCClaimUtil;
 import org.wso2.carbon.identity.openidconnect.util.ClaimHandlerUtil;
 import org.wso2.carbon.identity.organization.management.service.exception.OrganizationManagementException;
 
-import java.security.Key;
-import java.security.cert.Certificate;
-import java.security.interfaces.RSAPrivateKey;
 import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Calendar;
@@ -74,7 +71,6 @@ import java.util.UUID;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OIDCConfigProperties.SUBJECT_TOKEN_EXPIRY_TIME_VALUE;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.RENEW_TOKEN_WITHOUT_REVOKING_EXISTING_ENABLE_CONFIG;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.REQUEST_BINDING_TYPE;
-import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getPrivateKey;
 
 /**
  * Self contained access token builder.
@@ -481,13 +477,9 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
             // Add claim with signer tenant to jwt claims set.
             jwtClaimsSet = setSignerRealm(tenantDomain, jwtClaimsSet);
 
-            Key privateKey = getPrivateKey(tenantDomain, tenantId);
-            JWSSigner signer = OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey);
+            SigningKeyContext signingKeyContext = OAuth2Util.getSigningKeyContext(tenantDomain, tenantId);
             JWSHeader.Builder headerBuilder = new JWSHeader.Builder((JWSAlgorithm) signatureAlgorithm);
-            Certificate certificate = OAuth2Util.getCertificate(tenantDomain, tenantId);
-            String certThumbPrint = OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false);
-            headerBuilder.keyID(OAuth2Util.getKID(OAuth2Util.getCertificate(tenantDomain, tenantId),
-                    (JWSAlgorithm) signatureAlgorithm, tenantDomain));
+            headerBuilder.keyID(signingKeyContext.getKeyId((JWSAlgorithm) signatureAlgorithm));
 
             if (authorizationContext != null && authorizationContext.isSubjectTokenFlow()) {
                 headerBuilder.type(new JOSEObjectType(JWT_TYP_HEADER_VALUE));
@@ -495,9 +487,9 @@ public class JWTTokenIssuer extends OauthTokenIssuerImpl {
                 // Set the required "typ" header "at+jwt" for access tokens issued by the issuer
                 headerBuilder.type(new JOSEObjectType(DEFAULT_TYP_HEADER_VALUE));
             }
-            headerBuilder.x509CertThumbprint(new Base64URL(certThumbPrint));
+            headerBuilder.x509CertThumbprint(new Base64URL(signingKeyContext.getX509CertThumbprint()));
             SignedJWT signedJWT = new SignedJWT(headerBuilder.build(), jwtClaimsSet);
-            signedJWT.sign(signer);
+            signedJWT.sign(signingKeyContext.getSigner());
             return signedJWT.serialize();
         } catch (JOSEException e) {
             throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
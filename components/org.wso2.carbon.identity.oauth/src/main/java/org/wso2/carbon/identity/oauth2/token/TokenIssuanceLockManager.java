@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2ServerException;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes token issuance and revocation for the same client, user, scope and binding combination using a fixed
+ * pool of striped locks.
+ * <p>
+ * Earlier, these critical sections synchronized on interned strings, which grew the JVM string table with a new
+ * entry per distinct key and parked contending threads on object monitors. Here a key is hashed to one of a bounded
+ * number of {@link ReentrantLock}s, so memory use does not depend on the number of keys and distinct keys rarely
+ * contend. Locks are acquired with a timed try-lock, and the configured {@link FallbackPolicy} decides what happens
+ * when the timeout elapses.
+ * <p>
+ * Each {@link LockScope} has its own stripe pool. A thread holding a {@link LockScope#TOKEN_REQUEST} or
+ * {@link LockScope#AUTHORIZE_RESPONSE} lock may acquire a {@link LockScope#TOKEN_ISSUANCE} lock, but never the other
+ * way around, and no thread holds two locks of the same scope. This keeps the lock order consistent and avoids
+ * deadlocks between two stripes.
+ */
+public class TokenIssuanceLockManager {
+
+    private static final Log log = LogFactory.getLog(TokenIssuanceLockManager.class);
+
+    private static final int DEFAULT_STRIPE_COUNT = 1024;
+    private static final int DEFAULT_TRY_LOCK_TIMEOUT_MILLIS = 10000;
+    private static final int MAX_STRIPE_COUNT = 1 << 16;
+
+    private static volatile TokenIssuanceLockManager instance;
+
+    private final Map<LockScope, ReentrantLock[]> stripes = new EnumMap<>(LockScope.class);
+    private final Map<LockScope, LockMetrics> metrics = new EnumMap<>(LockScope.class);
+    private final int stripeMask;
+    private final long tryLockTimeoutMillis;
+    private final FallbackPolicy fallbackPolicy;
+
+    /**
+     * Independent lock namespaces.
+     */
+    public enum LockScope {
+
+        /**
+         * Lock taken by the token endpoint around grant validation and issuance, keyed by the grant handler's
+         * sync lock string.
+         */
+        TOKEN_REQUEST,
+
+        /**
+         * Lock taken by the implicit and hybrid response type handlers around access token issuance, keyed by
+         * client, user and scope.
+         */
+        AUTHORIZE_RESPONSE,
+
+        /**
+         * Lock taken by the grant handlers and the revocation flow around the lookup, reuse, renewal or revocation
+         * of the access token of a given client, user, scope and binding reference.
+         */
+        TOKEN_ISSUANCE
+    }
+
+    /**
+     * Behaviour when a lock can not be acquired within the configured timeout.
+     */
+    public enum FallbackPolicy {
+
+        /**
+         * Log the contention and keep waiting for the lock. This preserves the behaviour of a plain monitor.
+         */
+        WAIT,
+
+        /**
+         * Proceed without holding the lock.
+         */
+        PROCEED,
+
+        /**
+         * Fail the request with a server error.
+         */
+        REJECT
+    }
+
+    /**
+     * Handle to a held lock. Closing it releases the lock, so it is meant to be used with try-with-resources.
+     */
+    public static final class LockHandle implements AutoCloseable {
+
+        private static final LockHandle NOT_LOCKED = new LockHandle(null, null);
+
+        private final ReentrantLock lock;
+        private final LockMetrics lockMetrics;
+        private final long acquiredTime;
+
+        private LockHandle(ReentrantLock lock, LockMetrics lockMetrics) {
+
+            this.lock = lock;
+            this.lockMetrics = lockMetrics;
+            this.acquiredTime = lock != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Whether the lock is actually held by this handle. This is false only when the lock was skipped due to the
+         * {@link FallbackPolicy#PROCEED} policy.
+         *
+         * @return True if the lock is held.
+         */
+        public boolean isLocked() {
+
+            return lock != null;
+        }
+
+        @Override
+        public void close() {
+
+            if (lock != null) {
+                lockMetrics.recordHoldTime(System.nanoTime() - acquiredTime);
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Contention counters of a lock scope, along with the time the locks were held.
+     */
+    public static final class LockMetrics {
+
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contendedAcquisitions = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalWaitTimeNanos = new LongAdder();
+        private final LongAdder totalHoldTimeNanos = new LongAdder();
+        private final AtomicLong maxHoldTimeNanos = new AtomicLong();
+
+        private void recordHoldTime(long holdTimeNanos) {
+
+            totalHoldTimeNanos.add(holdTimeNanos);
+            maxHoldTimeNanos.accumulateAndGet(holdTimeNanos, Math::max);
+        }
+
+        public long getAcquisitions() {
+
+            return acquisitions.sum();
+        }
+
+        public long getContendedAcquisitions() {
+
+            return contendedAcquisitions.sum();
+        }
+
+        public long getTimeouts() {
+
+            return timeouts.sum();
+        }
+
+        public long getTotalWaitTimeMillis() {
+
+            return TimeUnit.NANOSECONDS.toMillis(totalWaitTimeNanos.sum());
+        }
+
+        public long getTotalHoldTimeMillis() {
+
+            return TimeUnit.NANOSECONDS.toMillis(totalHoldTimeNanos.sum());
+        }
+
+        public long getMaxHoldTimeMillis() {
+
+            return TimeUnit.NANOSECONDS.toMillis(maxHoldTimeNanos.get());
+        }
+
+        @Override
+        public String toString() {
+
+            return "acquisitions: " + getAcquisitions() + ", contended: " + getContendedAcquisitions() +
+                    ", timeouts: " + getTimeouts() + ", totalWaitTimeMillis: " + getTotalWaitTimeMillis() +
+                    ", totalHoldTimeMillis: " + getTotalHoldTimeMillis() + ", maxHoldTimeMillis: " +
+                    getMaxHoldTimeMillis();
+        }
+    }
+
+    public TokenIssuanceLockManager(int stripeCount, long tryLockTimeoutMillis, FallbackPolicy fallbackPolicy) {
+
+        int size = toPowerOfTwo(stripeCount);
+        this.stripeMask = size - 1;
+        this.tryLockTimeoutMillis = tryLockTimeoutMillis;
+        this.fallbackPolicy = fallbackPolicy;
+        for (LockScope scope : LockScope.values()) {
+            ReentrantLock[] locks = new ReentrantLock[size];
+            for (int i = 0; i < size; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            stripes.put(scope, locks);
+            metrics.put(scope, new LockMetrics());
+        }
+    }
+
+    /**
+     * Get the shared lock manager, configured from the OAuth.TokenIssuanceLock section of identity.xml.
+     *
+     * @return Token issuance lock manager.
+     */
+    public static TokenIssuanceLockManager getInstance() {
+
+        if (instance == null) {
+            synchronized (TokenIssuanceLockManager.class) {
+                if (instance == null) {
+                    instance = new TokenIssuanceLockManager(
+                            OAuth2Util.getIntProperty(OAuth2Constants.TokenIssuanceLock.STRIPE_COUNT,
+                                    DEFAULT_STRIPE_COUNT),
+                            OAuth2Util.getIntProperty(OAuth2Constants.TokenIssuanceLock.TRY_LOCK_TIMEOUT,
+                                    DEFAULT_TRY_LOCK_TIMEOUT_MILLIS),
+                            readFallbackPolicy());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Acquire the lock guarding the given key. The key is built from the given parts without creating an
+     * intermediate string, and two keys with equal parts always map to the same lock.
+     *
+     * @param scope    Lock scope.
+     * @param keyParts Parts of the lock key, e.g. consumer key, user id, scope and token binding reference.
+     * @return Lock handle which must be closed to release the lock.
+     * @throws IdentityOAuth2ServerException If the lock could not be acquired under the {@link FallbackPolicy#REJECT}
+     *                                       policy, or the thread was interrupted while waiting.
+     */
+    public LockHandle acquire(LockScope scope, Object... keyParts) throws IdentityOAuth2ServerException {
+
+        ReentrantLock lock = stripes.get(scope)[stripeIndex(keyParts)];
+        LockMetrics lockMetrics = metrics.get(scope);
+        lockMetrics.acquisitions.increment();
+
+        if (lock.tryLock()) {
+            return new LockHandle(lock, lockMetrics);
+        }
+
+        lockMetrics.contendedAcquisitions.increment();
+        long waitStart = System.nanoTime();
+        try {
+            if (lock.tryLock(tryLockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return new LockHandle(lock, lockMetrics);
+            }
+            lockMetrics.timeouts.increment();
+            if (log.isDebugEnabled()) {
+                log.debug("Could not acquire the " + scope + " lock within " + tryLockTimeoutMillis +
+                        " ms. Applying fallback policy: " + fallbackPolicy + ". Lock metrics: " + lockMetrics);
+            }
+            switch (fallbackPolicy) {
+                case PROCEED:
+                    return LockHandle.NOT_LOCKED;
+                case REJECT:
+                    throw new IdentityOAuth2ServerException("Timed out while waiting for the " + scope +
+                            " lock.");
+                default:
+                    lock.lockInterruptibly();
+                    return new LockHandle(lock, lockMetrics);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdentityOAuth2ServerException("Interrupted while waiting for the " + scope + " lock.", e);
+        } finally {
+            lockMetrics.totalWaitTimeNanos.add(System.nanoTime() - waitStart);
+        }
+    }
+
+    /**
+     * Get the contention metrics of the given lock scope.
+     *
+     * @param scope Lock scope.
+     * @return Lock metrics.
+     */
+    public LockMetrics getMetrics(LockScope scope) {
+
+        return metrics.get(scope);
+    }
+
+    int stripeIndex(Object... keyParts) {
+
+        int hash = 1;
+        for (Object part : keyParts) {
+            hash = 31 * hash + (part == null ? 0 : part.hashCode());
+        }
+        // Spread the higher bits as the mask only keeps the lower ones.
+        hash ^= (hash >>> 16);
+        return hash & stripeMask;
+    }
+
+    private static int toPowerOfTwo(int stripeCount) {
+
+        int bounded = Math.max(1, Math.min(stripeCount, MAX_STRIPE_COUNT));
+        int highestOneBit = Integer.highestOneBit(bounded);
+        return highestOneBit == bounded ? bounded : highestOneBit << 1;
+    }
+
+    private static FallbackPolicy readFallbackPolicy() {
+
+        String policy = IdentityUtil.getProperty(OAuth2Constants.TokenIssuanceLock.FALLBACK_POLICY);
+        if (StringUtils.isNotBlank(policy)) {
+            try {
+                return FallbackPolicy.valueOf(policy.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Invalid token issuance lock fallback policy: " + policy + ". Using the default policy: "
+                        + FallbackPolicy.WAIT);
+            }
+        }
+        return FallbackPolicy.WAIT;
+    }
+}
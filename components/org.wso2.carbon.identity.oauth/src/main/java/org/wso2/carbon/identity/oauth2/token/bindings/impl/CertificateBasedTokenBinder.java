@@ -18,8 +18,6 @@
 
 package org.wso2.carbon.identity.oauth2.token.bindings.impl;
 
-import com.nimbusds.jose.util.Base64URL;
-import com.nimbusds.jose.util.X509CertUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -33,17 +31,10 @@ import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
-import org.wso2.carbon.identity.openidconnect.model.Constants;
 
-import java.io.ByteArrayInputStream;
 import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.security.cert.CertificateException;
-import java.security.cert.CertificateFactory;
 import java.security.cert.X509Certificate;
-import java.util.Arrays;
-import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -125,9 +116,10 @@ public class CertificateBasedTokenBinder extends AbstractTokenBinder {
     @Override
     public boolean isValidTokenBinding(Object request, String bindingReference) {
 
-        String cnfValue = generateCnfHashValue((HttpServletRequest) request);
-        if (StringUtils.isNotBlank(cnfValue)) {
-            return StringUtils.equals(bindingReference, OAuth2Util.getTokenBindingReference(cnfValue));
+        // The binding reference of a certificate sent in the header is cached along with the parsed certificate.
+        ClientCertificateCache.ClientCertificate clientCertificate = getClientCertificate((HttpServletRequest) request);
+        if (clientCertificate != null && StringUtils.isNotBlank(clientCertificate.getThumbprint())) {
+            return StringUtils.equals(bindingReference, clientCertificate.getBindingReference());
         }
         return false;
     }
@@ -154,7 +146,12 @@ public class CertificateBasedTokenBinder extends AbstractTokenBinder {
 
     private String generateCnfHashValue(HttpServletRequest request) {
 
-        Base64URL certThumbprint;
+        ClientCertificateCache.ClientCertificate clientCertificate = getClientCertificate(request);
+        return clientCertificate != null ? clientCertificate.getThumbprint() : null;
+    }
+
+    private ClientCertificateCache.ClientCertificate getClientCertificate(HttpServletRequest request) {
+
         X509Certificate certificate = null;
         String headerName = Optional.ofNullable(IdentityUtil.getProperty(OAuthConstants.MTLS_AUTH_HEADER))
                 .orElse(OAuthConstants.CONFIG_NOT_FOUND);
@@ -165,7 +162,7 @@ public class CertificateBasedTokenBinder extends AbstractTokenBinder {
 
         if (StringUtils.isNotBlank(certificateInHeader)) {
             try {
-                certificate = parseCertificate(certificateInHeader);
+                return ClientCertificateCache.getInstance().getCertificate(certificateInHeader);
             } catch (CertificateException | UnsupportedEncodingException e) {
                 /* Adding a debug log as these errors cannot be thrown as per the TokenBinder interface implementation.
                    But null checks have been performed where these methods are being executed. */
@@ -177,13 +174,11 @@ public class CertificateBasedTokenBinder extends AbstractTokenBinder {
         } else if (certObject instanceof X509Certificate) {
             certificate = (X509Certificate) certObject;
         } else if (certObject instanceof X509Certificate[] && ((X509Certificate[]) certObject).length > 0) {
-            List<X509Certificate> x509Certificates = Arrays.asList((X509Certificate[]) certObject);
-            certificate = x509Certificates.get(0);
+            certificate = ((X509Certificate[]) certObject)[0];
         }
 
         if (certificate != null) {
-            certThumbprint = X509CertUtils.computeSHA256Thumbprint(certificate);
-            return certThumbprint.toString();
+            return new ClientCertificateCache.ClientCertificate(certificate);
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("TLS certificate not found in the request.");
@@ -191,44 +186,4 @@ public class CertificateBasedTokenBinder extends AbstractTokenBinder {
             return null;
         }
     }
-
-    /**
-     * Return Certificate for give Certificate Content.
-     *
-     * @param content   Certificate Content
-     * @return X509Certificate X.509 certificate after decoding the certificate content.
-     * @throws CertificateException Certificate Exception.
-     */
-    private X509Certificate parseCertificate(String content) throws CertificateException, UnsupportedEncodingException {
-
-        byte[] decoded;
-        String sanitizedCertificate = sanitizeCertificate(content);
-        // First we try to Base64 decode, if it is not decodable, we try to url decode first and then Base64 decode.
-        try {
-            decoded = Base64.getDecoder().decode(sanitizedCertificate);
-        } catch (IllegalArgumentException e) {
-            log.debug("Error while base64 decoding the certificate. Trying URL decoding first.");
-            String urlDecodedContent = URLDecoder.decode(content, StandardCharsets.UTF_8.name());
-            sanitizedCertificate = sanitizeCertificate(urlDecodedContent);
-            decoded = Base64.getDecoder().decode(sanitizedCertificate);
-        }
-
-        return (java.security.cert.X509Certificate) CertificateFactory.getInstance(Constants.X509)
-                .generateCertificate(new ByteArrayInputStream(decoded));
-    }
-
-    /**
-     * Sanitize the certificate before decoding.
-     * @param content certificate as a string.
-     * @return sanitized certificate.
-     */
-    private String sanitizeCertificate(String content) {
-
-        String certContent = StringUtils.trim(content);
-        // Remove Certificate Headers.
-        String certBody = certContent.replaceAll(OAuthConstants.BEGIN_CERT, StringUtils.EMPTY)
-                .replaceAll(OAuthConstants.END_CERT, StringUtils.EMPTY);
-        // Removing all whitespaces and new lines.
-        return certBody.replaceAll("\\s", StringUtils.EMPTY).replace("\\n", StringUtils.EMPTY);
-    }
 }
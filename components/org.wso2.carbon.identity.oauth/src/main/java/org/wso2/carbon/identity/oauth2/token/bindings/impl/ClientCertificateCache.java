@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.bindings.impl;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+import org.wso2.carbon.identity.openidconnect.model.Constants;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the client certificates sent in the mutual TLS certificate header, keyed by the raw header value.
+ * A cached certificate carries its SHA-256 thumbprint and the token binding reference derived from it, so that
+ * validating a certificate bound token does not decode, parse and hash the certificate on every request.
+ */
+public class ClientCertificateCache {
+
+    private static final Log log = LogFactory.getLog(ClientCertificateCache.class);
+    private static final int DEFAULT_MAX_SIZE = 1000;
+    private static volatile ClientCertificateCache instance;
+
+    private final int maxSize;
+    private final Map<String, ClientCertificate> certificates;
+
+    ClientCertificateCache(int maxSize) {
+
+        this.maxSize = maxSize;
+        this.certificates = Collections.synchronizedMap(
+                new LinkedHashMap<String, ClientCertificate>(16, 0.75f, true) {
+
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, ClientCertificate> eldest) {
+
+                        return size() > ClientCertificateCache.this.maxSize;
+                    }
+                });
+    }
+
+    public static ClientCertificateCache getInstance() {
+
+        if (instance == null) {
+            synchronized (ClientCertificateCache.class) {
+                if (instance == null) {
+                    instance = new ClientCertificateCache(OAuth2Util.getIntProperty(
+                            OAuth2Constants.ClientCertificateCache.MAX_SIZE, DEFAULT_MAX_SIZE));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get the client certificate sent in the certificate header, parsing it only if it is not already cached.
+     *
+     * @param certificateInHeader Value of the certificate header.
+     * @return Client certificate.
+     * @throws CertificateException         If the header does not hold a valid X.509 certificate.
+     * @throws UnsupportedEncodingException If the header value could not be URL decoded.
+     */
+    public ClientCertificate getCertificate(String certificateInHeader)
+            throws CertificateException, UnsupportedEncodingException {
+
+        if (maxSize <= 0) {
+            return new ClientCertificate(parseCertificate(certificateInHeader));
+        }
+        ClientCertificate clientCertificate = certificates.get(certificateInHeader);
+        if (clientCertificate == null) {
+            clientCertificate = new ClientCertificate(parseCertificate(certificateInHeader));
+            certificates.put(certificateInHeader, clientCertificate);
+        }
+        return clientCertificate;
+    }
+
+    /**
+     * Return Certificate for give Certificate Content.
+     *
+     * @param content   Certificate Content
+     * @return X509Certificate X.509 certificate after decoding the certificate content.
+     * @throws CertificateException Certificate Exception.
+     */
+    static X509Certificate parseCertificate(String content) throws CertificateException, UnsupportedEncodingException {
+
+        byte[] decoded;
+        String sanitizedCertificate = sanitizeCertificate(content);
+        // First we try to Base64 decode, if it is not decodable, we try to url decode first and then Base64 decode.
+        try {
+            decoded = Base64.getDecoder().decode(sanitizedCertificate);
+        } catch (IllegalArgumentException e) {
+            log.debug("Error while base64 decoding the certificate. Trying URL decoding first.");
+            String urlDecodedContent = URLDecoder.decode(content, StandardCharsets.UTF_8.name());
+            sanitizedCertificate = sanitizeCertificate(urlDecodedContent);
+            decoded = Base64.getDecoder().decode(sanitizedCertificate);
+        }
+
+        return (java.security.cert.X509Certificate) CertificateFactory.getInstance(Constants.X509)
+                .generateCertificate(new ByteArrayInputStream(decoded));
+    }
+
+    /**
+     * Sanitize the certificate before decoding.
+     * @param content certificate as a string.
+     * @return sanitized certificate.
+     */
+    private static String sanitizeCertificate(String content) {
+
+        String certContent = StringUtils.trim(content);
+        // Remove Certificate Headers.
+        String certBody = certContent.replaceAll(OAuthConstants.BEGIN_CERT, StringUtils.EMPTY)
+                .replaceAll(OAuthConstants.END_CERT, StringUtils.EMPTY);
+        // Removing all whitespaces and new lines.
+        return certBody.replaceAll("\\s", StringUtils.EMPTY).replace("\\n", StringUtils.EMPTY);
+    }
+
+    int size() {
+
+        return certificates.size();
+    }
+
+    /**
+     * Client certificate along with the values derived from it for the certificate based token binding.
+     */
+    public static class ClientCertificate {
+
+        private final X509Certificate certificate;
+        private final String thumbprint;
+        private final String bindingReference;
+
+        public ClientCertificate(X509Certificate certificate) {
+
+            this.certificate = certificate;
+            this.thumbprint = X509CertUtils.computeSHA256Thumbprint(certificate).toString();
+            this.bindingReference = OAuth2Util.getTokenBindingReference(thumbprint);
+        }
+
+        public X509Certificate getCertificate() {
+
+            return certificate;
+        }
+
+        /**
+         * Returns the Base64URL encoded SHA-256 thumbprint of the certificate, which is the token binding value.
+         *
+         * @return Certificate thumbprint.
+         */
+        public String getThumbprint() {
+
+            return thumbprint;
+        }
+
+        /**
+         * Returns the token binding reference derived from the certificate thumbprint.
+         *
+         * @return Token binding reference.
+         */
+        public String getBindingReference() {
+
+            return bindingReference;
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.wso2.carbon.identity.central.log.mgt.utils.LoggerUtils;
 import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth.action.execution.PreIssueAccessTokenActionMetrics;
 import org.wso2.carbon.identity.oauth.cache.CacheEntry;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
@@ -54,7 +55,9 @@ import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2ClientException;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.OAuth2Service;
+import org.wso2.carbon.identity.oauth2.dao.AccessTokenPersistencePipeline;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
@@ -64,6 +67,7 @@ import org.wso2.carbon.identity.oauth2.rar.AuthorizationDetailsService;
 import org.wso2.carbon.identity.oauth2.rar.util.AuthorizationDetailsUtils;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
 import org.wso2.carbon.identity.oauth2.util.Oauth2ScopeUtils;
 import org.wso2.carbon.identity.oauth2.validators.OAuth2ScopeHandler;
@@ -81,6 +85,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.OAUTH_APP;
 import static org.wso2.carbon.identity.oauth.common.OAuthConstants.RENEW_TOKEN_WITHOUT_REVOKING_EXISTING_ENABLE_CONFIG;
@@ -101,6 +106,7 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
     protected boolean cacheEnabled;
     protected OAuthCache oauthCache;
     protected static final String EXISTING_TOKEN_ISSUED = "existingTokenUsed";
+    private static final String PRE_ISSUE_ACTIONS_EXECUTED_OUTSIDE_LOCK = "preIssueActionsExecutedOutsideLock";
     protected static final int SECONDS_TO_MILISECONDS_FACTOR = 1000;
     private boolean isHashDisabled = OAuth2Util.isHashDisabled();
     protected AuthorizationDetailsService authorizationDetailsService;
@@ -175,7 +181,22 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                     "Error while retrieving oauth issuer for the app with clientId: " + consumerKey, e);
         }
 
-        synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference).intern()) {
+        if (isPreIssueActionExecutableOutsideIssuanceLock(tokReqMsgCtx, oauthTokenIssuer)) {
+            /* A new token is issued regardless of the existing tokens, hence the action is executed before acquiring
+            the lock, so that a slow action endpoint does not block the other requests for the same key. */
+            updateMessageContextToCreateNewToken(tokReqMsgCtx, consumerKey, null,
+                    new Timestamp(System.currentTimeMillis()));
+            ActionExecutionStatus<?> executionStatus = executePreIssueAccessTokenActions(tokReqMsgCtx, false);
+            if (executionStatus != null && (executionStatus.getStatus() == ActionExecutionStatus.Status.FAILED ||
+                    executionStatus.getStatus() == ActionExecutionStatus.Status.ERROR)) {
+                return getFailureOrErrorResponseDTO(executionStatus);
+            }
+            tokReqMsgCtx.addProperty(PRE_ISSUE_ACTIONS_EXECUTED_OUTSIDE_LOCK, true);
+        }
+
+        try (TokenIssuanceLockManager.LockHandle ignored = TokenIssuanceLockManager.getInstance().acquire(
+                TokenIssuanceLockManager.LockScope.TOKEN_ISSUANCE, consumerKey, authorizedUserId, scope,
+                tokenBindingReference)) {
             AccessTokenDO existingTokenBean = null;
 
             OAuthAppDO oAuthAppDO = (OAuthAppDO) tokReqMsgCtx.getProperty(OAUTH_APP);
@@ -475,11 +496,19 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
             throws IdentityOAuth2Exception {
 
         Timestamp timestamp = new Timestamp(new Date().getTime());
-        updateMessageContextToCreateNewToken(tokReqMsgCtx, consumerKey, existingTokenBean, timestamp);
-        ActionExecutionStatus<?> executionStatus = executePreIssueAccessTokenActions(tokReqMsgCtx);
-        if (executionStatus != null && (executionStatus.getStatus() == ActionExecutionStatus.Status.FAILED ||
-                executionStatus.getStatus() == ActionExecutionStatus.Status.ERROR)) {
-            return getFailureOrErrorResponseDTO(executionStatus);
+        if (Boolean.TRUE.equals(tokReqMsgCtx.getProperty(PRE_ISSUE_ACTIONS_EXECUTED_OUTSIDE_LOCK))) {
+            /* The message context was prepared and the actions were executed before acquiring the lock. The issued
+            time is taken now, so that the time spent in the action and waiting for the lock is not deducted from the
+            validity of the token. */
+            tokReqMsgCtx.setAccessTokenIssuedTime(timestamp.getTime());
+            updateConsentedTokenInMessageContext(tokReqMsgCtx, existingTokenBean);
+        } else {
+            updateMessageContextToCreateNewToken(tokReqMsgCtx, consumerKey, existingTokenBean, timestamp);
+            ActionExecutionStatus<?> executionStatus = executePreIssueAccessTokenActions(tokReqMsgCtx, true);
+            if (executionStatus != null && (executionStatus.getStatus() == ActionExecutionStatus.Status.FAILED ||
+                    executionStatus.getStatus() == ActionExecutionStatus.Status.ERROR)) {
+                return getFailureOrErrorResponseDTO(executionStatus);
+            }
         }
         AccessTokenDO newTokenBean = createNewTokenBean(tokReqMsgCtx, existingTokenBean, oauthTokenIssuer);
 
@@ -518,17 +547,21 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
     }
 
     private ActionExecutionStatus<?> executePreIssueAccessTokenActions(
-            OAuthTokenReqMessageContext tokenReqMessageContext) throws IdentityOAuth2Exception {
+            OAuthTokenReqMessageContext tokenReqMessageContext, boolean holdingIssuanceLock)
+            throws IdentityOAuth2Exception {
 
         ActionExecutionStatus<?> executionStatus = null;
         if (checkExecutePreIssueAccessTokensActions(tokenReqMessageContext)) {
 
             FlowContext flowContext = FlowContext.create().add("tokenMessageContext", tokenReqMessageContext);
 
+            long startTime = System.nanoTime();
             try {
                 executionStatus = OAuthComponentServiceHolder.getInstance().getActionExecutorService()
                         .execute(ActionType.PRE_ISSUE_ACCESS_TOKEN, flowContext,
                                 IdentityTenantUtil.getTenantDomain(IdentityTenantUtil.getLoginTenantId()));
+                PreIssueAccessTokenActionMetrics.getInstance().recordExecution(executionStatus,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), holdingIssuanceLock);
 
                 if (log.isDebugEnabled()) {
                     log.debug(String.format(
@@ -538,12 +571,29 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                             Optional.ofNullable(executionStatus).isPresent() ? executionStatus.getStatus() : "NA"));
                 }
             } catch (ActionExecutionException e) {
+                PreIssueAccessTokenActionMetrics.getInstance().recordException(
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), holdingIssuanceLock);
                 throw new IdentityOAuth2Exception("Error occurred while executing pre issue access token actions.", e);
             }
         }
         return executionStatus;
     }
 
+    /**
+     * Checks whether the pre issue access token actions can be executed before acquiring the token issuance lock.
+     * This is only possible when enabled by configuration and a new token is issued for every request, as the actions
+     * must not be executed when an existing token is issued.
+     */
+    private boolean isPreIssueActionExecutableOutsideIssuanceLock(OAuthTokenReqMessageContext tokReqMsgCtx,
+                                                                  OauthTokenIssuer oauthTokenIssuer)
+            throws IdentityOAuth2Exception {
+
+        return Boolean.parseBoolean(IdentityUtil.getProperty(
+                OAuth2Constants.PreIssueAccessTokenAction.EXECUTE_OUTSIDE_ISSUANCE_LOCK)) &&
+                accessTokenRenewedPerRequest(oauthTokenIssuer, tokReqMsgCtx) &&
+                checkExecutePreIssueAccessTokensActions(tokReqMsgCtx);
+    }
+
     private boolean checkExecutePreIssueAccessTokensActions(OAuthTokenReqMessageContext tokenReqMessageContext)
             throws IdentityOAuth2Exception {
 
@@ -613,6 +663,19 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                                                       AccessTokenDO existingTokenBean, Timestamp timestamp)
             throws IdentityOAuth2Exception {
 
+        updateConsentedTokenInMessageContext(tokReqMsgCtx, existingTokenBean);
+        OAuthAppDO oAuthAppBean = getoAuthApp(consumerKey);
+        long validityPeriodInMillis = getConfiguredExpiryTimeForApplication(tokReqMsgCtx, consumerKey, oAuthAppBean);
+        tokReqMsgCtx.setValidityPeriod(validityPeriodInMillis);
+        tokReqMsgCtx.setAccessTokenIssuedTime(timestamp.getTime());
+        tokReqMsgCtx.setAudiences(OAuth2Util.getOIDCAudience(consumerKey, oAuthAppBean));
+
+        updateRefreshTokenValidityPeriodInMessageContext(oAuthAppBean, tokReqMsgCtx);
+    }
+
+    private void updateConsentedTokenInMessageContext(OAuthTokenReqMessageContext tokReqMsgCtx,
+                                                      AccessTokenDO existingTokenBean) {
+
         /* If the existing token is available, the consented token flag will be extracted from that. Otherwise,
         from the current grant. */
         if (OAuth2ServiceComponentHolder.isConsentedTokenColumnEnabled()) {
@@ -625,13 +688,6 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                 }
             }
         }
-        OAuthAppDO oAuthAppBean = getoAuthApp(consumerKey);
-        long validityPeriodInMillis = getConfiguredExpiryTimeForApplication(tokReqMsgCtx, consumerKey, oAuthAppBean);
-        tokReqMsgCtx.setValidityPeriod(validityPeriodInMillis);
-        tokReqMsgCtx.setAccessTokenIssuedTime(timestamp.getTime());
-        tokReqMsgCtx.setAudiences(OAuth2Util.getOIDCAudience(consumerKey, oAuthAppBean));
-
-        updateRefreshTokenValidityPeriodInMessageContext(oAuthAppBean, tokReqMsgCtx);
     }
 
     private void setRefreshTokenDetails(OAuthTokenReqMessageContext tokReqMsgCtx, AccessTokenDO existingTokenBean,
@@ -675,12 +731,46 @@ public abstract class AbstractAuthorizationGrantHandler implements Authorization
                     " and bindingRef: " + getTokenBindingReference(tokReqMsgCtx) +
                     " and authorized organization: " + getAuthorizedOrganization(tokReqMsgCtx));
         }
-        storeAccessToken(tokenReq, getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser()), newTokenBean, newAccessToken,
-                existingTokenBean);
+        String userStoreDomain = getUserStoreDomain(tokReqMsgCtx.getAuthorizedUser());
+        if (isAsyncPersistenceApplicable(tokReqMsgCtx) && AccessTokenPersistencePipeline.getInstance()
+                .submit(newAccessToken, tokenReq.getClientId(), newTokenBean, existingTokenBean, userStoreDomain)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Access token with the token id: " + newTokenBean.getTokenId() +
+                        " is queued for asynchronous persistence.");
+            }
+        } else {
+            storeAccessToken(tokenReq, userStoreDomain, newTokenBean, newAccessToken, existingTokenBean);
+        }
         this.authorizationDetailsService
                 .storeOrReplaceAccessTokenAuthorizationDetails(newTokenBean, existingTokenBean, tokReqMsgCtx);
     }
 
+    /**
+     * Tokens can only be persisted asynchronously when they are cached against both the token and the
+     * client, user and scope combination, so that they can be resolved until they reach the database. Rich
+     * authorization requests are excluded as their authorization details reference the persisted token.
+     */
+    private boolean isAsyncPersistenceApplicable(OAuthTokenReqMessageContext tokReqMsgCtx) {
+
+        return isHashDisabled && cacheEnabled && OAuth2Util.isTokenPersistenceEnabled() &&
+                AccessTokenPersistencePipeline.getInstance()
+                        .isApplicable(tokReqMsgCtx.getOauth2AccessTokenReqDTO().getGrantType()) &&
+                !AuthorizationDetailsUtils.isRichAuthorizationRequest(tokReqMsgCtx) &&
+                isAsyncTokenPersistenceSupported();
+    }
+
+    /**
+     * Whether the access tokens issued by this grant handler can be handed over to the
+     * {@link AccessTokenPersistencePipeline}. Grant handlers which persist additional state along with the access
+     * token in {@link #storeAccessToken} should return false.
+     *
+     * @return True if the access tokens can be persisted asynchronously.
+     */
+    protected boolean isAsyncTokenPersistenceSupported() {
+
+        return true;
+    }
+
     private void updateCacheIfEnabled(AccessTokenDO newTokenBean, String scope, OauthTokenIssuer oauthTokenIssuer)
             throws IdentityOAuth2Exception {
 
@@ -48,6 +48,7 @@ import org.wso2.carbon.identity.oauth2.dao.AuthorizationCodeValidationResult;
 import org.wso2.carbon.identity.oauth2.dao.OAuthTokenPersistenceFactory;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenReqDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCache;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.AuthzCodeDO;
 import org.wso2.carbon.identity.oauth2.rar.util.AuthorizationDetailsUtils;
@@ -108,6 +109,7 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
         String authzCode = retrieveAuthzCode(tokReqMsgCtx);
         deactivateAuthzCode(tokReqMsgCtx, tokenResp.getTokenId(), authzCode);
         clearAuthzCodeCache(tokReqMsgCtx, authzCode);
+        clearAuthzCodeAuthorizationDetailsCache(tokReqMsgCtx);
         return tokenResp;
     }
 
@@ -180,6 +182,15 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
         }
     }
 
+    private void clearAuthzCodeAuthorizationDetailsCache(OAuthTokenReqMessageContext tokReqMsgCtx) {
+
+        // The authorization details of the code are looked up with the code of the request, and it is now consumed.
+        OAuth2AccessTokenReqDTO tokenReq = tokReqMsgCtx.getOauth2AccessTokenReqDTO();
+        AuthorizationDetailsCache.getInstance().clearCacheEntry(
+                AuthorizationDetailsCache.getAuthorizationCodeKey(tokenReq.getAuthorizationCode()),
+                tokenReq.getTenantDomain());
+    }
+
     private void deactivateAuthzCode(OAuthTokenReqMessageContext tokReqMsgCtx, String tokenId,
                                      String authzCode) throws IdentityOAuth2Exception {
         try {
@@ -267,6 +278,13 @@ public class AuthorizationCodeGrantHandler extends AbstractAuthorizationGrantHan
                 .getValueForIsRefreshTokenAllowed(OAuthConstants.GrantTypes.AUTHORIZATION_CODE);
     }
 
+    @Override
+    protected boolean isAsyncTokenPersistenceSupported() {
+
+        // The access token is persisted along with the state change of the authorization code.
+        return false;
+    }
+
     /**
      * Provides authorization code request details saved in cache or DB
      * @param tokenReqDTO
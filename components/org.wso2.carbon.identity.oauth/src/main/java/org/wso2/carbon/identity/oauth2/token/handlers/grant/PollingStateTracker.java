@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.handlers.grant;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
+import org.wso2.carbon.identity.oauth2.cache.PollingStateCache;
+import org.wso2.carbon.identity.oauth2.cache.PollingStateCacheEntry;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the polls of the device flow and CIBA token requests which are pending authorization from memory.
+ * <p>
+ * Once a grant handler reads a pending request from the database, it hands over the polling state of the request to
+ * the tracker. The subsequent polls are answered with authorization_pending or slow_down from the tracked state,
+ * without reading the request or writing its last poll time to the database. The state is discarded when the status
+ * of the request changes, when the request expires, and when it is older than the configured maximum age, after
+ * which the next poll reads the request from the database again.
+ * <p>
+ * The polling state is kept in the cache of the tenant, hence the polling interval of a client is enforced per node.
+ * The tracker is disabled by default.
+ */
+public class PollingStateTracker {
+
+    private static final Log log = LogFactory.getLog(PollingStateTracker.class);
+
+    private static final int DEFAULT_MAX_STATE_AGE_IN_SECONDS = 30;
+
+    private static volatile PollingStateTracker instance;
+
+    private final boolean enabled;
+    private final long maxStateAge;
+    private final PollingStateCache cache;
+
+    /**
+     * Outcome of a poll served by the tracker.
+     */
+    public enum PollOutcome {
+
+        /**
+         * The request is not tracked, hence it has to be read from the database.
+         */
+        UNKNOWN,
+
+        /**
+         * The request is pending authorization.
+         */
+        AUTHORIZATION_PENDING,
+
+        /**
+         * The client polled before the polling interval elapsed.
+         */
+        SLOW_DOWN
+    }
+
+    PollingStateTracker(boolean enabled, long maxStateAge, PollingStateCache cache) {
+
+        this.enabled = enabled;
+        this.maxStateAge = maxStateAge;
+        this.cache = cache;
+    }
+
+    /**
+     * Get the shared polling state tracker, configured from the OAuth.PollingStateTracking section of identity.xml.
+     *
+     * @return Polling state tracker.
+     */
+    public static PollingStateTracker getInstance() {
+
+        if (instance == null) {
+            synchronized (PollingStateTracker.class) {
+                if (instance == null) {
+                    boolean enabled = Boolean.parseBoolean(
+                            IdentityUtil.getProperty(OAuth2Constants.PollingStateTracking.ENABLE));
+                    instance = new PollingStateTracker(enabled,
+                            TimeUnit.SECONDS.toMillis(OAuth2Util.getIntProperty(
+                                    OAuth2Constants.PollingStateTracking.MAX_STATE_AGE,
+                                    DEFAULT_MAX_STATE_AGE_IN_SECONDS)),
+                            enabled ? PollingStateCache.getInstance() : null);
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+
+        return enabled;
+    }
+
+    /**
+     * Serve a poll of a request from its tracked state.
+     *
+     * @param requestType Type of the request, such as the name of its identifier parameter.
+     * @param requestId   Identifier of the request.
+     * @param clientId    Client id of the polling client.
+     * @return Outcome of the poll. {@link PollOutcome#UNKNOWN} if the request has to be read from the database.
+     */
+    public PollOutcome poll(String requestType, String requestId, String clientId) {
+
+        if (!enabled || StringUtils.isBlank(requestId)) {
+            return PollOutcome.UNKNOWN;
+        }
+        String key = getKey(requestType, requestId);
+        PollingStateCacheEntry state = cache.getValueFromCache(key);
+        if (state == null || !StringUtils.equals(state.getClientId(), clientId)) {
+            return PollOutcome.UNKNOWN;
+        }
+        long now = System.currentTimeMillis();
+        if (now >= state.getExpiryTime() || now - state.getTrackedTime() > maxStateAge) {
+            cache.clearCacheEntry(key);
+            return PollOutcome.UNKNOWN;
+        }
+        if (state.recordPoll(now)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Client: " + clientId + " polled the " + requestType + " request before the polling " +
+                        "interval elapsed.");
+            }
+            return PollOutcome.SLOW_DOWN;
+        }
+        return PollOutcome.AUTHORIZATION_PENDING;
+    }
+
+    /**
+     * Start tracking the polling state of a request which is pending authorization.
+     *
+     * @param requestType       Type of the request, such as the name of its identifier parameter.
+     * @param requestId         Identifier of the request.
+     * @param clientId          Client id of the application which initiated the request.
+     * @param lastPollTime      Time of the last poll, in milliseconds.
+     * @param interval          Minimum interval between two polls, in milliseconds.
+     * @param intervalIncrement Amount by which the interval is increased when the client polls too frequently, in
+     *                          milliseconds.
+     * @param expiryTime        Time at which the request expires, in milliseconds.
+     */
+    public void trackPending(String requestType, String requestId, String clientId, long lastPollTime, long interval,
+                             long intervalIncrement, long expiryTime) {
+
+        if (!enabled || StringUtils.isBlank(requestId)) {
+            return;
+        }
+        cache.addToCache(getKey(requestType, requestId),
+                new PollingStateCacheEntry(clientId, lastPollTime, interval, intervalIncrement, expiryTime));
+    }
+
+    /**
+     * Stop tracking a request, so that its next poll is served from the database. Must be called whenever the
+     * status of the request changes.
+     *
+     * @param requestType Type of the request, such as the name of its identifier parameter.
+     * @param requestId   Identifier of the request.
+     */
+    public void clear(String requestType, String requestId) {
+
+        if (!enabled || StringUtils.isBlank(requestId)) {
+            return;
+        }
+        cache.clearCacheEntry(getKey(requestType, requestId));
+    }
+
+    private static String getKey(String requestType, String requestId) {
+
+        return requestType + ":" + requestId;
+    }
+}
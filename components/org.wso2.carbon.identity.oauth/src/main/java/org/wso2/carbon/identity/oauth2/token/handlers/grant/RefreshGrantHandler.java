@@ -40,6 +40,7 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.handler.event.account.lock.exception.AccountLockServiceException;
 import org.wso2.carbon.identity.handler.event.account.lock.service.AccountLockService;
+import org.wso2.carbon.identity.oauth.action.execution.PreIssueAccessTokenActionMetrics;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCache;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheEntry;
 import org.wso2.carbon.identity.oauth.cache.AuthorizationGrantCacheKey;
@@ -67,6 +68,7 @@ import org.wso2.carbon.identity.oauth2.rar.util.AuthorizationDetailsUtils;
 import org.wso2.carbon.identity.oauth2.token.AccessTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
@@ -165,7 +167,9 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
                     + tokReqMsgCtx.getAuthorizedUser().getLoggableMaskedUserId(), e);
         }
         String tokenBindingReference = getTokenBindingReference(tokReqMsgCtx);
-        synchronized ((consumerKey + ":" + authorizedUserId + ":" + scope + ":" + tokenBindingReference).intern()) {
+        try (TokenIssuanceLockManager.LockHandle ignored = TokenIssuanceLockManager.getInstance().acquire(
+                TokenIssuanceLockManager.LockScope.TOKEN_ISSUANCE, consumerKey, authorizedUserId, scope,
+                tokenBindingReference)) {
             // sets accessToken, refreshToken and validity data
             setTokenData(accessTokenBean, tokReqMsgCtx, validationBean, tokenReq, accessTokenBean.getIssuedTime());
             persistNewToken(tokReqMsgCtx, accessTokenBean, tokenReq.getClientId());
@@ -861,10 +865,14 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
 
             FlowContext flowContext = FlowContext.create().add("tokenMessageContext", tokenReqMessageContext);
 
+            long startTime = System.nanoTime();
             try {
                 executionStatus = OAuthComponentServiceHolder.getInstance().getActionExecutorService()
                         .execute(ActionType.PRE_ISSUE_ACCESS_TOKEN, flowContext,
                                 IdentityTenantUtil.getTenantDomain(IdentityTenantUtil.getLoginTenantId()));
+                // The actions of the refresh grant are executed before acquiring the token issuance lock.
+                PreIssueAccessTokenActionMetrics.getInstance().recordExecution(executionStatus,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), false);
                 if (log.isDebugEnabled()) {
                     log.debug(String.format(
                             "Invoked pre issue access token action for clientID: %s grant types: %s. Status: %s",
@@ -873,6 +881,8 @@ public class RefreshGrantHandler extends AbstractAuthorizationGrantHandler {
                             Optional.ofNullable(executionStatus).isPresent() ? executionStatus.getStatus() : "NA"));
                 }
             } catch (ActionExecutionException e) {
+                PreIssueAccessTokenActionMetrics.getInstance().recordException(
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), false);
                 throw new IdentityOAuth2Exception("Error occurred while executing pre issue access token actions.", e);
             }
         }
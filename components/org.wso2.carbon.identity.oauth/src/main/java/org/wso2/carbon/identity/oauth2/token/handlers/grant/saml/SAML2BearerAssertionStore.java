@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.handlers.grant.saml;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded in-memory store of SAML2 bearer assertion keys, each kept until the time the assertion stops being valid.
+ * When the store is full, the expired keys are discarded first and then the oldest ones.
+ */
+class SAML2BearerAssertionStore {
+
+    private final int maxSize;
+    private final Map<String, Long> expiryTimes = new LinkedHashMap<>();
+
+    SAML2BearerAssertionStore(int maxSize) {
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Check whether the store holds an unexpired entry for the given key.
+     *
+     * @param key         Assertion key.
+     * @param currentTime Current time in milliseconds.
+     * @return True if the key is stored and not expired.
+     */
+    synchronized boolean contains(String key, long currentTime) {
+
+        Long expiryTime = expiryTimes.get(key);
+        if (expiryTime == null) {
+            return false;
+        }
+        if (expiryTime <= currentTime) {
+            expiryTimes.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Store the given key unless an unexpired entry already exists for it.
+     *
+     * @param key         Assertion key.
+     * @param expiryTime  Time in milliseconds until which the key is kept.
+     * @param currentTime Current time in milliseconds.
+     * @return True if the key was stored, false if an unexpired entry already exists.
+     */
+    synchronized boolean add(String key, long expiryTime, long currentTime) {
+
+        Long existingExpiryTime = expiryTimes.remove(key);
+        if (existingExpiryTime != null && existingExpiryTime > currentTime) {
+            expiryTimes.put(key, existingExpiryTime);
+            return false;
+        }
+        expiryTimes.put(key, expiryTime);
+        if (expiryTimes.size() > maxSize) {
+            expiryTimes.values().removeIf(time -> time <= currentTime);
+            Iterator<String> iterator = expiryTimes.keySet().iterator();
+            while (expiryTimes.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    synchronized int size() {
+
+        return expiryTimes.size();
+    }
+}
@@ -19,6 +19,7 @@
 package org.wso2.carbon.identity.oauth2.token.handlers.grant.saml;
 
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
@@ -65,6 +66,7 @@ import org.wso2.carbon.identity.oauth.common.OAuthConstants;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
 import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.OAuth2Constants;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2AccessTokenRespDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
@@ -86,6 +88,7 @@ import org.wso2.carbon.user.core.util.UserCoreUtil;
 import org.wso2.carbon.utils.multitenancy.MultitenantUtils;
 import org.wso2.carbon.utils.security.KeystoreUtils;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -98,10 +101,13 @@ import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This implements SAML 2.0 Bearer Assertion Profile for OAuth 2.0 -
@@ -121,8 +127,28 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
     public static final String SECURITY_SAML_SIGN_KEY_STORE_KEY_ALIAS = "Security.SAMLSignKeyStore.KeyAlias";
     public static final String SECURITY_SAML_SIGN_KEY_STORE_KEY_PASSWORD = "Security.SAMLSignKeyStore.KeyPassword";
 
+    private static final int DEFAULT_ASSERTION_STORE_MAX_SIZE = 10000;
+    private static final int MAX_CACHED_IDP_CREDENTIALS = 1000;
+    private static final String SAML_SIGN_KEY_STORE_CREDENTIAL = "SAMLSignKeyStore";
+
     SAMLSignatureProfileValidator profileValidator = null;
 
+    private boolean replayDetectionEnabled;
+    private boolean verifiedAssertionCacheEnabled;
+    private SAML2BearerAssertionStore usedAssertions;
+    private SAML2BearerAssertionStore verifiedAssertions;
+    // Parsed IdP credentials keyed by the certificate value, so that an updated IdP certificate is parsed afresh.
+    private final Map<String, X509Credential> idpCredentials = Collections.synchronizedMap(
+            new LinkedHashMap<String, X509Credential>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, X509Credential> eldest) {
+
+                    return size() > MAX_CACHED_IDP_CREDENTIALS;
+                }
+            });
+    private volatile SAMLSignKeyStoreCredential samlSignKeyStoreCredential;
+
     @Override
     public void init() throws IdentityOAuth2Exception {
 
@@ -142,6 +168,20 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
         }
 
         profileValidator = new SAMLSignatureProfileValidator();
+
+        replayDetectionEnabled = Boolean.parseBoolean(
+                IdentityUtil.getProperty(OAuth2Constants.SAML2BearerGrant.REPLAY_DETECTION_ENABLE));
+        // A verified assertion can not be presented again when replay detection is enabled.
+        verifiedAssertionCacheEnabled = !replayDetectionEnabled && Boolean.parseBoolean(
+                IdentityUtil.getProperty(OAuth2Constants.SAML2BearerGrant.VERIFIED_ASSERTION_CACHE_ENABLE));
+        int assertionStoreMaxSize = OAuth2Util.getIntProperty(
+                OAuth2Constants.SAML2BearerGrant.ASSERTION_STORE_MAX_SIZE, DEFAULT_ASSERTION_STORE_MAX_SIZE, 1);
+        if (replayDetectionEnabled) {
+            usedAssertions = new SAML2BearerAssertionStore(assertionStoreMaxSize);
+        }
+        if (verifiedAssertionCacheEnabled) {
+            verifiedAssertions = new SAML2BearerAssertionStore(assertionStoreMaxSize);
+        }
     }
 
     /**
@@ -168,23 +208,49 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
                     new String(Base64.decodeBase64(tokReqMsgCtx.getOauth2AccessTokenReqDTO().getAssertion()),
                             StandardCharsets.UTF_8));
         }
+        SAML2BearerGrantMetrics metrics = SAML2BearerGrantMetrics.getInstance();
+        long parseStartTime = System.nanoTime();
         Assertion assertion = getAssertionObject(tokReqMsgCtx);
+        metrics.recordParse(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - parseStartTime));
         validateSubject(tokReqMsgCtx, assertion);
         validateIssuer(tokReqMsgCtx, assertion);
         validateSignature(assertion);
 
         String tenantDomain = getTenantDomain(tokReqMsgCtx);
+        long idpLookupStartTime = System.nanoTime();
         IdentityProvider identityProvider = getIdentityProvider(assertion, tenantDomain);
+        metrics.recordIdpLookup(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - idpLookupStartTime));
         if (!identityProvider.isEnable()) {
             throw new IdentityOAuth2Exception("No Active IDP found for the given idp : " + identityProvider
                     .getIdentityProviderName());
         }
-        // If SAMLSignKeyStore property defined in the carbon.xml then validate the signature against provided
-        // SAML Sign KeyStore certificate else validate against the IDP certificate.
-        if (isSAMLSignKeyStoreConfigured()) {
-            validateSignatureAgainstSAMLSignKeyStoreCertificate(assertion);
+        boolean samlSignKeyStoreConfigured = isSAMLSignKeyStoreConfigured();
+        String verifiedAssertionKey = null;
+        if (verifiedAssertionCacheEnabled) {
+            verifiedAssertionKey = getVerifiedAssertionKey(tokReqMsgCtx, tenantDomain, identityProvider,
+                    samlSignKeyStoreConfigured);
+        }
+        if (verifiedAssertionKey != null
+                && verifiedAssertions.contains(verifiedAssertionKey, System.currentTimeMillis())) {
+            if (log.isDebugEnabled()) {
+                log.debug("Skipping the signature validation of the already verified assertion issued by: "
+                        + identityProvider.getIdentityProviderName());
+            }
+            metrics.recordVerifiedAssertionCacheHit();
         } else {
-            validateSignatureAgainstIdpCertificate(assertion, tenantDomain, identityProvider);
+            long signatureStartTime = System.nanoTime();
+            try {
+                // If SAMLSignKeyStore property defined in the carbon.xml then validate the signature against provided
+                // SAML Sign KeyStore certificate else validate against the IDP certificate.
+                if (samlSignKeyStoreConfigured) {
+                    validateSignatureAgainstSAMLSignKeyStoreCertificate(assertion);
+                } else {
+                    validateSignatureAgainstIdpCertificate(assertion, tenantDomain, identityProvider);
+                }
+            } finally {
+                metrics.recordSignatureValidation(
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - signatureStartTime));
+            }
         }
         validateConditions(tokReqMsgCtx, assertion, identityProvider, tenantDomain);
 
@@ -203,9 +269,61 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
 
         setValuesInMessageContext(tokReqMsgCtx, assertion, identityProvider, tenantDomain);
         invokeExtension(tokReqMsgCtx);
+
+        long currentTime = System.currentTimeMillis();
+        long assertionExpiryTime = currentTime + tokReqMsgCtx.getValidityPeriod() + timestampSkewInMillis;
+        if (replayDetectionEnabled && !usedAssertions.add(getUsedAssertionKey(tokReqMsgCtx, assertion,
+                tenantDomain), assertionExpiryTime, currentTime)) {
+            metrics.recordReplayRejection();
+            throw new IdentityOAuth2Exception("The assertion with ID: " + assertion.getID() + " issued by: "
+                    + assertion.getIssuer().getValue() + " has already been used.");
+        }
+        if (verifiedAssertionKey != null) {
+            verifiedAssertions.add(verifiedAssertionKey, assertionExpiryTime, currentTime);
+        }
         return true;
     }
 
+    /**
+     * Build the key identifying an assertion verified against the current certificates of the identity provider.
+     * A change in the certificates of the identity provider results in a different key.
+     *
+     * @param tokReqMsgCtx               Token message request context.
+     * @param tenantDomain               Tenant domain.
+     * @param identityProvider           Identity provider which issued the assertion.
+     * @param samlSignKeyStoreConfigured Whether the signature is validated against the SAML sign keystore.
+     * @return Verified assertion key.
+     */
+    private String getVerifiedAssertionKey(OAuthTokenReqMessageContext tokReqMsgCtx, String tenantDomain,
+                                           IdentityProvider identityProvider, boolean samlSignKeyStoreConfigured) {
+
+        StringBuilder key = new StringBuilder(tenantDomain).append(':')
+                .append(identityProvider.getIdentityProviderName()).append(':')
+                .append(DigestUtils.sha256Hex(tokReqMsgCtx.getOauth2AccessTokenReqDTO().getAssertion()))
+                .append(':');
+        if (samlSignKeyStoreConfigured) {
+            key.append(SAML_SIGN_KEY_STORE_CREDENTIAL);
+        } else {
+            StringBuilder certificates = new StringBuilder();
+            CertificateInfo[] certificateInfos = identityProvider.getCertificateInfoArray();
+            if (certificateInfos != null) {
+                for (CertificateInfo certificateInfo : certificateInfos) {
+                    certificates.append(certificateInfo.getCertValue()).append(',');
+                }
+            }
+            key.append(DigestUtils.sha256Hex(certificates.toString()));
+        }
+        return key.toString();
+    }
+
+    private String getUsedAssertionKey(OAuthTokenReqMessageContext tokReqMsgCtx, Assertion assertion,
+                                       String tenantDomain) {
+
+        String assertionId = StringUtils.isNotBlank(assertion.getID()) ? assertion.getID() :
+                DigestUtils.sha256Hex(tokReqMsgCtx.getOauth2AccessTokenReqDTO().getAssertion());
+        return tenantDomain + ":" + assertion.getIssuer().getValue() + ":" + assertionId;
+    }
+
     @Override
     public boolean issueRefreshToken() throws IdentityOAuth2Exception {
 
@@ -574,9 +692,8 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
             try {
                 int index = 0;
                 for (CertificateInfo certificateInfo : certificateInfos) {
-                    X509Certificate x509Certificate = getIdpCertificate(tenantDomain, identityProvider,
+                    X509Credential x509Credential = getIdpCredential(tenantDomain, identityProvider,
                             certificateInfo);
-                    X509Credential x509Credential = new X509CredentialImpl(x509Certificate);
 
                     try {
                         if (log.isDebugEnabled()) {
@@ -613,6 +730,21 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
         }
     }
 
+    private X509Credential getIdpCredential(String tenantDomain, IdentityProvider identityProvider,
+                                            CertificateInfo certificateInfo) throws IdentityOAuth2Exception {
+
+        String certValue = certificateInfo.getCertValue();
+        X509Credential x509Credential = certValue != null ? idpCredentials.get(certValue) : null;
+        if (x509Credential == null) {
+            x509Credential = new X509CredentialImpl(getIdpCertificate(tenantDomain, identityProvider,
+                    certificateInfo));
+            if (certValue != null) {
+                idpCredentials.put(certValue, x509Credential);
+            }
+        }
+        return x509Credential;
+    }
+
     private X509Certificate getIdpCertificate(String tenantDomain, IdentityProvider identityProvider,
                                               CertificateInfo certificateInfo) throws IdentityOAuth2Exception {
 
@@ -1422,9 +1554,7 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
             throws IdentityOAuth2Exception {
 
         try {
-            X509Certificate x509Certificate = getCertificateFromSAMLSignKeyStore();
-            X509Credential x509Credential = new X509CredentialImpl(x509Certificate);
-            SignatureValidator.validate(assertion.getSignature(), x509Credential);
+            SignatureValidator.validate(assertion.getSignature(), getSAMLSignKeyStoreCredential());
         } catch (SignatureException e) {
             if (StringUtils.isNotEmpty(assertion.getIssuer().getValue())) {
                 throw new IdentityOAuth2Exception(
@@ -1437,6 +1567,43 @@ public class SAML2BearerGrantHandler extends AbstractAuthorizationGrantHandler {
         }
     }
 
+    /**
+     * Get the credential of the certificate in the SAML Sign KeyStore. The credential is reused until the keystore
+     * configuration or the keystore file is changed.
+     *
+     * @return credential of the certificate obtained from SAML Sign Key Store.
+     * @throws IdentityOAuth2Exception
+     */
+    private X509Credential getSAMLSignKeyStoreCredential() throws IdentityOAuth2Exception {
+
+        String keyStoreLocation = ServerConfiguration.getInstance()
+                .getFirstProperty(SECURITY_SAML_SIGN_KEY_STORE_LOCATION);
+        String version = keyStoreLocation + ":" + new File(keyStoreLocation).lastModified() + ":"
+                + ServerConfiguration.getInstance().getFirstProperty(SECURITY_SAML_SIGN_KEY_STORE_KEY_ALIAS);
+        SAMLSignKeyStoreCredential credential = samlSignKeyStoreCredential;
+        if (credential == null || !credential.version.equals(version)) {
+            credential = new SAMLSignKeyStoreCredential(version,
+                    new X509CredentialImpl(getCertificateFromSAMLSignKeyStore()));
+            samlSignKeyStoreCredential = credential;
+        }
+        return credential.x509Credential;
+    }
+
+    /**
+     * Credential of the SAML sign keystore certificate along with the keystore version it was loaded from.
+     */
+    private static class SAMLSignKeyStoreCredential {
+
+        private final String version;
+        private final X509Credential x509Credential;
+
+        SAMLSignKeyStoreCredential(String version, X509Credential x509Credential) {
+
+            this.version = version;
+            this.x509Credential = x509Credential;
+        }
+    }
+
     /**
      * Get the certificate from the SAML Sign KeyStore which is defined under Security.SAMLSignKeyStore in carbon.xml.
      *
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.handlers.grant.saml;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters and timings of the SAML2 bearer grant assertion validation steps.
+ */
+public class SAML2BearerGrantMetrics {
+
+    private static final SAML2BearerGrantMetrics INSTANCE = new SAML2BearerGrantMetrics();
+
+    private final AtomicLong parseCount = new AtomicLong();
+    private final AtomicLong totalParseMillis = new AtomicLong();
+    private final AtomicLong idpLookupCount = new AtomicLong();
+    private final AtomicLong totalIdpLookupMillis = new AtomicLong();
+    private final AtomicLong signatureValidationCount = new AtomicLong();
+    private final AtomicLong totalSignatureValidationMillis = new AtomicLong();
+    private final AtomicLong verifiedAssertionCacheHitCount = new AtomicLong();
+    private final AtomicLong replayRejectionCount = new AtomicLong();
+
+    SAML2BearerGrantMetrics() {
+
+    }
+
+    public static SAML2BearerGrantMetrics getInstance() {
+
+        return INSTANCE;
+    }
+
+    /**
+     * Record the unmarshalling of an assertion.
+     *
+     * @param latencyMillis Time taken to unmarshall the assertion, in milliseconds.
+     */
+    public void recordParse(long latencyMillis) {
+
+        parseCount.incrementAndGet();
+        totalParseMillis.addAndGet(latencyMillis);
+    }
+
+    /**
+     * Record the resolution of the identity provider which issued an assertion.
+     *
+     * @param latencyMillis Time taken to resolve the identity provider, in milliseconds.
+     */
+    public void recordIdpLookup(long latencyMillis) {
+
+        idpLookupCount.incrementAndGet();
+        totalIdpLookupMillis.addAndGet(latencyMillis);
+    }
+
+    /**
+     * Record the validation of the signature of an assertion against the identity provider certificates.
+     *
+     * @param latencyMillis Time taken to validate the signature, in milliseconds.
+     */
+    public void recordSignatureValidation(long latencyMillis) {
+
+        signatureValidationCount.incrementAndGet();
+        totalSignatureValidationMillis.addAndGet(latencyMillis);
+    }
+
+    /**
+     * Record an assertion whose signature validation was skipped as it was already verified.
+     */
+    public void recordVerifiedAssertionCacheHit() {
+
+        verifiedAssertionCacheHitCount.incrementAndGet();
+    }
+
+    /**
+     * Record an assertion rejected as it was already used to obtain a token.
+     */
+    public void recordReplayRejection() {
+
+        replayRejectionCount.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of assertions unmarshalled.
+     *
+     * @return Number of parsed assertions.
+     */
+    public long getParseCount() {
+
+        return parseCount.get();
+    }
+
+    /**
+     * Returns the total time taken to unmarshall the assertions.
+     *
+     * @return Total parse time in milliseconds.
+     */
+    public long getTotalParseMillis() {
+
+        return totalParseMillis.get();
+    }
+
+    /**
+     * Returns the number of identity provider resolutions.
+     *
+     * @return Number of identity provider lookups.
+     */
+    public long getIdpLookupCount() {
+
+        return idpLookupCount.get();
+    }
+
+    /**
+     * Returns the total time taken to resolve the identity providers.
+     *
+     * @return Total identity provider lookup time in milliseconds.
+     */
+    public long getTotalIdpLookupMillis() {
+
+        return totalIdpLookupMillis.get();
+    }
+
+    /**
+     * Returns the number of signature validations performed.
+     *
+     * @return Number of signature validations.
+     */
+    public long getSignatureValidationCount() {
+
+        return signatureValidationCount.get();
+    }
+
+    /**
+     * Returns the total time taken by the signature validations.
+     *
+     * @return Total signature validation time in milliseconds.
+     */
+    public long getTotalSignatureValidationMillis() {
+
+        return totalSignatureValidationMillis.get();
+    }
+
+    /**
+     * Returns the number of assertions whose signature validation was skipped as they were already verified.
+     *
+     * @return Number of verified assertion cache hits.
+     */
+    public long getVerifiedAssertionCacheHitCount() {
+
+        return verifiedAssertionCacheHitCount.get();
+    }
+
+    /**
+     * Returns the number of assertions rejected as replays.
+     *
+     * @return Number of replay rejections.
+     */
+    public long getReplayRejectionCount() {
+
+        return replayRejectionCount.get();
+    }
+}
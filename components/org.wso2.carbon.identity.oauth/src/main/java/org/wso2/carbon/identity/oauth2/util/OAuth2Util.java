@@ -97,7 +97,9 @@ import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
 import org.wso2.carbon.identity.core.util.IdentityUtil;
 import org.wso2.carbon.identity.oauth.IdentityOAuthAdminException;
 import org.wso2.carbon.identity.oauth.cache.AppInfoCache;
+import org.wso2.carbon.identity.oauth.cache.AppInfoCacheLoader;
 import org.wso2.carbon.identity.oauth.cache.CacheEntry;
+import org.wso2.carbon.identity.oauth.cache.InvalidAccessTokenCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCache;
 import org.wso2.carbon.identity.oauth.cache.OAuthCacheKey;
 import org.wso2.carbon.identity.oauth.common.OAuth2ErrorCodes;
@@ -133,9 +135,11 @@ import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationRequestDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuth2TokenValidationResponseDTO;
 import org.wso2.carbon.identity.oauth2.dto.OAuthRevocationRequestDTO;
 import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.keyidprovider.KeyIDProvider;
 import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
 import org.wso2.carbon.identity.oauth2.model.ClientAuthenticationMethodModel;
 import org.wso2.carbon.identity.oauth2.model.ClientCredentialDO;
+import org.wso2.carbon.identity.oauth2.rar.AuthorizationDetailsService;
 import org.wso2.carbon.identity.oauth2.token.JWTTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
@@ -187,6 +191,7 @@ import java.sql.Timestamp;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -343,11 +348,13 @@ public class OAuth2Util {
     private static final String INBOUND_AUTH2_TYPE = "oauth2";
     private static final Log log = LogFactory.getLog(OAuth2Util.class);
     private static final Log diagnosticLog = LogFactory.getLog("diagnostics");
+    private static final int DEFAULT_TOKEN_LISTING_CHUNK_SIZE = 1000;
     public static final String JWT = "JWT";
     private static long timestampSkew = OAuthServerConfiguration.getInstance().getTimeStampSkewInSeconds() * 1000;
     private static ThreadLocal<Integer> clientTenantId = new ThreadLocal<>();
     private static ThreadLocal<OAuthTokenReqMessageContext> tokenRequestContext = new ThreadLocal<>();
     private static ThreadLocal<OAuthAuthzReqMessageContext> authzRequestContext = new ThreadLocal<>();
+    private static ThreadLocal<Map<String, AccessTokenDO>> prefetchedAccessTokens = new ThreadLocal<>();
     //Precompile PKCE Regex pattern for performance improvement
     private static Pattern pkceCodeVerifierPattern = Pattern.compile("[\\w\\-\\._~]+");
     // System flag to allow the weak keys (key length less than 2048) to be used for the signing.
@@ -355,6 +362,7 @@ public class OAuth2Util {
 
     private static Map<Integer, Certificate> publicCerts = new ConcurrentHashMap<Integer, Certificate>();
     private static Map<Integer, Key> privateKeys = new ConcurrentHashMap<Integer, Key>();
+    private static Map<Integer, SigningKeyContext> signingKeyContexts = new ConcurrentHashMap<>();
 
     // Supported Signature Algorithms
     private static final String NONE = "NONE";
@@ -963,6 +971,57 @@ public class OAuth2Util {
         return null;
     }
 
+    /**
+     * Returns the integer value of an identity configuration property.
+     *
+     * @param property     Name of the property.
+     * @param defaultValue Value returned if the property is not configured or its value is not an integer.
+     * @return Value of the property.
+     */
+    public static int getIntProperty(String property, int defaultValue) {
+
+        return getIntProperty(property, defaultValue, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Returns the integer value of an identity configuration property, which is not less than the given minimum.
+     *
+     * @param property     Name of the property.
+     * @param defaultValue Value returned if the property is not configured, or its value is not an integer or is less
+     *                     than the minimum.
+     * @param minValue     Minimum value of the property.
+     * @return Value of the property.
+     */
+    public static int getIntProperty(String property, int defaultValue, int minValue) {
+
+        String value = IdentityUtil.getProperty(property);
+        if (StringUtils.isBlank(value)) {
+            return defaultValue;
+        }
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue >= minValue) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Falls back to the default value below.
+        }
+        log.warn("Invalid value: " + value + " configured for " + property + ". Using the default value: " +
+                defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Returns the number of tokens or authorization codes handed over at once when the tokens of a tenant, user
+     * store or application are listed in chunks.
+     *
+     * @return Chunk size of the token listing.
+     */
+    public static int getTokenListingChunkSize() {
+
+        return Math.max(1, getIntProperty(OAuth2Constants.TokenListing.CHUNK_SIZE, DEFAULT_TOKEN_LISTING_CHUNK_SIZE));
+    }
+
     public static boolean checkAccessTokenPartitioningEnabled() {
 
         return OAuthServerConfiguration.getInstance().isAccessTokenPartitioningEnabled();
@@ -2189,10 +2248,32 @@ public class OAuth2Util {
             }
         }
 
-        // cache miss, load the access token info from the database.
+        // cache miss, load the access token info from the database unless it was recently not found.
         if (accessTokenDO == null) {
-            accessTokenDO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
-                    .getAccessToken(accessTokenIdentifier, includeExpired);
+            InvalidAccessTokenCache invalidAccessTokenCache = InvalidAccessTokenCache.getInstance();
+            Map<String, AccessTokenDO> prefetchedTokens = prefetchedAccessTokens.get();
+            if (invalidAccessTokenCache.isInvalid(accessTokenIdentifier, includeExpired)) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Access token was recently not found. Skipping the database lookup.");
+                }
+            } else if (prefetchedTokens != null && prefetchedTokens.containsKey(accessTokenIdentifier) &&
+                    (!includeExpired || prefetchedTokens.get(accessTokenIdentifier) != null)) {
+                // Only the active tokens are prefetched, hence a token not found is looked up again when the
+                // inactive tokens are included.
+                accessTokenDO = prefetchedTokens.get(accessTokenIdentifier);
+                if (log.isDebugEnabled()) {
+                    log.debug("Retrieved the access token from the prefetched access tokens.");
+                }
+            } else {
+                // Taken before the lookup, so that a token persisted during the lookup is not recorded as invalid.
+                long invalidTokenGeneration = invalidAccessTokenCache.getGeneration(accessTokenIdentifier);
+                accessTokenDO = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                        .getAccessToken(accessTokenIdentifier, includeExpired);
+                if (accessTokenDO == null) {
+                    invalidAccessTokenCache.addInvalidToken(accessTokenIdentifier, includeExpired,
+                            invalidTokenGeneration);
+                }
+            }
         } else {
             if (log.isDebugEnabled()) {
                 log.debug("Retrieved active access token from OAuthCache for token Identifier: " +
@@ -2217,6 +2298,88 @@ public class OAuth2Util {
         return accessTokenDO;
     }
 
+    /**
+     * Retrieve the active access tokens of the given identifiers that are not cached, in a single lookup, for the
+     * subsequent lookups of the tokens in the current thread through
+     * {@link #getAccessTokenDOFromTokenIdentifier(String, boolean)}. The prefetched tokens should be cleared with
+     * {@link #clearPrefetchedAccessTokens()} once the tokens are processed. JWT access tokens are not prefetched as
+     * they may be persisted against an alias. The authorization details of the active tokens are loaded along with
+     * them.
+     *
+     * @param accessTokenIdentifiers Access token identifiers.
+     * @throws IdentityOAuth2Exception If the access tokens could not be retrieved.
+     */
+    public static void prefetchAccessTokens(Collection<String> accessTokenIdentifiers)
+            throws IdentityOAuth2Exception {
+
+        InvalidAccessTokenCache invalidAccessTokenCache = InvalidAccessTokenCache.getInstance();
+        Set<String> missedTokenIdentifiers = new HashSet<>();
+        List<AccessTokenDO> accessTokenDOs = new ArrayList<>();
+        for (String accessTokenIdentifier : accessTokenIdentifiers) {
+            if (StringUtils.isBlank(accessTokenIdentifier) || isParsableJWT(accessTokenIdentifier) ||
+                    invalidAccessTokenCache.isInvalid(accessTokenIdentifier, false)) {
+                continue;
+            }
+            Object cachedToken = OAuthCache.getInstance().getValueFromCache(new OAuthCacheKey(accessTokenIdentifier));
+            if (cachedToken instanceof AccessTokenDO) {
+                accessTokenDOs.add((AccessTokenDO) cachedToken);
+            } else {
+                missedTokenIdentifiers.add(accessTokenIdentifier);
+            }
+        }
+
+        if (!missedTokenIdentifiers.isEmpty()) {
+            Map<String, AccessTokenDO> accessTokens = OAuthTokenPersistenceFactory.getInstance().getAccessTokenDAO()
+                    .getActiveAccessTokens(missedTokenIdentifiers);
+            Map<String, AccessTokenDO> prefetchedTokens = new HashMap<>();
+            for (String accessTokenIdentifier : missedTokenIdentifiers) {
+                prefetchedTokens.put(accessTokenIdentifier, accessTokens.get(accessTokenIdentifier));
+            }
+            prefetchedAccessTokens.set(prefetchedTokens);
+            accessTokenDOs.addAll(accessTokens.values());
+            if (log.isDebugEnabled()) {
+                log.debug("Prefetched " + accessTokens.size() + " active access tokens out of " +
+                        missedTokenIdentifiers.size() + " access tokens not found in the cache.");
+            }
+        }
+        prefetchAuthorizationDetails(accessTokenDOs);
+    }
+
+    /**
+     * Load the rich authorization requests authorization details of the given access tokens, a tenant at a time, so
+     * that the authorization details cache serves the lookups made while the tokens are validated.
+     *
+     * @param accessTokenDOs Access tokens.
+     * @throws IdentityOAuth2Exception If the authorization details could not be retrieved.
+     */
+    private static void prefetchAuthorizationDetails(List<AccessTokenDO> accessTokenDOs)
+            throws IdentityOAuth2Exception {
+
+        AuthorizationDetailsService authorizationDetailsService =
+                OAuth2ServiceComponentHolder.getInstance().getAuthorizationDetailsService();
+        if (authorizationDetailsService == null || accessTokenDOs.isEmpty()) {
+            return;
+        }
+        Map<Integer, Set<String>> tokenIdsByTenant = new HashMap<>();
+        for (AccessTokenDO accessTokenDO : accessTokenDOs) {
+            if (StringUtils.isNotBlank(accessTokenDO.getTokenId())) {
+                tokenIdsByTenant.computeIfAbsent(accessTokenDO.getTenantID(), tenantId -> new HashSet<>())
+                        .add(accessTokenDO.getTokenId());
+            }
+        }
+        for (Map.Entry<Integer, Set<String>> entry : tokenIdsByTenant.entrySet()) {
+            authorizationDetailsService.getAccessTokenAuthorizationDetails(entry.getValue(), entry.getKey());
+        }
+    }
+
+    /**
+     * Clear the access tokens prefetched for the current thread.
+     */
+    public static void clearPrefetchedAccessTokens() {
+
+        prefetchedAccessTokens.remove();
+    }
+
     public static String getClientIdForAccessToken(String accessTokenIdentifier) throws IdentityOAuth2Exception {
 
         AccessTokenDO accessTokenDO = getAccessTokenDOfromTokenIdentifier(accessTokenIdentifier);
@@ -2498,11 +2661,10 @@ public class OAuth2Util {
         if (oAuthAppDO != null) {
             return oAuthAppDO;
         } else {
-            oAuthAppDO = new OAuthAppDAO().getAppInformation(clientId, IdentityTenantUtil.getLoginTenantId());
-            if (oAuthAppDO != null) {
-                AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO);
-            }
-            return oAuthAppDO;
+            int tenantId = IdentityTenantUtil.getLoginTenantId();
+            return AppInfoCacheLoader.getInstance().load(tenantId + ":" + clientId, clientId,
+                    () -> new OAuthAppDAO().getAppInformation(clientId, tenantId),
+                    appDO -> AppInfoCache.getInstance().addToCache(clientId, appDO));
         }
     }
 
@@ -2520,20 +2682,45 @@ public class OAuth2Util {
 
         OAuthAppDO oAuthAppDO = AppInfoCache.getInstance().getValueFromCache(clientId, tenantDomain);
         if (oAuthAppDO == null) {
-            oAuthAppDO = new OAuthAppDAO().getAppInformation(clientId, IdentityTenantUtil.getTenantId(tenantDomain));
-            if (oAuthAppDO != null) {
-                if (!AuthzUtil.isLegacyAuthzRuntime() && oAuthAppDO.getAppOwner() != null &&
-                        StringUtils.isNotEmpty(oAuthAppDO.getAppOwner().getTenantDomain())) {
-                    AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO,
-                            oAuthAppDO.getAppOwner().getTenantDomain());
-                } else {
-                    AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO, tenantDomain);
-                }
-            }
+            oAuthAppDO = AppInfoCacheLoader.getInstance().load(tenantDomain + ":" + clientId, clientId,
+                    () -> new OAuthAppDAO().getAppInformation(clientId, IdentityTenantUtil.getTenantId(tenantDomain)),
+                    appDO -> addToAppInfoCache(clientId, appDO, tenantDomain));
         }
         return oAuthAppDO;
     }
 
+    /**
+     * Load the OAuth applications of the given client ids of a tenant into the application cache, reading them from
+     * the database in batches. This can be used to warm up the cache before the applications are used.
+     *
+     * @param clientIds    Client ids of the applications.
+     * @param tenantDomain Tenant domain of the applications.
+     * @throws IdentityOAuth2Exception Error while retrieving the applications.
+     */
+    public static void loadAppInformationToCache(Collection<String> clientIds, String tenantDomain)
+            throws IdentityOAuth2Exception {
+
+        Map<String, OAuthAppDO> oAuthApps = new OAuthAppDAO().getAppInformation(clientIds,
+                IdentityTenantUtil.getTenantId(tenantDomain));
+        for (Map.Entry<String, OAuthAppDO> oAuthApp : oAuthApps.entrySet()) {
+            addToAppInfoCache(oAuthApp.getKey(), oAuthApp.getValue(), tenantDomain);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Loaded " + oAuthApps.size() + " applications of the tenant: " + tenantDomain +
+                    " to the application cache.");
+        }
+    }
+
+    private static void addToAppInfoCache(String clientId, OAuthAppDO oAuthAppDO, String tenantDomain) {
+
+        if (!AuthzUtil.isLegacyAuthzRuntime() && oAuthAppDO.getAppOwner() != null &&
+                StringUtils.isNotEmpty(oAuthAppDO.getAppOwner().getTenantDomain())) {
+            AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO, oAuthAppDO.getAppOwner().getTenantDomain());
+        } else {
+            AppInfoCache.getInstance().addToCache(clientId, oAuthAppDO, tenantDomain);
+        }
+    }
+
     /**
      * Get Oauth application information for a given client id. This method doesn't utilize the tenant and
      * treats the client ID as unique across the server.
@@ -3388,20 +3575,58 @@ public class OAuth2Util {
             }
 
             int tenantId = IdentityTenantUtil.getTenantId(tenantDomain);
-            Key privateKey = getPrivateKey(tenantDomain, tenantId);
-            JWSSigner signer = OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey);
+            SigningKeyContext signingKeyContext = getSigningKeyContext(tenantDomain, tenantId);
             JWSHeader.Builder headerBuilder = new JWSHeader.Builder((JWSAlgorithm) signatureAlgorithm);
-            headerBuilder.keyID(getKID(getCertificate(tenantDomain, tenantId), signatureAlgorithm, tenantDomain));
-            Certificate certificate = getCertificate(tenantDomain, tenantId);
-            headerBuilder.x509CertThumbprint(new Base64URL(getThumbPrintWithPrevAlgorithm(certificate, false)));
+            headerBuilder.keyID(signingKeyContext.getKeyId(signatureAlgorithm));
+            headerBuilder.x509CertThumbprint(new Base64URL(signingKeyContext.getX509CertThumbprint()));
             SignedJWT signedJWT = new SignedJWT(headerBuilder.build(), jwtClaimsSet);
-            signedJWT.sign(signer);
+            signedJWT.sign(signingKeyContext.getSigner());
             return signedJWT;
         } catch (JOSEException e) {
             throw new IdentityOAuth2Exception("Error occurred while signing JWT", e);
         }
     }
 
+    /**
+     * Returns the signing key material of the tenant, with the signer, thumbprint and key ids precomputed.
+     * The context is rebuilt when the private key or the certificate of the tenant is reloaded, or when the key id
+     * provider is replaced.
+     *
+     * @param tenantDomain Tenant domain.
+     * @param tenantId     Tenant id.
+     * @return Signing key context of the tenant.
+     * @throws IdentityOAuth2Exception When failed to obtain the key material of the tenant.
+     */
+    public static SigningKeyContext getSigningKeyContext(String tenantDomain, int tenantId)
+            throws IdentityOAuth2Exception {
+
+        Key privateKey = getPrivateKey(tenantDomain, tenantId);
+        Certificate certificate = getCertificate(tenantDomain, tenantId);
+        KeyIDProvider keyIDProvider = OAuth2ServiceComponentHolder.getKeyIDProvider();
+        SigningKeyContext signingKeyContext = signingKeyContexts.get(tenantId);
+        if (signingKeyContext == null || !signingKeyContext.isBuiltFrom(privateKey, certificate, keyIDProvider)) {
+            if (log.isDebugEnabled()) {
+                log.debug("Building the signing key context of the tenant: " + tenantDomain);
+            }
+            signingKeyContext = new SigningKeyContext(tenantDomain, privateKey, certificate, keyIDProvider);
+            signingKeyContexts.put(tenantId, signingKeyContext);
+        }
+        return signingKeyContext;
+    }
+
+    /**
+     * Clears the signing key material loaded for the tenant, so that the key material is reloaded from the key store
+     * of the tenant on the next use.
+     *
+     * @param tenantId Tenant id.
+     */
+    public static void clearSigningKeyContext(int tenantId) {
+
+        privateKeys.remove(tenantId);
+        publicCerts.remove(tenantId);
+        signingKeyContexts.remove(tenantId);
+    }
+
     public static Key getPrivateKey(String tenantDomain, int tenantId) throws IdentityOAuth2Exception {
 
         Key privateKey;
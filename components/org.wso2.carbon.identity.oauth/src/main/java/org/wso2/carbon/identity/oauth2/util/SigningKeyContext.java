@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSSigner;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.keyidprovider.KeyIDProvider;
+
+import java.security.Key;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signing key material of a tenant, precomputed for signing JWTs.
+ * <p>
+ * Holds the private key and the certificate of the tenant along with the x5t thumbprint of the certificate, the key
+ * ids computed per signature algorithm and a signer of the private key. The signer is reused across threads, as the
+ * RSA signer creates a new signature instance for each signing operation.
+ */
+public class SigningKeyContext {
+
+    private final String tenantDomain;
+    private final Key privateKey;
+    private final Certificate certificate;
+    private final KeyIDProvider keyIDProvider;
+    private final JWSSigner signer;
+    private final String x509CertThumbprint;
+    private final Map<JWSAlgorithm, String> keyIds = new ConcurrentHashMap<>();
+
+    SigningKeyContext(String tenantDomain, Key privateKey, Certificate certificate, KeyIDProvider keyIDProvider)
+            throws IdentityOAuth2Exception {
+
+        this.tenantDomain = tenantDomain;
+        this.privateKey = privateKey;
+        this.certificate = certificate;
+        this.keyIDProvider = keyIDProvider;
+        this.signer = privateKey instanceof RSAPrivateKey ? OAuth2Util.createJWSSigner((RSAPrivateKey) privateKey) :
+                null;
+        this.x509CertThumbprint = certificate != null ?
+                OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false) : null;
+    }
+
+    /**
+     * Returns whether the context was built from the given key material.
+     *
+     * @param privateKey    Current private key of the tenant.
+     * @param certificate   Current certificate of the tenant.
+     * @param keyIDProvider Current key id provider.
+     * @return True if the context is built from the given key material.
+     */
+    boolean isBuiltFrom(Key privateKey, Certificate certificate, KeyIDProvider keyIDProvider) {
+
+        return this.privateKey == privateKey && this.certificate == certificate && this.keyIDProvider == keyIDProvider;
+    }
+
+    public Key getPrivateKey() {
+
+        return privateKey;
+    }
+
+    public Certificate getCertificate() {
+
+        return certificate;
+    }
+
+    /**
+     * Returns the signer of the private key.
+     *
+     * @return Reusable RSA signer of the private key.
+     * @throws IdentityOAuth2Exception If the private key is not an RSA private key.
+     */
+    public JWSSigner getSigner() throws IdentityOAuth2Exception {
+
+        if (signer == null) {
+            throw new IdentityOAuth2Exception("Private key of the tenant: " + tenantDomain +
+                    " is not an RSA private key.");
+        }
+        return signer;
+    }
+
+    /**
+     * Returns the SHA-1 thumbprint of the certificate, to be used as the x5t header value.
+     *
+     * @return Base64URL encoded certificate thumbprint.
+     */
+    public String getX509CertThumbprint() {
+
+        return x509CertThumbprint;
+    }
+
+    /**
+     * Returns the key id of the certificate for the signature algorithm, computing it on the first request.
+     *
+     * @param signatureAlgorithm Signature algorithm.
+     * @return Key id.
+     * @throws IdentityOAuth2Exception If the key id could not be computed.
+     */
+    public String getKeyId(JWSAlgorithm signatureAlgorithm) throws IdentityOAuth2Exception {
+
+        String keyId = keyIds.get(signatureAlgorithm);
+        if (keyId == null) {
+            keyId = OAuth2Util.getKID(certificate, signatureAlgorithm, tenantDomain);
+            if (keyId != null) {
+                keyIds.put(signatureAlgorithm, keyId);
+            }
+        }
+        return keyId;
+    }
+}
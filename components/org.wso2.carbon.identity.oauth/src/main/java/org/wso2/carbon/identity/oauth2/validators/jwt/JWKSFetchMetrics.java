@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and the fetch latency histogram of the remote JWKS fetched by the {@link JWKSKeySourceManager}.
+ */
+public class JWKSFetchMetrics {
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets. The last bucket of the histogram holds the
+     * latencies above the largest bound.
+     */
+    public static final long[] LATENCY_BUCKET_BOUNDS = {10, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong staleServedCount = new AtomicLong();
+    private final AtomicLong unknownKeyIdRefetchCount = new AtomicLong();
+    private final AtomicLong rateLimitedRefetchCount = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+
+    void recordFetch(long latencyMillis) {
+
+        fetchCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    void recordFailure(long latencyMillis) {
+
+        failureCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    void recordStaleServed() {
+
+        staleServedCount.incrementAndGet();
+    }
+
+    void recordUnknownKeyIdRefetch() {
+
+        unknownKeyIdRefetchCount.incrementAndGet();
+    }
+
+    void recordRateLimitedRefetch() {
+
+        rateLimitedRefetchCount.incrementAndGet();
+    }
+
+    private void recordLatency(long latencyMillis) {
+
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the number of successful fetches of remote JWKS.
+     *
+     * @return Number of successful fetches.
+     */
+    public long getFetchCount() {
+
+        return fetchCount.get();
+    }
+
+    /**
+     * Returns the number of failed fetches of remote JWKS.
+     *
+     * @return Number of failed fetches.
+     */
+    public long getFailureCount() {
+
+        return failureCount.get();
+    }
+
+    /**
+     * Returns the number of lookups served from expired keys as the remote JWKS could not be fetched.
+     *
+     * @return Number of lookups served from stale keys.
+     */
+    public long getStaleServedCount() {
+
+        return staleServedCount.get();
+    }
+
+    /**
+     * Returns the number of refetches triggered by a key id not found in the cached keys.
+     *
+     * @return Number of refetches on unknown key ids.
+     */
+    public long getUnknownKeyIdRefetchCount() {
+
+        return unknownKeyIdRefetchCount.get();
+    }
+
+    /**
+     * Returns the number of refetches on unknown key ids skipped due to the rate limit.
+     *
+     * @return Number of rate limited refetches.
+     */
+    public long getRateLimitedRefetchCount() {
+
+        return rateLimitedRefetchCount.get();
+    }
+
+    /**
+     * Returns a snapshot of the fetch latency histogram. The value at index i is the number of fetches completed
+     * within {@link #LATENCY_BUCKET_BOUNDS}[i] milliseconds and above the previous bound.
+     *
+     * @return Latency histogram bucket counts.
+     */
+    public long[] getLatencyHistogram() {
+
+        long[] snapshot = new long[latencyHistogram.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = latencyHistogram.get(i);
+        }
+        return snapshot;
+    }
+}
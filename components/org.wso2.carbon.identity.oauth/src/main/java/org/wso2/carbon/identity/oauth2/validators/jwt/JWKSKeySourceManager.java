@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.RemoteKeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.ResourceRetriever;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * Manages the key sources of the remote JWKS endpoints used to validate JWTs.
+ * <p>
+ * The keys of a jwks_uri are fetched once and shared by all the validations. Concurrent fetches of the same jwks_uri
+ * are collapsed into a single request. The keys are refreshed in the background when they are used within the
+ * refresh ahead time of their expiry, and expired keys keep being served within a grace period while a background
+ * refresh is attempted, so that an unavailable JWKS endpoint does not fail the validations. A key id not found in the
+ * keys triggers a refetch, at most once per minimum refetch interval, to pick up rotated keys.
+ */
+public class JWKSKeySourceManager {
+
+    private static final Log LOG = LogFactory.getLog(JWKSKeySourceManager.class);
+
+    private static final String CONFIG_PREFIX = "JWTValidatorConfigs.JWKSEndpoint.KeySource.";
+    private static final String TIME_TO_LIVE = CONFIG_PREFIX + "TimeToLive";
+    private static final String REFRESH_AHEAD_TIME = CONFIG_PREFIX + "RefreshAheadTime";
+    private static final String STALE_GRACE_PERIOD = CONFIG_PREFIX + "StaleGracePeriod";
+    private static final String MIN_REFETCH_INTERVAL = CONFIG_PREFIX + "MinRefetchInterval";
+    private static final String REFRESH_POOL_SIZE = CONFIG_PREFIX + "RefreshPoolSize";
+
+    private static volatile JWKSKeySourceManager instance;
+
+    private final Config config;
+    private final Supplier<ResourceRetriever> resourceRetrieverSupplier;
+    private final ExecutorService refreshExecutor;
+    private final Map<String, ManagedJWKSource> keySources = new ConcurrentHashMap<>();
+    private final JWKSFetchMetrics metrics = new JWKSFetchMetrics();
+
+    JWKSKeySourceManager(Config config, Supplier<ResourceRetriever> resourceRetrieverSupplier) {
+
+        this.config = config;
+        this.resourceRetrieverSupplier = resourceRetrieverSupplier;
+        this.refreshExecutor = Executors.newFixedThreadPool(config.refreshPoolSize, new RefreshThreadFactory());
+    }
+
+    /**
+     * Returns the key source manager configured from the identity.xml. The manager is created on first use.
+     *
+     * @return JWKSKeySourceManager instance.
+     */
+    public static JWKSKeySourceManager getInstance() {
+
+        if (instance == null) {
+            synchronized (JWKSKeySourceManager.class) {
+                if (instance == null) {
+                    instance = new JWKSKeySourceManager(Config.fromServerConfiguration(),
+                            JWKSourceDataProvider.getInstance()::buildResourceRetriever);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shuts down the key source manager if it has been created. A subsequent {@link #getInstance()} creates a new one.
+     */
+    public static void shutdownInstance() {
+
+        synchronized (JWKSKeySourceManager.class) {
+            if (instance != null) {
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Returns the key source of the jwks_uri.
+     *
+     * @param jwksUri Identity provider's jwks_uri.
+     * @return Key source of the jwks_uri.
+     * @throws MalformedURLException for invalid URL.
+     */
+    public JWKSource<SecurityContext> getJWKSource(String jwksUri) throws MalformedURLException {
+
+        ManagedJWKSource keySource = keySources.get(jwksUri);
+        if (keySource == null) {
+            URL jwksUrl = new URL(jwksUri);
+            keySource = keySources.computeIfAbsent(jwksUri, uri -> new ManagedJWKSource(jwksUrl));
+        }
+        return keySource;
+    }
+
+    /**
+     * Returns the fetch metrics of the managed key sources.
+     *
+     * @return JWKS fetch metrics.
+     */
+    public JWKSFetchMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    void shutdown() {
+
+        refreshExecutor.shutdownNow();
+        keySources.clear();
+    }
+
+    /**
+     * Key source of a jwks_uri, holding the last fetched keys.
+     */
+    private class ManagedJWKSource implements JWKSource<SecurityContext> {
+
+        private final URL jwksUrl;
+        private final AtomicReference<CompletableFuture<JWKSet>> inFlightFetch = new AtomicReference<>();
+        private final AtomicLong lastRefetchTime = new AtomicLong();
+        private volatile FetchedJWKSet fetchedJWKSet;
+        private volatile long lastFailureTime;
+
+        ManagedJWKSource(URL jwksUrl) {
+
+            this.jwksUrl = jwksUrl;
+        }
+
+        @Override
+        public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+
+            List<JWK> matchingJWKs = jwkSelector.select(getJWKSet());
+            if (!matchingJWKs.isEmpty() || CollectionUtils.isEmpty(jwkSelector.getMatcher().getKeyIDs())) {
+                return matchingJWKs;
+            }
+
+            // The key id may belong to a rotated key, hence the keys are refetched within the rate limit.
+            long now = System.currentTimeMillis();
+            long lastRefetch = lastRefetchTime.get();
+            if (now - lastRefetch < config.minRefetchInterval || !lastRefetchTime.compareAndSet(lastRefetch, now)) {
+                metrics.recordRateLimitedRefetch();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Key id not found in the JWKS of: " + jwksUrl + ". Refetch is rate limited.");
+                }
+                return matchingJWKs;
+            }
+            metrics.recordUnknownKeyIdRefetch();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Key id not found in the JWKS of: " + jwksUrl + ". Refetching the JWKS.");
+            }
+            try {
+                return jwkSelector.select(fetch());
+            } catch (RemoteKeySourceException e) {
+                LOG.warn("Error while refetching the JWKS of: " + jwksUrl + " for an unknown key id.", e);
+                return matchingJWKs;
+            }
+        }
+
+        private JWKSet getJWKSet() throws KeySourceException {
+
+            FetchedJWKSet current = fetchedJWKSet;
+            if (current == null) {
+                return fetch();
+            }
+            long age = System.currentTimeMillis() - current.fetchedTime;
+            if (age < config.timeToLive - config.refreshAheadTime) {
+                return current.jwkSet;
+            }
+            if (age < config.timeToLive) {
+                refreshInBackground();
+                return current.jwkSet;
+            }
+            if (age < config.timeToLive + config.staleGracePeriod) {
+                // Expired keys are served while the refresh is attempted, as the endpoint may be unavailable.
+                metrics.recordStaleServed();
+                refreshInBackground();
+                return current.jwkSet;
+            }
+            return fetch();
+        }
+
+        private void refreshInBackground() {
+
+            if (System.currentTimeMillis() - lastFailureTime < config.minRefetchInterval) {
+                return;
+            }
+            getOrStartFetch(true);
+        }
+
+        private JWKSet fetch() throws RemoteKeySourceException {
+
+            try {
+                return getOrStartFetch(false).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RemoteKeySourceException("Interrupted while retrieving the remote JWK set: " + jwksUrl, e);
+            } catch (ExecutionException e) {
+                throw new RemoteKeySourceException("Couldn't retrieve the remote JWK set: " + jwksUrl + ". " +
+                        e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        /**
+         * Returns the in-flight fetch of the keys, or starts a new fetch if there is none.
+         *
+         * @param background Whether a new fetch should run on a refresh thread instead of the calling thread.
+         * @return Future of the fetched keys.
+         */
+        private CompletableFuture<JWKSet> getOrStartFetch(boolean background) {
+
+            while (true) {
+                CompletableFuture<JWKSet> inFlight = inFlightFetch.get();
+                if (inFlight != null) {
+                    return inFlight;
+                }
+                CompletableFuture<JWKSet> future = new CompletableFuture<>();
+                if (inFlightFetch.compareAndSet(null, future)) {
+                    if (background) {
+                        try {
+                            refreshExecutor.execute(() -> load(future));
+                        } catch (RejectedExecutionException e) {
+                            inFlightFetch.compareAndSet(future, null);
+                            future.completeExceptionally(e);
+                        }
+                    } else {
+                        load(future);
+                    }
+                    return future;
+                }
+            }
+        }
+
+        private void load(CompletableFuture<JWKSet> future) {
+
+            long startTime = System.currentTimeMillis();
+            try {
+                JWKSet jwkSet = JWKSet.parse(resourceRetrieverSupplier.get().retrieveResource(jwksUrl).getContent());
+                long fetchedTime = System.currentTimeMillis();
+                fetchedJWKSet = new FetchedJWKSet(jwkSet, fetchedTime);
+                lastRefetchTime.set(fetchedTime);
+                metrics.recordFetch(fetchedTime - startTime);
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Fetched " + jwkSet.getKeys().size() + " keys from: " + jwksUrl + " in " +
+                            (fetchedTime - startTime) + " ms.");
+                }
+                future.complete(jwkSet);
+            } catch (IOException | ParseException | RuntimeException e) {
+                lastFailureTime = System.currentTimeMillis();
+                metrics.recordFailure(lastFailureTime - startTime);
+                LOG.warn("Error while fetching the JWKS from: " + jwksUrl + ". " + e.getMessage());
+                future.completeExceptionally(e);
+            } finally {
+                inFlightFetch.compareAndSet(future, null);
+            }
+        }
+    }
+
+    /**
+     * Fetched keys along with their fetch time.
+     */
+    private static class FetchedJWKSet {
+
+        private final JWKSet jwkSet;
+        private final long fetchedTime;
+
+        FetchedJWKSet(JWKSet jwkSet, long fetchedTime) {
+
+            this.jwkSet = jwkSet;
+            this.fetchedTime = fetchedTime;
+        }
+    }
+
+    /**
+     * Creates daemon threads for the background refreshes.
+     */
+    private static class RefreshThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "jwks-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Key source configuration. The durations are in milliseconds.
+     */
+    static class Config {
+
+        long timeToLive = 300000;
+        long refreshAheadTime = 60000;
+        long staleGracePeriod = 3600000;
+        long minRefetchInterval = 30000;
+        int refreshPoolSize = 2;
+
+        static Config fromServerConfiguration() {
+
+            Config config = new Config();
+            config.timeToLive = getIntProperty(TIME_TO_LIVE, (int) (config.timeToLive / 1000), 1) * 1000L;
+            config.refreshAheadTime =
+                    getIntProperty(REFRESH_AHEAD_TIME, (int) (config.refreshAheadTime / 1000), 0) * 1000L;
+            config.staleGracePeriod =
+                    getIntProperty(STALE_GRACE_PERIOD, (int) (config.staleGracePeriod / 1000), 0) * 1000L;
+            config.minRefetchInterval =
+                    getIntProperty(MIN_REFETCH_INTERVAL, (int) (config.minRefetchInterval / 1000), 0) * 1000L;
+            config.refreshPoolSize = getIntProperty(REFRESH_POOL_SIZE, config.refreshPoolSize, 1);
+            if (config.refreshAheadTime >= config.timeToLive) {
+                LOG.warn("Configured " + REFRESH_AHEAD_TIME + " should be less than " + TIME_TO_LIVE +
+                        ". Refreshing the keys at half of their time to live.");
+                config.refreshAheadTime = config.timeToLive / 2;
+            }
+            return config;
+        }
+    }
+}
@@ -18,9 +18,11 @@
 
 package org.wso2.carbon.identity.oauth2.validators.jwt;
 
+import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.jwk.source.RemoteJWKSet;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.nimbusds.jose.util.ResourceRetriever;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -65,13 +67,28 @@ public class JWKSourceDataProvider {
         return jwkSourceDataProvider;
     }
 
+    /**
+     * Get the managed key source of the jwks_uri, which shares the fetched keys across the validations and refreshes
+     * them ahead of expiry. See {@link JWKSKeySourceManager}.
+     *
+     * @param jwksUri Identity provider's JWKS endpoint.
+     * @return Key source of the jwks_uri.
+     * @throws MalformedURLException for invalid URL.
+     */
+    public JWKSource<SecurityContext> getKeySource(String jwksUri) throws MalformedURLException {
+
+        return JWKSKeySourceManager.getInstance().getJWKSource(jwksUri);
+    }
+
     /**
      * Get cached JWKSet for the jwks_uri.
      *
      * @param jwksUri Identity provider's JWKS endpoint.
      * @return RemoteJWKSet.
      * @throws MalformedURLException for invalid URL.
+     * @deprecated Use {@link #getKeySource(String)} instead.
      */
+    @Deprecated
     public RemoteJWKSet<SecurityContext> getJWKSource(String jwksUri) throws MalformedURLException {
 
         JWKSCacheKey jwksCacheKey = new JWKSCacheKey(jwksUri);
@@ -120,6 +137,16 @@ public class JWKSourceDataProvider {
      */
     private RemoteJWKSet<SecurityContext> retrieveJWKSFromJWKSEndpoint(String jwksUri) throws MalformedURLException {
 
+        return new RemoteJWKSet<>(new URL(jwksUri), buildResourceRetriever());
+    }
+
+    /**
+     * Build the resource retriever of the JWKS endpoints, with the HTTP endpoint configurations.
+     *
+     * @return Resource retriever.
+     */
+    ResourceRetriever buildResourceRetriever() {
+
         // Retrieve HTTP endpoint configurations.
         int connectionTimeout = readHTTPConnectionConfigValue(HTTP_CONNECTION_TIMEOUT_XPATH);
         int readTimeout = readHTTPConnectionConfigValue(HTTP_READ_TIMEOUT_XPATH);
@@ -137,17 +164,9 @@ public class JWKSourceDataProvider {
         }
 
         if (Boolean.parseBoolean(proxyEnabled)) {
-            ExtendedDefaultResourceRetriever resourceRetriever = new ExtendedDefaultResourceRetriever(
-                    connectionTimeout,
-                    readTimeout,
-                    sizeLimit);
-            return new RemoteJWKSet<>(new URL(jwksUri), resourceRetriever);
+            return new ExtendedDefaultResourceRetriever(connectionTimeout, readTimeout, sizeLimit);
         }
-        DefaultResourceRetriever resourceRetriever = new DefaultResourceRetriever(
-                connectionTimeout,
-                readTimeout,
-                sizeLimit);
-        return new RemoteJWKSet<>(new URL(jwksUri), resourceRetriever);
+        return new DefaultResourceRetriever(connectionTimeout, readTimeout, sizeLimit);
     }
 
     /**
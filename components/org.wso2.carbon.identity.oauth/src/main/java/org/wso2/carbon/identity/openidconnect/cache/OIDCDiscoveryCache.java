@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.cache;
+
+import org.wso2.carbon.identity.core.cache.BaseCache;
+
+/**
+ * Cache of the rendered OIDC discovery documents. Entries are kept in the cache of the tenant the document belongs
+ * to, keyed by the discovery request path and whether the request was received through the MTLS hostname.
+ */
+public class OIDCDiscoveryCache extends BaseCache<String, OIDCDiscoveryCacheEntry> {
+
+    public static final String OIDC_DISCOVERY_CACHE = "OIDCDiscoveryCache";
+    private static final OIDCDiscoveryCache instance = new OIDCDiscoveryCache();
+
+    private OIDCDiscoveryCache() {
+
+        super(OIDC_DISCOVERY_CACHE);
+    }
+
+    public static OIDCDiscoveryCache getInstance() {
+
+        return instance;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.openidconnect.cache;
+
+import org.wso2.carbon.identity.core.cache.CacheEntry;
+
+/**
+ * Cache entry of {@link OIDCDiscoveryCache}, holding a serialized discovery document and its entity tag.
+ */
+public class OIDCDiscoveryCacheEntry extends CacheEntry {
+
+    private static final long serialVersionUID = 4127908416264383218L;
+
+    private final byte[] discoveryDocument;
+    private final String eTag;
+
+    public OIDCDiscoveryCacheEntry(byte[] discoveryDocument, String eTag) {
+
+        this.discoveryDocument = discoveryDocument;
+        this.eTag = eTag;
+    }
+
+    /**
+     * Returns the serialized discovery document. The returned array is shared and must not be modified.
+     *
+     * @return UTF-8 encoded discovery document.
+     */
+    public byte[] getDiscoveryDocument() {
+
+        return discoveryDocument;
+    }
+
+    /**
+     * Returns the strong entity tag of the discovery document.
+     *
+     * @return Quoted entity tag of the discovery document.
+     */
+    public String getETag() {
+
+        return eTag;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.action.execution;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.action.execution.api.model.Error;
+import org.wso2.carbon.identity.action.execution.api.model.ErrorStatus;
+import org.wso2.carbon.identity.action.execution.api.model.FailedStatus;
+import org.wso2.carbon.identity.action.execution.api.model.Failure;
+import org.wso2.carbon.identity.action.execution.api.model.SuccessStatus;
+
+import java.util.HashMap;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link PreIssueAccessTokenActionMetrics}.
+ */
+public class PreIssueAccessTokenActionMetricsTest {
+
+    @Test
+    public void testRecordExecutions() {
+
+        PreIssueAccessTokenActionMetrics metrics = new PreIssueAccessTokenActionMetrics();
+        metrics.recordExecution(new SuccessStatus.Builder().setResponseContext(new HashMap<>()).build(), 5, false);
+        metrics.recordExecution(new FailedStatus(new Failure("access_denied", "Denied.")), 60, true);
+        metrics.recordExecution(new ErrorStatus(new Error("server_error", "Error.")), 6000, false);
+        metrics.recordException(200, true);
+
+        assertEquals(metrics.getSuccessCount(), 1);
+        assertEquals(metrics.getFailedCount(), 1);
+        assertEquals(metrics.getErrorCount(), 1);
+        assertEquals(metrics.getExceptionCount(), 1);
+        assertEquals(metrics.getLockedExecutionCount(), 2);
+        assertEquals(metrics.getTotalLatencyMillis(), 6265);
+        assertEquals(metrics.getLatencyHistogram(), new long[]{1, 0, 1, 1, 0, 0, 0, 0, 1});
+    }
+}
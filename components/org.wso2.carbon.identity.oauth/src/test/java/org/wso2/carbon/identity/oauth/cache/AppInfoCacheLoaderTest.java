@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.oauth.common.exception.InvalidOAuthClientException;
+import org.wso2.carbon.identity.oauth.dao.OAuthAppDO;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import static org.wso2.carbon.base.MultitenantConstants.SUPER_TENANT_DOMAIN_NAME;
+
+/**
+ * Unit tests for {@link AppInfoCacheLoader}.
+ */
+@WithCarbonHome
+public class AppInfoCacheLoaderTest {
+
+    private static final String CACHE_KEY = "client1";
+    private static final String OTHER_CACHE_KEY = "client2";
+    private static final String LOAD_KEY = "carbon.super:" + CACHE_KEY;
+
+    @Test
+    public void testLoadAddsApplicationToCache() throws Exception {
+
+        OAuthAppDO appDO = new OAuthAppDO();
+        List<OAuthAppDO> cached = new CopyOnWriteArrayList<>();
+
+        OAuthAppDO loaded = new AppInfoCacheLoader().load(LOAD_KEY, CACHE_KEY, () -> appDO, cached::add);
+        assertSame(loaded, appDO);
+        assertEquals(cached.size(), 1);
+        assertSame(cached.get(0), appDO);
+    }
+
+    @Test
+    public void testApplicationIsNotCachedWhenItsEntryIsClearedDuringLoad() throws Exception {
+
+        List<OAuthAppDO> cached = new CopyOnWriteArrayList<>();
+        OAuthAppDO appDO = new OAuthAppDO();
+        assertSame(new AppInfoCacheLoader().load(LOAD_KEY, CACHE_KEY, () -> {
+            AppInfoCache.getInstance().clearCacheEntry(CACHE_KEY, SUPER_TENANT_DOMAIN_NAME);
+            return appDO;
+        }, cached::add), appDO);
+        assertTrue(cached.isEmpty(), "An application read during its invalidation should not be cached.");
+    }
+
+    @Test
+    public void testApplicationIsCachedWhenAnotherEntryIsClearedDuringLoad() throws Exception {
+
+        List<OAuthAppDO> cached = new CopyOnWriteArrayList<>();
+        OAuthAppDO appDO = new OAuthAppDO();
+        assertSame(new AppInfoCacheLoader().load(LOAD_KEY, CACHE_KEY, () -> {
+            AppInfoCache.getInstance().clearCacheEntry(OTHER_CACHE_KEY, SUPER_TENANT_DOMAIN_NAME);
+            return appDO;
+        }, cached::add), appDO);
+        assertEquals(cached.size(), 1, "The invalidation of another application should not prevent the caching.");
+    }
+
+    @Test
+    public void testAddToCacheIfNotClearedIsAtomicWithClear() throws Exception {
+
+        AppInfoCache appInfoCache = AppInfoCache.getInstance();
+        long version = appInfoCache.getVersion(CACHE_KEY);
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        Thread writer = new Thread(() -> appInfoCache.addToCacheIfNotCleared(CACHE_KEY, version, () -> {
+            writeStarted.countDown();
+            try {
+                releaseWrite.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        writer.start();
+        writeStarted.await();
+
+        // A clear of the entry waits for the write in progress, so that it removes the written entry.
+        Thread clearer = new Thread(() -> appInfoCache.clearCacheEntry(CACHE_KEY, SUPER_TENANT_DOMAIN_NAME));
+        clearer.start();
+        while (clearer.getState() != Thread.State.BLOCKED && clearer.isAlive()) {
+            Thread.sleep(10);
+        }
+        assertEquals(appInfoCache.getVersion(CACHE_KEY), version);
+        releaseWrite.countDown();
+        writer.join(5000);
+        clearer.join(5000);
+
+        assertNotEquals(appInfoCache.getVersion(CACHE_KEY), version);
+        assertFalse(appInfoCache.addToCacheIfNotCleared(CACHE_KEY, version, () -> fail("Should not be written.")));
+    }
+
+    @Test
+    public void testFailedLoadIsNotShared() throws Exception {
+
+        AppInfoCacheLoader loader = new AppInfoCacheLoader();
+        List<OAuthAppDO> cached = new CopyOnWriteArrayList<>();
+        try {
+            loader.load(LOAD_KEY, CACHE_KEY, () -> {
+                throw new InvalidOAuthClientException("Application not found.");
+            }, cached::add);
+            fail("The failure of the load should be propagated.");
+        } catch (InvalidOAuthClientException e) {
+            // Expected.
+        }
+
+        OAuthAppDO appDO = new OAuthAppDO();
+        assertSame(loader.load(LOAD_KEY, CACHE_KEY, () -> appDO, cached::add), appDO);
+        assertEquals(cached.size(), 1);
+    }
+
+    @Test
+    public void testConcurrentLoadsShareOneRead() throws Exception {
+
+        AppInfoCacheLoader loader = new AppInfoCacheLoader();
+        OAuthAppDO appDO = new OAuthAppDO();
+        AtomicInteger reads = new AtomicInteger();
+        List<OAuthAppDO> cached = new CopyOnWriteArrayList<>();
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        AtomicReference<OAuthAppDO> leaderResult = new AtomicReference<>();
+        AtomicReference<OAuthAppDO> followerResult = new AtomicReference<>();
+
+        Thread leader = new Thread(() -> {
+            try {
+                leaderResult.set(loader.load(LOAD_KEY, CACHE_KEY, () -> {
+                    reads.incrementAndGet();
+                    readStarted.countDown();
+                    try {
+                        releaseRead.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return appDO;
+                }, cached::add));
+            } catch (Exception e) {
+                // The result is asserted below.
+            }
+        });
+        leader.start();
+        readStarted.await();
+
+        Thread follower = new Thread(() -> {
+            try {
+                followerResult.set(loader.load(LOAD_KEY, CACHE_KEY, () -> {
+                    reads.incrementAndGet();
+                    return new OAuthAppDO();
+                }, cached::add));
+            } catch (Exception e) {
+                // The result is asserted below.
+            }
+        });
+        follower.start();
+        while (follower.getState() != Thread.State.WAITING && follower.isAlive()) {
+            Thread.sleep(10);
+        }
+        releaseRead.countDown();
+        leader.join(5000);
+        follower.join(5000);
+
+        assertEquals(reads.get(), 1, "Concurrent loads of an application should read it once.");
+        assertEquals(cached.size(), 1);
+        assertSame(leaderResult.get(), appDO);
+        assertSame(followerResult.get(), appDO);
+    }
+}
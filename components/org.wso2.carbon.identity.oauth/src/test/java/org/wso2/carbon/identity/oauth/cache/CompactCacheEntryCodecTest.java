@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.common.model.ClaimMapping;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for the compact serialized form of {@link AuthorizationGrantCacheEntry} and
+ * {@link SessionDataCacheEntry}.
+ */
+public class CompactCacheEntryCodecTest {
+
+    @AfterMethod
+    public void tearDown() {
+
+        CompactCacheEntryCodec.setEnabled(null);
+    }
+
+    @Test
+    public void testAuthorizationGrantCacheEntryRoundTrip() throws Exception {
+
+        AuthorizationGrantCacheEntry entry = buildAuthorizationGrantCacheEntry();
+
+        CompactCacheEntryCodec.setEnabled(true);
+        AuthorizationGrantCacheEntry copy = (AuthorizationGrantCacheEntry) deserialize(serialize(entry));
+
+        assertAuthorizationGrantCacheEntry(copy, entry);
+    }
+
+    @Test
+    public void testReadAuthorizationGrantCacheEntryOfDefaultForm() throws Exception {
+
+        AuthorizationGrantCacheEntry entry = buildAuthorizationGrantCacheEntry();
+        CompactCacheEntryCodec.setEnabled(false);
+        byte[] defaultForm = serialize(entry);
+
+        // Entries stored before the compact form was enabled must still be readable.
+        CompactCacheEntryCodec.setEnabled(true);
+        AuthorizationGrantCacheEntry copy = (AuthorizationGrantCacheEntry) deserialize(defaultForm);
+
+        assertAuthorizationGrantCacheEntry(copy, entry);
+    }
+
+    @Test
+    public void testAuthorizationGrantCacheEntryWithEmptyFields() throws Exception {
+
+        CompactCacheEntryCodec.setEnabled(true);
+        AuthorizationGrantCacheEntry copy =
+                (AuthorizationGrantCacheEntry) deserialize(serialize(new AuthorizationGrantCacheEntry()));
+
+        assertNull(copy.getUserAttributes());
+        assertNull(copy.getCodeId());
+        assertNull(copy.getAudiences());
+        assertTrue(copy.getAmrList().isEmpty());
+    }
+
+    @Test
+    public void testSessionDataCacheEntryRoundTrip() throws Exception {
+
+        SessionDataCacheEntry entry = buildSessionDataCacheEntry();
+
+        CompactCacheEntryCodec.setEnabled(true);
+        SessionDataCacheEntry copy = (SessionDataCacheEntry) deserialize(serialize(entry));
+        CompactCacheEntryCodec.setEnabled(false);
+        SessionDataCacheEntry copyOfDefaultForm = (SessionDataCacheEntry) deserialize(serialize(entry));
+
+        for (SessionDataCacheEntry deserialized : Arrays.asList(copy, copyOfDefaultForm)) {
+            assertEquals(deserialized.getValidityPeriod(), entry.getValidityPeriod());
+            assertEquals(deserialized.getQueryString(), entry.getQueryString());
+            assertEquals(deserialized.getAuthTime(), entry.getAuthTime());
+            assertEquals(deserialized.getSessionContextIdentifier(), entry.getSessionContextIdentifier());
+            assertEquals(deserialized.getAuthenticatedIdPs(), entry.getAuthenticatedIdPs());
+            assertTrue(deserialized.isRemoveOnConsume());
+            assertEquals(deserialized.getParamMap().keySet(), entry.getParamMap().keySet());
+            assertEquals(deserialized.getParamMap().get("scope"), entry.getParamMap().get("scope"));
+            assertEquals(deserialized.getEndpointParams(), entry.getEndpointParams());
+            assertEquals(toClaimValues(deserialized.getMappedRemoteClaims()),
+                    toClaimValues(entry.getMappedRemoteClaims()));
+        }
+    }
+
+    @Test
+    public void testCompactFormIsSmallerThanDefaultForm() throws Exception {
+
+        AuthorizationGrantCacheEntry entry = buildAuthorizationGrantCacheEntry();
+
+        CompactCacheEntryCodec.setEnabled(false);
+        byte[] defaultForm = serialize(entry);
+        CompactCacheEntryCodec.setEnabled(true);
+        byte[] compactForm = serialize(entry);
+
+        assertTrue(compactForm.length < defaultForm.length, "The compact form should be smaller than the " +
+                "default form. Default form: " + defaultForm.length + ", compact form: " + compactForm.length);
+    }
+
+    private AuthorizationGrantCacheEntry buildAuthorizationGrantCacheEntry() {
+
+        Map<ClaimMapping, String> userAttributes = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            String claimUri = "http://wso2.org/claims/attribute" + i;
+            userAttributes.put(ClaimMapping.build(claimUri, claimUri, null, false), "value" + i);
+        }
+        AuthorizationGrantCacheEntry entry = new AuthorizationGrantCacheEntry(userAttributes);
+        entry.setCodeId("0b1f5f4c-3b4b-4a43-9a9a-5a9f1c0f3c11");
+        entry.setAuthorizationCode("2d3c2f0e-3f0b-3a7a-8a9e-8a1f0b4c2e9d");
+        entry.setNonceValue("n-0S6_WzA2Mj");
+        entry.setPkceCodeChallenge("E9Melhoa2OwvFrEMTJguCHaoeK1t8URWbuGJSstw-cM");
+        entry.setPkceCodeChallengeMethod("S256");
+        LinkedHashSet<String> acrValues = new LinkedHashSet<>(Arrays.asList("acr1", "acr2"));
+        entry.setAcrValue(acrValues);
+        entry.setSelectedAcrValue("acr1");
+        entry.addAmr("BasicAuthenticator");
+        entry.addAmr("TOTP");
+        entry.setEssentialClaims("{\"userinfo\":{\"email\":{\"essential\":true}}}");
+        entry.setValidityPeriod(600000000000L);
+        entry.setAuthTime(1760000000000L);
+        entry.setMaxAge(-1);
+        entry.setHasNonOIDCClaims(true);
+        entry.setSubjectClaim("3f1b5f2e-7a3c-4c1e-9d2b-6e4a8f0c1d2b");
+        entry.setSessionContextIdentifier("6b8f0a2c-1d3e-4f5a-8b7c-9d0e1f2a3b4c");
+        entry.setOidcSessionId("a1b2c3d4-e5f6-4a7b-8c9d-0e1f2a3b4c5d");
+        entry.setRequestObjectFlow(true);
+        entry.setApiBasedAuthRequest(true);
+        entry.setAudiences(Arrays.asList("client1", "client2"));
+        Map<String, Object> customClaims = new HashMap<>();
+        customClaims.put("custom", "value");
+        entry.setCustomClaims(customClaims);
+        entry.setPreIssueAccessTokenActionsExecuted(true);
+        Map<ClaimMapping, String> mappedRemoteClaims = new LinkedHashMap<>();
+        mappedRemoteClaims.put(ClaimMapping.build("email", "email", null, true), "user@wso2.com");
+        entry.setMappedRemoteClaims(mappedRemoteClaims);
+        return entry;
+    }
+
+    private SessionDataCacheEntry buildSessionDataCacheEntry() {
+
+        SessionDataCacheEntry entry = new SessionDataCacheEntry();
+        entry.setValidityPeriod(600000000000L);
+        entry.setQueryString("response_type=code&client_id=client1&scope=openid");
+        entry.setAuthTime(1760000000000L);
+        entry.setAuthenticatedIdPs("eyJ0eXAiOiJKV1QiLCJhbGciOiJub25lIn0");
+        entry.setSessionContextIdentifier("6b8f0a2c-1d3e-4f5a-8b7c-9d0e1f2a3b4c");
+        entry.setRemoveOnConsume(true);
+        entry.getParamMap().put("scope", new String[]{"openid", "profile"});
+        entry.getParamMap().put("client_id", new String[]{"client1"});
+        entry.getEndpointParams().put("prompt", "login");
+        Map<ClaimMapping, String> mappedRemoteClaims = new HashMap<>();
+        mappedRemoteClaims.put(ClaimMapping.build("email", "email", null, true), "user@wso2.com");
+        entry.setMappedRemoteClaims(mappedRemoteClaims);
+        return entry;
+    }
+
+    private void assertAuthorizationGrantCacheEntry(AuthorizationGrantCacheEntry actual,
+                                                    AuthorizationGrantCacheEntry expected) {
+
+        assertEquals(toClaimValues(actual.getUserAttributes()), toClaimValues(expected.getUserAttributes()));
+        assertEquals(actual.getValidityPeriod(), expected.getValidityPeriod());
+        assertEquals(actual.getCodeId(), expected.getCodeId());
+        assertEquals(actual.getAuthorizationCode(), expected.getAuthorizationCode());
+        assertEquals(actual.getNonceValue(), expected.getNonceValue());
+        assertEquals(actual.getPkceCodeChallenge(), expected.getPkceCodeChallenge());
+        assertEquals(actual.getPkceCodeChallengeMethod(), expected.getPkceCodeChallengeMethod());
+        assertEquals(actual.getAcrValue(), expected.getAcrValue());
+        assertEquals(actual.getSelectedAcrValue(), expected.getSelectedAcrValue());
+        assertEquals(actual.getAmrList(), expected.getAmrList());
+        assertEquals(actual.getEssentialClaims(), expected.getEssentialClaims());
+        assertEquals(actual.getAuthTime(), expected.getAuthTime());
+        assertEquals(actual.getMaxAge(), expected.getMaxAge());
+        assertEquals(actual.isHasNonOIDCClaims(), expected.isHasNonOIDCClaims());
+        assertEquals(actual.getSubjectClaim(), expected.getSubjectClaim());
+        assertEquals(actual.getSessionContextIdentifier(), expected.getSessionContextIdentifier());
+        assertEquals(actual.getOidcSessionId(), expected.getOidcSessionId());
+        assertEquals(actual.isRequestObjectFlow(), expected.isRequestObjectFlow());
+        assertEquals(actual.isApiBasedAuthRequest(), expected.isApiBasedAuthRequest());
+        assertEquals(actual.getAudiences(), expected.getAudiences());
+        assertEquals(actual.getCustomClaims(), expected.getCustomClaims());
+        assertEquals(actual.isPreIssueAccessTokenActionsExecuted(), expected.isPreIssueAccessTokenActionsExecuted());
+        assertEquals(toClaimValues(actual.getMappedRemoteClaims()), toClaimValues(expected.getMappedRemoteClaims()));
+        assertEquals(actual.getMappedRemoteClaims().getClass(), LinkedHashMap.class);
+    }
+
+    private Map<String, String> toClaimValues(Map<ClaimMapping, String> claimMappings) {
+
+        Map<String, String> claimValues = new HashMap<>();
+        for (Map.Entry<ClaimMapping, String> entry : claimMappings.entrySet()) {
+            ClaimMapping claimMapping = entry.getKey();
+            claimValues.put(claimMapping.getLocalClaim().getClaimUri() + "|" +
+                    claimMapping.getRemoteClaim().getClaimUri() + "|" + claimMapping.isRequested(), entry.getValue());
+        }
+        return claimValues;
+    }
+
+    private byte[] serialize(Object object) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.annotations.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for InvalidAccessTokenCache.
+ */
+public class InvalidAccessTokenCacheTest {
+
+    private static final String ACCESS_TOKEN = "dummyAccessToken";
+
+    @Test
+    public void testInvalidTokenIsCached() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000);
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, false));
+
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        assertTrue(cache.isInvalid(ACCESS_TOKEN, false));
+        assertTrue(cache.isInvalid(ACCESS_TOKEN, true));
+        assertFalse(cache.isInvalid("otherAccessToken", false));
+        assertEquals(cache.getHitCount(), 2);
+    }
+
+    @Test
+    public void testInactiveTokenIsNotInvalidForLookupIncludingExpired() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000);
+        cache.addInvalidToken(ACCESS_TOKEN, false);
+
+        assertTrue(cache.isInvalid(ACCESS_TOKEN, false));
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, true));
+
+        // A later lookup of active tokens does not weaken the record of a lookup including the expired ones.
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        cache.addInvalidToken(ACCESS_TOKEN, false);
+        assertTrue(cache.isInvalid(ACCESS_TOKEN, true));
+    }
+
+    @Test
+    public void testPersistedTokenIsRemoved() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000);
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        cache.removeInvalidToken(ACCESS_TOKEN);
+
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, false));
+    }
+
+    @Test
+    public void testPersistedTokenIsRemovedByEachIdentifier() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000);
+        // A JWT may be looked up by the token itself or by the JTI it is persisted against.
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        cache.addInvalidToken("dummyJti", true);
+        cache.removeInvalidToken(ACCESS_TOKEN, "dummyJti");
+
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, false));
+        assertFalse(cache.isInvalid("dummyJti", false));
+    }
+
+    @Test
+    public void testTokenPersistedDuringLookupIsNotCached() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000);
+        long generation = cache.getGeneration(ACCESS_TOKEN);
+        // The token is persisted after the lookup missed it, but before the miss is recorded.
+        cache.removeInvalidToken(ACCESS_TOKEN);
+        cache.addInvalidToken(ACCESS_TOKEN, true, generation);
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, true));
+
+        cache.addInvalidToken(ACCESS_TOKEN, true, cache.getGeneration(ACCESS_TOKEN));
+        assertTrue(cache.isInvalid(ACCESS_TOKEN, true));
+    }
+
+    @Test
+    public void testRemovalIsPropagatedThroughClusterCache() {
+
+        InvalidAccessTokenClusterCache clusterCache = mock(InvalidAccessTokenClusterCache.class);
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 60000, clusterCache);
+        String key = DigestUtils.sha256Hex(ACCESS_TOKEN);
+
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        verify(clusterCache).addToCache(eq(key), any(InvalidAccessTokenCacheEntry.class));
+
+        cache.removeInvalidToken(ACCESS_TOKEN);
+        verify(clusterCache).clearCacheEntry(key);
+
+        // A removal received from another node only drops the entry of this node.
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        cache.removeLocalEntry(key);
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, true));
+    }
+
+    @Test
+    public void testEntryExpires() throws Exception {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 100, 20);
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+        Thread.sleep(50);
+
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, true));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(true, 2, 60000);
+        cache.addInvalidToken("token1", true);
+        cache.addInvalidToken("token2", true);
+        cache.addInvalidToken("token3", true);
+
+        assertTrue(cache.isInvalid("token1", true));
+        assertTrue(cache.isInvalid("token2", true));
+        assertFalse(cache.isInvalid("token3", true));
+    }
+
+    @Test
+    public void testDisabledCache() {
+
+        InvalidAccessTokenCache cache = new InvalidAccessTokenCache(false, 100, 60000);
+        cache.addInvalidToken(ACCESS_TOKEN, true);
+
+        assertFalse(cache.isInvalid(ACCESS_TOKEN, true));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.cache;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.sql.Timestamp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for OAuthNearCache.
+ */
+public class OAuthNearCacheTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    @Test
+    public void testGetCachedAccessToken() {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 60000);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+        AccessTokenDO accessTokenDO = newAccessToken(3600000);
+        nearCache.put(key, accessTokenDO, TENANT_DOMAIN);
+
+        assertSame(nearCache.get(new OAuthCacheKey("token1"), TENANT_DOMAIN), accessTokenDO);
+        assertSame(nearCache.get(key, null), accessTokenDO);
+        assertNull(nearCache.get(key, "wso2.com"));
+        assertNull(nearCache.get(new OAuthCacheKey("token2"), TENANT_DOMAIN));
+        assertEquals(nearCache.getHitCount(), 2);
+        assertEquals(nearCache.getMissCount(), 2);
+    }
+
+    @Test
+    public void testEntryExpiresWithAccessToken() {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 60000);
+        OAuthCacheKey expiredKey = new OAuthCacheKey("expired");
+        AccessTokenDO expiredToken = newAccessToken(3600000);
+        expiredToken.setIssuedTime(new Timestamp(System.currentTimeMillis() - 7200000));
+        nearCache.put(expiredKey, expiredToken, TENANT_DOMAIN);
+        assertNull(nearCache.get(expiredKey, TENANT_DOMAIN));
+
+        OAuthCacheKey expiringKey = new OAuthCacheKey("expiring");
+        nearCache.put(expiringKey, newAccessToken(0), TENANT_DOMAIN);
+        assertNull(nearCache.get(expiringKey, TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testEntryExpiresWithTimeToLive() throws Exception {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 20);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+        nearCache.put(key, newAccessToken(3600000), TENANT_DOMAIN);
+        Thread.sleep(50);
+
+        assertNull(nearCache.get(key, TENANT_DOMAIN));
+        assertEquals(nearCache.getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+
+        // A single entry per segment, so that adding a key to a used segment evicts its previous key.
+        OAuthNearCache nearCache = new OAuthNearCache(1, 60000);
+        for (int i = 0; i < 100; i++) {
+            nearCache.put(new OAuthCacheKey("token" + i), newAccessToken(3600000), TENANT_DOMAIN);
+        }
+
+        int cachedCount = 0;
+        for (int i = 0; i < 100; i++) {
+            if (nearCache.get(new OAuthCacheKey("token" + i), TENANT_DOMAIN) != null) {
+                cachedCount++;
+            }
+        }
+        assertEquals(cachedCount + nearCache.getEvictionCount(), 100);
+        assertTrue(cachedCount <= 16);
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 60000);
+        OAuthCacheKey key1 = new OAuthCacheKey("token1");
+        OAuthCacheKey key2 = new OAuthCacheKey("token2");
+        nearCache.put(key1, newAccessToken(3600000), TENANT_DOMAIN);
+        nearCache.put(key2, newAccessToken(3600000), TENANT_DOMAIN);
+
+        nearCache.invalidate(key1);
+        assertNull(nearCache.get(key1, TENANT_DOMAIN));
+        assertNotNull(nearCache.get(key2, TENANT_DOMAIN));
+
+        nearCache.invalidateAll();
+        assertNull(nearCache.get(key2, TENANT_DOMAIN));
+    }
+
+    @Test
+    public void testFillAfterConcurrentInvalidationIsDropped() {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 60000);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+
+        // A reader takes the generation and reads a value, while the key is cleared before the value is cached.
+        long generation = nearCache.getGeneration(key);
+        nearCache.invalidate(key);
+        assertFalse(nearCache.putIfNotInvalidated(key, newAccessToken(3600000), TENANT_DOMAIN, generation));
+        assertNull(nearCache.get(key, TENANT_DOMAIN));
+
+        generation = nearCache.getGeneration(key);
+        nearCache.invalidateAll();
+        assertFalse(nearCache.putIfNotInvalidated(key, newAccessToken(3600000), TENANT_DOMAIN, generation));
+        assertNull(nearCache.get(key, TENANT_DOMAIN));
+
+        generation = nearCache.getGeneration(key);
+        AccessTokenDO accessTokenDO = newAccessToken(3600000);
+        assertTrue(nearCache.putIfNotInvalidated(key, accessTokenDO, TENANT_DOMAIN, generation));
+        assertSame(nearCache.get(key, TENANT_DOMAIN), accessTokenDO);
+    }
+
+    @Test
+    public void testPutIsNotAffectedByInvalidation() {
+
+        OAuthNearCache nearCache = new OAuthNearCache(100, 60000);
+        OAuthCacheKey key = new OAuthCacheKey("token1");
+        nearCache.invalidate(key);
+
+        AccessTokenDO accessTokenDO = newAccessToken(3600000);
+        nearCache.put(key, accessTokenDO, TENANT_DOMAIN);
+        assertSame(nearCache.get(key, TENANT_DOMAIN), accessTokenDO);
+    }
+
+    private static AccessTokenDO newAccessToken(long validityPeriodInMillis) {
+
+        AccessTokenDO accessTokenDO = new AccessTokenDO();
+        accessTokenDO.setIssuedTime(new Timestamp(System.currentTimeMillis()));
+        accessTokenDO.setValidityPeriodInMillis(validityPeriodInMillis);
+        return accessTokenDO;
+    }
+}
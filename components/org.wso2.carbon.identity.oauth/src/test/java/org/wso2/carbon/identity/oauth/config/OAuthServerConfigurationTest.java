@@ -512,6 +512,28 @@ public class OAuthServerConfigurationTest {
                 .isValidateAuthenticatedUserForRefreshGrantEnabled());
     }
 
+    @Test
+    public void testInitializeSupportedGrantTypesDoesNotKeepPartialHandlers() throws Exception {
+
+        OAuthServerConfiguration oAuthServerConfiguration = OAuthServerConfiguration.getInstance();
+        Map<String, String> supportedGrantTypeClassNames = new HashMap<>();
+        supportedGrantTypeClassNames.put("custom_grant", "org.wso2.carbon.identity.oauth2.MissingGrantHandler");
+        Field supportedGrantTypeClassNamesField =
+                OAuthServerConfiguration.class.getDeclaredField("supportedGrantTypeClassNames");
+        supportedGrantTypeClassNamesField.setAccessible(true);
+        supportedGrantTypeClassNamesField.set(oAuthServerConfiguration, supportedGrantTypeClassNames);
+        Field supportedGrantTypesField = OAuthServerConfiguration.class.getDeclaredField("supportedGrantTypes");
+        supportedGrantTypesField.setAccessible(true);
+
+        oAuthServerConfiguration.initializeSupportedGrantTypes();
+        Assert.assertNull(supportedGrantTypesField.get(oAuthServerConfiguration),
+                "Grant handlers which failed to initiate ahead of first use should not be kept.");
+
+        Assert.assertTrue(oAuthServerConfiguration.getSupportedGrantTypes().isEmpty());
+        Assert.assertNotNull(supportedGrantTypesField.get(oAuthServerConfiguration),
+                "Grant handlers should be kept once initialized on first use.");
+    }
+
     private String fillURLPlaceholdersForTest(String url) {
 
         return url.replace("${carbon.protocol}", "https")
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth.listener;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.event.IdentityEventException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link BulkTokenRevocationService}.
+ */
+public class BulkTokenRevocationServiceTest {
+
+    private static final String TENANT_DOMAIN = "carbon.super";
+
+    private BulkTokenRevocationService service;
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubmitWhenDisabled() {
+
+        service = new BulkTokenRevocationService(false, 1, 1, 1);
+        assertNull(service.submit(TENANT_DOMAIN, null, Arrays.asList("user1", "user2"), userId -> {
+        }), "No job should be submitted when the service is disabled.");
+    }
+
+    @Test
+    public void testRevokeTokensOfUsersInBackground() throws Exception {
+
+        service = new BulkTokenRevocationService(true, 1, 10, 1);
+        List<String> revokedUsers = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        BulkTokenRevocationService.RevocationJob job = service.submit(TENANT_DOMAIN, "role1",
+                Arrays.asList("user1", "user2", "user3"), userId -> {
+                    revokedUsers.add(userId);
+                    latch.countDown();
+                });
+
+        assertNotNull(job);
+        assertSame(service.getJob(job.getJobId()), job);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        waitForJob(job);
+        assertEquals(revokedUsers, Arrays.asList("user1", "user2", "user3"));
+        assertEquals(job.getState(), BulkTokenRevocationService.RevocationJob.State.COMPLETED);
+        assertEquals(job.getProcessedUsers(), 3);
+        assertEquals(job.getFailedUsers(), 0);
+        assertEquals(job.getRoleId(), "role1");
+    }
+
+    @Test
+    public void testFailureOfAUserDoesNotStopTheJob() throws Exception {
+
+        service = new BulkTokenRevocationService(true, 1, 10, 1);
+        List<String> revokedUsers = new CopyOnWriteArrayList<>();
+        BulkTokenRevocationService.RevocationJob job = service.submit(TENANT_DOMAIN, null,
+                Arrays.asList("user1", "user2", "user3"), userId -> {
+                    if ("user2".equals(userId)) {
+                        throw new IdentityEventException("Error while revoking the tokens.");
+                    }
+                    revokedUsers.add(userId);
+                });
+
+        assertNotNull(job);
+        waitForJob(job);
+        assertEquals(revokedUsers, Arrays.asList("user1", "user3"));
+        assertEquals(job.getState(), BulkTokenRevocationService.RevocationJob.State.COMPLETED_WITH_ERRORS);
+        assertEquals(job.getProcessedUsers(), 3);
+        assertEquals(job.getFailedUsers(), 1);
+    }
+
+    @Test
+    public void testSubmitWhenQueueIsFull() throws Exception {
+
+        service = new BulkTokenRevocationService(true, 1, 1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BulkTokenRevocationService.RevocationJob blockingJob = service.submit(TENANT_DOMAIN, null,
+                Arrays.asList("user1"), userId -> {
+                    running.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        assertNotNull(blockingJob);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertNotNull(service.submit(TENANT_DOMAIN, null, Arrays.asList("user2"), userId -> {
+        }), "The second job should be queued.");
+        assertNull(service.submit(TENANT_DOMAIN, null, Arrays.asList("user3"), userId -> {
+        }), "No job should be submitted when the queue is full.");
+
+        release.countDown();
+        waitForJob(blockingJob);
+        assertEquals(service.getJobs().size(), 2);
+    }
+
+    private void waitForJob(BulkTokenRevocationService.RevocationJob job) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (job.getEndTime() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.getEndTime() > 0, "The revocation job did not finish in time.");
+    }
+}
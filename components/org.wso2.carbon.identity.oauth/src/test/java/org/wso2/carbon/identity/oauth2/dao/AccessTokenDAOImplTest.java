@@ -30,14 +30,23 @@ import org.testng.annotations.Test;
 import org.wso2.carbon.identity.common.testng.WithCarbonHome;
 import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
 import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
 import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
 import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.anyString;
@@ -45,6 +54,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 @WithCarbonHome
 @Listeners(MockitoTestNGListener.class)
@@ -59,6 +69,10 @@ public class AccessTokenDAOImplTest {
     Connection connection = null;
     private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
     private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private OAuthServerConfiguration mockOAuthServerConfiguration;
+
+    private static final int LISTING_TENANT_ID = 1234;
+    private static final String LISTING_USER_STORE_DOMAIN = "LISTING";
 
     @BeforeClass
     public void initTest() throws Exception {
@@ -77,7 +91,7 @@ public class AccessTokenDAOImplTest {
         identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
         oAuthServerConfiguration = mockStatic(OAuthServerConfiguration.class);
 
-        OAuthServerConfiguration mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
+        mockOAuthServerConfiguration = mock(OAuthServerConfiguration.class);
         oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
                 .thenReturn(mockOAuthServerConfiguration);
         when(mockOAuthServerConfiguration.isTokenCleanupEnabled()).thenReturn(true);
@@ -156,4 +170,112 @@ public class AccessTokenDAOImplTest {
 
         accessTokenDAO.revokeAccessTokensInBatch(tokens, isHashedToken);
     }
+
+    @Test
+    public void testStreamAccessTokensOfUserStoreGroupsScopeRowsAcrossPages() throws Exception {
+
+        // Scope rows are inserted out of token order, and the last token has more scope rows than a page.
+        insertListedToken("listing-token-3", "EXPIRED", "scope5", "scope6");
+        insertListedToken("listing-token-1", "ACTIVE", "scope1");
+        insertListedToken("listing-token-5", "ACTIVE", "scope8", "scope9", "scope10", "scope11", "scope12");
+        insertListedToken("listing-token-2", "ACTIVE", "scope2", "scope3", "scope4");
+        insertListedToken("listing-token-4", "ACTIVE", "scope7");
+        insertListedToken("listing-token-6", "REVOKED", "scope13");
+        List<List<AccessTokenDO>> chunks = new ArrayList<>();
+
+        streamListedTokens(2, chunks::add);
+
+        List<String> tokenIds = new ArrayList<>();
+        Map<String, List<String>> scopes = new HashMap<>();
+        for (List<AccessTokenDO> chunk : chunks) {
+            assertTrue(chunk.size() <= 2, "A chunk should not exceed the chunk size.");
+            for (AccessTokenDO accessTokenDO : chunk) {
+                tokenIds.add(accessTokenDO.getTokenId());
+                scopes.put(accessTokenDO.getTokenId(), Arrays.asList(accessTokenDO.getScope()));
+            }
+        }
+        assertEquals(tokenIds, Arrays.asList("listing-token-1", "listing-token-2", "listing-token-3",
+                "listing-token-4", "listing-token-5"));
+        assertEquals(new HashSet<>(scopes.get("listing-token-1")), new HashSet<>(Arrays.asList("scope1")));
+        assertEquals(new HashSet<>(scopes.get("listing-token-2")),
+                new HashSet<>(Arrays.asList("scope2", "scope3", "scope4")));
+        assertEquals(new HashSet<>(scopes.get("listing-token-3")), new HashSet<>(Arrays.asList("scope5", "scope6")));
+        assertEquals(new HashSet<>(scopes.get("listing-token-5")),
+                new HashSet<>(Arrays.asList("scope8", "scope9", "scope10", "scope11", "scope12")));
+    }
+
+    @Test(dependsOnMethods = "testStreamAccessTokensOfUserStoreGroupsScopeRowsAcrossPages")
+    public void testRevokeAccessTokensOfUserStoreWhileStreaming() throws Exception {
+
+        List<String> tokenIds = new ArrayList<>();
+
+        // Revoking the tokens of a chunk removes them from the listing, which must not skip the tokens after them.
+        streamListedTokens(2, chunk -> {
+            try (Connection revokeConnection = DAOUtils.getConnection(DB_NAME);
+                 PreparedStatement prepStmt = revokeConnection.prepareStatement(
+                         "UPDATE IDN_OAUTH2_ACCESS_TOKEN SET TOKEN_STATE='REVOKED' WHERE TOKEN_ID=?")) {
+                for (AccessTokenDO accessTokenDO : chunk) {
+                    tokenIds.add(accessTokenDO.getTokenId());
+                    prepStmt.setString(1, accessTokenDO.getTokenId());
+                    prepStmt.executeUpdate();
+                }
+            } catch (Exception e) {
+                throw new IdentityOAuth2Exception("Error while revoking the listed tokens.", e);
+            }
+        });
+
+        assertEquals(tokenIds, Arrays.asList("listing-token-1", "listing-token-2", "listing-token-3",
+                "listing-token-4", "listing-token-5"));
+        List<String> remainingTokenIds = new ArrayList<>();
+        streamListedTokens(2, chunk -> chunk.forEach(accessTokenDO ->
+                remainingTokenIds.add(accessTokenDO.getTokenId())));
+        assertTrue(remainingTokenIds.isEmpty(), "All the listed tokens should have been revoked.");
+    }
+
+    private void streamListedTokens(int chunkSize, ChunkConsumer<AccessTokenDO> consumer) throws Exception {
+
+        // Every page is read on its own connection, which is closed before the page is consumed.
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(false))
+                .thenAnswer(invocation -> DAOUtils.getConnection(DB_NAME));
+        when(mockOAuthServerConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        RealmService realmService = mock(RealmService.class);
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getDomain(LISTING_TENANT_ID)).thenReturn("carbon.super");
+        OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+
+        new AccessTokenDAOImpl().streamAccessTokensOfUserStore(LISTING_TENANT_ID, LISTING_USER_STORE_DOMAIN,
+                chunkSize, consumer);
+    }
+
+    private void insertListedToken(String tokenId, String tokenState, String... scopes) throws Exception {
+
+        try (Connection insertConnection = DAOUtils.getConnection(DB_NAME)) {
+            try (PreparedStatement prepStmt = insertConnection.prepareStatement("INSERT INTO " +
+                    "IDN_OAUTH2_ACCESS_TOKEN (TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, " +
+                    "TENANT_ID, USER_DOMAIN, USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, " +
+                    "VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, " +
+                    "IDP_ID) VALUES (?, ?, ?, 1, 'user1', ?, ?, 'APPLICATION_USER', 'password', NOW(), NOW(), " +
+                    "3600, 14400, ?, ?, ?, 1)")) {
+                prepStmt.setString(1, tokenId);
+                prepStmt.setString(2, "access-" + tokenId);
+                prepStmt.setString(3, "refresh-" + tokenId);
+                prepStmt.setInt(4, LISTING_TENANT_ID);
+                prepStmt.setString(5, LISTING_USER_STORE_DOMAIN);
+                prepStmt.setString(6, tokenId);
+                prepStmt.setString(7, tokenState);
+                prepStmt.setString(8, tokenId);
+                prepStmt.executeUpdate();
+            }
+            try (PreparedStatement prepStmt = insertConnection.prepareStatement("INSERT INTO " +
+                    "IDN_OAUTH2_ACCESS_TOKEN_SCOPE (TOKEN_ID, TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, ?)")) {
+                for (String scope : scopes) {
+                    prepStmt.setString(1, tokenId);
+                    prepStmt.setString(2, scope);
+                    prepStmt.setInt(3, LISTING_TENANT_ID);
+                    prepStmt.executeUpdate();
+                }
+            }
+        }
+    }
 }
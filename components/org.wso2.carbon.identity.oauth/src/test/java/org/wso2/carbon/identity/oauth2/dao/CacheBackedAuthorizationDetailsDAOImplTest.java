@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.rar.dao.AuthorizationDetailsDAO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsCodeDTO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsConsentDTO;
+import org.wso2.carbon.identity.oauth.rar.dto.AuthorizationDetailsTokenDTO;
+import org.wso2.carbon.identity.oauth.rar.model.AuthorizationDetail;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCache;
+import org.wso2.carbon.identity.oauth2.internal.cache.AuthorizationDetailsCacheEntry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link CacheBackedAuthorizationDetailsDAOImpl}.
+ */
+public class CacheBackedAuthorizationDetailsDAOImplTest {
+
+    private static final int TENANT_ID = 1;
+    private static final String TOKEN_ID = "tokenId1";
+    private static final String CONSENT_ID = "consentId1";
+    private static final String CODE = "code1";
+    private static final String TYPE = "payment_initiation";
+
+    private Map<String, AuthorizationDetailsCacheEntry<?>> entries;
+    private AuthorizationDetailsDAO daoMock;
+    private CacheBackedAuthorizationDetailsDAOImpl uut;
+
+    @BeforeMethod
+    public void setUp() {
+
+        entries = new HashMap<>();
+        AuthorizationDetailsCache cache = mock(AuthorizationDetailsCache.class);
+        when(cache.getValueFromCache(anyString(), anyInt()))
+                .thenAnswer(invocation -> entries.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> entries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(anyString(), any(AuthorizationDetailsCacheEntry.class), anyInt());
+        doAnswer(invocation -> entries.remove(invocation.<String>getArgument(0)))
+                .when(cache).clearCacheEntry(anyString(), anyInt());
+
+        daoMock = mock(AuthorizationDetailsDAO.class);
+        uut = new CacheBackedAuthorizationDetailsDAOImpl(daoMock, cache);
+    }
+
+    @Test
+    public void testAccessTokenAuthorizationDetailsAreCached() throws Exception {
+
+        when(daoMock.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID)).thenReturn(getTokenDTOs(TOKEN_ID));
+
+        assertEquals(uut.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID).size(), 1);
+        assertEquals(uut.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID).size(), 1);
+        verify(daoMock, times(1)).getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID);
+    }
+
+    @Test
+    public void testAccessTokenEntryIsClearedOnDeleteAndAdd() throws Exception {
+
+        when(daoMock.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID)).thenReturn(new HashSet<>());
+        uut.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID);
+
+        uut.addAccessTokenAuthorizationDetails(getTokenDTOs(TOKEN_ID));
+        assertTrue(entries.isEmpty(), "Adding authorization details should clear the cached token.");
+
+        uut.getAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID);
+        uut.deleteAccessTokenAuthorizationDetails(TOKEN_ID, TENANT_ID);
+        assertTrue(entries.isEmpty(), "Deleting authorization details should clear the cached token.");
+    }
+
+    @Test
+    public void testAuthorizationDetailsOfMultipleAccessTokens() throws Exception {
+
+        final String cachedTokenId = "tokenId2";
+        when(daoMock.getAccessTokenAuthorizationDetails(cachedTokenId, TENANT_ID))
+                .thenReturn(getTokenDTOs(cachedTokenId));
+        uut.getAccessTokenAuthorizationDetails(cachedTokenId, TENANT_ID);
+
+        Map<String, Set<AuthorizationDetailsTokenDTO>> fetched = new HashMap<>();
+        fetched.put(TOKEN_ID, getTokenDTOs(TOKEN_ID));
+        when(daoMock.getAccessTokenAuthorizationDetails(eq(new HashSet<>(Arrays.asList(TOKEN_ID, "tokenId3"))),
+                eq(TENANT_ID))).thenReturn(fetched);
+
+        Map<String, Set<AuthorizationDetailsTokenDTO>> tokenDTOs = uut.getAccessTokenAuthorizationDetails(
+                new HashSet<>(Arrays.asList(TOKEN_ID, cachedTokenId, "tokenId3")), TENANT_ID);
+
+        assertEquals(tokenDTOs.size(), 3);
+        assertEquals(tokenDTOs.get(TOKEN_ID).size(), 1);
+        assertEquals(tokenDTOs.get(cachedTokenId).size(), 1);
+        assertTrue(tokenDTOs.get("tokenId3").isEmpty());
+        assertEquals(entries.size(), 3);
+    }
+
+    @Test
+    public void testConsentEntryIsClearedOnUpdate() throws Exception {
+
+        when(daoMock.getUserConsentedAuthorizationDetails(CONSENT_ID, TENANT_ID)).thenReturn(new HashSet<>());
+        uut.getUserConsentedAuthorizationDetails(CONSENT_ID, TENANT_ID);
+        uut.getUserConsentedAuthorizationDetails(CONSENT_ID, TENANT_ID);
+        verify(daoMock, times(1)).getUserConsentedAuthorizationDetails(CONSENT_ID, TENANT_ID);
+
+        AuthorizationDetailsConsentDTO consentDTO =
+                new AuthorizationDetailsConsentDTO(CONSENT_ID, getAuthorizationDetail(), true, TENANT_ID);
+        uut.updateUserConsentedAuthorizationDetails(Collections.singleton(consentDTO));
+        assertTrue(entries.isEmpty(), "Updating the consent should clear the cached consent.");
+    }
+
+    @Test
+    public void testCodeWithoutAuthorizationDetailsIsNotCached() throws Exception {
+
+        when(daoMock.getOAuth2CodeAuthorizationDetails(CODE, TENANT_ID)).thenReturn(new HashSet<>());
+        uut.getOAuth2CodeAuthorizationDetails(CODE, TENANT_ID);
+        assertTrue(entries.isEmpty());
+
+        Set<AuthorizationDetailsCodeDTO> codeDTOs = Collections.singleton(
+                new AuthorizationDetailsCodeDTO("codeId1", getAuthorizationDetail(), TENANT_ID));
+        when(daoMock.getOAuth2CodeAuthorizationDetails(CODE, TENANT_ID)).thenReturn(codeDTOs);
+        uut.getOAuth2CodeAuthorizationDetails(CODE, TENANT_ID);
+        assertEquals(entries.size(), 1);
+        // The code is a credential, hence the cache is keyed by its hash.
+        assertTrue(entries.containsKey(AuthorizationDetailsCache.getAuthorizationCodeKey(CODE)));
+        assertFalse(entries.keySet().iterator().next().contains(CODE));
+    }
+
+    private Set<AuthorizationDetailsTokenDTO> getTokenDTOs(String tokenId) {
+
+        return new HashSet<>(Collections.singleton(
+                new AuthorizationDetailsTokenDTO(tokenId, getAuthorizationDetail(), TENANT_ID)));
+    }
+
+    private AuthorizationDetail getAuthorizationDetail() {
+
+        AuthorizationDetail authorizationDetail = new AuthorizationDetail();
+        authorizationDetail.setType(TYPE);
+        return authorizationDetail;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link ChunkConsumer}.
+ */
+public class ChunkConsumerTest {
+
+    @Test
+    public void testAcceptInChunks() throws Exception {
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        ChunkConsumer.acceptInChunks(Arrays.asList(1, 2, 3, 4, 5), 2, chunk -> chunks.add(new ArrayList<>(chunk)));
+
+        assertEquals(chunks, Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Collections.singletonList(5)));
+    }
+
+    @Test
+    public void testAcceptInChunksOfEmptyCollection() throws Exception {
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        ChunkConsumer.acceptInChunks(Collections.emptyList(), 2, chunks::add);
+        ChunkConsumer.acceptInChunks(null, 2, chunks::add);
+
+        assertTrue(chunks.isEmpty());
+    }
+
+    @Test(expectedExceptions = IdentityOAuth2Exception.class)
+    public void testAcceptInChunksStopsOnError() throws Exception {
+
+        List<List<Integer>> chunks = new ArrayList<>();
+        try {
+            ChunkConsumer.acceptInChunks(Arrays.asList(1, 2, 3), 1, chunk -> {
+                chunks.add(chunk);
+                throw new IdentityOAuth2Exception("Failed to consume the chunk.");
+            });
+        } finally {
+            assertEquals(chunks.size(), 1);
+        }
+    }
+}
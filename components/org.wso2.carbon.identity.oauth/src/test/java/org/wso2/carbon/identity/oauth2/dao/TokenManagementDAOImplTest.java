@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.common.testng.WithCarbonHome;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth.internal.OAuthComponentServiceHolder;
+import org.wso2.carbon.identity.oauth.tokenprocessor.PlainTextPersistenceProcessor;
+import org.wso2.carbon.identity.oauth2.cache.AuthorizedAppsCache;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+import org.wso2.carbon.identity.oauth2.internal.OAuth2ServiceComponentHolder;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+import org.wso2.carbon.user.core.service.RealmService;
+import org.wso2.carbon.user.core.tenant.TenantManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+/**
+ * Unit tests for the listing of the applications authorized by a user and of the active tokens of users in
+ * {@link TokenManagementDAOImpl}.
+ */
+@WithCarbonHome
+public class TokenManagementDAOImplTest {
+
+    private static final String DB_NAME = "testAuthorizedClientIdsDB";
+    private static final String TENANT_DOMAIN = "wso2.com";
+    private static final int TENANT_ID = 1234;
+    private static final int OTHER_TENANT_ID = 5678;
+    private static final String PRIMARY = "PRIMARY";
+    private static final String SECONDARY = "SECONDARY";
+    private static final String LOCAL_IDP = "LOCAL";
+    private static final String FEDERATED_IDP = "Google";
+
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<IdentityTenantUtil> identityTenantUtil;
+    private MockedStatic<IdentityUtil> identityUtil;
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private boolean idpIdColumnEnabled;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+        try (Connection connection = DAOUtils.getConnection(DB_NAME)) {
+            insertIdp(connection, LOCAL_IDP);
+            insertIdp(connection, FEDERATED_IDP);
+            for (String consumerKey : Arrays.asList("app-a", "app-b", "app-c", "app-d", "app-e")) {
+                insertApp(connection, consumerKey, TENANT_ID);
+            }
+            insertApp(connection, "app-other-tenant", OTHER_TENANT_ID);
+
+            // Tokens are inserted out of client id order, with a differently cased user name.
+            insertToken(connection, "app-c", "Alice", PRIMARY, "ACTIVE", LOCAL_IDP);
+            insertToken(connection, "app-a", "alice", PRIMARY, "EXPIRED", LOCAL_IDP);
+            insertToken(connection, "app-b", "alice", PRIMARY, "REVOKED", LOCAL_IDP);
+            insertToken(connection, "app-d", "alice", SECONDARY, "ACTIVE", LOCAL_IDP);
+            insertToken(connection, "app-e", "alice", PRIMARY, "ACTIVE", FEDERATED_IDP);
+            insertToken(connection, "app-other-tenant", "alice", PRIMARY, "ACTIVE", LOCAL_IDP);
+            insertToken(connection, "app-b", "bob", PRIMARY, "ACTIVE", LOCAL_IDP);
+            insertToken(connection, "app-a", "carol", PRIMARY, "ACTIVE", LOCAL_IDP);
+            insertScope(connection, "app-c-Alice-token", "openid");
+            insertScope(connection, "app-c-Alice-token", "profile");
+        }
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean()))
+                .thenAnswer(invocation -> DAOUtils.getConnection(DB_NAME));
+        identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+        identityTenantUtil.when(IdentityTenantUtil::getLoginTenantId).thenReturn(TENANT_ID);
+        identityUtil = mockStatic(IdentityUtil.class);
+
+        OAuthServerConfiguration mockedServerConfiguration = mock(OAuthServerConfiguration.class);
+        when(mockedServerConfiguration.getPersistenceProcessor()).thenReturn(new PlainTextPersistenceProcessor());
+        oAuthServerConfiguration = mockStatic(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance).thenReturn(mockedServerConfiguration);
+
+        RealmService realmService = mock(RealmService.class);
+        TenantManager tenantManager = mock(TenantManager.class);
+        when(realmService.getTenantManager()).thenReturn(tenantManager);
+        when(tenantManager.getTenantId(TENANT_DOMAIN)).thenReturn(TENANT_ID);
+        OAuthComponentServiceHolder.getInstance().setRealmService(realmService);
+
+        idpIdColumnEnabled = OAuth2ServiceComponentHolder.isIDPIdColumnEnabled();
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(true);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(idpIdColumnEnabled);
+        identityDatabaseUtil.close();
+        identityTenantUtil.close();
+        identityUtil.close();
+        oAuthServerConfiguration.close();
+    }
+
+    @Test
+    public void testGetAuthorizedClientIdsOfCaseInsensitiveUser() throws Exception {
+
+        mockUserStoreCaseSensitive(false);
+
+        // Only the active and expired tokens of the apps of the tenant count, in client id order to page over them.
+        assertEquals(getAuthorizedClientIds("ALICE", PRIMARY), Arrays.asList("app-a", "app-c"));
+    }
+
+    @Test
+    public void testGetAuthorizedClientIdsOfCaseSensitiveUser() throws Exception {
+
+        mockUserStoreCaseSensitive(true);
+
+        assertEquals(getAuthorizedClientIds("alice", PRIMARY), Collections.singletonList("app-a"));
+        assertEquals(getAuthorizedClientIds("Alice", PRIMARY), Collections.singletonList("app-c"));
+        assertEquals(getAuthorizedClientIds("ALICE", PRIMARY), Collections.emptyList());
+    }
+
+    @Test
+    public void testGetAuthorizedClientIdsOfUserStore() throws Exception {
+
+        mockUserStoreCaseSensitive(false);
+
+        assertEquals(getAuthorizedClientIds("alice", SECONDARY), Collections.singletonList("app-d"));
+    }
+
+    @Test
+    public void testGetAuthorizedClientIdsFiltersByIdp() throws Exception {
+
+        mockUserStoreCaseSensitive(false);
+
+        // The token issued through the federated IdP is only listed when the IdP is not part of the query.
+        OAuth2ServiceComponentHolder.setIDPIdColumnEnabled(false);
+        assertEquals(getAuthorizedClientIds("alice", PRIMARY), Arrays.asList("app-a", "app-c", "app-e"));
+    }
+
+    @Test
+    public void testAuthorizedAppsCacheKey() throws Exception {
+
+        identityUtil.when(() -> IdentityUtil.isUserStoreInUsernameCaseSensitive(anyString())).thenReturn(false);
+        AuthenticatedUser localUser = buildUser("alice", PRIMARY);
+        AuthenticatedUser differentlyCasedUser = buildUser("ALICE", PRIMARY);
+        AuthenticatedUser federatedUser = buildUser("alice", PRIMARY);
+        federatedUser.setFederatedUser(true);
+        federatedUser.setFederatedIdPName(FEDERATED_IDP);
+
+        String key = AuthorizedAppsCache.getKey(localUser, TENANT_ID);
+        assertEquals(AuthorizedAppsCache.getKey(differentlyCasedUser, TENANT_ID), key);
+        assertNotEquals(AuthorizedAppsCache.getKey(localUser, OTHER_TENANT_ID), key);
+        assertNotEquals(AuthorizedAppsCache.getKey(federatedUser, TENANT_ID), key);
+        assertEquals(AuthorizedAppsCache.getAppTenantId(localUser), TENANT_ID);
+    }
+
+    @Test
+    public void testGetActiveAccessTokensOfUsers() throws Exception {
+
+        mockUserStoreCaseSensitive(false);
+
+        List<AccessTokenDO> accessTokens = new TokenManagementDAOImpl().getActiveAccessTokensOfUsers(
+                Arrays.asList("ALICE", "bob"), PRIMARY, TENANT_ID);
+
+        // Only the active tokens of the given users of the user store are read, one per token whatever its scopes.
+        Map<String, AccessTokenDO> accessTokensById = new HashMap<>();
+        accessTokens.forEach(accessTokenDO -> accessTokensById.put(accessTokenDO.getTokenId(), accessTokenDO));
+        assertEquals(accessTokens.size(), accessTokensById.size());
+        assertEquals(accessTokensById.keySet(), new HashSet<>(Arrays.asList("app-c-Alice-token",
+                "app-e-alice-token", "app-other-tenant-alice-token", "app-b-bob-token")));
+
+        AccessTokenDO accessTokenDO = accessTokensById.get("app-c-Alice-token");
+        assertEquals(accessTokenDO.getAccessToken(), "access-app-c-Alice-token");
+        assertEquals(accessTokenDO.getConsumerKey(), "app-c");
+        assertEquals(accessTokenDO.getAuthzUser().getUserName(), "Alice");
+        assertEquals(accessTokenDO.getAuthzUser().getUserStoreDomain(), PRIMARY);
+        assertEquals(new HashSet<>(Arrays.asList(accessTokenDO.getScope())),
+                new HashSet<>(Arrays.asList("openid", "profile")));
+        assertEquals(accessTokensById.get("app-b-bob-token").getScope().length, 0);
+    }
+
+    @Test
+    public void testGetActiveAccessTokensOfCaseSensitiveUsers() throws Exception {
+
+        mockUserStoreCaseSensitive(true);
+
+        assertEquals(new TokenManagementDAOImpl().getActiveAccessTokensOfUsers(Collections.singletonList("ALICE"),
+                PRIMARY, TENANT_ID).size(), 0);
+        assertEquals(new TokenManagementDAOImpl().getActiveAccessTokensOfUsers(Collections.singletonList("alice"),
+                SECONDARY, TENANT_ID).get(0).getTokenId(), "app-d-alice-token");
+    }
+
+    private List<String> getAuthorizedClientIds(String username, String userStoreDomain) throws Exception {
+
+        return new ArrayList<>(new TokenManagementDAOImpl().getAuthorizedClientIds(
+                buildUser(username, userStoreDomain), userStoreDomain));
+    }
+
+    private void mockUserStoreCaseSensitive(boolean caseSensitive) {
+
+        identityUtil.when(() -> IdentityUtil.isUserStoreCaseSensitive(anyString(), anyInt()))
+                .thenReturn(caseSensitive);
+    }
+
+    private static AuthenticatedUser buildUser(String username, String userStoreDomain) {
+
+        AuthenticatedUser user = new AuthenticatedUser();
+        user.setUserName(username);
+        user.setUserStoreDomain(userStoreDomain);
+        user.setTenantDomain(TENANT_DOMAIN);
+        return user;
+    }
+
+    private static void insertIdp(Connection connection, String name) throws Exception {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDP (TENANT_ID, NAME, UUID) " +
+                "VALUES (?, ?, ?)")) {
+            prepStmt.setInt(1, TENANT_ID);
+            prepStmt.setString(2, name);
+            prepStmt.setString(3, name + "-uuid");
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void insertApp(Connection connection, String consumerKey, int tenantId) throws Exception {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH_CONSUMER_APPS " +
+                "(CONSUMER_KEY, CONSUMER_SECRET, USERNAME, TENANT_ID, USER_DOMAIN, APP_NAME, OAUTH_VERSION, " +
+                "CALLBACK_URL, GRANT_TYPES) VALUES (?, 'secret', 'admin', ?, 'PRIMARY', ?, 'OAuth-2.0', " +
+                "'http://localhost:8080/redirect', 'password')")) {
+            prepStmt.setString(1, consumerKey);
+            prepStmt.setInt(2, tenantId);
+            prepStmt.setString(3, consumerKey);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void insertToken(Connection connection, String consumerKey, String username,
+                                    String userStoreDomain, String tokenState, String idpName) throws Exception {
+
+        String tokenId = consumerKey + "-" + username + "-token";
+        try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN " +
+                "(TOKEN_ID, ACCESS_TOKEN, REFRESH_TOKEN, CONSUMER_KEY_ID, AUTHZ_USER, TENANT_ID, USER_DOMAIN, " +
+                "USER_TYPE, GRANT_TYPE, TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, " +
+                "REFRESH_TOKEN_VALIDITY_PERIOD, TOKEN_SCOPE_HASH, TOKEN_STATE, TOKEN_STATE_ID, IDP_ID) VALUES " +
+                "(?, ?, ?, (SELECT ID FROM IDN_OAUTH_CONSUMER_APPS WHERE CONSUMER_KEY = ?), ?, ?, ?, " +
+                "'APPLICATION_USER', 'password', NOW(), NOW(), 3600, 14400, ?, ?, ?, " +
+                "(SELECT ID FROM IDP WHERE NAME = ? AND TENANT_ID = ?))")) {
+            prepStmt.setString(1, tokenId);
+            prepStmt.setString(2, "access-" + tokenId);
+            prepStmt.setString(3, "refresh-" + tokenId);
+            prepStmt.setString(4, consumerKey);
+            prepStmt.setString(5, username);
+            prepStmt.setInt(6, TENANT_ID);
+            prepStmt.setString(7, userStoreDomain);
+            prepStmt.setString(8, tokenId);
+            prepStmt.setString(9, tokenState);
+            prepStmt.setString(10, tokenId);
+            prepStmt.setString(11, idpName);
+            prepStmt.setInt(12, TENANT_ID);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private static void insertScope(Connection connection, String tokenId, String scope) throws Exception {
+
+        try (PreparedStatement prepStmt = connection.prepareStatement("INSERT INTO IDN_OAUTH2_ACCESS_TOKEN_SCOPE " +
+                "(TOKEN_ID, TOKEN_SCOPE, TENANT_ID) VALUES (?, ?, ?)")) {
+            prepStmt.setString(1, tokenId);
+            prepStmt.setString(2, scope);
+            prepStmt.setInt(3, TENANT_ID);
+            prepStmt.executeUpdate();
+        }
+    }
+}
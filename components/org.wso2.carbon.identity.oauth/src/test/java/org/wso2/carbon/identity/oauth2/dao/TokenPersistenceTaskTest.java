@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
+import org.wso2.carbon.identity.oauth.OAuthUtil;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2Exception;
+import org.wso2.carbon.identity.oauth2.model.AccessTokenDO;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link TokenPersistenceTask} and {@link AccessTokenPersistencePipeline}.
+ */
+public class TokenPersistenceTaskTest {
+
+    private AccessTokenDAO accessTokenDAO;
+    private OAuthTokenPersistenceFactory persistenceFactory;
+    private BlockingQueue<AccessContextTokenDO> queue;
+    private AccessTokenPersistencePipeline pipeline;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        accessTokenDAO = mock(AccessTokenDAO.class);
+        persistenceFactory = mock(OAuthTokenPersistenceFactory.class);
+        when(persistenceFactory.getAccessTokenDAO()).thenReturn(accessTokenDAO);
+        queue = new ArrayBlockingQueue<>(10);
+        pipeline = new AccessTokenPersistencePipeline(true, Collections.singleton("client_credentials"), 10, 1, 10,
+                10, 1, 1, 1000);
+    }
+
+    @Test
+    public void testQueuedTokensArePersistedInOneBatch() throws Exception {
+
+        queue.add(newAccessContextToken("token1"));
+        queue.add(newAccessContextToken("token2"));
+        queue.add(newAccessContextToken("token3"));
+
+        runTask();
+
+        verify(accessTokenDAO, times(1)).insertAccessTokens(anyList());
+        verify(accessTokenDAO, never()).insertAccessToken(any(AccessContextTokenDO.class));
+        assertEquals(pipeline.getBatchCount(), 1);
+        assertEquals(pipeline.getPersistedCount(), 3);
+        assertEquals(queue.size(), 0);
+    }
+
+    @Test
+    public void testFailedBatchIsPersistedIndividually() throws Exception {
+
+        doThrow(new IdentityOAuth2Exception("Batch failure")).when(accessTokenDAO).insertAccessTokens(anyList());
+        when(accessTokenDAO.insertAccessToken(withAccessToken("token1"))).thenReturn(true);
+        when(accessTokenDAO.insertAccessToken(withAccessToken("token2")))
+                .thenThrow(new IdentityOAuth2Exception("Insert failure"));
+        AccessContextTokenDO failingToken = newAccessContextToken("token2");
+        failingToken.getNewAccessTokenDO().setAuthzUser(new AuthenticatedUser());
+        queue.add(newAccessContextToken("token1"));
+        queue.add(failingToken);
+
+        try (MockedStatic<OAuthUtil> oAuthUtil = mockStatic(OAuthUtil.class)) {
+            runTask();
+
+            // A token which can not be persisted must not stay usable from the cache.
+            oAuthUtil.verify(() -> OAuthUtil.clearOAuthCaches(failingToken.getNewAccessTokenDO()), times(1));
+        }
+
+        // One attempt for the first token, and the initial attempt plus one retry for the second token.
+        verify(accessTokenDAO, times(1)).insertAccessToken(withAccessToken("token1"));
+        verify(accessTokenDAO, times(2)).insertAccessToken(withAccessToken("token2"));
+        assertEquals(pipeline.getPersistedCount(), 1);
+        assertEquals(pipeline.getFailedCount(), 1);
+        assertEquals(pipeline.getPendingCount(), 0);
+    }
+
+    @Test
+    public void testPendingTokenIsResolvedUntilFlushed() throws Exception {
+
+        AccessContextTokenDO accessContextToken = newAccessContextToken("token1");
+        assertTrue(pipeline.enqueue(accessContextToken));
+
+        assertSame(pipeline.getPendingAccessToken("token1-identifier"), accessContextToken.getNewAccessTokenDO());
+        // A token persisted against an alias is also resolved by the token itself.
+        assertSame(pipeline.getPendingAccessToken("token1"), accessContextToken.getNewAccessTokenDO());
+        assertEquals(pipeline.getPendingCount(), 1);
+
+        try (MockedStatic<OAuthTokenPersistenceFactory> factory = mockStatic(OAuthTokenPersistenceFactory.class)) {
+            factory.when(OAuthTokenPersistenceFactory::getInstance).thenReturn(persistenceFactory);
+            pipeline.flush(Collections.singletonList("token1"));
+        }
+
+        verify(accessTokenDAO, times(1)).insertAccessTokens(anyList());
+        assertNull(pipeline.getPendingAccessToken("token1-identifier"));
+        assertNull(pipeline.getPendingAccessToken("token1"));
+        assertEquals(pipeline.getPendingCount(), 0);
+        assertEquals(pipeline.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testFlushOnlyWritesTheTokensOfTheCall() throws Exception {
+
+        AccessContextTokenDO accessContextToken = newAccessContextToken("token1");
+        assertTrue(pipeline.enqueue(accessContextToken));
+
+        try (MockedStatic<OAuthTokenPersistenceFactory> factory = mockStatic(OAuthTokenPersistenceFactory.class)) {
+            factory.when(OAuthTokenPersistenceFactory::getInstance).thenReturn(persistenceFactory);
+            pipeline.flush(AccessTokenDAOImpl.pendingTokensOfClient("otherConsumerKey"));
+            verify(accessTokenDAO, never()).insertAccessTokens(anyList());
+            assertEquals(pipeline.getQueueSize(), 1);
+
+            pipeline.flush(AccessTokenDAOImpl.pendingTokensOfClient("consumerKey"));
+        }
+
+        verify(accessTokenDAO, times(1)).insertAccessTokens(anyList());
+        assertEquals(pipeline.getPendingCount(), 0);
+        assertEquals(pipeline.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testPersistedTokenIsNoLongerPending() throws Exception {
+
+        AccessContextTokenDO accessContextToken = newAccessContextToken("token1");
+        assertTrue(pipeline.enqueue(accessContextToken));
+        // Hand the tracked token to a writer of its own queue.
+        queue.add(accessContextToken);
+
+        runTask();
+
+        assertNull(pipeline.getPendingAccessToken("token1-identifier"));
+    }
+
+    @Test
+    public void testPipelineIsNotApplicableUntilStarted() throws Exception {
+
+        assertFalse(pipeline.isApplicable("client_credentials"));
+        assertFalse(pipeline.submit("token", "consumerKey", new AccessTokenDO(), null, "PRIMARY"));
+        assertEquals(pipeline.getSubmittedCount(), 0);
+    }
+
+    @Test
+    public void testDefaultBatchInsertPersistsTokensIndividually() throws Exception {
+
+        AccessTokenDAO dao = mock(AccessTokenDAO.class);
+        when(dao.insertAccessToken(anyString(), anyString(), any(AccessTokenDO.class), any(AccessTokenDO.class),
+                anyString())).thenReturn(true);
+        doCallRealMethod().when(dao).insertAccessTokens(anyList());
+        doCallRealMethod().when(dao).insertAccessToken(any(AccessContextTokenDO.class));
+        List<AccessContextTokenDO> tokens = Arrays.asList(newAccessContextToken("token1"),
+                newAccessContextToken("token2"));
+
+        dao.insertAccessTokens(tokens);
+
+        verify(dao, times(2)).insertAccessToken(anyString(), anyString(), any(AccessTokenDO.class),
+                any(AccessTokenDO.class), anyString());
+    }
+
+    private void runTask() {
+
+        TokenPersistenceTask task = new TokenPersistenceTask(queue, pipeline);
+        // A stopped task drains the queue and returns, so it can be run on the test thread.
+        task.stop();
+        try (MockedStatic<OAuthTokenPersistenceFactory> factory = mockStatic(OAuthTokenPersistenceFactory.class)) {
+            factory.when(OAuthTokenPersistenceFactory::getInstance).thenReturn(persistenceFactory);
+            task.run();
+        }
+    }
+
+    private AccessContextTokenDO newAccessContextToken(String accessToken) {
+
+        AccessTokenDO newAccessTokenDO = new AccessTokenDO();
+        newAccessTokenDO.setTokenId(accessToken + "-id");
+        AccessContextTokenDO accessContextToken = new AccessContextTokenDO(accessToken, "consumerKey",
+                newAccessTokenDO, new AccessTokenDO(), "PRIMARY");
+        accessContextToken.setAccessTokenIdentifier(accessToken + "-identifier");
+        accessContextToken.setAppTenantId(3);
+        return accessContextToken;
+    }
+
+    private static AccessContextTokenDO withAccessToken(String accessToken) {
+
+        return argThat(accessContextToken -> accessContextToken != null &&
+                accessToken.equals(accessContextToken.getAccessToken()));
+    }
+}
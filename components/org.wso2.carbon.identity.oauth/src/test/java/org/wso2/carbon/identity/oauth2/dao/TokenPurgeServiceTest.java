@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.dao;
+
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.core.util.IdentityDatabaseUtil;
+import org.wso2.carbon.identity.oauth.common.OAuthConstants;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.dao.util.DAOUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link TokenPurgeService} and {@link TokenPurgeDAO}.
+ */
+public class TokenPurgeServiceTest {
+
+    private static final String DB_NAME = "testTokenPurgeDB";
+    private static final long HOUR = 3600000L;
+
+    private MockedStatic<IdentityDatabaseUtil> identityDatabaseUtil;
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private TokenPurgeService tokenPurgeService;
+
+    @BeforeClass
+    public void initTest() throws Exception {
+
+        DAOUtils.initializeDataSource(DB_NAME, DAOUtils.getFilePath("identity.sql"));
+    }
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        identityDatabaseUtil = mockStatic(IdentityDatabaseUtil.class, Mockito.CALLS_REAL_METHODS);
+        identityDatabaseUtil.when(() -> IdentityDatabaseUtil.getDBConnection(anyBoolean())).thenAnswer(invocation -> {
+            Connection connection = DAOUtils.getConnection(DB_NAME);
+            connection.setAutoCommit(!(Boolean) invocation.getArgument(0));
+            return connection;
+        });
+        OAuthServerConfiguration mockedServerConfiguration = mock(OAuthServerConfiguration.class);
+        when(mockedServerConfiguration.useRetainOldAccessTokens()).thenReturn(false);
+        oAuthServerConfiguration = mockStatic(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance).thenReturn(mockedServerConfiguration);
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM IDN_OAUTH2_ACCESS_TOKEN");
+            statement.executeUpdate("DELETE FROM IDN_OAUTH2_AUTHORIZATION_CODE");
+            statement.executeUpdate("DELETE FROM IDN_OAUTH2_DEVICE_FLOW");
+            statement.executeUpdate("DELETE FROM IDN_OAUTH2_CIBA_AUTH_CODE");
+            statement.executeUpdate("DELETE FROM IDN_OAUTH_PAR");
+        }
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (tokenPurgeService != null) {
+            tokenPurgeService.shutdown();
+            tokenPurgeService = null;
+        }
+        identityDatabaseUtil.close();
+        oAuthServerConfiguration.close();
+    }
+
+    @Test
+    public void testQueuedInactiveTokensArePurged() throws Exception {
+
+        long now = System.currentTimeMillis();
+        insertAccessToken("expiredToken", OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, now - 2 * HOUR, HOUR,
+                HOUR);
+        insertAccessToken("refreshableToken", OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED, now, HOUR, HOUR);
+        insertAccessToken("revokedToken", OAuthConstants.TokenStates.TOKEN_STATE_REVOKED, now, HOUR, HOUR);
+        insertAccessToken("activeToken", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, now, HOUR, HOUR);
+        tokenPurgeService = newStartedService(10, 2);
+
+        assertTrue(tokenPurgeService.submit("expiredToken"));
+        // An expired token is kept while its refresh token is still accepted by the refresh grant.
+        assertTrue(tokenPurgeService.submit("refreshableToken"));
+        assertTrue(tokenPurgeService.submitByHash("revokedTokenHash"));
+        // An active token is kept, as the transaction which made it inactive may have been rolled back.
+        assertTrue(tokenPurgeService.submit("activeToken"));
+        tokenPurgeService.purgeQueuedTokens();
+
+        assertFalse(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "expiredToken"));
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "refreshableToken"));
+        assertFalse(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "revokedToken"));
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "activeToken"));
+        assertEquals(tokenPurgeService.getSubmittedCount(), 4);
+        assertEquals(tokenPurgeService.getPurgedTokenCount(), 2);
+        assertEquals(tokenPurgeService.getQueueSize(), 0);
+    }
+
+    @Test
+    public void testSubmitIsRejectedWhenNotRunningOrFull() throws Exception {
+
+        tokenPurgeService = new TokenPurgeService(true, 1, 10, 0, HOUR, 0, new TokenPurgeDAO());
+        assertFalse(tokenPurgeService.submit("token1"));
+
+        tokenPurgeService.start();
+        assertTrue(tokenPurgeService.submit("token1"));
+        assertFalse(tokenPurgeService.submit("token2"));
+        assertEquals(tokenPurgeService.getOverflowCount(), 1);
+
+        tokenPurgeService.shutdown();
+        assertFalse(tokenPurgeService.submit("token3"));
+    }
+
+    @Test
+    public void testSweepPurgesExpiredRows() throws Exception {
+
+        long now = System.currentTimeMillis();
+        insertAccessToken("validToken", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, now, HOUR, HOUR);
+        insertAccessToken("refreshableToken", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, now - 2 * HOUR, HOUR,
+                24 * HOUR);
+        insertAccessToken("neverExpiringToken", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, now - 2 * HOUR, -1,
+                -1);
+        insertAccessToken("expiredToken", OAuthConstants.TokenStates.TOKEN_STATE_ACTIVE, now - 2 * HOUR, HOUR, HOUR);
+        insertAccessToken("inactiveToken", OAuthConstants.TokenStates.TOKEN_STATE_INACTIVE, now, HOUR, HOUR);
+        insertAccessToken("refreshableExpiredToken", OAuthConstants.TokenStates.TOKEN_STATE_EXPIRED,
+                now - 2 * HOUR, HOUR, 24 * HOUR);
+        insertAuthorizationCode("validCode", now);
+        insertAuthorizationCode("expiredCode", now - 2 * HOUR);
+        insertDeviceCode("validDeviceCode", now + HOUR);
+        insertDeviceCode("expiredDeviceCode", now - HOUR);
+        insertCibaAuthCode("validCibaCode", now);
+        insertCibaAuthCode("expiredCibaCode", now - 2 * HOUR);
+        insertParRequest("validRequest", now + HOUR);
+        insertParRequest("expiredRequest", now - HOUR);
+        tokenPurgeService = newStartedService(10, 2);
+
+        tokenPurgeService.sweep();
+
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "validToken"));
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "refreshableToken"));
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "neverExpiringToken"));
+        assertFalse(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "expiredToken"));
+        assertFalse(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "inactiveToken"));
+        assertTrue(rowExists("IDN_OAUTH2_ACCESS_TOKEN", "TOKEN_ID", "refreshableExpiredToken"));
+        assertTrue(rowExists("IDN_OAUTH2_AUTHORIZATION_CODE", "CODE_ID", "validCode"));
+        assertFalse(rowExists("IDN_OAUTH2_AUTHORIZATION_CODE", "CODE_ID", "expiredCode"));
+        assertTrue(rowExists("IDN_OAUTH2_DEVICE_FLOW", "DEVICE_CODE", "validDeviceCode"));
+        assertFalse(rowExists("IDN_OAUTH2_DEVICE_FLOW", "DEVICE_CODE", "expiredDeviceCode"));
+        assertTrue(rowExists("IDN_OAUTH2_CIBA_AUTH_CODE", "AUTH_CODE_KEY", "validCibaCode"));
+        assertFalse(rowExists("IDN_OAUTH2_CIBA_AUTH_CODE", "AUTH_CODE_KEY", "expiredCibaCode"));
+        assertTrue(rowExists("IDN_OAUTH_PAR", "REQ_URI_REF", "validRequest"));
+        assertFalse(rowExists("IDN_OAUTH_PAR", "REQ_URI_REF", "expiredRequest"));
+        assertEquals(tokenPurgeService.getSweptRowCount(), 6);
+        assertEquals(tokenPurgeService.getFailedChunkCount(), 0);
+    }
+
+    private TokenPurgeService newStartedService(int queueSize, int chunkSize) {
+
+        // The scheduled tasks are run by the tests, hence they are scheduled far ahead.
+        TokenPurgeService service = new TokenPurgeService(true, queueSize, chunkSize, 0, HOUR, HOUR,
+                new TokenPurgeDAO());
+        service.start();
+        return service;
+    }
+
+    private void insertAccessToken(String tokenId, String tokenState, long issuedTime, long validityPeriod,
+                                   long refreshTokenValidityPeriod) throws Exception {
+
+        String sql = "INSERT INTO IDN_OAUTH2_ACCESS_TOKEN (TOKEN_ID, ACCESS_TOKEN, AUTHZ_USER, TENANT_ID, " +
+                "TIME_CREATED, REFRESH_TOKEN_TIME_CREATED, VALIDITY_PERIOD, REFRESH_TOKEN_VALIDITY_PERIOD, " +
+                "TOKEN_STATE, TOKEN_STATE_ID, ACCESS_TOKEN_HASH) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, tokenId);
+            prepStmt.setString(2, tokenId + "Value");
+            prepStmt.setString(3, tokenId + "User");
+            prepStmt.setInt(4, -1234);
+            prepStmt.setTimestamp(5, new Timestamp(issuedTime), utc());
+            prepStmt.setTimestamp(6, new Timestamp(issuedTime), utc());
+            prepStmt.setLong(7, validityPeriod);
+            prepStmt.setLong(8, refreshTokenValidityPeriod);
+            prepStmt.setString(9, tokenState);
+            prepStmt.setString(10, tokenId + "StateId");
+            prepStmt.setString(11, tokenId + "Hash");
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private void insertAuthorizationCode(String codeId, long issuedTime) throws Exception {
+
+        String sql = "INSERT INTO IDN_OAUTH2_AUTHORIZATION_CODE (CODE_ID, AUTHORIZATION_CODE, TIME_CREATED, " +
+                "VALIDITY_PERIOD) VALUES (?, ?, ?, ?)";
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, codeId);
+            prepStmt.setString(2, codeId + "Value");
+            prepStmt.setTimestamp(3, new Timestamp(issuedTime), utc());
+            prepStmt.setLong(4, HOUR);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private void insertDeviceCode(String deviceCode, long expiryTime) throws Exception {
+
+        String sql = "INSERT INTO IDN_OAUTH2_DEVICE_FLOW (CODE_ID, DEVICE_CODE, USER_CODE, LAST_POLL_TIME, " +
+                "EXPIRY_TIME) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, deviceCode + "Id");
+            prepStmt.setString(2, deviceCode);
+            prepStmt.setString(3, deviceCode + "User");
+            prepStmt.setTimestamp(4, new Timestamp(expiryTime), utc());
+            prepStmt.setTimestamp(5, new Timestamp(expiryTime), utc());
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private void insertCibaAuthCode(String authCodeKey, long issuedTime) throws Exception {
+
+        String sql = "INSERT INTO IDN_OAUTH2_CIBA_AUTH_CODE (AUTH_CODE_KEY, AUTH_REQ_ID, ISSUED_TIME, " +
+                "LAST_POLLED_TIME, EXPIRES_IN) VALUES (?, ?, ?, ?, ?)";
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, authCodeKey);
+            prepStmt.setString(2, authCodeKey + "Request");
+            prepStmt.setTimestamp(3, new Timestamp(issuedTime), utc());
+            prepStmt.setTimestamp(4, new Timestamp(issuedTime), utc());
+            prepStmt.setInt(5, 3600);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private void insertParRequest(String requestUriRef, long expiryTime) throws Exception {
+
+        String sql = "INSERT INTO IDN_OAUTH_PAR (REQ_URI_REF, CLIENT_ID, SCHEDULED_EXPIRY) VALUES (?, ?, ?)";
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(sql)) {
+            prepStmt.setString(1, requestUriRef);
+            prepStmt.setString(2, "clientId");
+            prepStmt.setLong(3, expiryTime);
+            prepStmt.executeUpdate();
+        }
+    }
+
+    private boolean rowExists(String table, String idColumn, String id) throws Exception {
+
+        try (Connection connection = DAOUtils.getConnection(DB_NAME);
+             PreparedStatement prepStmt = connection.prepareStatement(
+                     "SELECT 1 FROM " + table + " WHERE " + idColumn + " = ?")) {
+            prepStmt.setString(1, id);
+            try (ResultSet resultSet = prepStmt.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static Calendar utc() {
+
+        return Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    }
+}
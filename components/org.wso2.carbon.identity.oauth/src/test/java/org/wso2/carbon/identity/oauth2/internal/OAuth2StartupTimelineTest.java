@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.internal;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for {@link OAuth2StartupTimeline}.
+ */
+public class OAuth2StartupTimelineTest {
+
+    private ExecutorService startupExecutor;
+
+    @BeforeMethod
+    public void setUp() {
+
+        startupExecutor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        startupExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testRunAsyncRecordsStep() {
+
+        OAuth2StartupTimeline startupTimeline = new OAuth2StartupTimeline();
+
+        CompletableFuture<Boolean> probe = startupTimeline.runAsync("IDP_ID column probe", () -> true,
+                startupExecutor);
+
+        assertTrue(probe.join());
+        String report = startupTimeline.report();
+        assertTrue(report.startsWith("OAuth2 service component activated in "), report);
+        assertTrue(report.contains("IDP_ID column probe: "), report);
+    }
+
+    @Test
+    public void testRunAsyncRecordsFailedStep() {
+
+        OAuth2StartupTimeline startupTimeline = new OAuth2StartupTimeline();
+        IllegalStateException failure = new IllegalStateException("Probe failed.");
+
+        CompletableFuture<Boolean> probe = startupTimeline.runAsync("Token extended table probe", () -> {
+            throw failure;
+        }, startupExecutor);
+
+        try {
+            probe.join();
+            fail("The failure of a step should be surfaced where the step is joined.");
+        } catch (CompletionException e) {
+            assertEquals(e.getCause(), failure);
+        }
+        assertTrue(startupTimeline.report().contains("Token extended table probe: "));
+    }
+
+    @Test
+    public void testStepsRunInParallel() {
+
+        OAuth2StartupTimeline startupTimeline = new OAuth2StartupTimeline();
+        int stepCount = 3;
+        CountDownLatch allStepsStarted = new CountDownLatch(stepCount);
+        CompletableFuture<?>[] probes = new CompletableFuture<?>[stepCount];
+
+        // Each step waits for all the others to start, which only completes when they run at the same time.
+        for (int i = 0; i < stepCount; i++) {
+            probes[i] = startupTimeline.runAsync("Probe " + i, () -> {
+                allStepsStarted.countDown();
+                try {
+                    return allStepsStarted.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }, startupExecutor);
+        }
+
+        for (CompletableFuture<?> probe : probes) {
+            assertEquals(probe.join(), Boolean.TRUE, "The steps should run in parallel.");
+        }
+        String report = startupTimeline.report();
+        for (int i = 0; i < stepCount; i++) {
+            assertTrue(report.contains("Probe " + i + ": "), report);
+        }
+    }
+
+    @Test
+    public void testRecordStepOfCallingThread() {
+
+        OAuth2StartupTimeline startupTimeline = new OAuth2StartupTimeline();
+
+        startupTimeline.record("OIDC scope seeding", System.nanoTime());
+
+        String report = startupTimeline.report();
+        assertTrue(report.contains("Steps: OIDC scope seeding: "), report);
+    }
+}
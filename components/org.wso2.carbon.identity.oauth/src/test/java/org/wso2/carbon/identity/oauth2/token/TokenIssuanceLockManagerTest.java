@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token;
+
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.IdentityOAuth2ServerException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link TokenIssuanceLockManager}.
+ */
+public class TokenIssuanceLockManagerTest {
+
+    private static final TokenIssuanceLockManager.LockScope SCOPE =
+            TokenIssuanceLockManager.LockScope.TOKEN_ISSUANCE;
+
+    @Test
+    public void testSameKeyMapsToSameStripe() {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(64, 100,
+                TokenIssuanceLockManager.FallbackPolicy.WAIT);
+        assertEquals(lockManager.stripeIndex("client", "user", "openid", "NONE"),
+                lockManager.stripeIndex("client", "user", "openid", "NONE"));
+        int index = lockManager.stripeIndex("client", "user", "openid", null);
+        assertTrue(index >= 0 && index < 64);
+    }
+
+    @Test
+    public void testLockIsReentrant() throws Exception {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(16, 100,
+                TokenIssuanceLockManager.FallbackPolicy.REJECT);
+        try (TokenIssuanceLockManager.LockHandle outer = lockManager.acquire(SCOPE, "client", "user")) {
+            try (TokenIssuanceLockManager.LockHandle inner = lockManager.acquire(SCOPE, "client", "user")) {
+                assertTrue(outer.isLocked());
+                assertTrue(inner.isLocked());
+            }
+        }
+        assertEquals(lockManager.getMetrics(SCOPE).getAcquisitions(), 2);
+        assertEquals(lockManager.getMetrics(SCOPE).getContendedAcquisitions(), 0);
+    }
+
+    @Test
+    public void testHoldTimeIsRecorded() throws Exception {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(16, 100,
+                TokenIssuanceLockManager.FallbackPolicy.REJECT);
+        try (TokenIssuanceLockManager.LockHandle ignored = lockManager.acquire(SCOPE, "client", "user")) {
+            Thread.sleep(20);
+        }
+        assertTrue(lockManager.getMetrics(SCOPE).getTotalHoldTimeMillis() >= 20);
+        assertTrue(lockManager.getMetrics(SCOPE).getMaxHoldTimeMillis() >= 20);
+    }
+
+    @Test(expectedExceptions = IdentityOAuth2ServerException.class)
+    public void testRejectPolicyOnTimeout() throws Exception {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(16, 50,
+                TokenIssuanceLockManager.FallbackPolicy.REJECT);
+        holdLockInOtherThread(lockManager, () -> lockManager.acquire(SCOPE, "client", "user").close());
+    }
+
+    @Test
+    public void testProceedPolicyOnTimeout() throws Exception {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(16, 50,
+                TokenIssuanceLockManager.FallbackPolicy.PROCEED);
+        holdLockInOtherThread(lockManager, () -> {
+            try (TokenIssuanceLockManager.LockHandle handle = lockManager.acquire(SCOPE, "client", "user")) {
+                assertFalse(handle.isLocked());
+            }
+        });
+        assertEquals(lockManager.getMetrics(SCOPE).getContendedAcquisitions(), 1);
+        assertEquals(lockManager.getMetrics(SCOPE).getTimeouts(), 1);
+    }
+
+    @Test
+    public void testScopesDoNotShareLocks() throws Exception {
+
+        TokenIssuanceLockManager lockManager = new TokenIssuanceLockManager(16, 50,
+                TokenIssuanceLockManager.FallbackPolicy.REJECT);
+        holdLockInOtherThread(lockManager, () -> {
+            try (TokenIssuanceLockManager.LockHandle handle = lockManager.acquire(
+                    TokenIssuanceLockManager.LockScope.TOKEN_REQUEST, "client", "user")) {
+                assertTrue(handle.isLocked());
+            }
+        });
+    }
+
+    private void holdLockInOtherThread(TokenIssuanceLockManager lockManager, LockedAction action) throws Exception {
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = executorService.submit(() -> {
+                try (TokenIssuanceLockManager.LockHandle ignored = lockManager.acquire(SCOPE, "client", "user")) {
+                    locked.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                return null;
+            });
+            assertTrue(locked.await(5, TimeUnit.SECONDS));
+            try {
+                action.run();
+            } finally {
+                release.countDown();
+                holder.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private interface LockedAction {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.bindings.impl;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import org.mockito.MockedStatic;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth.config.OAuthServerConfiguration;
+import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
+
+import java.net.URLEncoder;
+import java.nio.file.Paths;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.wso2.carbon.identity.openidconnect.util.TestUtils.getKeyStoreFromFile;
+
+/**
+ * Unit tests for {@link ClientCertificateCache}.
+ */
+public class ClientCertificateCacheTest {
+
+    private MockedStatic<OAuthServerConfiguration> oAuthServerConfiguration;
+    private X509Certificate certificate;
+    private String certificateInHeader;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        // OAuth2Util reads the server configuration when it is initialized.
+        oAuthServerConfiguration = mockStatic(OAuthServerConfiguration.class);
+        oAuthServerConfiguration.when(OAuthServerConfiguration::getInstance)
+                .thenReturn(mock(OAuthServerConfiguration.class));
+        certificate = (X509Certificate) getKeyStoreFromFile("wso2carbon.jks", "wso2carbon",
+                Paths.get(System.getProperty("user.dir"), "src", "test", "resources").toString())
+                .getCertificate("wso2carbon");
+        certificateInHeader = Base64.getEncoder().encodeToString(certificate.getEncoded());
+    }
+
+    @AfterClass
+    public void tearDown() {
+
+        oAuthServerConfiguration.close();
+    }
+
+    @Test
+    public void testGetCertificate() throws Exception {
+
+        ClientCertificateCache cache = new ClientCertificateCache(10);
+        ClientCertificateCache.ClientCertificate clientCertificate = cache.getCertificate(certificateInHeader);
+
+        String thumbprint = X509CertUtils.computeSHA256Thumbprint(certificate).toString();
+        assertEquals(clientCertificate.getCertificate(), certificate);
+        assertEquals(clientCertificate.getThumbprint(), thumbprint);
+        assertEquals(clientCertificate.getBindingReference(), OAuth2Util.getTokenBindingReference(thumbprint));
+        assertSame(cache.getCertificate(certificateInHeader), clientCertificate,
+                "The parsed certificate should be served from the cache.");
+    }
+
+    @Test
+    public void testGetUrlEncodedCertificate() throws Exception {
+
+        ClientCertificateCache cache = new ClientCertificateCache(10);
+        String pemCertificate = "-----BEGIN CERTIFICATE-----\n" + certificateInHeader + "\n-----END CERTIFICATE-----";
+        String urlEncodedCertificate = URLEncoder.encode(pemCertificate, "UTF-8");
+
+        assertEquals(cache.getCertificate(urlEncodedCertificate).getCertificate(), certificate);
+    }
+
+    @Test
+    public void testGetCertificateWhenCacheDisabled() throws Exception {
+
+        ClientCertificateCache cache = new ClientCertificateCache(0);
+        assertNotSame(cache.getCertificate(certificateInHeader), cache.getCertificate(certificateInHeader));
+        assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testEvictionWhenFull() throws Exception {
+
+        ClientCertificateCache cache = new ClientCertificateCache(1);
+        ClientCertificateCache.ClientCertificate clientCertificate = cache.getCertificate(certificateInHeader);
+        cache.getCertificate(" " + certificateInHeader);
+
+        assertEquals(cache.size(), 1);
+        assertNotSame(cache.getCertificate(certificateInHeader), clientCertificate);
+    }
+
+    @Test(expectedExceptions = CertificateException.class)
+    public void testGetInvalidCertificate() throws Exception {
+
+        new ClientCertificateCache(10).getCertificate("aW52YWxpZA==");
+    }
+}
@@ -31,6 +31,8 @@ import org.wso2.carbon.base.MultitenantConstants;
 import org.wso2.carbon.context.PrivilegedCarbonContext;
 import org.wso2.carbon.identity.action.execution.api.exception.ActionExecutionException;
 import org.wso2.carbon.identity.action.execution.api.model.ActionType;
+import org.wso2.carbon.identity.action.execution.api.model.FailedStatus;
+import org.wso2.carbon.identity.action.execution.api.model.Failure;
 import org.wso2.carbon.identity.action.execution.api.model.SuccessStatus;
 import org.wso2.carbon.identity.action.execution.api.service.ActionExecutorService;
 import org.wso2.carbon.identity.application.authentication.framework.model.AuthenticatedUser;
@@ -67,6 +69,7 @@ import org.wso2.carbon.identity.oauth2.token.JWTTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.OAuthTokenReqMessageContext;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuer;
 import org.wso2.carbon.identity.oauth2.token.OauthTokenIssuerImpl;
+import org.wso2.carbon.identity.oauth2.token.TokenIssuanceLockManager;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinding;
 import org.wso2.carbon.identity.oauth2.util.AuthzUtil;
 import org.wso2.carbon.identity.oauth2.util.OAuth2Util;
@@ -78,16 +81,28 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 import static org.wso2.carbon.identity.application.mgt.ApplicationConstants.DEFAULT_BACKCHANNEL_LOGOUT_URL;
@@ -115,6 +130,7 @@ public class AbstractAuthorizationGrantHandlerTest {
     private static final String DEFAULT_CALLBACK_HANDLER_CLASS_NAME =
             "org.wso2.carbon.identity.oauth.callback.DefaultCallbackHandler";
     private static final String PASSWORD_GRANT = "password";
+    private static final long LOCK_PROBE_TIMEOUT_MILLIS = 1000;
     private OAuthAppDO oAuthAppDO;
     private MockedStatic<AuthzUtil> mockedAuthzUtil;
 
@@ -560,6 +576,183 @@ public class AbstractAuthorizationGrantHandlerTest {
         };
     }
 
+    @Test
+    public void testPreIssueActionExecutedOutsideIssuanceLock() throws Exception {
+
+        AtomicBoolean lockAvailableDuringAction = new AtomicBoolean();
+        setUpPreIssueAction();
+        when(mockActionExecutionService.execute(any(ActionType.class), any(), any())).thenAnswer(invocation -> {
+            lockAvailableDuringAction.set(isIssuanceLockAvailable());
+            return new FailedStatus(new Failure("access_denied", "Denied."));
+        });
+
+        OAuth2AccessTokenRespDTO tokenRespDTO = issueWithPreIssueAction(createPreIssueActionMessageContext(), true,
+                mock(AccessTokenDAO.class));
+
+        assertTrue(lockAvailableDuringAction.get(), "Action must be executed without holding the issuance lock.");
+        assertTrue(tokenRespDTO.isError());
+        assertEquals(tokenRespDTO.getErrorCode(), "access_denied");
+    }
+
+    @Test
+    public void testPreIssueActionExecutedInsideIssuanceLock() throws Exception {
+
+        AtomicBoolean lockAvailableDuringAction = new AtomicBoolean(true);
+        setUpPreIssueAction();
+        when(mockActionExecutionService.execute(any(ActionType.class), any(), any())).thenAnswer(invocation -> {
+            lockAvailableDuringAction.set(isIssuanceLockAvailable());
+            return new FailedStatus(new Failure("access_denied", "Denied."));
+        });
+
+        OAuth2AccessTokenRespDTO tokenRespDTO = issueWithPreIssueAction(createPreIssueActionMessageContext(), false,
+                mock(AccessTokenDAO.class));
+
+        assertFalse(lockAvailableDuringAction.get(), "Action must be executed while holding the issuance lock.");
+        assertTrue(tokenRespDTO.isError());
+    }
+
+    @Test
+    public void testIssuedTimeTakenAfterPreIssueActionOutsideIssuanceLock() throws Exception {
+
+        AtomicLong actionEndTime = new AtomicLong();
+        AtomicReference<AccessTokenDO> persistedToken = new AtomicReference<>();
+        setUpPreIssueAction();
+        when(mockActionExecutionService.execute(any(ActionType.class), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            actionEndTime.set(System.currentTimeMillis());
+            return new SuccessStatus.Builder().build();
+        });
+        AccessTokenDAO accessTokenDAO = mock(AccessTokenDAO.class);
+        doAnswer(invocation -> {
+            persistedToken.set(invocation.getArgument(2));
+            throw new IdentityOAuth2Exception("Token persistence is not available in this test.");
+        }).when(accessTokenDAO).insertAccessToken(anyString(), anyString(), any(AccessTokenDO.class), any(),
+                any());
+
+        OAuthTokenReqMessageContext tokReqMsgCtx = createPreIssueActionMessageContext();
+        try {
+            issueWithPreIssueAction(tokReqMsgCtx, true, accessTokenDAO);
+        } catch (IdentityOAuth2Exception e) {
+            // The token is only captured, not persisted.
+        }
+
+        assertNotNull(persistedToken.get(), "A new token must be issued after a successful action.");
+        assertTrue(persistedToken.get().getIssuedTime().getTime() >= actionEndTime.get(),
+                "Issued time must not include the time spent in the action.");
+        assertEquals(tokReqMsgCtx.getAccessTokenIssuedTime(), persistedToken.get().getIssuedTime().getTime());
+    }
+
+    @Test
+    public void testConcurrentPreIssueActionsOutsideIssuanceLock() throws Exception {
+
+        // Both actions for the same key must be in progress at the same time for the barrier to trip.
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        setUpPreIssueAction();
+        when(mockActionExecutionService.execute(any(ActionType.class), any(), any())).thenAnswer(invocation -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return new FailedStatus(new Failure("access_denied", "Denied."));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OAuth2AccessTokenRespDTO> first = executor.submit(() -> issueWithPreIssueAction(
+                    createPreIssueActionMessageContext(), true, mock(AccessTokenDAO.class)));
+            Future<OAuth2AccessTokenRespDTO> second = executor.submit(() -> issueWithPreIssueAction(
+                    createPreIssueActionMessageContext(), true, mock(AccessTokenDAO.class)));
+
+            assertTrue(first.get(10, TimeUnit.SECONDS).isError());
+            assertTrue(second.get(10, TimeUnit.SECONDS).isError());
+            assertFalse(barrier.isBroken());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void setUpPreIssueAction() {
+
+        oAuthAppDO.setTokenType(OAuthServerConfiguration.JWT_TOKEN_TYPE);
+        when(mockActionExecutionService.isExecutionEnabled(ActionType.PRE_ISSUE_ACCESS_TOKEN)).thenReturn(true);
+        OAuthComponentServiceHolder.getInstance().setActionExecutorService(mockActionExecutionService);
+    }
+
+    private OAuthTokenReqMessageContext createPreIssueActionMessageContext() {
+
+        OAuth2AccessTokenReqDTO oAuth2AccessTokenReqDTO = new OAuth2AccessTokenReqDTO();
+        oAuth2AccessTokenReqDTO.setClientId(clientId);
+        oAuth2AccessTokenReqDTO.setGrantType(PASSWORD_GRANT);
+
+        OAuthTokenReqMessageContext tokReqMsgCtx = new OAuthTokenReqMessageContext(oAuth2AccessTokenReqDTO);
+        tokReqMsgCtx.setAuthorizedUser(authenticatedUser);
+        tokReqMsgCtx.setScope(new String[]{"scope1", "scope2"});
+        tokReqMsgCtx.addProperty(OAUTH_APP_PROPERTY, oAuthAppDO);
+        return tokReqMsgCtx;
+    }
+
+    private OAuth2AccessTokenRespDTO issueWithPreIssueAction(OAuthTokenReqMessageContext tokReqMsgCtx,
+                                                             boolean executeOutsideLock,
+                                                             AccessTokenDAO accessTokenDAO) throws Exception {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class);
+             MockedStatic<OAuth2Util> oauth2Util = mockStatic(OAuth2Util.class);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class);
+             MockedStatic<OAuthTokenPersistenceFactory> factoryMock = mockStatic(OAuthTokenPersistenceFactory.class)) {
+
+            identityUtil.when(() -> IdentityUtil.getProperty(
+                            OAuth2Constants.PreIssueAccessTokenAction.EXECUTE_OUTSIDE_ISSUANCE_LOCK))
+                    .thenReturn(String.valueOf(executeOutsideLock));
+
+            OauthTokenIssuer oauthTokenIssuer = mock(OauthTokenIssuerImpl.class);
+            when(oauthTokenIssuer.getAccessTokenType()).thenReturn(OAuth2Constants.TokenTypes.OPAQUE);
+            when(oauthTokenIssuer.renewAccessTokenPerRequest()).thenReturn(true);
+            when(oauthTokenIssuer.accessToken(any(OAuthTokenReqMessageContext.class))).thenReturn("newAccessToken");
+            oauth2Util.when(() -> OAuth2Util.getOAuthTokenIssuerForOAuthApp(eq(clientId))).thenReturn(oauthTokenIssuer);
+            oauth2Util.when(() -> OAuth2Util.getAppInformationByClientId(eq(clientId))).thenReturn(oAuthAppDO);
+            oauth2Util.when(() -> OAuth2Util.getAppInformationByClientId(eq(clientId), any())).thenReturn(oAuthAppDO);
+            oauth2Util.when(() -> OAuth2Util.buildScopeString(any())).thenCallRealMethod();
+            // The issuance lock manager reads its configuration when it is first used.
+            oauth2Util.when(() -> OAuth2Util.getIntProperty(anyString(), anyInt())).thenCallRealMethod();
+            oauth2Util.when(() -> OAuth2Util.getIntProperty(anyString(), anyInt(), anyInt())).thenCallRealMethod();
+
+            identityTenantUtil.when(IdentityTenantUtil::getLoginTenantId)
+                    .thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantDomain(MultitenantConstants.SUPER_TENANT_ID))
+                    .thenReturn(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+            OAuthTokenPersistenceFactory mockFactory = mock(OAuthTokenPersistenceFactory.class);
+            factoryMock.when(OAuthTokenPersistenceFactory::getInstance).thenReturn(mockFactory);
+            when(mockFactory.getAccessTokenDAO()).thenReturn(accessTokenDAO);
+
+            return handler.issue(tokReqMsgCtx);
+        }
+    }
+
+    /**
+     * Checks from another thread whether the token issuance lock of the test request is free. A lock which is held
+     * is only acquired by the probe after the holder releases it, after the probe has already timed out.
+     */
+    private boolean isIssuanceLockAvailable() throws Exception {
+
+        TokenIssuanceLockManager lockManager = TokenIssuanceLockManager.getInstance();
+        String userId = authenticatedUser.getUserId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> probe = executor.submit(() -> {
+                try (TokenIssuanceLockManager.LockHandle handle = lockManager.acquire(
+                        TokenIssuanceLockManager.LockScope.TOKEN_ISSUANCE, clientId, userId, "scope1 scope2",
+                        OAuthConstants.TokenBindings.NONE)) {
+                    return handle.isLocked();
+                }
+            });
+            try {
+                return probe.get(LOCK_PROBE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private static class MockAuthzGrantHandler extends AbstractAuthorizationGrantHandler {
 
     }
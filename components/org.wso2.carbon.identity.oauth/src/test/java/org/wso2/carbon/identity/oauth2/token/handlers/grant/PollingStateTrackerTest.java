@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.handlers.grant;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.identity.oauth2.cache.PollingStateCache;
+import org.wso2.carbon.identity.oauth2.cache.PollingStateCacheEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link PollingStateTracker}.
+ */
+public class PollingStateTrackerTest {
+
+    private static final String REQUEST_TYPE = "device_code";
+    private static final String REQUEST_ID = "deviceCode1";
+    private static final String CLIENT_ID = "client1";
+    private static final long INTERVAL = 5000;
+    private static final long MAX_STATE_AGE = 60000;
+
+    private Map<String, PollingStateCacheEntry> entries;
+    private PollingStateCache cache;
+
+    @BeforeMethod
+    public void setUp() {
+
+        entries = new HashMap<>();
+        cache = mock(PollingStateCache.class);
+        when(cache.getValueFromCache(anyString())).thenAnswer(invocation -> entries.get(invocation.getArgument(0)));
+        doAnswer(invocation -> entries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(cache).addToCache(anyString(), any(PollingStateCacheEntry.class));
+        doAnswer(invocation -> entries.remove(invocation.getArgument(0)))
+                .when(cache).clearCacheEntry(anyString());
+    }
+
+    @Test
+    public void testPollOfUntrackedRequest() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+    }
+
+    @Test
+    public void testPollWhenDisabled() {
+
+        PollingStateTracker tracker = new PollingStateTracker(false, MAX_STATE_AGE, null);
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, 0, INTERVAL, 0, Long.MAX_VALUE);
+        tracker.clear(REQUEST_TYPE, REQUEST_ID);
+        assertFalse(tracker.isEnabled());
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+    }
+
+    @Test
+    public void testPollOfPendingRequest() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now - INTERVAL - 1, INTERVAL, 0,
+                now + MAX_STATE_AGE);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID),
+                PollingStateTracker.PollOutcome.AUTHORIZATION_PENDING);
+        // The next poll is made immediately, before the polling interval elapses.
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.SLOW_DOWN);
+        assertEquals(tracker.poll(REQUEST_TYPE, "deviceCode2", CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+    }
+
+    @Test
+    public void testIntervalIsIncreasedOnSlowDown() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now, INTERVAL, 3000, now + MAX_STATE_AGE);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.SLOW_DOWN);
+        assertEquals(entries.get(REQUEST_TYPE + ":" + REQUEST_ID).getInterval(), INTERVAL + 3000);
+    }
+
+    @Test
+    public void testPollOfAnotherClient() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now - INTERVAL - 1, INTERVAL, 0,
+                now + MAX_STATE_AGE);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, "client2"), PollingStateTracker.PollOutcome.UNKNOWN);
+        assertTrue(entries.containsKey(REQUEST_TYPE + ":" + REQUEST_ID));
+    }
+
+    @Test
+    public void testPollOfExpiredRequest() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now - INTERVAL - 1, INTERVAL, 0, now - 1);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+        assertTrue(entries.isEmpty(), "The state of an expired request should be discarded.");
+    }
+
+    @Test
+    public void testPollOfStaleState() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, -1, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now - INTERVAL - 1, INTERVAL, 0,
+                now + MAX_STATE_AGE);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+        assertTrue(entries.isEmpty(), "The state older than the maximum age should be discarded.");
+    }
+
+    @Test
+    public void testClear() {
+
+        PollingStateTracker tracker = new PollingStateTracker(true, MAX_STATE_AGE, cache);
+        long now = System.currentTimeMillis();
+        tracker.trackPending(REQUEST_TYPE, REQUEST_ID, CLIENT_ID, now - INTERVAL - 1, INTERVAL, 0,
+                now + MAX_STATE_AGE);
+        tracker.clear(REQUEST_TYPE, REQUEST_ID);
+
+        assertEquals(tracker.poll(REQUEST_TYPE, REQUEST_ID, CLIENT_ID), PollingStateTracker.PollOutcome.UNKNOWN);
+    }
+}
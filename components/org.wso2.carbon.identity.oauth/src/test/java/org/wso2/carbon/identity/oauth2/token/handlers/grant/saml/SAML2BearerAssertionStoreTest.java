@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.token.handlers.grant.saml;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link SAML2BearerAssertionStore}.
+ */
+public class SAML2BearerAssertionStoreTest {
+
+    private static final long CURRENT_TIME = 100000;
+    private static final long EXPIRY_TIME = CURRENT_TIME + 60000;
+
+    @Test
+    public void testAddOfUnexpiredKey() {
+
+        SAML2BearerAssertionStore store = new SAML2BearerAssertionStore(10);
+        assertFalse(store.contains("assertion1", CURRENT_TIME));
+        assertTrue(store.add("assertion1", EXPIRY_TIME, CURRENT_TIME));
+        assertTrue(store.contains("assertion1", CURRENT_TIME));
+        assertFalse(store.add("assertion1", EXPIRY_TIME, CURRENT_TIME), "An unexpired key should not be re-added.");
+    }
+
+    @Test
+    public void testExpiredKey() {
+
+        SAML2BearerAssertionStore store = new SAML2BearerAssertionStore(10);
+        store.add("assertion1", EXPIRY_TIME, CURRENT_TIME);
+
+        assertFalse(store.contains("assertion1", EXPIRY_TIME));
+        assertTrue(store.add("assertion1", EXPIRY_TIME + 60000, EXPIRY_TIME));
+    }
+
+    @Test
+    public void testEvictionWhenFull() {
+
+        SAML2BearerAssertionStore store = new SAML2BearerAssertionStore(2);
+        store.add("assertion1", EXPIRY_TIME, CURRENT_TIME);
+        store.add("assertion2", CURRENT_TIME + 1, CURRENT_TIME);
+        store.add("assertion3", EXPIRY_TIME, CURRENT_TIME + 1);
+
+        // The expired key is discarded before the oldest one.
+        assertEquals(store.size(), 2);
+        assertTrue(store.contains("assertion1", CURRENT_TIME + 1));
+        assertTrue(store.contains("assertion3", CURRENT_TIME + 1));
+
+        store.add("assertion4", EXPIRY_TIME, CURRENT_TIME + 1);
+        assertEquals(store.size(), 2);
+        assertFalse(store.contains("assertion1", CURRENT_TIME + 1));
+        assertTrue(store.contains("assertion4", CURRENT_TIME + 1));
+    }
+}
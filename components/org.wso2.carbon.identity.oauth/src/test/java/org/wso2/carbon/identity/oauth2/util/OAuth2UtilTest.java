@@ -3065,4 +3065,27 @@ public class OAuth2UtilTest {
         JWSAlgorithm actual = mapSignatureAlgorithmForJWSAlgorithm(signatureAlgo);
         Assert.assertEquals(actual, expectedNimbusdsAlgorithm);
     }
+
+    @DataProvider(name = "intPropertyProvider")
+    public Object[][] provideIntProperty() {
+
+        return new Object[][]{
+                {null, 0, 10},
+                {" ", 0, 10},
+                {" 25 ", 0, 25},
+                {"0", 0, 0},
+                {"-1", 0, 10},
+                {"-1", Integer.MIN_VALUE, -1},
+                {"invalid", 0, 10}
+        };
+    }
+
+    @Test(dataProvider = "intPropertyProvider")
+    public void testGetIntProperty(String configuredValue, int minValue, int expectedValue) {
+
+        try (MockedStatic<IdentityUtil> identityUtil = mockStatic(IdentityUtil.class)) {
+            identityUtil.when(() -> IdentityUtil.getProperty("Test.IntProperty")).thenReturn(configuredValue);
+            assertEquals(OAuth2Util.getIntProperty("Test.IntProperty", 10, minValue), expectedValue);
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.util;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.base.CarbonBaseConstants;
+import org.wso2.carbon.base.MultitenantConstants;
+import org.wso2.carbon.identity.core.util.IdentityTenantUtil;
+
+import java.nio.file.Paths;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.wso2.carbon.identity.openidconnect.util.TestUtils.getKeyStoreFromFile;
+
+/**
+ * Unit tests for SigningKeyContext and its use in signing JWTs.
+ */
+public class SigningKeyContextTest {
+
+    private static final String KID = "dummyKid";
+
+    private RSAPrivateKey privateKey;
+    private Certificate certificate;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+
+        System.setProperty(CarbonBaseConstants.CARBON_HOME,
+                Paths.get(System.getProperty("user.dir"), "src", "test", "resources").toString());
+        KeyStore keyStore = getKeyStoreFromFile("wso2carbon.jks", "wso2carbon",
+                System.getProperty(CarbonBaseConstants.CARBON_HOME));
+        privateKey = (RSAPrivateKey) keyStore.getKey("wso2carbon", "wso2carbon".toCharArray());
+        certificate = keyStore.getCertificate("wso2carbon");
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        OAuth2Util.clearSigningKeyContext(MultitenantConstants.SUPER_TENANT_ID);
+    }
+
+    @Test
+    public void testSigningKeyContextIsReused() throws Exception {
+
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, Mockito.CALLS_REAL_METHODS)) {
+            mockKeyMaterial(oAuth2Util, privateKey, certificate);
+
+            SigningKeyContext first = OAuth2Util.getSigningKeyContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+                    MultitenantConstants.SUPER_TENANT_ID);
+            SigningKeyContext second = OAuth2Util.getSigningKeyContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+                    MultitenantConstants.SUPER_TENANT_ID);
+
+            assertSame(second, first);
+            assertSame(second.getSigner(), first.getSigner());
+            assertEquals(first.getX509CertThumbprint(),
+                    OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false));
+            assertEquals(first.getKeyId(JWSAlgorithm.RS256), KID);
+            assertEquals(first.getKeyId(JWSAlgorithm.RS256), KID);
+            oAuth2Util.verify(() -> OAuth2Util.getThumbPrintWithPrevAlgorithm(any(), anyBoolean()), times(2));
+            oAuth2Util.verify(() -> OAuth2Util.getKID(any(Certificate.class), any(JWSAlgorithm.class), anyString()),
+                    times(1));
+        }
+    }
+
+    @Test
+    public void testSigningKeyContextIsRebuiltWhenKeyChanges() throws Exception {
+
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, Mockito.CALLS_REAL_METHODS)) {
+            mockKeyMaterial(oAuth2Util, privateKey, certificate);
+            SigningKeyContext first = OAuth2Util.getSigningKeyContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+                    MultitenantConstants.SUPER_TENANT_ID);
+
+            RSAPrivateKey reloadedKey = (RSAPrivateKey) getKeyStoreFromFile("wso2carbon.jks", "wso2carbon",
+                    System.getProperty(CarbonBaseConstants.CARBON_HOME))
+                    .getKey("wso2carbon", "wso2carbon".toCharArray());
+            mockKeyMaterial(oAuth2Util, reloadedKey, certificate);
+            SigningKeyContext second = OAuth2Util.getSigningKeyContext(MultitenantConstants.SUPER_TENANT_DOMAIN_NAME,
+                    MultitenantConstants.SUPER_TENANT_ID);
+
+            assertNotSame(second, first);
+            assertSame(second.getPrivateKey(), reloadedKey);
+        }
+    }
+
+    @Test
+    public void testSignJWTWithRSA() throws Exception {
+
+        try (MockedStatic<OAuth2Util> oAuth2Util = mockStatic(OAuth2Util.class, Mockito.CALLS_REAL_METHODS);
+             MockedStatic<IdentityTenantUtil> identityTenantUtil = mockStatic(IdentityTenantUtil.class)) {
+            identityTenantUtil.when(() -> IdentityTenantUtil.getTenantId(anyString()))
+                    .thenReturn(MultitenantConstants.SUPER_TENANT_ID);
+            mockKeyMaterial(oAuth2Util, privateKey, certificate);
+
+            JWTClaimsSet claimsSet = new JWTClaimsSet.Builder().subject("dummySubject").build();
+            for (int i = 0; i < 2; i++) {
+                SignedJWT signedJWT = (SignedJWT) OAuth2Util.signJWTWithRSA(claimsSet, JWSAlgorithm.RS256,
+                        MultitenantConstants.SUPER_TENANT_DOMAIN_NAME);
+
+                assertEquals(signedJWT.getHeader().getKeyID(), KID);
+                assertEquals(signedJWT.getHeader().getX509CertThumbprint().toString(),
+                        OAuth2Util.getThumbPrintWithPrevAlgorithm(certificate, false));
+                assertTrue(signedJWT.verify(new RSASSAVerifier((RSAPublicKey) certificate.getPublicKey())));
+            }
+            oAuth2Util.verify(() -> OAuth2Util.createJWSSigner(any()), times(1));
+        }
+    }
+
+    private void mockKeyMaterial(MockedStatic<OAuth2Util> oAuth2Util, RSAPrivateKey key, Certificate cert) {
+
+        oAuth2Util.when(() -> OAuth2Util.getPrivateKey(anyString(), anyInt())).thenReturn(key);
+        oAuth2Util.when(() -> OAuth2Util.getCertificate(anyString(), anyInt())).thenReturn(cert);
+        oAuth2Util.when(() -> OAuth2Util.getKID(any(Certificate.class), any(JWSAlgorithm.class), anyString()))
+                .thenReturn(KID);
+    }
+}
@@ -111,9 +111,9 @@ public class JWKSBasedJWTValidatorTest {
                 validator = new JWKSBasedJWTValidator();
 
                 if (testScenario == TestScenario.INVALID_JWKS) {
-                    doThrow(testScenario.throwError()).when(dataProvider).getJWKSource(jwksUri);
+                    doThrow(testScenario.throwError()).when(dataProvider).getKeySource(jwksUri);
                 } else {
-                    when(dataProvider.getJWKSource(anyString())).thenReturn(jwkSet);
+                    when(dataProvider.getKeySource(anyString())).thenReturn(jwkSet);
                 }
 
                 try {
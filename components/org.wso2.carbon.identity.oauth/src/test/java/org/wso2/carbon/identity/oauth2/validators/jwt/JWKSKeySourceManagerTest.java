@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oauth2.validators.jwt;
+
+import com.nimbusds.jose.RemoteKeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.DefaultResourceRetriever;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+/**
+ * Unit tests for JWKSKeySourceManager, run against a local stub JWKS endpoint.
+ */
+public class JWKSKeySourceManagerTest {
+
+    private static final String KEY_ID_1 = "kid1";
+    private static final String KEY_ID_2 = "kid2";
+    private static final long WAIT_TIMEOUT_MILLIS = 5000;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private JWKSKeySourceManager manager;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile String jwksResponse;
+    private volatile int responseStatus;
+    private volatile long responseDelayMillis;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/jwks", this::respond);
+        server.start();
+        requestCount.set(0);
+        jwksResponse = buildJWKS(KEY_ID_1);
+        responseStatus = 200;
+        responseDelayMillis = 0;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (manager != null) {
+            manager.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentLookupsShareSingleFetch() throws Exception {
+
+        responseDelayMillis = 200;
+        manager = new JWKSKeySourceManager(newConfig(), JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        int threads = 8;
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<JWK>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(clients.submit((Callable<List<JWK>>) () -> {
+                    start.await();
+                    return keySource.get(selectorOf(KEY_ID_1), null);
+                }));
+            }
+            start.countDown();
+            for (Future<List<JWK>> result : results) {
+                assertEquals(result.get().size(), 1);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        assertEquals(requestCount.get(), 1);
+        assertEquals(manager.getMetrics().getFetchCount(), 1);
+    }
+
+    @Test
+    public void testUnknownKeyIdRefetchIsRateLimited() throws Exception {
+
+        manager = new JWKSKeySourceManager(newConfig(), JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        jwksResponse = buildJWKS(KEY_ID_2);
+        assertTrue(keySource.get(selectorOf(KEY_ID_2), null).isEmpty());
+        assertTrue(keySource.get(selectorOf(KEY_ID_2), null).isEmpty());
+
+        assertEquals(requestCount.get(), 1);
+        assertEquals(manager.getMetrics().getRateLimitedRefetchCount(), 2);
+    }
+
+    @Test
+    public void testUnknownKeyIdTriggersRefetch() throws Exception {
+
+        JWKSKeySourceManager.Config config = newConfig();
+        config.minRefetchInterval = 0;
+        manager = new JWKSKeySourceManager(config, JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        jwksResponse = buildJWKS(KEY_ID_2);
+        assertEquals(keySource.get(selectorOf(KEY_ID_2), null).size(), 1);
+
+        assertEquals(requestCount.get(), 2);
+        assertEquals(manager.getMetrics().getUnknownKeyIdRefetchCount(), 1);
+    }
+
+    @Test
+    public void testKeysAreRefreshedAheadOfExpiry() throws Exception {
+
+        JWKSKeySourceManager.Config config = newConfig();
+        config.timeToLive = 60000;
+        config.refreshAheadTime = 59900;
+        manager = new JWKSKeySourceManager(config, JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        Thread.sleep(200);
+        jwksResponse = buildJWKS(KEY_ID_2);
+        // Served from the current keys while the keys are refreshed in the background.
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        waitUntil(() -> manager.getMetrics().getFetchCount() == 2);
+
+        config.minRefetchInterval = Long.MAX_VALUE;
+        assertEquals(keySource.get(selectorOf(KEY_ID_2), null).size(), 1);
+    }
+
+    @Test
+    public void testStaleKeysAreServedWithinGracePeriod() throws Exception {
+
+        JWKSKeySourceManager.Config config = newConfig();
+        config.timeToLive = 100;
+        config.refreshAheadTime = 0;
+        manager = new JWKSKeySourceManager(config, JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        responseStatus = 503;
+        Thread.sleep(200);
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        assertEquals(manager.getMetrics().getStaleServedCount(), 1);
+        waitUntil(() -> manager.getMetrics().getFailureCount() == 1);
+    }
+
+    @Test
+    public void testExpiredKeysAreNotServedAfterGracePeriod() throws Exception {
+
+        JWKSKeySourceManager.Config config = newConfig();
+        config.timeToLive = 100;
+        config.refreshAheadTime = 0;
+        config.staleGracePeriod = 0;
+        manager = new JWKSKeySourceManager(config, JWKSKeySourceManagerTest::newResourceRetriever);
+        JWKSource<SecurityContext> keySource = manager.getJWKSource(getJWKSUri());
+
+        assertEquals(keySource.get(selectorOf(KEY_ID_1), null).size(), 1);
+        responseStatus = 503;
+        Thread.sleep(200);
+
+        try {
+            keySource.get(selectorOf(KEY_ID_1), null);
+            fail("Expired keys should not be served after the grace period.");
+        } catch (RemoteKeySourceException e) {
+            assertEquals(manager.getMetrics().getFailureCount(), 1);
+        }
+    }
+
+    private JWKSKeySourceManager.Config newConfig() {
+
+        JWKSKeySourceManager.Config config = new JWKSKeySourceManager.Config();
+        config.timeToLive = 60000;
+        config.refreshAheadTime = 1000;
+        config.staleGracePeriod = 60000;
+        config.minRefetchInterval = 60000;
+        return config;
+    }
+
+    private static DefaultResourceRetriever newResourceRetriever() {
+
+        return new DefaultResourceRetriever(1000, (int) WAIT_TIMEOUT_MILLIS);
+    }
+
+    private static JWKSelector selectorOf(String keyId) {
+
+        return new JWKSelector(new JWKMatcher.Builder().keyID(keyId).build());
+    }
+
+    private static String buildJWKS(String keyId) throws Exception {
+
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        RSAKey rsaKey = new RSAKey.Builder((RSAPublicKey) keyPairGenerator.generateKeyPair().getPublic())
+                .keyID(keyId)
+                .build();
+        return new JWKSet(rsaKey).toString();
+    }
+
+    private String getJWKSUri() {
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/jwks";
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+
+        requestCount.incrementAndGet();
+        if (responseDelayMillis > 0) {
+            try {
+                Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = jwksResponse.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "Condition was not met in time.");
+    }
+}
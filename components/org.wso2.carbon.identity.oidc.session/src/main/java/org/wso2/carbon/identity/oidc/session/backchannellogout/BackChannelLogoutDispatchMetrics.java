@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oidc.session.backchannellogout;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and the dispatch latency histogram of the {@link BackChannelLogoutDispatcher}.
+ * The latency of a logout request is measured from the time it is accepted by the dispatcher until it is delivered
+ * or given up, hence it includes the time spent in the queue and in retries.
+ */
+public class BackChannelLogoutDispatchMetrics {
+
+    /**
+     * Upper bounds, in milliseconds, of the latency histogram buckets. The last bucket of the histogram holds the
+     * latencies above the largest bound.
+     */
+    public static final long[] LATENCY_BUCKET_BOUNDS = {10, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKET_BOUNDS.length + 1);
+
+    void recordAccepted() {
+
+        acceptedCount.incrementAndGet();
+    }
+
+    void recordDropped() {
+
+        droppedCount.incrementAndGet();
+    }
+
+    void recordRetried() {
+
+        retriedCount.incrementAndGet();
+    }
+
+    void recordDelivered(long latencyMillis) {
+
+        deliveredCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    void recordFailed(long latencyMillis) {
+
+        failedCount.incrementAndGet();
+        recordLatency(latencyMillis);
+    }
+
+    private void recordLatency(long latencyMillis) {
+
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKET_BOUNDS.length && latencyMillis > LATENCY_BUCKET_BOUNDS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * Returns the number of logout requests accepted for dispatching.
+     *
+     * @return Number of accepted logout requests.
+     */
+    public long getAcceptedCount() {
+
+        return acceptedCount.get();
+    }
+
+    /**
+     * Returns the number of logout requests dropped as the dispatcher queue was full.
+     *
+     * @return Number of dropped logout requests.
+     */
+    public long getDroppedCount() {
+
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of logout requests delivered to the relying parties.
+     *
+     * @return Number of delivered logout requests.
+     */
+    public long getDeliveredCount() {
+
+        return deliveredCount.get();
+    }
+
+    /**
+     * Returns the number of logout requests that could not be delivered after all the attempts.
+     *
+     * @return Number of failed logout requests.
+     */
+    public long getFailedCount() {
+
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the number of retry attempts made.
+     *
+     * @return Number of retries.
+     */
+    public long getRetriedCount() {
+
+        return retriedCount.get();
+    }
+
+    /**
+     * Returns a snapshot of the latency histogram. The value at index i is the number of logout requests completed
+     * within {@link #LATENCY_BUCKET_BOUNDS}[i] milliseconds and above the previous bound.
+     *
+     * @return Latency histogram bucket counts.
+     */
+    public long[] getLatencyHistogram() {
+
+        long[] snapshot = new long[latencyHistogram.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = latencyHistogram.get(i);
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oidc.session.backchannellogout;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.http.HttpStatus;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.NoopHostnameVerifier;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.ssl.SSLContextBuilder;
+import org.apache.http.util.EntityUtils;
+import org.wso2.carbon.identity.base.IdentityConstants;
+import org.wso2.carbon.identity.core.util.IdentityUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.wso2.carbon.identity.oauth2.util.OAuth2Util.getIntProperty;
+
+/**
+ * Dispatches back-channel logout requests to the relying parties.
+ * <p>
+ * The requests are sent by a fixed set of worker threads through a shared pooled HTTP client, which reuses the
+ * connections to a relying party and limits the number of concurrent connections per host. The number of pending
+ * requests is bounded and the requests submitted over the limit are dropped. A request that fails with an I/O error
+ * or a 5xx response is retried with an exponential backoff, without blocking a worker thread while waiting.
+ */
+public class BackChannelLogoutDispatcher {
+
+    private static final Log LOG = LogFactory.getLog(BackChannelLogoutDispatcher.class);
+
+    private static final String CONFIG_PREFIX = "OAuth.OpenIDConnect.BackChannelLogout.Dispatcher.";
+    private static final String POOL_SIZE = CONFIG_PREFIX + "PoolSize";
+    private static final String MAX_PENDING_REQUESTS = CONFIG_PREFIX + "MaxPendingRequests";
+    private static final String MAX_CONNECTIONS = CONFIG_PREFIX + "MaxConnections";
+    private static final String MAX_CONNECTIONS_PER_HOST = CONFIG_PREFIX + "MaxConnectionsPerHost";
+    private static final String CONNECT_TIMEOUT = CONFIG_PREFIX + "ConnectTimeout";
+    private static final String READ_TIMEOUT = CONFIG_PREFIX + "ReadTimeout";
+    private static final String MAX_RETRIES = CONFIG_PREFIX + "MaxRetries";
+    private static final String RETRY_BACKOFF = CONFIG_PREFIX + "RetryBackoff";
+    private static final String LOGOUT_TOKEN = "logout_token";
+
+    private static volatile BackChannelLogoutDispatcher instance;
+
+    private final Config config;
+    private final ScheduledThreadPoolExecutor executor;
+    private final CloseableHttpClient httpClient;
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+    private final BackChannelLogoutDispatchMetrics metrics = new BackChannelLogoutDispatchMetrics();
+
+    BackChannelLogoutDispatcher(Config config) {
+
+        this.config = config;
+        this.executor = new ScheduledThreadPoolExecutor(config.poolSize, new DispatcherThreadFactory());
+        this.executor.setRemoveOnCancelPolicy(true);
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager(buildSocketFactoryRegistry(config));
+        connectionManager.setMaxTotal(config.maxConnections);
+        connectionManager.setDefaultMaxPerRoute(config.maxConnectionsPerHost);
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(config.connectTimeout)
+                .setSocketTimeout(config.readTimeout)
+                .setConnectionRequestTimeout(config.readTimeout)
+                .build();
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    /**
+     * Returns the dispatcher configured from the identity.xml. The dispatcher is created on first use.
+     *
+     * @return BackChannelLogoutDispatcher instance.
+     */
+    public static BackChannelLogoutDispatcher getInstance() {
+
+        if (instance == null) {
+            synchronized (BackChannelLogoutDispatcher.class) {
+                if (instance == null) {
+                    instance = new BackChannelLogoutDispatcher(Config.fromServerConfiguration());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Shuts down the dispatcher if it has been created. A subsequent {@link #getInstance()} creates a new one.
+     */
+    public static void shutdownInstance() {
+
+        synchronized (BackChannelLogoutDispatcher.class) {
+            if (instance != null) {
+                instance.shutdown();
+                instance = null;
+            }
+        }
+    }
+
+    /**
+     * Submits a back-channel logout request to be sent to a relying party.
+     *
+     * @param logoutToken          Logout token.
+     * @param backChannelLogoutUrl Back-channel logout URL of the relying party.
+     * @return True if the request was accepted, false if it was dropped as the dispatcher is full or shut down.
+     */
+    public boolean dispatch(String logoutToken, String backChannelLogoutUrl) {
+
+        if (pendingRequests.incrementAndGet() > config.maxPendingRequests) {
+            pendingRequests.decrementAndGet();
+            metrics.recordDropped();
+            LOG.warn("Back-channel logout request to: " + backChannelLogoutUrl + " was dropped as the dispatcher " +
+                    "has reached the maximum of " + config.maxPendingRequests + " pending requests.");
+            return false;
+        }
+        metrics.recordAccepted();
+        try {
+            executor.execute(new LogoutRequestTask(logoutToken, backChannelLogoutUrl));
+        } catch (RuntimeException e) {
+            // The executor rejects the task if it was shut down concurrently.
+            pendingRequests.decrementAndGet();
+            metrics.recordDropped();
+            LOG.warn("Back-channel logout request to: " + backChannelLogoutUrl + " was dropped as the dispatcher " +
+                    "is shut down.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of logout requests accepted and not yet delivered or given up.
+     *
+     * @return Number of pending logout requests.
+     */
+    public int getPendingRequestCount() {
+
+        return pendingRequests.get();
+    }
+
+    /**
+     * Returns the metrics of the dispatcher.
+     *
+     * @return Dispatcher metrics.
+     */
+    public BackChannelLogoutDispatchMetrics getMetrics() {
+
+        return metrics;
+    }
+
+    /**
+     * Stops accepting requests, drops the requests waiting for a retry and releases the pooled connections.
+     */
+    void shutdown() {
+
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(config.readTimeout, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Back-channel logout dispatcher did not terminate within " + config.readTimeout + " ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            LOG.error("Error while closing the back-channel logout HTTP client.", e);
+        }
+    }
+
+    private static Registry<ConnectionSocketFactory> buildSocketFactoryRegistry(Config config) {
+
+        SSLConnectionSocketFactory sslSocketFactory;
+        if (config.hostNameVerificationEnabled) {
+            sslSocketFactory = SSLConnectionSocketFactory.getSocketFactory();
+        } else {
+            try {
+                sslSocketFactory = new SSLConnectionSocketFactory(SSLContextBuilder.create().build(),
+                        NoopHostnameVerifier.INSTANCE);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Error while initializing the SSL context for back-channel logout.",
+                        e);
+            }
+        }
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                .register("https", sslSocketFactory)
+                .build();
+    }
+
+    private static boolean isSuccessful(int statusCode) {
+
+        return statusCode >= HttpStatus.SC_OK && statusCode < HttpStatus.SC_MULTIPLE_CHOICES;
+    }
+
+    private static boolean isRetryable(int statusCode) {
+
+        return statusCode >= HttpStatus.SC_INTERNAL_SERVER_ERROR && statusCode != HttpStatus.SC_NOT_IMPLEMENTED;
+    }
+
+    /**
+     * A logout request to a relying party. The task reschedules itself with an exponential backoff until the request
+     * is delivered or the retries are exhausted.
+     */
+    private class LogoutRequestTask implements Runnable {
+
+        private final String logoutToken;
+        private final String backChannelLogoutUrl;
+        private final long acceptedTime = System.currentTimeMillis();
+        private int attempt;
+
+        LogoutRequestTask(String logoutToken, String backChannelLogoutUrl) {
+
+            this.logoutToken = logoutToken;
+            this.backChannelLogoutUrl = backChannelLogoutUrl;
+        }
+
+        @Override
+        public void run() {
+
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Sending back-channel logout request to: " + backChannelLogoutUrl + ", attempt: " +
+                        (attempt + 1));
+            }
+            boolean retryable;
+            try {
+                int statusCode = send();
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Back-channel logout response status from: " + backChannelLogoutUrl + " is: " +
+                            statusCode);
+                }
+                if (isSuccessful(statusCode)) {
+                    complete(true);
+                    return;
+                }
+                retryable = isRetryable(statusCode);
+                if (!retryable) {
+                    LOG.error("Back-channel logout request to: " + backChannelLogoutUrl + " failed with status: " +
+                            statusCode);
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                retryable = e instanceof IOException;
+                LOG.error("Error sending logout request to: " + backChannelLogoutUrl + ", attempt: " +
+                        (attempt + 1), e);
+            }
+
+            if (retryable && attempt < config.maxRetries && !executor.isShutdown()) {
+                long delay = config.retryBackoff << attempt;
+                attempt++;
+                metrics.recordRetried();
+                try {
+                    executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+                    return;
+                } catch (RuntimeException e) {
+                    // The executor rejects the retry if it was shut down concurrently.
+                }
+            }
+            complete(false);
+        }
+
+        private int send() throws IOException {
+
+            List<NameValuePair> logoutReqParams =
+                    Collections.singletonList(new BasicNameValuePair(LOGOUT_TOKEN, logoutToken));
+            HttpPost httpPost = new HttpPost(backChannelLogoutUrl);
+            httpPost.setEntity(new UrlEncodedFormEntity(logoutReqParams, StandardCharsets.UTF_8));
+            try (CloseableHttpResponse response = httpClient.execute(httpPost)) {
+                // Consume the response, so that the connection is released back to the pool.
+                EntityUtils.consumeQuietly(response.getEntity());
+                return response.getStatusLine().getStatusCode();
+            }
+        }
+
+        private void complete(boolean delivered) {
+
+            pendingRequests.decrementAndGet();
+            long latency = System.currentTimeMillis() - acceptedTime;
+            if (delivered) {
+                metrics.recordDelivered(latency);
+            } else {
+                metrics.recordFailed(latency);
+            }
+        }
+    }
+
+    /**
+     * Creates daemon worker threads with a descriptive name.
+     */
+    private static class DispatcherThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+
+            Thread thread = new Thread(runnable, "BackChannelLogoutDispatcher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /**
+     * Configuration of the dispatcher.
+     */
+    static class Config {
+
+        int poolSize = 10;
+        int maxPendingRequests = 10000;
+        int maxConnections = 100;
+        int maxConnectionsPerHost = 10;
+        int connectTimeout = 5000;
+        int readTimeout = 10000;
+        int maxRetries = 2;
+        long retryBackoff = 500;
+        boolean hostNameVerificationEnabled = true;
+
+        static Config fromServerConfiguration() {
+
+            Config config = new Config();
+            config.poolSize = getIntProperty(POOL_SIZE, config.poolSize, 1);
+            config.maxPendingRequests = getIntProperty(MAX_PENDING_REQUESTS, config.maxPendingRequests, 1);
+            config.maxConnections = getIntProperty(MAX_CONNECTIONS, config.maxConnections, 1);
+            config.maxConnectionsPerHost = getIntProperty(MAX_CONNECTIONS_PER_HOST, config.maxConnectionsPerHost, 1);
+            config.connectTimeout = getIntProperty(CONNECT_TIMEOUT, config.connectTimeout, 1);
+            config.readTimeout = getIntProperty(READ_TIMEOUT, config.readTimeout, 1);
+            config.maxRetries = getIntProperty(MAX_RETRIES, config.maxRetries, 0);
+            config.retryBackoff = getIntProperty(RETRY_BACKOFF, (int) config.retryBackoff, 0);
+            config.hostNameVerificationEnabled = !"false".equalsIgnoreCase(
+                    IdentityUtil.getProperty(IdentityConstants.ServerConfig.SLO_HOST_NAME_VERIFICATION_ENABLED));
+            return config;
+        }
+    }
+}
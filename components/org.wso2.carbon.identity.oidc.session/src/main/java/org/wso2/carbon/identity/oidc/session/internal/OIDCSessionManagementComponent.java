@@ -34,6 +34,7 @@ import org.wso2.carbon.identity.oauth.common.token.bindings.TokenBinderInfo;
 import org.wso2.carbon.identity.oauth2.token.bindings.TokenBinder;
 import org.wso2.carbon.identity.oidc.session.OIDCInboundSessionContextMgtListener;
 import org.wso2.carbon.identity.oidc.session.OIDCSessionConstants;
+import org.wso2.carbon.identity.oidc.session.backchannellogout.BackChannelLogoutDispatcher;
 import org.wso2.carbon.identity.oidc.session.backchannellogout.ClaimProviderImpl;
 import org.wso2.carbon.identity.oidc.session.handler.OIDCLogoutEventHandler;
 import org.wso2.carbon.identity.oidc.session.handler.OIDCLogoutHandler;
@@ -114,6 +115,7 @@ public class OIDCSessionManagementComponent {
 
     protected void deactivate(ComponentContext context) {
 
+        BackChannelLogoutDispatcher.shutdownInstance();
         if (log.isDebugEnabled()) {
             log.info("OIDC Session Management bundle is deactivated");
         }
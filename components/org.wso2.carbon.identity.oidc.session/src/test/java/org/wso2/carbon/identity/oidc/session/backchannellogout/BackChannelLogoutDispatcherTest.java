@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.carbon.identity.oidc.session.backchannellogout;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Unit tests for BackChannelLogoutDispatcher, run against a local stub relying party.
+ */
+public class BackChannelLogoutDispatcherTest {
+
+    private static final String LOGOUT_TOKEN = "dummyLogoutToken";
+    private static final long WAIT_TIMEOUT_MILLIS = 10000;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private BackChannelLogoutDispatcher dispatcher;
+    private final List<String> receivedBodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger receivedCount = new AtomicInteger();
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        receivedBodies.clear();
+        receivedCount.set(0);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testDispatchDeliversLogoutToken() throws Exception {
+
+        server.createContext("/logout", exchange -> respond(exchange, 200));
+        dispatcher = new BackChannelLogoutDispatcher(newConfig());
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        waitForCompletion();
+
+        BackChannelLogoutDispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(metrics.getAcceptedCount(), 1);
+        assertEquals(metrics.getDeliveredCount(), 1);
+        assertEquals(metrics.getFailedCount(), 0);
+        assertEquals(metrics.getRetriedCount(), 0);
+        assertEquals(receivedBodies.get(0), "logout_token=" + LOGOUT_TOKEN);
+        assertEquals(sum(metrics.getLatencyHistogram()), 1);
+    }
+
+    @Test
+    public void testDispatchTreatsAny2xxAsDelivered() throws Exception {
+
+        server.createContext("/logout", exchange -> respond(exchange, 202));
+        dispatcher = new BackChannelLogoutDispatcher(newConfig());
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        waitForCompletion();
+
+        BackChannelLogoutDispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(receivedCount.get(), 1);
+        assertEquals(metrics.getDeliveredCount(), 1);
+        assertEquals(metrics.getFailedCount(), 0);
+        assertEquals(metrics.getRetriedCount(), 0);
+    }
+
+    @Test
+    public void testDispatchRetriesServerErrors() throws Exception {
+
+        server.createContext("/logout", exchange -> respond(exchange, receivedCount.get() < 2 ? 503 : 200));
+        dispatcher = new BackChannelLogoutDispatcher(newConfig());
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        waitForCompletion();
+
+        BackChannelLogoutDispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(receivedCount.get(), 3);
+        assertEquals(metrics.getRetriedCount(), 2);
+        assertEquals(metrics.getDeliveredCount(), 1);
+        assertEquals(metrics.getFailedCount(), 0);
+    }
+
+    @Test
+    public void testDispatchGivesUpAfterMaxRetries() throws Exception {
+
+        server.createContext("/logout", exchange -> respond(exchange, 500));
+        dispatcher = new BackChannelLogoutDispatcher(newConfig());
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        waitForCompletion();
+
+        BackChannelLogoutDispatchMetrics metrics = dispatcher.getMetrics();
+        assertEquals(receivedCount.get(), 3);
+        assertEquals(metrics.getDeliveredCount(), 0);
+        assertEquals(metrics.getFailedCount(), 1);
+    }
+
+    @Test
+    public void testDispatchDoesNotRetryClientErrors() throws Exception {
+
+        server.createContext("/logout", exchange -> respond(exchange, 400));
+        dispatcher = new BackChannelLogoutDispatcher(newConfig());
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        waitForCompletion();
+
+        assertEquals(receivedCount.get(), 1);
+        assertEquals(dispatcher.getMetrics().getRetriedCount(), 0);
+        assertEquals(dispatcher.getMetrics().getFailedCount(), 1);
+    }
+
+    @Test
+    public void testDispatchDropsRequestsOverPendingLimit() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        server.createContext("/logout", exchange -> {
+            try {
+                release.await(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        BackChannelLogoutDispatcher.Config config = newConfig();
+        config.maxPendingRequests = 2;
+        dispatcher = new BackChannelLogoutDispatcher(config);
+
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        assertFalse(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        assertEquals(dispatcher.getMetrics().getDroppedCount(), 1);
+
+        release.countDown();
+        waitForCompletion();
+        assertEquals(dispatcher.getMetrics().getDeliveredCount(), 2);
+    }
+
+    @Test
+    public void testDispatchLimitsConcurrentRequestsPerHost() throws Exception {
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        server.createContext("/logout", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, 200);
+        });
+        BackChannelLogoutDispatcher.Config config = newConfig();
+        config.poolSize = 8;
+        config.maxConnectionsPerHost = 2;
+        dispatcher = new BackChannelLogoutDispatcher(config);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(dispatcher.dispatch(LOGOUT_TOKEN, getUrl("/logout")));
+        }
+        waitForCompletion();
+
+        assertEquals(dispatcher.getMetrics().getDeliveredCount(), 8);
+        assertTrue(maxInFlight.get() <= 2, "Concurrent requests to the host exceeded the limit: " +
+                maxInFlight.get());
+    }
+
+    private BackChannelLogoutDispatcher.Config newConfig() {
+
+        BackChannelLogoutDispatcher.Config config = new BackChannelLogoutDispatcher.Config();
+        config.poolSize = 2;
+        config.maxRetries = 2;
+        config.retryBackoff = 10;
+        config.connectTimeout = 1000;
+        config.readTimeout = (int) WAIT_TIMEOUT_MILLIS;
+        return config;
+    }
+
+    private String getUrl(String path) {
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    private void respond(HttpExchange exchange, int statusCode) throws IOException {
+
+        receivedBodies.add(readBody(exchange.getRequestBody()));
+        receivedCount.incrementAndGet();
+        exchange.sendResponseHeaders(statusCode, -1);
+        exchange.close();
+    }
+
+    private static String readBody(InputStream inputStream) throws IOException {
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            body.write(buffer, 0, read);
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private void waitForCompletion() throws InterruptedException {
+
+        long deadline = System.currentTimeMillis() + WAIT_TIMEOUT_MILLIS;
+        while (dispatcher.getPendingRequestCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(dispatcher.getPendingRequestCount(), 0, "Logout requests were not completed in time.");
+    }
+
+    private static long sum(long[] values) {
+
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}